@@ -52,6 +52,7 @@ def sorald(
     """
     cmd = [
         "java",
+        *_class_data_sharing_args(sorald_jar),
         "-jar",
         str(sorald_jar),
         subcommand,
@@ -72,6 +73,12 @@ def sorald(
         return -1, b"", b""
 
 
+def _class_data_sharing_args(sorald_jar: pathlib.Path) -> List[str]:
+    """Use the AppCDS archive created by ``mvn package -Pappcds``, if there is one."""
+    archive = sorald_jar.with_suffix(".jsa")
+    return [f"-XX:SharedArchiveFile={archive}"] if archive.is_file() else []
+
+
 def available_rule_keys(
     sorald_jar: pathlib.Path = DEFAULT_SORALD_JAR_PATH,
 ) -> List[str]:
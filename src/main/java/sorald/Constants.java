@@ -7,6 +7,7 @@ public class Constants {
 
     public static final String REPAIR_COMMAND_NAME = "repair";
     public static final String MINE_COMMAND_NAME = "mine";
+    public static final String ANALYZE_STATS_COMMAND_NAME = "analyze-stats";
 
     public static final String ARG_RULE_KEY = "--rule-key";
     public static final String ARG_SOURCE = "--source";
@@ -24,6 +25,24 @@ public class Constants {
     public static final String ARG_RULE_VIOLATION_SPECIFIERS = "--violation-specs";
     public static final String ARG_TARGET = "--target";
     public static final String ARG_RESOLVE_CLASSPATH_FROM = "--resolve-classpath-from";
+    public static final String ARG_CLASSPATH_CACHE_DIR = "--classpath-cache-dir";
+    public static final String ARG_PROFILE_CHECKS = "--profile-checks";
+    public static final String ARG_FILE_ANALYSIS_TIMEOUT = "--file-analysis-timeout";
+    public static final String ARG_CLONE_WORKERS = "--clone-workers";
+    public static final String ARG_ANALYSIS_WORKERS = "--analysis-workers";
+    public static final String ARG_MIRROR_CACHE_DIR = "--mirror-cache-dir";
+    public static final String ARG_MIRROR_CACHE_SIZE = "--mirror-cache-size";
+    public static final String ARG_NO_CHECKOUT = "--no-checkout";
+    public static final String ARG_COMMIT_RANGE = "--commit-range";
+    public static final String ARG_RESUME = "--resume";
+    public static final String ARG_ANALYSIS_CACHE_SIZE = "--analysis-cache-size";
+    public static final String ARG_MINER_OUTPUT_FORMAT = "--miner-output-format";
+    public static final String ARG_WORKER_PROCESSES = "--worker-processes";
+    public static final String ARG_WORK_DIR = "--work-dir";
+    public static final String ARG_SHARD_SIZE = "--shard-size";
+    public static final String ARG_WORKER = "--worker";
+    public static final String ARG_WORKER_ID = "--worker-id";
+    public static final String ARG_TOP_FILES = "--top-files";
 
     public static final String VIOLATION_SPECIFIER_SEP = File.pathSeparator;
 
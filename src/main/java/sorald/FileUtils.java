@@ -2,6 +2,7 @@ package sorald;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.Writer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
@@ -98,6 +99,46 @@ public class FileUtils {
                 StandardOpenOption.TRUNCATE_EXISTING);
     }
 
+    /**
+     * Write a JSON object to a file like {@link #writeJSON(File, Object, Map)} does, with one more
+     * value that is too large to hold in memory streamed into the file as the last entry of the
+     * object.
+     *
+     * @param file The file to write to.
+     * @param jsonObject The JSON object.
+     * @param additionalData Additional data to add to the JSON object.
+     * @param streamedKey The key of the streamed value.
+     * @param streamedValue Writer of the streamed value, which must write valid JSON.
+     */
+    public static void writeJSON(
+            File file,
+            JSONObject jsonObject,
+            Map<String, Object> additionalData,
+            String streamedKey,
+            StreamedValue streamedValue)
+            throws IOException {
+        additionalData.forEach((k, v) -> jsonObject.put(k, toJSONArrayOrObject(v)));
+
+        try (Writer writer = Files.newBufferedWriter(file.toPath())) {
+            // the object is written without its closing brace, such that the streamed value can be
+            // appended to it
+            String head = jsonObject.toString(4);
+            writer.write(
+                    jsonObject.isEmpty()
+                            ? "{\n"
+                            : head.substring(0, head.lastIndexOf('}')).stripTrailing() + ",\n");
+            writer.write("    " + JSONObject.quote(streamedKey) + ": ");
+            streamedValue.writeTo(writer);
+            writer.write("\n}");
+        }
+    }
+
+    /** A JSON value that is written straight to a writer. */
+    @FunctionalInterface
+    public interface StreamedValue {
+        void writeTo(Writer writer) throws IOException;
+    }
+
     /**
      * @param jsonFile Path to a JSON file to read.
      * @return A parsed JSON object.
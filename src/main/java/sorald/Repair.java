@@ -9,6 +9,7 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -55,6 +56,7 @@ public class Repair {
     final List<SoraldEventHandler> eventHandlers;
     private final CompilationUnitCollector cuCollector;
     private final List<String> classpath;
+    private final Set<Path> modifiedFiles = new HashSet<>();
 
     public Repair(
             SoraldConfig config,
@@ -105,6 +107,14 @@ public class Repair {
         return processor;
     }
 
+    /**
+     * @return Absolute and normalized paths to all files that have been overwritten by repairs
+     *     performed with this instance.
+     */
+    public Set<Path> getModifiedFiles() {
+        return Collections.unmodifiableSet(modifiedFiles);
+    }
+
     Stream<CtModel> repair(
             Path inputDir, SoraldAbstractProcessor<?> processor, Set<RuleViolation> violations) {
         switch (config.getRepairStrategy()) {
@@ -139,8 +149,15 @@ public class Repair {
     CtModel mavenRepair(
             Path inputDir, SoraldAbstractProcessor<?> processor, Set<RuleViolation> violations) {
         EventHelper.fireEvent(EventType.PARSE_START, eventHandlers);
+        // reuse the classpath if it's already been resolved, as resolving it means running Maven
         MavenLauncher launcher =
-                new MavenLauncher(inputDir.toString(), MavenLauncher.SOURCE_TYPE.ALL_SOURCE);
+                classpath.isEmpty()
+                        ? new MavenLauncher(
+                                inputDir.toString(), MavenLauncher.SOURCE_TYPE.ALL_SOURCE)
+                        : new MavenLauncher(
+                                inputDir.toString(),
+                                MavenLauncher.SOURCE_TYPE.ALL_SOURCE,
+                                classpath.toArray(String[]::new));
         CtModel model = initLauncher(launcher).getModel();
         EventHelper.fireEvent(EventType.PARSE_END, eventHandlers);
 
@@ -236,6 +253,7 @@ public class Repair {
 
         // we overwrite the source
         writeToFile(sourcePath, output);
+        modifiedFiles.add(sourcePath.toAbsolutePath().normalize());
     }
 
     private static void writeToFile(Path filepath, String output) {
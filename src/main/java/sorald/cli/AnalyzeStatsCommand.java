@@ -0,0 +1,47 @@
+package sorald.cli;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
+import picocli.CommandLine;
+import sorald.Constants;
+import sorald.miner.StatsOutputAnalyzer;
+
+/** CLI Command for aggregating the output files of mining git repos. */
+@CommandLine.Command(
+        name = Constants.ANALYZE_STATS_COMMAND_NAME,
+        mixinStandardHelpOptions = true,
+        description =
+                "Aggregate one or more output files of mining git repos, in either output format, into the amount of warnings of each rule, the repo with the most warnings of each rule, percentiles of the amount of warnings per repo and the files with the most warnings.")
+class AnalyzeStatsCommand implements Callable<Integer> {
+    @CommandLine.Spec CommandLine.Model.CommandSpec spec;
+
+    @CommandLine.Parameters(
+            arity = "1..*",
+            paramLabel = "MINER_OUTPUT_FILE",
+            description = "Output files of mining git repos.")
+    private List<File> minerOutputFiles;
+
+    @CommandLine.Option(
+            names = {Constants.ARG_TOP_FILES},
+            description =
+                    "The amount of files with the most warnings to report. Only the JSONL output format has the locations of the warnings. Defaults to ${DEFAULT-VALUE}.")
+    private int topFiles = 10;
+
+    @Override
+    public Integer call() throws Exception {
+        if (topFiles < 0) {
+            throw new CommandLine.ParameterException(
+                    spec.commandLine(),
+                    String.format("%s must not be negative", Constants.ARG_TOP_FILES));
+        }
+
+        StatsOutputAnalyzer.analyze(
+                        minerOutputFiles.stream().map(File::toPath).collect(Collectors.toList()),
+                        topFiles)
+                .print(spec.commandLine().getOut());
+        spec.commandLine().getOut().flush();
+        return 0;
+    }
+}
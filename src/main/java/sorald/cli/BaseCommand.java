@@ -1,9 +1,12 @@
 package sorald.cli;
 
 import java.io.File;
+import java.nio.file.Path;
+import java.util.List;
 import java.util.concurrent.Callable;
 import picocli.CommandLine;
 import sorald.Constants;
+import sorald.util.MavenUtils;
 
 /** Base command containing the options in common for all Sorald subcommands. */
 @CommandLine.Command()
@@ -27,4 +30,19 @@ abstract class BaseCommand implements Callable<Integer> {
             description =
                     "Path to the root of a project to resolve the classpath from. Currently only works for Maven projects.")
     File resolveClasspathFrom;
+
+    @CommandLine.Option(
+            names = Constants.ARG_CLASSPATH_CACHE_DIR,
+            description =
+                    "A directory to cache resolved Maven classpaths in, such that Maven only runs again when a pom file, the Maven settings or a jar on the classpath changes. Changes in remote repositories go unnoticed, so delete the directory to force a fresh resolution. By default, the classpath is resolved anew on every run.")
+    File classpathCacheDir;
+
+    /**
+     * @param project Path to the root of a Maven project.
+     * @return The classpath of the project, resolved through the classpath cache if there is one.
+     */
+    List<String> resolveMavenClasspath(Path project) {
+        return MavenUtils.resolveClasspath(
+                project, classpathCacheDir == null ? null : classpathCacheDir.toPath());
+    }
 }
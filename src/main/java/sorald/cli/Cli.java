@@ -15,7 +15,7 @@ public class Cli {
     @CommandLine.Command(
             name = "sorald",
             mixinStandardHelpOptions = true,
-            subcommands = {RepairCommand.class, MineCommand.class},
+            subcommands = {RepairCommand.class, MineCommand.class, AnalyzeStatsCommand.class},
             description =
                     "The Sorald command line application for automatic repair of Sonar rule violations.",
             synopsisSubcommandLabel = "<COMMAND>",
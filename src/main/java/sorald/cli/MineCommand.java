@@ -1,20 +1,30 @@
 package sorald.cli;
 
 import java.io.File;
+import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.*;
 import java.util.stream.Collectors;
 import picocli.CommandLine;
 import sorald.Constants;
-import sorald.FileUtils;
+import sorald.Main;
 import sorald.Processors;
 import sorald.event.StatsMetadataKeys;
 import sorald.event.collectors.MinerStatisticsCollector;
 import sorald.event.models.ExecutionInfo;
 import sorald.miner.MineSonarWarnings;
+import sorald.miner.MinerOutputFormat;
+import sorald.miner.MiningCoordinator;
+import sorald.miner.MiningQueue;
+import sorald.miner.MiningWorker;
+import sorald.miner.RepoMirrorCache;
 import sorald.rule.Rule;
 import sorald.rule.RuleType;
 import sorald.rule.Rules;
+import sorald.sonar.AnalysisResultCache;
+import sorald.sonar.CheckProfiler;
 import sorald.util.MavenUtils;
 
 /** CLI Command for Sorald's mining functionality. */
@@ -62,48 +72,450 @@ class MineCommand extends BaseCommand {
                     "When this argument is used, Sorald only mines violations of the rules that can be fixed by Sorald.")
     private boolean handledRules;
 
+    @CommandLine.Option(
+            names = {Constants.ARG_PROFILE_CHECKS},
+            description =
+                    "Record the CPU time spent by each check and write it to the statistics output file. Requires "
+                            + Constants.ARG_STATS_OUTPUT_FILE
+                            + ". Note that profiling slows down the analysis.")
+    private boolean profileChecks;
+
+    @CommandLine.Option(
+            names = {Constants.ARG_FILE_ANALYSIS_TIMEOUT},
+            description =
+                    "The maximum amount of seconds to spend analyzing a single file. Files whose analysis exceeds it are skipped and recorded as crashes in the statistics output file. By default, there is no limit.")
+    private Integer fileAnalysisTimeout;
+
+    @CommandLine.Option(
+            names = {Constants.ARG_CLONE_WORKERS},
+            description =
+                    "The amount of git repos to clone concurrently when mining git repos. Defaults to 1.")
+    private int cloneWorkers = 1;
+
+    @CommandLine.Option(
+            names = {Constants.ARG_ANALYSIS_WORKERS},
+            description =
+                    "The amount of git repos to analyze concurrently when mining git repos. Cloning of repos overlaps with analysis of others. Defaults to 1.")
+    private int analysisWorkers = 1;
+
+    @CommandLine.Option(
+            names = {Constants.ARG_MIRROR_CACHE_DIR},
+            description =
+                    "A directory to keep mirrors of mined git repos in, such that mining them again only fetches what has changed. By default, git repos are cloned from scratch.")
+    private File mirrorCacheDir;
+
+    @CommandLine.Option(
+            names = {Constants.ARG_MIRROR_CACHE_SIZE},
+            description =
+                    "The disk budget of the mirror cache in megabytes. The least recently used mirrors are evicted when the cache exceeds it. Defaults to ${DEFAULT-VALUE}.")
+    private long mirrorCacheSize = 10_240;
+
+    @CommandLine.Option(
+            names = {Constants.ARG_NO_CHECKOUT},
+            description =
+                    "Clone mined git repos without a working tree, and analyze the Java files of their HEAD commits straight from the git object database. Nothing but the repos themselves is written to disk.")
+    private boolean noCheckout;
+
+    @CommandLine.Option(
+            names = {Constants.ARG_COMMIT_RANGE},
+            description =
+                    "A range of commits on the form A..B to mine the history of the git repo at "
+                            + Constants.ARG_SOURCE
+                            + ", where A is a first-parent ancestor of B. Prints how each commit on the first-parent chain from A to B changes the amount of violations of each rule. Only the Java files that a commit adds or modifies are analyzed.")
+    private String commitRange;
+
+    @CommandLine.Option(
+            names = {Constants.ARG_RESUME},
+            description =
+                    "Resume an earlier run of mining git repos with the same output file, which died before completing all repos. Repos that the run completed are skipped, and any partial output of the others is truncated. Each run records the repos that it completes in a journal next to the output file.")
+    private boolean resume;
+
+    @CommandLine.Option(
+            names = {Constants.ARG_ANALYSIS_CACHE_SIZE},
+            description =
+                    "Analyze each distinct file content only once when mining git repos, keeping the violations of up to this amount in a cache, such that files that occur in many repos, such as vendored libraries, are reused from the cache. Every mined file is read and hashed up front. Mining S1228 or S4605, which report on each repo as a whole, analyzes every file. By default, every file is analyzed.")
+    private Long analysisCacheSize;
+
+    @CommandLine.Option(
+            names = {Constants.ARG_MINER_OUTPUT_FORMAT},
+            description =
+                    "The format of the output file when mining git repos. TEXT gives a line per repo and rule, and JSONL gives a JSON object per line and repo with the counts and locations of its violations, the mined commit and timings. Choices: ${COMPLETION-CANDIDATES}. Defaults to ${DEFAULT-VALUE}.")
+    private MinerOutputFormat minerOutputFormat = MinerOutputFormat.TEXT;
+
+    @CommandLine.Option(
+            names = {Constants.ARG_WORKER_PROCESSES},
+            description =
+                    "Mine git repos with this amount of worker processes, each in a JVM of its own. The repos list is split into shards that the workers take from a queue in the work directory, a worker that crashes is restarted and its shard resumed, and the outputs and statistics of all shards are merged once all are mined. Workers on other machines that share the work directory can help out by running with "
+                            + Constants.ARG_WORKER
+                            + ".")
+    private Integer workerProcesses;
+
+    @CommandLine.Option(
+            names = {Constants.ARG_WORK_DIR},
+            description =
+                    "The work directory of the queue of "
+                            + Constants.ARG_WORKER_PROCESSES
+                            + " and "
+                            + Constants.ARG_WORKER
+                            + ". Running with "
+                            + Constants.ARG_WORKER_PROCESSES
+                            + " on a work directory that already has a queue continues mining that queue. Defaults to the miner output file with a .work suffix.")
+    private File workDir;
+
+    @CommandLine.Option(
+            names = {Constants.ARG_SHARD_SIZE},
+            description =
+                    "The amount of git repos per shard of the queue of "
+                            + Constants.ARG_WORKER_PROCESSES
+                            + ". Defaults to ${DEFAULT-VALUE}.")
+    private int shardSize = 10;
+
+    @CommandLine.Option(
+            names = {Constants.ARG_WORKER},
+            description =
+                    "Run as a worker that mines the shards of the queue in the work directory until there are none left, cloning into the temp directory.")
+    private boolean worker;
+
+    @CommandLine.Option(
+            names = {Constants.ARG_WORKER_ID},
+            description =
+                    "The id of a worker, which must be unique among the workers of a queue. Defaults to the host name and process id.")
+    private String workerId;
+
     @Override
     public Integer call() throws Exception {
         validateArgs();
 
         List<Rule> checks = inferRules(ruleTypes, handledRules);
 
-        var statsCollector = new MinerStatisticsCollector();
         List<String> classpath =
                 resolveClasspathFrom != null
-                        ? MavenUtils.resolveClasspath(resolveClasspathFrom.toPath())
+                        ? resolveMavenClasspath(resolveClasspathFrom.toPath())
                         : List.of();
 
+        if (worker) {
+            runWorker(checks, classpath);
+            return 0;
+        }
+
+        try (var statsCollector = new MinerStatisticsCollector()) {
+            CheckProfiler profiler = profileChecks ? new CheckProfiler() : null;
+            if (workerProcesses != null) {
+                coordinateWorkers(statsCollector);
+            } else {
+                mine(checks, classpath, profiler, statsCollector);
+            }
+            if (statsOutputFile != null) {
+                statsCollector.writeJSON(statsOutputFile, statsMetadata(profiler));
+            }
+        }
+        return 0;
+    }
+
+    private void mine(
+            List<Rule> checks,
+            List<String> classpath,
+            CheckProfiler profiler,
+            MinerStatisticsCollector statsCollector)
+            throws Exception {
         var miner =
                 new MineSonarWarnings(
-                        statsOutputFile == null ? List.of() : List.of(statsCollector), classpath);
+                        statsOutputFile == null ? List.of() : List.of(statsCollector),
+                        classpath,
+                        profiler,
+                        fileAnalysisTimeout == null
+                                ? null
+                                : Duration.ofSeconds(fileAnalysisTimeout),
+                        createResultCache());
 
         if (statsOnGitRepos) {
             List<String> reposList = Files.readAllLines(this.reposList.toPath());
-            miner.mineGitRepos(checks, minerOutputFile.getAbsolutePath(), reposList, tempDir);
+            miner.mineGitRepos(
+                    checks,
+                    minerOutputFile.getAbsolutePath(),
+                    reposList,
+                    tempDir,
+                    cloneWorkers,
+                    analysisWorkers,
+                    mirrorCacheDir == null
+                            ? null
+                            : new RepoMirrorCache(
+                                    mirrorCacheDir.toPath(), mirrorCacheSize * 1024 * 1024),
+                    noCheckout,
+                    resume,
+                    minerOutputFormat);
+        } else if (commitRange != null) {
+            miner.mineCommitRange(
+                    checks, source.toPath().normalize().toAbsolutePath().toString(), commitRange);
         } else {
             miner.mineLocalProject(checks, source.toPath().normalize().toAbsolutePath().toString());
         }
+    }
 
-        if (statsOutputFile != null) {
-            Map<String, Object> additionalStatData =
-                    Map.of(
-                            StatsMetadataKeys.EXECUTION_INFO,
-                            new ExecutionInfo(
-                                    spec.commandLine().getParseResult().originalArgs(),
-                                    SoraldVersionProvider.getVersionFromPropertiesResource(
-                                            SoraldVersionProvider.DEFAULT_RESOURCE_NAME),
-                                    System.getProperty(Constants.JAVA_VERSION_SYSTEM_PROPERTY),
-                                    target));
+    private AnalysisResultCache createResultCache() {
+        return analysisCacheSize == null ? null : new AnalysisResultCache(analysisCacheSize);
+    }
 
-            FileUtils.writeJSON(statsOutputFile, statsCollector, additionalStatData);
+    /** @return The metadata of the run to add to the statistics output file. */
+    private Map<String, Object> statsMetadata(CheckProfiler profiler) throws IOException {
+        Map<String, Object> additionalStatData = new HashMap<>();
+        additionalStatData.put(
+                StatsMetadataKeys.EXECUTION_INFO,
+                new ExecutionInfo(
+                        spec.commandLine().getParseResult().originalArgs(),
+                        SoraldVersionProvider.getVersionFromPropertiesResource(
+                                SoraldVersionProvider.DEFAULT_RESOURCE_NAME),
+                        System.getProperty(Constants.JAVA_VERSION_SYSTEM_PROPERTY),
+                        target));
+        if (profiler != null) {
+            additionalStatData.put(StatsMetadataKeys.CHECK_PROFILES, profiler.getProfiles());
         }
+        return additionalStatData;
+    }
 
-        return 0;
+    /** Mine the repos list with worker processes. */
+    private void coordinateWorkers(MinerStatisticsCollector statsCollector) throws Exception {
+        Path queueDir = getWorkDir().toPath();
+        var coordinator =
+                new MiningCoordinator(
+                        MiningQueue.create(
+                                queueDir, Files.readAllLines(reposList.toPath()), shardSize),
+                        workerProcesses,
+                        this::workerCommand,
+                        queueDir.resolve("logs"),
+                        statsOutputFile == null ? List.of() : List.of(statsCollector));
+        coordinator.run();
+        coordinator.mergeOutputs(minerOutputFile.toPath());
+    }
+
+    /** @return The command that starts a worker process on the queue of this coordinator. */
+    private List<String> workerCommand(String workerId) {
+        List<String> command =
+                new ArrayList<>(
+                        List.of(
+                                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                                "-cp",
+                                System.getProperty("java.class.path"),
+                                Main.class.getName(),
+                                Constants.MINE_COMMAND_NAME,
+                                Constants.ARG_WORKER,
+                                Constants.ARG_WORKER_ID,
+                                workerId,
+                                Constants.ARG_WORK_DIR,
+                                getWorkDir().getAbsolutePath(),
+                                Constants.ARG_TEMP_DIR,
+                                tempDir.getAbsolutePath(),
+                                Constants.ARG_CLONE_WORKERS,
+                                String.valueOf(cloneWorkers),
+                                Constants.ARG_ANALYSIS_WORKERS,
+                                String.valueOf(analysisWorkers),
+                                Constants.ARG_MINER_OUTPUT_FORMAT,
+                                minerOutputFormat.name()));
+        if (!ruleTypes.isEmpty()) {
+            command.add(Constants.ARG_RULE_TYPES);
+            command.add(ruleTypes.stream().map(RuleType::name).collect(Collectors.joining(",")));
+        }
+        if (handledRules) {
+            command.add(Constants.ARG_HANDLED_RULES);
+        }
+        if (fileAnalysisTimeout != null) {
+            command.add(Constants.ARG_FILE_ANALYSIS_TIMEOUT);
+            command.add(String.valueOf(fileAnalysisTimeout));
+        }
+        if (noCheckout) {
+            command.add(Constants.ARG_NO_CHECKOUT);
+        }
+        if (analysisCacheSize != null) {
+            command.add(Constants.ARG_ANALYSIS_CACHE_SIZE);
+            command.add(String.valueOf(analysisCacheSize));
+        }
+        if (resolveClasspathFrom != null) {
+            command.add(Constants.ARG_RESOLVE_CLASSPATH_FROM);
+            command.add(resolveClasspathFrom.getAbsolutePath());
+        }
+        if (classpathCacheDir != null) {
+            command.add(Constants.ARG_CLASSPATH_CACHE_DIR);
+            command.add(classpathCacheDir.getAbsolutePath());
+        }
+        return command;
+    }
+
+    /** Mine the shards of the queue in the work directory until there are none left. */
+    private void runWorker(List<Rule> checks, List<String> classpath) throws IOException {
+        String id = workerId == null ? MiningWorker.defaultWorkerId() : workerId;
+        // each worker clones into a directory of its own, as clones are named after their repos
+        File workerTempDir = tempDir.toPath().resolve(id).toFile();
+        Duration timeout =
+                fileAnalysisTimeout == null ? null : Duration.ofSeconds(fileAnalysisTimeout);
+        // the cache is shared by all shards of the worker
+        AnalysisResultCache resultCache = createResultCache();
+        new MiningWorker(
+                        MiningQueue.open(workDir.toPath()),
+                        id,
+                        (repos, outputFile) -> {
+                            Files.createDirectories(workerTempDir.toPath());
+                            // the events only need to reach the statistics journal of the shard,
+                            // from which the coordinator gathers the statistics
+                            new MineSonarWarnings(
+                                            List.of(event -> {}),
+                                            classpath,
+                                            null,
+                                            timeout,
+                                            resultCache)
+                                    .mineGitRepos(
+                                            checks,
+                                            outputFile.toString(),
+                                            repos,
+                                            workerTempDir,
+                                            cloneWorkers,
+                                            analysisWorkers,
+                                            null,
+                                            noCheckout,
+                                            true,
+                                            minerOutputFormat);
+                        })
+                .run();
+    }
+
+    private File getWorkDir() {
+        return workDir != null ? workDir : new File(minerOutputFile.getAbsolutePath() + ".work");
     }
 
     /** Perform validation on the parsed arguments. */
     private void validateArgs() {
+        if (fileAnalysisTimeout != null && fileAnalysisTimeout <= 0) {
+            throw new CommandLine.ParameterException(
+                    spec.commandLine(),
+                    String.format(
+                            "%s must be a positive amount of seconds",
+                            Constants.ARG_FILE_ANALYSIS_TIMEOUT));
+        }
+        if (cloneWorkers <= 0 || analysisWorkers <= 0) {
+            throw new CommandLine.ParameterException(
+                    spec.commandLine(),
+                    String.format(
+                            "%s and %s must be positive",
+                            Constants.ARG_CLONE_WORKERS, Constants.ARG_ANALYSIS_WORKERS));
+        }
+        if (mirrorCacheSize <= 0) {
+            throw new CommandLine.ParameterException(
+                    spec.commandLine(),
+                    String.format(
+                            "%s must be a positive amount of megabytes",
+                            Constants.ARG_MIRROR_CACHE_SIZE));
+        }
+        if (commitRange != null && !commitRange.contains("..")) {
+            throw new CommandLine.ParameterException(
+                    spec.commandLine(),
+                    String.format("%s must be on the form A..B", Constants.ARG_COMMIT_RANGE));
+        }
+        checkRequires(
+                commitRange != null,
+                Constants.ARG_COMMIT_RANGE,
+                source != null,
+                Constants.ARG_SOURCE);
+        checkExcludes(
+                commitRange != null,
+                Constants.ARG_COMMIT_RANGE,
+                statsOnGitRepos,
+                Constants.ARG_STATS_ON_GIT_REPOS);
+        checkExcludes(
+                noCheckout,
+                Constants.ARG_NO_CHECKOUT,
+                commitRange != null,
+                Constants.ARG_COMMIT_RANGE);
+        // workers mine git repos without being told to
+        checkRequires(
+                noCheckout && !worker,
+                Constants.ARG_NO_CHECKOUT,
+                statsOnGitRepos,
+                Constants.ARG_STATS_ON_GIT_REPOS);
+        checkRequires(
+                resume, Constants.ARG_RESUME, statsOnGitRepos, Constants.ARG_STATS_ON_GIT_REPOS);
+        checkRequires(
+                mirrorCacheDir != null,
+                Constants.ARG_MIRROR_CACHE_DIR,
+                statsOnGitRepos,
+                Constants.ARG_STATS_ON_GIT_REPOS);
+        if (workerProcesses != null && workerProcesses <= 0) {
+            throw new CommandLine.ParameterException(
+                    spec.commandLine(),
+                    String.format("%s must be positive", Constants.ARG_WORKER_PROCESSES));
+        }
+        if (shardSize <= 0) {
+            throw new CommandLine.ParameterException(
+                    spec.commandLine(),
+                    String.format("%s must be positive", Constants.ARG_SHARD_SIZE));
+        }
+        boolean isCoordinator = workerProcesses != null;
+        checkRequires(
+                isCoordinator,
+                Constants.ARG_WORKER_PROCESSES,
+                statsOnGitRepos,
+                Constants.ARG_STATS_ON_GIT_REPOS);
+        checkRequires(
+                isCoordinator,
+                Constants.ARG_WORKER_PROCESSES,
+                reposList != null,
+                Constants.ARG_GIT_REPOS_LIST);
+        checkRequires(
+                isCoordinator,
+                Constants.ARG_WORKER_PROCESSES,
+                minerOutputFile != null,
+                Constants.ARG_MINER_OUTPUT_FILE);
+        checkRequires(
+                isCoordinator,
+                Constants.ARG_WORKER_PROCESSES,
+                tempDir != null,
+                Constants.ARG_TEMP_DIR);
+        checkExcludes(
+                mirrorCacheDir != null,
+                Constants.ARG_MIRROR_CACHE_DIR,
+                isCoordinator,
+                Constants.ARG_WORKER_PROCESSES);
+        checkExcludes(
+                profileChecks,
+                Constants.ARG_PROFILE_CHECKS,
+                isCoordinator,
+                Constants.ARG_WORKER_PROCESSES);
+        // a coordinator continues the queue of its work directory instead
+        checkExcludes(resume, Constants.ARG_RESUME, isCoordinator, Constants.ARG_WORKER_PROCESSES);
+        checkRequires(worker, Constants.ARG_WORKER, workDir != null, Constants.ARG_WORK_DIR);
+        checkRequires(worker, Constants.ARG_WORKER, tempDir != null, Constants.ARG_TEMP_DIR);
+        checkExcludes(
+                worker, Constants.ARG_WORKER, statsOnGitRepos, Constants.ARG_STATS_ON_GIT_REPOS);
+        checkExcludes(worker, Constants.ARG_WORKER, isCoordinator, Constants.ARG_WORKER_PROCESSES);
+        checkRequires(workerId != null, Constants.ARG_WORKER_ID, worker, Constants.ARG_WORKER);
+        if (workDir != null && !worker && !isCoordinator) {
+            throw new CommandLine.ParameterException(
+                    spec.commandLine(),
+                    String.format(
+                            "%s requires %s or %s",
+                            Constants.ARG_WORK_DIR,
+                            Constants.ARG_WORKER_PROCESSES,
+                            Constants.ARG_WORKER));
+        }
+        if (analysisCacheSize != null && analysisCacheSize <= 0) {
+            throw new CommandLine.ParameterException(
+                    spec.commandLine(),
+                    String.format(
+                            "%s must be a positive amount of violations",
+                            Constants.ARG_ANALYSIS_CACHE_SIZE));
+        }
+        if (analysisCacheSize != null && !statsOnGitRepos && !worker) {
+            throw new CommandLine.ParameterException(
+                    spec.commandLine(),
+                    String.format(
+                            "%s requires %s",
+                            Constants.ARG_ANALYSIS_CACHE_SIZE, Constants.ARG_STATS_ON_GIT_REPOS));
+        }
+        if (profileChecks && statsOutputFile == null) {
+            throw new CommandLine.ParameterException(
+                    spec.commandLine(),
+                    String.format(
+                            "%s requires %s",
+                            Constants.ARG_PROFILE_CHECKS, Constants.ARG_STATS_OUTPUT_FILE));
+        }
         if (resolveClasspathFrom != null
                 && !MavenUtils.isMavenProjectRoot(resolveClasspathFrom.toPath())) {
             throw new CommandLine.ParameterException(
@@ -114,6 +526,35 @@ class MineCommand extends BaseCommand {
         }
     }
 
+    /**
+     * @param isGiven Whether an option is given.
+     * @param option The option.
+     * @param isRequiredGiven Whether the option that it requires is given.
+     * @param requiredOption The option that it requires.
+     */
+    private void checkRequires(
+            boolean isGiven, String option, boolean isRequiredGiven, String requiredOption) {
+        if (isGiven && !isRequiredGiven) {
+            throw new CommandLine.ParameterException(
+                    spec.commandLine(), String.format("%s requires %s", option, requiredOption));
+        }
+    }
+
+    /**
+     * @param isGiven Whether an option is given.
+     * @param option The option.
+     * @param isExcludedGiven Whether an option that it can't be used with is given.
+     * @param excludedOption The option that it can't be used with.
+     */
+    private void checkExcludes(
+            boolean isGiven, String option, boolean isExcludedGiven, String excludedOption) {
+        if (isGiven && isExcludedGiven) {
+            throw new CommandLine.ParameterException(
+                    spec.commandLine(),
+                    String.format("%s can't be used with %s", option, excludedOption));
+        }
+    }
+
     /**
      * Infer which rules to use based on rule types specified (or left unspecified) on the command
      * line.
@@ -5,9 +5,11 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import picocli.CommandLine;
 import sorald.Constants;
@@ -28,8 +30,9 @@ import sorald.event.models.repair.RuleRepairStatistics;
 import sorald.processor.SoraldAbstractProcessor;
 import sorald.rule.Rule;
 import sorald.rule.RuleViolation;
+import sorald.rule.StaticAnalyzer;
 import sorald.sonar.ProjectScanner;
-import sorald.util.MavenUtils;
+import sorald.sonar.SonarStaticAnalyzer;
 
 /** The CLI command for the primary repair application. */
 @CommandLine.Command(
@@ -109,13 +112,19 @@ class RepairCommand extends BaseCommand {
         EventHelper.fireEvent(EventType.EXEC_START, eventHandlers);
 
         List<String> classpath = resolveClasspath();
+        // the same analyzer is used for all scans, such that the analysis setup is only done once
+        StaticAnalyzer analyzer = new SonarStaticAnalyzer(FileUtils.getClosestDirectory(source));
 
-        Set<RuleViolation> ruleViolations = resolveRuleViolations(eventHandlers, classpath);
+        Set<RuleViolation> minedViolations =
+                mineViolations(source, ruleKey, eventHandlers, classpath, analyzer);
+        Set<RuleViolation> ruleViolations = resolveRuleViolations(minedViolations);
+        Set<Path> modifiedFiles = Set.of();
         if (ruleViolations.isEmpty()) {
             System.out.println("No rule violations found, nothing to do ...");
         } else {
-            SoraldAbstractProcessor<?> proc =
-                    new Repair(config, classpath, eventHandlers).repair(ruleViolations);
+            var repair = new Repair(config, classpath, eventHandlers);
+            SoraldAbstractProcessor<?> proc = repair.repair(ruleViolations);
+            modifiedFiles = repair.getModifiedFiles();
             printEndProcess(proc);
         }
 
@@ -123,7 +132,8 @@ class RepairCommand extends BaseCommand {
 
         if (statsOutputFile != null) {
             // mine violations to trigger stats collection
-            mineViolations(source, ruleKey, eventHandlers, classpath);
+            mineViolationsAfterRepair(
+                    minedViolations, modifiedFiles, eventHandlers, classpath, analyzer);
             writeStatisticsOutput(
                     statsCollector,
                     FileUtils.getClosestDirectory(source).toPath().toAbsolutePath().normalize());
@@ -134,19 +144,15 @@ class RepairCommand extends BaseCommand {
 
     private List<String> resolveClasspath() {
         if (resolveClasspathFrom != null) {
-            return MavenUtils.resolveClasspath(resolveClasspathFrom.toPath());
+            return resolveMavenClasspath(resolveClasspathFrom.toPath());
         } else if (repairStrategy == RepairStrategy.MAVEN) {
-            return MavenUtils.resolveClasspath(source.toPath());
+            return resolveMavenClasspath(source.toPath());
         } else {
             return List.of();
         }
     }
 
-    private Set<RuleViolation> resolveRuleViolations(
-            List<SoraldEventHandler> eventHandlers, List<String> classpath) {
-        Set<RuleViolation> minedViolations =
-                mineViolations(source, ruleKey, eventHandlers, classpath);
-
+    private Set<RuleViolation> resolveRuleViolations(Set<RuleViolation> minedViolations) {
         if (!specifiedRuleViolations.isEmpty()) {
             specifiedRuleViolations.forEach(
                     specifiedViolation ->
@@ -179,25 +185,69 @@ class RepairCommand extends BaseCommand {
      * @param ruleKey Key of the rule to mine violations of.
      * @param eventHandlers Event handlers to use for events.
      * @param classpath
+     * @param analyzer The static analyzer to mine violations with.
      * @return All found warnings.
      */
     private static Set<RuleViolation> mineViolations(
             File target,
             String ruleKey,
             List<SoraldEventHandler> eventHandlers,
-            List<String> classpath) {
+            List<String> classpath,
+            StaticAnalyzer analyzer) {
         Rule rule = Rule.of(ruleKey);
         Path projectPath = target.toPath().toAbsolutePath().normalize();
-        Set<RuleViolation> violations =
-                ProjectScanner.scanProject(
-                        target, FileUtils.getClosestDirectory(target), List.of(rule), classpath);
-        violations.forEach(
-                warn ->
+        Set<RuleViolation> violations = new HashSet<>();
+        ProjectScanner.scanProject(
+                target,
+                List.of(rule),
+                classpath,
+                analyzer,
+                violation -> {
+                    if (violations.add(violation)) {
                         EventHelper.fireEvent(
-                                new MinedViolationEvent(warn, projectPath), eventHandlers));
+                                new MinedViolationEvent(violation, projectPath), eventHandlers);
+                    }
+                });
         return violations;
     }
 
+    /**
+     * Mine violations from the source after it has been repaired. Sonar analyzes each file in
+     * isolation, so only the files modified by the repair need to be analyzed again. The violations
+     * in all other files are carried over from the scan before the repair.
+     *
+     * @param violationsBefore All violations mined from the source before the repair.
+     * @param modifiedFiles Absolute and normalized paths to the files modified by the repair.
+     * @param eventHandlers Event handlers to use for events.
+     * @param classpath Classpath to fetch type information from.
+     * @param analyzer The static analyzer to mine violations with.
+     */
+    private void mineViolationsAfterRepair(
+            Set<RuleViolation> violationsBefore,
+            Set<Path> modifiedFiles,
+            List<SoraldEventHandler> eventHandlers,
+            List<String> classpath,
+            StaticAnalyzer analyzer) {
+        Path projectPath = source.toPath().toAbsolutePath().normalize();
+        Set<RuleViolation> violations = new HashSet<>();
+        Consumer<RuleViolation> fireMinedViolationEvent =
+                violation -> {
+                    if (violations.add(violation)) {
+                        EventHelper.fireEvent(
+                                new MinedViolationEvent(violation, projectPath), eventHandlers);
+                    }
+                };
+
+        violationsBefore.stream()
+                .filter(violation -> !modifiedFiles.contains(violation.getAbsolutePath()))
+                .forEach(fireMinedViolationEvent);
+        analyzer.findViolations(
+                modifiedFiles.stream().map(Path::toFile).sorted().collect(Collectors.toList()),
+                List.of(Rule.of(ruleKey)),
+                classpath,
+                fireMinedViolationEvent);
+    }
+
     private void writeStatisticsOutput(RepairStatisticsCollector statsCollector, Path projectPath)
             throws IOException {
         var executionInfo =
@@ -1,16 +1,40 @@
 package sorald.event.collectors;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
 import java.util.stream.Collectors;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import sorald.FileUtils;
 import sorald.event.SoraldEvent;
 import sorald.event.SoraldEventHandler;
 import sorald.event.models.WarningLocation;
 import sorald.event.models.miner.MinedRule;
 import sorald.event.models.miner.MinedViolationEvent;
 
-/** Event handler for recording the miner mode statistics. */
-public class MinerStatisticsCollector implements SoraldEventHandler {
+/**
+ * Event handler for recording the miner mode statistics.
+ *
+ * <p>The warning locations are not kept in memory, but spilled to a temporary file per rule as they
+ * are mined, such that memory grows with the amount of rules and crashes rather than with the
+ * amount of violations. Only the spill files of the {@link #MAX_OPEN_SPILLS} most recently mined
+ * rules are kept open for writing, so mining hundreds of rules does not take a file descriptor and
+ * a write buffer for each of them. {@link #writeJSON(File, Map)} streams the locations from the
+ * spill files into the statistics file.
+ */
+public class MinerStatisticsCollector implements SoraldEventHandler, AutoCloseable {
     private static final String RULE_ID_SEPARATOR = ":";
+    static final int MAX_OPEN_SPILLS = 16;
 
     /** start of mining determined by currentTimeMillis */
     private long miningStartTime;
@@ -18,7 +42,14 @@ public class MinerStatisticsCollector implements SoraldEventHandler {
     /** start of mining determined by currentTimeMillis */
     private long miningEndTime;
 
-    private Map<String, List<WarningLocation>> ruleToViolations = new HashMap<>();
+    private final Map<String, LocationSpill> ruleToViolations = new HashMap<>();
+
+    /** The spills that are open for writing, from the least to the most recently written one. */
+    private final Map<LocationSpill, Boolean> openSpills = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final List<SoraldEvent> crashes = new ArrayList<>();
+
+    private Path spillDir;
 
     @Override
     public void registerEvent(SoraldEvent event) {
@@ -31,13 +62,21 @@ public class MinerStatisticsCollector implements SoraldEventHandler {
                 break;
             case MINED:
                 MinedViolationEvent minedViolationEvent = (MinedViolationEvent) event;
-
-                if (!ruleToViolations.containsKey(violationToRuleId(minedViolationEvent)))
-                    ruleToViolations.put(violationToRuleId(minedViolationEvent), new ArrayList<>());
-
-                ruleToViolations
-                        .get(violationToRuleId(minedViolationEvent))
-                        .add(minedViolationEvent.getWarningLocation());
+                try {
+                    LocationSpill spill =
+                            ruleToViolations.get(violationToRuleId(minedViolationEvent));
+                    if (spill == null) {
+                        spill = new LocationSpill(createSpillFile());
+                        ruleToViolations.put(violationToRuleId(minedViolationEvent), spill);
+                    }
+                    openForWriting(spill);
+                    spill.add(minedViolationEvent.getWarningLocation());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                break;
+            case CRASH:
+                crashes.add(event);
                 break;
         }
     }
@@ -57,7 +96,12 @@ public class MinerStatisticsCollector implements SoraldEventHandler {
         return miningEndTime - miningStartTime;
     }
 
-    /** @return All mined rules data */
+    /**
+     * Note that this reads all warning locations into memory, see {@link #writeJSON(File, Map)} for
+     * writing them without doing so.
+     *
+     * @return All mined rules data
+     */
     public List<MinedRule> getMinedRules() {
         return ruleToViolations.entrySet().stream()
                 .map(
@@ -65,11 +109,153 @@ public class MinerStatisticsCollector implements SoraldEventHandler {
                                 new MinedRule(
                                         e.getKey().split(RULE_ID_SEPARATOR)[0],
                                         e.getKey().split(RULE_ID_SEPARATOR)[1],
-                                        e.getValue()))
+                                        e.getValue().readLocations()))
                 .collect(Collectors.toList());
     }
 
+    /** @return All crash event data */
+    public List<SoraldEvent> getCrashes() {
+        return Collections.unmodifiableList(crashes);
+    }
+
+    /**
+     * Write the statistics to a JSON file with the same contents as {@link
+     * FileUtils#writeJSON(File, Object, Map)} would give it, streaming the warning locations from
+     * the spill files.
+     *
+     * @param file The file to write to.
+     * @param additionalData Additional key/value pairs to put in the JSON output.
+     */
+    public void writeJSON(File file, Map<String, Object> additionalData) throws IOException {
+        JSONObject stats =
+                new JSONObject()
+                        .put("miningStartTime", getMiningStartTime())
+                        .put("miningEndTime", getMiningEndTime())
+                        .put("totalMiningTime", getTotalMiningTime())
+                        .put("crashes", new JSONArray(crashes));
+        FileUtils.writeJSON(file, stats, additionalData, "minedRules", this::writeMinedRules);
+    }
+
+    private void writeMinedRules(Writer writer) throws IOException {
+        writer.write("[");
+        String ruleSeparator = "";
+        for (Map.Entry<String, LocationSpill> rule : ruleToViolations.entrySet()) {
+            writer.write(ruleSeparator);
+            ruleSeparator = ",";
+            JSONObject head =
+                    new JSONObject()
+                            .put("ruleKey", rule.getKey().split(RULE_ID_SEPARATOR)[0])
+                            .put("ruleName", rule.getKey().split(RULE_ID_SEPARATOR)[1]);
+            String headJSON = head.toString();
+            writer.write(headJSON, 0, headJSON.length() - 1);
+            writer.write(",\"warningLocations\":[");
+            rule.getValue().copyLocationsTo(writer);
+            writer.write("]}");
+        }
+        writer.write("]");
+    }
+
+    /** Delete the spill files. */
+    @Override
+    public void close() throws IOException {
+        for (LocationSpill spill : ruleToViolations.values()) {
+            spill.delete();
+        }
+        openSpills.clear();
+        if (spillDir != null) {
+            Files.deleteIfExists(spillDir);
+        }
+    }
+
+    private void openForWriting(LocationSpill spill) throws IOException {
+        if (openSpills.put(spill, Boolean.TRUE) != null) {
+            return;
+        }
+        if (openSpills.size() > MAX_OPEN_SPILLS) {
+            Iterator<LocationSpill> leastRecentlyWritten = openSpills.keySet().iterator();
+            leastRecentlyWritten.next().closeWriter();
+            leastRecentlyWritten.remove();
+        }
+        spill.openWriter();
+    }
+
+    private Path createSpillFile() throws IOException {
+        if (spillDir == null) {
+            spillDir = Files.createTempDirectory("sorald-mined-");
+            spillDir.toFile().deleteOnExit();
+        }
+        Path spillFile = Files.createTempFile(spillDir, "locations-", ".jsonl");
+        spillFile.toFile().deleteOnExit();
+        return spillFile;
+    }
+
     private String violationToRuleId(MinedViolationEvent violation) {
         return violation.getRuleKey() + RULE_ID_SEPARATOR + violation.getRuleName();
     }
+
+    /**
+     * The warning locations of a rule, one JSON object per line of a spill file. The spill file is
+     * only written to while it is open for writing.
+     */
+    private static class LocationSpill {
+        private final Path file;
+        private BufferedWriter writer;
+
+        LocationSpill(Path file) {
+            this.file = file;
+        }
+
+        void openWriter() throws IOException {
+            writer = Files.newBufferedWriter(file, UTF_8, StandardOpenOption.APPEND);
+        }
+
+        void closeWriter() throws IOException {
+            if (writer != null) {
+                writer.close();
+                writer = null;
+            }
+        }
+
+        void add(WarningLocation location) throws IOException {
+            writer.write(new JSONObject(location).toString());
+            writer.newLine();
+        }
+
+        private void flush() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+        }
+
+        /** Copy the locations to a writer as the comma separated elements of a JSON array. */
+        void copyLocationsTo(Writer out) throws IOException {
+            flush();
+            try (BufferedReader reader = Files.newBufferedReader(file, UTF_8)) {
+                String separator = "";
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    out.write(separator);
+                    out.write(line);
+                    separator = ",";
+                }
+            }
+        }
+
+        List<WarningLocation> readLocations() {
+            try {
+                flush();
+                try (var lines = Files.lines(file, UTF_8)) {
+                    return lines.map(line -> WarningLocation.fromJSON(new JSONObject(line)))
+                            .collect(Collectors.toList());
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void delete() throws IOException {
+            closeWriter();
+            Files.deleteIfExists(file);
+        }
+    }
 }
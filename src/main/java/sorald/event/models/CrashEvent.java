@@ -2,34 +2,57 @@ package sorald.event.models;
 
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import org.json.JSONObject;
 import sorald.event.EventType;
 import sorald.event.SoraldEvent;
 
 /** Event recording a crash. */
 public class CrashEvent implements SoraldEvent {
     private final String description;
-    private final Exception exception;
+    private final String message;
+    private final String stackTrace;
 
     public CrashEvent(String description, Exception exception) {
         this.description = description;
-        this.exception = exception;
+        this.message = exception.getMessage();
+        StringWriter buf = new StringWriter();
+        exception.printStackTrace(new PrintWriter(buf));
+        this.stackTrace = buf.toString();
         exception.printStackTrace();
     }
 
+    /** @param description Description of a crash that has no exception of its own. */
+    public CrashEvent(String description) {
+        this.description = description;
+        this.message = null;
+        this.stackTrace = "";
+    }
+
+    private CrashEvent(JSONObject json) {
+        this.description = json.getString("description");
+        this.message = json.optString("message", null);
+        this.stackTrace = json.optString("stackTrace", "");
+    }
+
+    /**
+     * @param json A crash event serialized through its getters.
+     * @return The crash event.
+     */
+    public static CrashEvent fromJSON(JSONObject json) {
+        return new CrashEvent(json);
+    }
+
     @Override
     public EventType type() {
         return EventType.CRASH;
     }
 
     public String getStackTrace() {
-        StringWriter buf = new StringWriter();
-        exception.printStackTrace(new PrintWriter(buf));
-        return buf.toString();
+        return stackTrace;
     }
 
     public String getMessage() {
-        String excMsg = exception.getMessage();
-        return excMsg.isEmpty() ? "N/A" : excMsg;
+        return message == null || message.isEmpty() ? "N/A" : message;
     }
 
     public String getDescription() {
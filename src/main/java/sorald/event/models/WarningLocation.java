@@ -1,6 +1,7 @@
 package sorald.event.models;
 
 import java.nio.file.Path;
+import org.json.JSONObject;
 import sorald.rule.RuleViolation;
 
 public class WarningLocation {
@@ -20,6 +21,23 @@ public class WarningLocation {
         this.violationSpecifier = violation.relativeSpecifier(projectPath);
     }
 
+    private WarningLocation(JSONObject json) {
+        this.filePath = json.getString("filePath");
+        this.startLine = json.getInt("startLine");
+        this.endLine = json.getInt("endLine");
+        this.startColumn = json.getInt("startColumn");
+        this.endColumn = json.getInt("endColumn");
+        this.violationSpecifier = json.getString("violationSpecifier");
+    }
+
+    /**
+     * @param json A warning location serialized through its getters.
+     * @return The warning location.
+     */
+    public static WarningLocation fromJSON(JSONObject json) {
+        return new WarningLocation(json);
+    }
+
     public String getFilePath() {
         return filePath;
     }
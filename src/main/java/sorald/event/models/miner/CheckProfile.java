@@ -0,0 +1,67 @@
+package sorald.event.models.miner;
+
+import java.util.List;
+
+/** CPU time spent by a single Sonar check during an analysis. */
+public class CheckProfile {
+    private final String ruleKey;
+    private final String checkName;
+    private final double cpuTimeMs;
+    private final int invocations;
+    private final List<FileTime> slowestFiles;
+
+    public CheckProfile(
+            String ruleKey,
+            String checkName,
+            double cpuTimeMs,
+            int invocations,
+            List<FileTime> slowestFiles) {
+        this.ruleKey = ruleKey;
+        this.checkName = checkName;
+        this.cpuTimeMs = cpuTimeMs;
+        this.invocations = invocations;
+        this.slowestFiles = List.copyOf(slowestFiles);
+    }
+
+    public String getRuleKey() {
+        return ruleKey;
+    }
+
+    public String getCheckName() {
+        return checkName;
+    }
+
+    /** @return Cumulative CPU time spent by the check, over all files. */
+    public double getCpuTimeMs() {
+        return cpuTimeMs;
+    }
+
+    /** @return The amount of files that the check analyzed. */
+    public int getInvocations() {
+        return invocations;
+    }
+
+    /** @return The files that the check spent the most CPU time on, slowest first. */
+    public List<FileTime> getSlowestFiles() {
+        return slowestFiles;
+    }
+
+    /** CPU time spent by a check on a single file. */
+    public static class FileTime {
+        private final String filePath;
+        private final double cpuTimeMs;
+
+        public FileTime(String filePath, double cpuTimeMs) {
+            this.filePath = filePath;
+            this.cpuTimeMs = cpuTimeMs;
+        }
+
+        public String getFilePath() {
+            return filePath;
+        }
+
+        public double getCpuTimeMs() {
+            return cpuTimeMs;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package sorald.event.models.miner;
 
 import java.nio.file.Path;
+import org.json.JSONObject;
 import sorald.event.EventType;
 import sorald.event.SoraldEvent;
 import sorald.event.models.WarningLocation;
@@ -25,6 +26,20 @@ public class MinedViolationEvent implements SoraldEvent {
         this.warningLocation = new WarningLocation(violation, projectPath);
     }
 
+    private MinedViolationEvent(JSONObject json) {
+        this.ruleKey = json.getString("ruleKey");
+        this.ruleName = json.getString("ruleName");
+        this.warningLocation = WarningLocation.fromJSON(json.getJSONObject("warningLocation"));
+    }
+
+    /**
+     * @param json A mined violation event serialized through its getters.
+     * @return The mined violation event.
+     */
+    public static MinedViolationEvent fromJSON(JSONObject json) {
+        return new MinedViolationEvent(json);
+    }
+
     public String getRuleKey() {
         return ruleKey;
     }
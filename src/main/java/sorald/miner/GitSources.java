@@ -0,0 +1,103 @@
+package sorald.miner;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.jgit.diff.DiffEntry;
+import org.eclipse.jgit.lib.FileMode;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevTree;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.eclipse.jgit.treewalk.filter.AndTreeFilter;
+import org.eclipse.jgit.treewalk.filter.PathSuffixFilter;
+import org.eclipse.jgit.treewalk.filter.TreeFilter;
+import sorald.Constants;
+import sorald.sonar.InMemorySourceFile;
+
+/**
+ * Helper class for reading the Java files of a commit straight from the object database of a git
+ * repository, such that the commit need not be checked out.
+ */
+class GitSources {
+    private GitSources() {}
+
+    /**
+     * List the Java files in the tree of a revision. The blobs are not read until the contents of a
+     * file are loaded, and the repository must remain open until then.
+     *
+     * @param repo The repository to read the files from.
+     * @param revision Any revision that resolves to a commit, such as a branch name or a sha.
+     * @return The Java files of the revision, with paths relative to the root of the repository.
+     */
+    static List<InMemorySourceFile> javaFilesAt(Repository repo, String revision)
+            throws IOException {
+        ObjectId commitId = repo.resolve(revision);
+        if (commitId == null) {
+            throw new IllegalArgumentException("no such revision: " + revision);
+        }
+
+        List<InMemorySourceFile> sources = new ArrayList<>();
+        try (RevWalk revWalk = new RevWalk(repo);
+                TreeWalk treeWalk = new TreeWalk(repo)) {
+            RevCommit commit = revWalk.parseCommit(commitId);
+            treeWalk.addTree(commit.getTree());
+            treeWalk.setRecursive(true);
+            treeWalk.setFilter(PathSuffixFilter.create(Constants.JAVA_EXT));
+            while (treeWalk.next()) {
+                // submodules and symlinks have no Java source of their own in this repository
+                if (!isRegularFile(treeWalk.getFileMode(0))) {
+                    continue;
+                }
+                sources.add(toSource(repo, treeWalk.getPathString(), treeWalk.getObjectId(0)));
+            }
+        }
+        return sources;
+    }
+
+    /**
+     * List the Java files that differ between two trees. Renames are not detected, so a renamed
+     * file shows up as a deletion and an addition.
+     *
+     * @param repo The repository that contains the trees.
+     * @param oldTree The tree to compare against.
+     * @param newTree The tree to compare.
+     * @return The differences in Java files between the trees.
+     */
+    static List<DiffEntry> changedJavaFiles(Repository repo, RevTree oldTree, RevTree newTree)
+            throws IOException {
+        try (TreeWalk treeWalk = new TreeWalk(repo)) {
+            treeWalk.addTree(oldTree);
+            treeWalk.addTree(newTree);
+            treeWalk.setRecursive(true);
+            treeWalk.setFilter(
+                    AndTreeFilter.create(
+                            PathSuffixFilter.create(Constants.JAVA_EXT), TreeFilter.ANY_DIFF));
+            return DiffEntry.scan(treeWalk);
+        }
+    }
+
+    /**
+     * @param mode Mode of a tree entry.
+     * @return Whether the entry is a regular file, as opposed to a submodule or a symlink.
+     */
+    static boolean isRegularFile(FileMode mode) {
+        return (mode.getBits() & FileMode.TYPE_MASK) == FileMode.TYPE_FILE;
+    }
+
+    /**
+     * @param repo The repository that contains the blob.
+     * @param path Path to the file relative to the root of the repository.
+     * @param blobId Id of the blob with the contents of the file.
+     * @return A source file whose contents are read from the blob when they are loaded.
+     */
+    static InMemorySourceFile toSource(Repository repo, String path, ObjectId blobId) {
+        return new InMemorySourceFile(
+                path,
+                () ->
+                        repo.open(blobId, org.eclipse.jgit.lib.Constants.OBJ_BLOB)
+                                .getBytes(Integer.MAX_VALUE));
+    }
+}
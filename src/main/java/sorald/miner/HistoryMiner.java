@@ -0,0 +1,207 @@
+package sorald.miner;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.diff.DiffEntry;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevTree;
+import org.eclipse.jgit.revwalk.RevWalk;
+import sorald.event.EventHelper;
+import sorald.event.EventType;
+import sorald.event.SoraldEventHandler;
+import sorald.event.models.miner.MinedViolationEvent;
+import sorald.rule.Rule;
+import sorald.rule.RuleViolation;
+import sorald.sonar.CheckProfiler;
+import sorald.sonar.InMemorySourceFile;
+import sorald.sonar.SonarStaticAnalyzer;
+
+/**
+ * Mines the violations of each commit in a range of history. The first commit of the range is
+ * analyzed in full, and after that only the Java files that a commit adds or modifies are analyzed.
+ * The violations of all other files are carried forward from the previous commit, such that the
+ * cost of mining a range is roughly that of its churn rather than that of a full scan per commit.
+ *
+ * <p>Sonar analyzes each file on its own, with type information only from the classpath, so the
+ * violations of a file depend on nothing but its own contents. The exception is checks that report
+ * on the project as a whole once all files have been analyzed, which only see the changed files.
+ */
+class HistoryMiner {
+    private static final String RANGE_SEPARATOR = "..";
+
+    private final List<SoraldEventHandler> eventHandlers;
+    private final List<String> classpath;
+    private final CheckProfiler profiler;
+    private final Duration fileTimeout;
+
+    HistoryMiner(
+            List<SoraldEventHandler> eventHandlers,
+            List<String> classpath,
+            CheckProfiler profiler,
+            Duration fileTimeout) {
+        this.eventHandlers = eventHandlers;
+        this.classpath = classpath;
+        this.profiler = profiler;
+        this.fileTimeout = fileTimeout;
+    }
+
+    /**
+     * Mine the violation deltas of each commit in a range. The range {@code A..B} consists of A and
+     * the commits on the first-parent chain from A to B, in that order. The delta of A is relative
+     * to an empty project, and the delta of each later commit is relative to the commit before it.
+     *
+     * @param gitDir The directory of the repository, which may be bare.
+     * @param commitRange A range on the form {@code A..B}, where A is a first-parent ancestor of B.
+     * @param rules Rules to find violations of.
+     * @param deltaConsumer Consumer of the delta of each commit, as soon as it has been mined.
+     */
+    void mine(
+            File gitDir, String commitRange, List<Rule> rules, Consumer<CommitDelta> deltaConsumer)
+            throws IOException {
+        File projectRoot = gitDir.getAbsoluteFile();
+        try (Git git = Git.open(projectRoot);
+                RevWalk revWalk = new RevWalk(git.getRepository())) {
+            Repository repo = git.getRepository();
+            List<RevCommit> commits = firstParentChain(repo, revWalk, commitRange);
+            var analyzer =
+                    new SonarStaticAnalyzer(projectRoot, profiler, fileTimeout, eventHandlers);
+            // violation counts by rule key, by path of each file that has any violations
+            Map<String, Map<String, Integer>> fileViolations = new HashMap<>();
+
+            EventHelper.fireEvent(EventType.MINING_START, eventHandlers);
+            RevTree previousTree = null;
+            for (RevCommit commit : commits) {
+                Map<String, Integer> delta = new HashMap<>();
+                List<InMemorySourceFile> changedSources = new ArrayList<>();
+                if (previousTree == null) {
+                    changedSources.addAll(GitSources.javaFilesAt(repo, commit.name()));
+                } else {
+                    for (DiffEntry entry :
+                            GitSources.changedJavaFiles(repo, previousTree, commit.getTree())) {
+                        if (entry.getChangeType() != DiffEntry.ChangeType.ADD) {
+                            subtract(fileViolations.remove(entry.getOldPath()), delta);
+                        }
+                        if (entry.getChangeType() != DiffEntry.ChangeType.DELETE
+                                && GitSources.isRegularFile(entry.getNewMode())) {
+                            changedSources.add(
+                                    GitSources.toSource(
+                                            repo,
+                                            entry.getNewPath(),
+                                            entry.getNewId().toObjectId()));
+                        }
+                    }
+                }
+
+                Set<RuleViolation> violations = new HashSet<>();
+                analyzer.findViolationsInSources(
+                        changedSources,
+                        rules,
+                        classpath,
+                        violation -> {
+                            if (violations.add(violation)) {
+                                String path = toGitPath(projectRoot.toPath(), violation);
+                                fileViolations
+                                        .computeIfAbsent(path, p -> new HashMap<>())
+                                        .merge(violation.getRuleKey(), 1, Integer::sum);
+                                delta.merge(violation.getRuleKey(), 1, Integer::sum);
+                                EventHelper.fireEvent(
+                                        new MinedViolationEvent(violation, projectRoot.toPath()),
+                                        eventHandlers);
+                            }
+                        });
+
+                delta.values().removeIf(count -> count == 0);
+                deltaConsumer.accept(new CommitDelta(commit.name(), delta));
+                previousTree = commit.getTree();
+            }
+            EventHelper.fireEvent(EventType.MINING_END, eventHandlers);
+        }
+    }
+
+    private static List<RevCommit> firstParentChain(
+            Repository repo, RevWalk revWalk, String commitRange) throws IOException {
+        int separatorIndex = commitRange.indexOf(RANGE_SEPARATOR);
+        if (separatorIndex <= 0
+                || separatorIndex + RANGE_SEPARATOR.length() >= commitRange.length()) {
+            throw new IllegalArgumentException("commit range must be on the form A..B");
+        }
+        RevCommit start =
+                revWalk.parseCommit(resolve(repo, commitRange.substring(0, separatorIndex)));
+        RevCommit end =
+                revWalk.parseCommit(
+                        resolve(
+                                repo,
+                                commitRange.substring(separatorIndex + RANGE_SEPARATOR.length())));
+
+        List<RevCommit> commits = new ArrayList<>();
+        RevCommit commit = end;
+        while (!commit.equals(start)) {
+            commits.add(commit);
+            if (commit.getParentCount() == 0) {
+                throw new IllegalArgumentException(
+                        start.name() + " is not a first-parent ancestor of " + end.name());
+            }
+            commit = revWalk.parseCommit(commit.getParent(0));
+        }
+        commits.add(start);
+        Collections.reverse(commits);
+        return commits;
+    }
+
+    private static ObjectId resolve(Repository repo, String revision) throws IOException {
+        ObjectId id = repo.resolve(revision);
+        if (id == null) {
+            throw new IllegalArgumentException("no such revision: " + revision);
+        }
+        return id;
+    }
+
+    private static void subtract(Map<String, Integer> violations, Map<String, Integer> delta) {
+        if (violations != null) {
+            violations.forEach((ruleKey, count) -> delta.merge(ruleKey, -count, Integer::sum));
+        }
+    }
+
+    /** The sources are analyzed at their git paths in the project root. */
+    private static String toGitPath(Path projectRoot, RuleViolation violation) {
+        return projectRoot
+                .relativize(violation.getAbsolutePath())
+                .toString()
+                .replace(File.separatorChar, '/');
+    }
+
+    /** The change in the amount of violations of each rule that a commit brings about. */
+    static class CommitDelta {
+        private final String commit;
+        private final Map<String, Integer> deltas;
+
+        CommitDelta(String commit, Map<String, Integer> deltas) {
+            this.commit = commit;
+            this.deltas = Collections.unmodifiableMap(new TreeMap<>(deltas));
+        }
+
+        /** @return The sha of the commit. */
+        String getCommit() {
+            return commit;
+        }
+
+        /** @return The non-zero change in the amount of violations by rule key, sorted by key. */
+        Map<String, Integer> getDeltas() {
+            return deltas;
+        }
+    }
+}
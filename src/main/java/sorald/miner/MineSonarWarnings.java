@@ -1,64 +1,549 @@
 package sorald.miner;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+
 import java.io.*;
-import java.nio.file.Paths;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.json.JSONObject;
 import sorald.FileUtils;
 import sorald.event.EventHelper;
 import sorald.event.EventType;
 import sorald.event.SoraldEventHandler;
+import sorald.event.models.CrashEvent;
 import sorald.event.models.miner.MinedViolationEvent;
 import sorald.rule.Rule;
 import sorald.rule.RuleViolation;
+import sorald.sonar.AnalysisResultCache;
+import sorald.sonar.CheckProfiler;
+import sorald.sonar.InMemorySourceFile;
 import sorald.sonar.ProjectScanner;
+import sorald.sonar.SonarStaticAnalyzer;
 
 public class MineSonarWarnings {
+    /** Suffix of the checkpoint journal of a run, appended to the path of its output file. */
+    public static final String JOURNAL_SUFFIX = ".journal";
+
+    /**
+     * Suffix of the statistics journal of a run that gathers statistics, appended to the path of
+     * its output file.
+     */
+    public static final String STATS_JOURNAL_SUFFIX = ".stats.journal";
+
     final List<SoraldEventHandler> eventHandlers;
     private final List<String> classpath;
+    private final CheckProfiler profiler;
+    private final Duration fileTimeout;
+    private final AnalysisResultCache resultCache;
 
     public MineSonarWarnings(
             List<? extends SoraldEventHandler> eventHandlers, List<String> classpath) {
+        this(eventHandlers, classpath, null, null);
+    }
+
+    /**
+     * @param eventHandlers Event handlers to use for events.
+     * @param classpath Classpath to fetch type information from.
+     * @param profiler Profiler to record the time spent by each check in, or null to not profile
+     *     the checks.
+     * @param fileTimeout The maximum amount of time to spend analyzing a single file, or null for
+     *     no limit. Files that exceed it are skipped and reported as crashes.
+     */
+    public MineSonarWarnings(
+            List<? extends SoraldEventHandler> eventHandlers,
+            List<String> classpath,
+            CheckProfiler profiler,
+            Duration fileTimeout) {
+        this(eventHandlers, classpath, profiler, fileTimeout, null);
+    }
+
+    /**
+     * @param eventHandlers Event handlers to use for events.
+     * @param classpath Classpath to fetch type information from.
+     * @param profiler Profiler to record the time spent by each check in, or null to not profile
+     *     the checks.
+     * @param fileTimeout The maximum amount of time to spend analyzing a single file, or null for
+     *     no limit. Files that exceed it are skipped and reported as crashes.
+     * @param resultCache Cache of the violations in files with the same contents, such that files
+     *     that are shared by many of the mined projects, such as vendored libraries, are only
+     *     analyzed once, or null to analyze every file.
+     */
+    public MineSonarWarnings(
+            List<? extends SoraldEventHandler> eventHandlers,
+            List<String> classpath,
+            CheckProfiler profiler,
+            Duration fileTimeout,
+            AnalysisResultCache resultCache) {
         this.eventHandlers = Collections.unmodifiableList(eventHandlers);
         this.classpath = classpath;
+        this.profiler = profiler;
+        this.fileTimeout = fileTimeout;
+        this.resultCache = resultCache;
     }
 
     public void mineGitRepos(
             List<Rule> rules, String outputPath, List<String> reposList, File repoDir)
             throws IOException {
-        // stats on a list of git repos
-        for (String repo : reposList) {
-            String repoName = repo.substring(repo.lastIndexOf('/') + 1, repo.lastIndexOf("."));
+        mineGitRepos(
+                rules,
+                outputPath,
+                reposList,
+                repoDir,
+                1,
+                1,
+                null,
+                false,
+                false,
+                MinerOutputFormat.TEXT);
+    }
 
-            org.apache.commons.io.FileUtils.cleanDirectory(repoDir);
+    /**
+     * Mine a list of git repositories in a pipeline, in which a pool of clone workers feeds a pool
+     * of analysis workers such that cloning of some repositories overlaps with analysis of others.
+     * Each repository is cloned into its own directory in the repo directory, which is deleted once
+     * the repository has been analyzed. The results are appended to the output file in the order of
+     * the repository list, through a single writer that stays open for the whole run. A repository
+     * is only started once there are fewer than {@code cloneWorkers + analysisWorkers} started
+     * repositories whose reports have not been written, such that a slow repository holds up the
+     * others rather than having their reports pile up in memory.
+     *
+     * <p>Each completed repository is recorded in a checkpoint journal next to the output file,
+     * such that a run that dies half way through can be resumed. If there are event handlers, the
+     * mined violations and crashes of each repository are passed on to them once its report has
+     * been written, and are also recorded in a statistics journal next to the output file. A
+     * resumed run passes the events of the statistics journal on to the event handlers first, such
+     * that its statistics cover all repositories of the run rather than only the resumed part.
+     *
+     * <p>A repository that fails to clone is reported as not cloned, and one whose analysis crashes
+     * is reported as crashed and passed on to the event handlers as a crash, after which the run
+     * carries on with the next repository.
+     *
+     * @param rules Rules to find violations of.
+     * @param outputPath Path to the file to append the results to.
+     * @param reposList Urls of the repositories to mine.
+     * @param repoDir Directory to clone the repositories into.
+     * @param cloneWorkers Amount of repositories to clone concurrently.
+     * @param analysisWorkers Amount of repositories to analyze concurrently.
+     * @param mirrorCache Cache to clone the repositories through, or null to clone them directly
+     *     from their remotes.
+     * @param noCheckout Whether to clone the repositories without a working tree, and analyze the
+     *     files of their HEAD commits straight from the object database.
+     * @param resume Whether to resume the run recorded in the journal, skipping the repositories
+     *     that it completed and truncating any partial report from the output file.
+     * @param outputFormat Format of the results.
+     * @throws IllegalStateException If resuming a run without a statistics journal while there are
+     *     event handlers.
+     */
+    public void mineGitRepos(
+            List<Rule> rules,
+            String outputPath,
+            List<String> reposList,
+            File repoDir,
+            int cloneWorkers,
+            int analysisWorkers,
+            RepoMirrorCache mirrorCache,
+            boolean noCheckout,
+            boolean resume,
+            MinerOutputFormat outputFormat)
+            throws IOException {
+        Path output = Path.of(outputPath);
+        Path journalFile = Path.of(outputPath + JOURNAL_SUFFIX);
+        Path statsJournal =
+                eventHandlers.isEmpty() ? null : Path.of(outputPath + STATS_JOURNAL_SUFFIX);
+        MiningJournal journal =
+                resume
+                        ? MiningJournal.resume(journalFile, output, statsJournal)
+                        : MiningJournal.start(journalFile, output, statsJournal);
 
-            boolean isCloned = false;
+        ExecutorService clonePool =
+                Executors.newFixedThreadPool(cloneWorkers, daemonThreads("sorald-clone"));
+        ExecutorService analysisPool =
+                Executors.newFixedThreadPool(analysisWorkers, daemonThreads("sorald-mine"));
+        // bounds the amount of repositories that are on disk or whose reports await writing, such
+        // that neither cloning nor a slow repository can make the others pile up
+        int window = cloneWorkers + analysisWorkers;
+        // the event handlers need not be thread safe, so they must only see one event at a time
+        List<SoraldEventHandler> runHandlers =
+                analysisWorkers == 1 ? eventHandlers : synchronize(eventHandlers);
 
-            try {
-                Git git = Git.cloneRepository().setURI(repo).setDirectory(repoDir).call();
+        try (journal;
+                FileOutputStream out = new FileOutputStream(outputPath, true);
+                PrintWriter writer =
+                        new PrintWriter(new BufferedWriter(new OutputStreamWriter(out, UTF_8)));
+                FileOutputStream statsOut =
+                        statsJournal == null
+                                ? null
+                                : new FileOutputStream(statsJournal.toFile(), true)) {
+            if (resume && statsJournal != null) {
+                RepoEvents.replay(statsJournal, eventHandlers);
+            }
+            Deque<CompletableFuture<RepoReport>> reports = new ArrayDeque<>();
+            for (String repo : reposList) {
+                if (journal.isCompleted(repo)) {
+                    continue;
+                }
+                if (reports.size() == window) {
+                    writeReport(
+                            awaitReport(reports.removeFirst()),
+                            outputFormat,
+                            out,
+                            writer,
+                            statsOut,
+                            journal,
+                            outputPath);
+                }
+                reports.addLast(
+                        CompletableFuture.supplyAsync(
+                                        () -> cloneRepo(repo, repoDir, mirrorCache, noCheckout),
+                                        clonePool)
+                                .thenApplyAsync(
+                                        clone ->
+                                                analyzeClone(
+                                                        clone,
+                                                        rules,
+                                                        noCheckout,
+                                                        outputFormat,
+                                                        statsJournal == null
+                                                                ? null
+                                                                : recordEvents(runHandlers)),
+                                        analysisPool));
+            }
+            while (!reports.isEmpty()) {
+                writeReport(
+                        awaitReport(reports.removeFirst()),
+                        outputFormat,
+                        out,
+                        writer,
+                        statsOut,
+                        journal,
+                        outputPath);
+            }
+        } finally {
+            clonePool.shutdownNow();
+            analysisPool.shutdownNow();
+        }
+    }
+
+    private static RepoEvents recordEvents(List<SoraldEventHandler> runHandlers) {
+        try {
+            return new RepoEvents(runHandlers);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Append a report to the output file and its events to the statistics journal, record its
+     * repository as completed in the journal, and only then pass its events on to the event
+     * handlers of the run.
+     */
+    private static void writeReport(
+            RepoReport report,
+            MinerOutputFormat outputFormat,
+            FileOutputStream out,
+            PrintWriter writer,
+            FileOutputStream statsOut,
+            MiningJournal journal,
+            String outputPath)
+            throws IOException {
+        if (outputFormat == MinerOutputFormat.JSONL) {
+            report.writeJSON(writer);
+            writer.println();
+        } else {
+            report.toLines().forEach(writer::println);
+        }
+        writer.flush();
+        if (writer.checkError()) {
+            throw new IOException("failed to write to " + outputPath);
+        }
+        // the report must be on disk before the journal says that it is
+        out.getFD().sync();
+        Long statsOffset = null;
+        if (statsOut != null) {
+            report.events.appendTo(statsOut);
+            statsOut.getFD().sync();
+            statsOffset = statsOut.getChannel().size();
+        }
+        journal.recordCompleted(report.repo, report.commit, out.getChannel().size(), statsOffset);
+        if (report.events != null) {
+            report.events.replay();
+            report.events.delete();
+        }
+        if (report.violations != null) {
+            report.violations.delete();
+        }
+    }
+
+    private static ClonedRepo cloneRepo(
+            String repo, File repoDir, RepoMirrorCache mirrorCache, boolean bare) {
+        String repoName = repo.substring(repo.lastIndexOf('/') + 1, repo.lastIndexOf("."));
+        long start = System.nanoTime();
+        File cloneDir = null;
+        try {
+            cloneDir = Files.createTempDirectory(repoDir.toPath(), repoName + "-").toFile();
+            if (mirrorCache == null) {
+                Git git =
+                        Git.cloneRepository()
+                                .setURI(repo)
+                                .setDirectory(cloneDir)
+                                .setBare(bare)
+                                .call();
                 git.close();
-                isCloned = true;
-            } catch (Exception e) {
-                e.printStackTrace();
+            } else {
+                mirrorCache.cloneInto(repo, cloneDir, bare);
+            }
+            String commit;
+            try (Git git = Git.open(cloneDir)) {
+                ObjectId head = git.getRepository().resolve(Constants.HEAD);
+                commit = head == null ? null : head.name();
             }
+            return new ClonedRepo(repo, repoName, commit, cloneDir, true, millisSince(start));
+        } catch (Exception e) {
+            e.printStackTrace();
+            return new ClonedRepo(repo, repoName, null, cloneDir, false, millisSince(start));
+        }
+    }
 
-            Map<String, Integer> warnings = extractWarnings(repoDir.getAbsolutePath(), rules);
+    /**
+     * @param events Recorder of the events of the repository, or null to pass them on to the event
+     *     handlers of this miner right away.
+     */
+    private RepoReport analyzeClone(
+            ClonedRepo clone,
+            List<Rule> rules,
+            boolean bare,
+            MinerOutputFormat outputFormat,
+            RepoEvents events) {
+        MineSonarWarnings miner =
+                events == null
+                        ? this
+                        : new MineSonarWarnings(
+                                List.of(events), classpath, profiler, fileTimeout, resultCache);
+        try {
+            if (!clone.isCloned) {
+                return new RepoReport(clone, null, null, 0, false, events);
+            }
 
-            PrintWriter pw = new PrintWriter(new FileWriter(outputPath, true));
+            long start = System.nanoTime();
+            // only the JSON output has room for the locations of the violations
+            RepoViolations violations =
+                    outputFormat == MinerOutputFormat.JSONL
+                            ? recordViolations(clone.dir.getAbsoluteFile().toPath())
+                            : null;
+            Consumer<RuleViolation> violationConsumer =
+                    violations == null ? violation -> {} : violations;
+            Map<Rule, Integer> warnings;
+            try {
+                warnings =
+                        bare
+                                ? miner.countWarningsInCommit(
+                                        clone.dir, Constants.HEAD, rules, violationConsumer)
+                                : miner.countWarningsInProject(
+                                        clone.dir.getAbsolutePath(), rules, violationConsumer);
+            } catch (RuntimeException e) {
+                // a repository that breaks the analysis must not take the rest of the run with it
+                EventHelper.fireEvent(
+                        new CrashEvent("Crash in analysis of repo: " + clone.repo, e),
+                        miner.eventHandlers);
+                if (violations != null) {
+                    deleteViolations(violations);
+                }
+                return new RepoReport(clone, null, null, millisSince(start), true, events);
+            }
+            return new RepoReport(clone, warnings, violations, millisSince(start), false, events);
+        } finally {
+            clone.delete();
+        }
+    }
 
-            if (isCloned) {
-                pw.println("RepoName: " + repoName);
+    private static RepoViolations recordViolations(Path projectRoot) {
+        try {
+            return new RepoViolations(projectRoot);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 
-                warnings.entrySet().stream()
-                        .sorted(Collections.reverseOrder(Map.Entry.comparingByValue()))
-                        .forEach(pw::println);
-            } else {
-                pw.println("RepoName: " + repoName + " not_cloned");
+    private static void deleteViolations(RepoViolations violations) {
+        try {
+            violations.delete();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static long millisSince(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Wait for the report of a repository. Cloning and analysis each deal with the failures of
+     * their own repository, so an exception here is a failure of the run.
+     */
+    private static RepoReport awaitReport(CompletableFuture<RepoReport> report) {
+        try {
+            return report.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
             }
+            throw e;
+        }
+    }
+
+    private static List<SoraldEventHandler> synchronize(List<SoraldEventHandler> eventHandlers) {
+        return eventHandlers.stream()
+                .map(
+                        handler ->
+                                (SoraldEventHandler)
+                                        event -> {
+                                            synchronized (handler) {
+                                                handler.registerEvent(event);
+                                            }
+                                        })
+                .collect(Collectors.toList());
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /** The report of a mined repository, along with the commit that was mined. */
+    private static class RepoReport {
+        private final String repo;
+        private final String repoName;
+        private final String commit;
+        /**
+         * The amount of violations of each rule, or null if the repository was not cloned or its
+         * analysis crashed.
+         */
+        private final Map<Rule, Integer> warnings;
+
+        private final boolean crashed;
 
-            pw.flush();
-            pw.close();
+        /** The violations of the repository, or null if they are not part of the report. */
+        private final RepoViolations violations;
+
+        private final long cloneMillis;
+        private final long analysisMillis;
+        /** The events of the repository, or null if the run does not gather statistics. */
+        private final RepoEvents events;
+
+        RepoReport(
+                ClonedRepo clone,
+                Map<Rule, Integer> warnings,
+                RepoViolations violations,
+                long analysisMillis,
+                boolean crashed,
+                RepoEvents events) {
+            this.repo = clone.repo;
+            this.repoName = clone.repoName;
+            this.commit = clone.commit;
+            this.warnings = warnings;
+            this.violations = violations;
+            this.cloneMillis = clone.cloneMillis;
+            this.analysisMillis = analysisMillis;
+            this.crashed = crashed;
+            this.events = events;
+        }
+
+        List<String> toLines() {
+            if (crashed) {
+                return List.of("RepoName: " + repoName + " analysis_crashed");
+            }
+            if (warnings == null) {
+                return List.of("RepoName: " + repoName + " not_cloned");
+            }
+            List<String> lines = new ArrayList<>();
+            lines.add("RepoName: " + repoName);
+            toCheckNames(warnings).entrySet().stream()
+                    .sorted(Collections.reverseOrder(Map.Entry.comparingByValue()))
+                    .map(Object::toString)
+                    .forEach(lines::add);
+            return lines;
+        }
+
+        /**
+         * Write the report as a JSON object on a single line. The violations are copied from their
+         * temporary file into the object as it is written, rather than read into memory.
+         */
+        void writeJSON(Writer out) throws IOException {
+            JSONObject json =
+                    new JSONObject()
+                            .put("repo", repo)
+                            .put("repoName", repoName)
+                            .put("commit", commit == null ? JSONObject.NULL : commit)
+                            .put("cloned", warnings != null || crashed)
+                            .put("crashed", crashed)
+                            .put("cloneMillis", cloneMillis)
+                            .put("analysisMillis", analysisMillis);
+            if (warnings != null) {
+                JSONObject counts = new JSONObject();
+                warnings.forEach((rule, count) -> counts.put(rule.getKey(), count));
+                json.put("counts", counts);
+            }
+            String fields = json.toString();
+            if (warnings == null || violations == null) {
+                out.write(fields);
+                return;
+            }
+            out.write(fields, 0, fields.length() - 1);
+            out.write(",\"violations\":");
+            violations.writeArrayTo(out);
+            out.write('}');
+        }
+    }
+
+    /** A repository that has been cloned, or failed to clone, into its own directory. */
+    private static class ClonedRepo {
+        private final String repo;
+        private final String repoName;
+        private final String commit;
+        private final File dir;
+        private final boolean isCloned;
+        private final long cloneMillis;
+
+        ClonedRepo(
+                String repo,
+                String repoName,
+                String commit,
+                File dir,
+                boolean isCloned,
+                long cloneMillis) {
+            this.repo = repo;
+            this.repoName = repoName;
+            this.commit = commit;
+            this.dir = dir;
+            this.isCloned = isCloned;
+            this.cloneMillis = cloneMillis;
+        }
+
+        /** Delete the clone from disk. */
+        void delete() {
+            try {
+                if (dir != null) {
+                    org.apache.commons.io.FileUtils.deleteDirectory(dir);
+                }
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
         }
     }
 
@@ -70,35 +555,169 @@ public class MineSonarWarnings {
                 .forEach(System.out::println);
     }
 
+    /**
+     * Mine the history of a git repository, and print how each commit in the range changes the
+     * amount of violations of each rule. Only rules whose amount of violations changes are printed.
+     *
+     * @param rules Rules to find violations of.
+     * @param projectPath The root path to a git repository.
+     * @param commitRange A range on the form {@code A..B}, where A is a first-parent ancestor of B.
+     */
+    public void mineCommitRange(List<Rule> rules, String projectPath, String commitRange)
+            throws IOException {
+        Map<String, Rule> rulesByKey = new HashMap<>();
+        rules.forEach(rule -> rulesByKey.put(rule.getKey(), rule));
+
+        new HistoryMiner(eventHandlers, classpath, profiler, fileTimeout)
+                .mine(
+                        new File(projectPath),
+                        commitRange,
+                        rules,
+                        delta -> {
+                            System.out.println("Commit: " + delta.getCommit());
+                            delta.getDeltas()
+                                    .forEach(
+                                            (ruleKey, count) ->
+                                                    System.out.printf(
+                                                            "%sCheck<%s>=%+d%n",
+                                                            rulesByKey.get(ruleKey).getName(),
+                                                            ruleKey,
+                                                            count));
+                        });
+    }
+
     /**
      * @param projectPath The root path to a Java project
      * @param rules Rules to find violations of in the Java files in the project
      * @return A mapping (checkClassName<ruleKey> -> numViolations)
      */
     Map<String, Integer> extractWarnings(String projectPath, List<Rule> rules) {
-        final Map<Rule, Integer> warnings = new HashMap<>();
+        return toCheckNames(countWarningsInProject(projectPath, rules, violation -> {}));
+    }
+
+    /**
+     * Find the warnings in a commit of a git repository without checking it out. The Java files of
+     * the commit are read straight from the object database, and are never written to disk.
+     *
+     * @param gitDir The directory of the repository, which may be bare.
+     * @param revision Any revision that resolves to a commit, such as a branch name or a sha.
+     * @param rules Rules to find violations of in the Java files of the commit
+     * @return A mapping (checkClassName<ruleKey> -> numViolations)
+     */
+    Map<String, Integer> extractWarningsFromCommit(File gitDir, String revision, List<Rule> rules) {
+        return toCheckNames(countWarningsInCommit(gitDir, revision, rules, violation -> {}));
+    }
+
+    private Map<Rule, Integer> countWarningsInProject(
+            String projectPath, List<Rule> rules, Consumer<RuleViolation> violationConsumer) {
         final var target = new File(projectPath);
+        return countWarnings(
+                target,
+                rules,
+                (analyzer, consumer) ->
+                        ProjectScanner.scanProject(target, rules, classpath, analyzer, consumer),
+                violationConsumer);
+    }
 
-        rules.forEach(ruleName -> warnings.put(ruleName, 0));
+    private Map<Rule, Integer> countWarningsInCommit(
+            File gitDir,
+            String revision,
+            List<Rule> rules,
+            Consumer<RuleViolation> violationConsumer) {
+        try (Git git = Git.open(gitDir)) {
+            List<InMemorySourceFile> sources =
+                    GitSources.javaFilesAt(git.getRepository(), revision);
+            return countWarnings(
+                    gitDir,
+                    rules,
+                    (analyzer, consumer) ->
+                            analyzer.findViolationsInSources(sources, rules, classpath, consumer),
+                    violationConsumer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 
-        Consumer<Rule> incrementWarningCount = (rule) -> warnings.put(rule, warnings.get(rule) + 1);
+    /**
+     * Count the violations of each rule that a scan finds, and pass each distinct violation on to
+     * the consumer.
+     */
+    private Map<Rule, Integer> countWarnings(
+            File projectRoot,
+            List<Rule> rules,
+            Scan scan,
+            Consumer<RuleViolation> violationConsumer) {
+        var warnings = new WarningCounts(rules);
 
         EventHelper.fireEvent(EventType.MINING_START, eventHandlers);
-        Set<RuleViolation> ruleViolations =
-                ProjectScanner.scanProject(
-                        target, FileUtils.getClosestDirectory(target), rules, classpath);
+        scan.run(
+                new SonarStaticAnalyzer(
+                        FileUtils.getClosestDirectory(projectRoot),
+                        profiler,
+                        fileTimeout,
+                        eventHandlers,
+                        resultCache),
+                violation -> {
+                    if (warnings.count(violation)) {
+                        violationConsumer.accept(violation);
+                        EventHelper.fireEvent(
+                                new MinedViolationEvent(violation, projectRoot.toPath()),
+                                eventHandlers);
+                    }
+                });
         EventHelper.fireEvent(EventType.MINING_END, eventHandlers);
+        return warnings.toMap();
+    }
 
-        ruleViolations.stream()
-                .map(RuleViolation::getRuleKey)
-                .map(Rule::of)
-                .forEach(incrementWarningCount);
+    /**
+     * Counts of the distinct violations of each rule, kept in an array indexed by the position of
+     * the rule in the list of rules, such that a count is incremented in place rather than boxed
+     * anew for each violation. Finding the position still takes a lookup of the rule key of the
+     * violation.
+     *
+     * <p>Sonar reports all violations in a file together, so duplicates are only looked for among
+     * the violations of the current file, which are kept in a hash set. Memory thereby grows with
+     * the amount of violations in the largest file rather than in the whole project.
+     */
+    private static class WarningCounts {
+        private final List<Rule> rules;
+        private final Map<String, Integer> ruleIndices = new HashMap<>();
+        private final int[] counts;
+        private final Set<RuleViolation> violationsInFile = new HashSet<>();
+        private Path file;
 
-        ruleViolations.forEach(
-                v ->
-                        EventHelper.fireEvent(
-                                new MinedViolationEvent(v, Paths.get(projectPath)), eventHandlers));
+        WarningCounts(List<Rule> rules) {
+            this.rules = rules;
+            counts = new int[rules.size()];
+            for (int i = 0; i < rules.size(); i++) {
+                ruleIndices.put(rules.get(i).getKey(), i);
+            }
+        }
 
+        /** @return Whether the violation is distinct, and was thereby counted. */
+        boolean count(RuleViolation violation) {
+            if (!violation.getAbsolutePath().equals(file)) {
+                file = violation.getAbsolutePath();
+                violationsInFile.clear();
+            }
+            if (!violationsInFile.add(violation)) {
+                return false;
+            }
+            counts[ruleIndices.get(violation.getRuleKey())]++;
+            return true;
+        }
+
+        Map<Rule, Integer> toMap() {
+            Map<Rule, Integer> warnings = new HashMap<>();
+            for (int i = 0; i < counts.length; i++) {
+                warnings.put(rules.get(i), counts[i]);
+            }
+            return warnings;
+        }
+    }
+
+    /** @return The warnings keyed by check name, on the form checkClassName<ruleKey>. */
+    private static Map<String, Integer> toCheckNames(Map<Rule, Integer> warnings) {
         Map<String, Integer> warningsWithUpdateKeys = new HashMap<>();
         warnings.forEach(
                 (rule, count) ->
@@ -107,4 +726,10 @@ public class MineSonarWarnings {
 
         return warningsWithUpdateKeys;
     }
+
+    /** A scan of a project for violations with a given analyzer. */
+    @FunctionalInterface
+    private interface Scan {
+        void run(SonarStaticAnalyzer analyzer, Consumer<RuleViolation> violationConsumer);
+    }
 }
@@ -0,0 +1,12 @@
+package sorald.miner;
+
+/** Formats of the output file of mining git repos. */
+public enum MinerOutputFormat {
+    /** A {@code RepoName:} line per repo, followed by a {@code Check<key>=count} line per rule. */
+    TEXT,
+    /**
+     * A JSON object per line and repo, with the counts and locations of its violations, the mined
+     * commit and the time spent cloning and analyzing it.
+     */
+    JSONL;
+}
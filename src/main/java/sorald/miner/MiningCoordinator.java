@@ -0,0 +1,214 @@
+package sorald.miner;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import sorald.event.EventHelper;
+import sorald.event.EventType;
+import sorald.event.SoraldEventHandler;
+import sorald.event.models.CrashEvent;
+
+/**
+ * A coordinator that mines a {@link MiningQueue} with a pool of local worker processes, such that
+ * each worker has a heap of its own and a crash only takes down the shard that the worker was
+ * mining. A worker that dies is replaced, and its shard is put back in the queue to be resumed by
+ * another worker. A shard whose workers keep dying is given up on after {@link #MAX_SHARD_ATTEMPTS}
+ * attempts.
+ *
+ * <p>The statistics of the run are gathered from the statistics journals of the shards, which hold
+ * the events of exactly the repositories that are in the outputs of the shards, also for shards
+ * that were resumed or given up on.
+ *
+ * <p>Workers on other machines that share the work directory may mine the same queue. They are not
+ * supervised by the coordinator, but a coordinator that continues a queue puts back all shards that
+ * are claimed at the time, as it assumes the workers of an earlier run to be dead.
+ */
+public class MiningCoordinator {
+    static final int MAX_SHARD_ATTEMPTS = 3;
+    private static final long POLL_INTERVAL_MILLIS = 200;
+
+    private final MiningQueue queue;
+    private final int workerProcesses;
+    private final Function<String, List<String>> workerCommand;
+    private final Path logDir;
+    private final List<? extends SoraldEventHandler> eventHandlers;
+    private final Map<String, Integer> shardAttempts = new HashMap<>();
+    private int launchedWorkers;
+    private int idleCrashes;
+
+    /**
+     * @param queue The queue to mine.
+     * @param workerProcesses Amount of worker processes to run at a time.
+     * @param workerCommand Function from a worker id to the command that starts a worker process
+     *     with that id.
+     * @param logDir Directory to write the output of each worker process to.
+     * @param eventHandlers Event handlers to pass the events of the run on to.
+     */
+    public MiningCoordinator(
+            MiningQueue queue,
+            int workerProcesses,
+            Function<String, List<String>> workerCommand,
+            Path logDir,
+            List<? extends SoraldEventHandler> eventHandlers) {
+        this.queue = queue;
+        this.workerProcesses = workerProcesses;
+        this.workerCommand = workerCommand;
+        this.logDir = logDir;
+        this.eventHandlers = eventHandlers;
+    }
+
+    /**
+     * Run worker processes until all shards in the queue are either done or failed, and then pass
+     * the events of all shards on to the event handlers, in the order of the repos list. Each
+     * failed shard is passed on as a crash. If the run fails, the workers that are still alive are
+     * destroyed.
+     */
+    public void run() throws IOException, InterruptedException {
+        EventHelper.fireEvent(EventType.MINING_START, eventHandlers);
+        Files.createDirectories(logDir);
+        for (String workerId : queue.claimingWorkers()) {
+            releaseClaimsOf(workerId);
+        }
+
+        Map<String, Process> workers = new LinkedHashMap<>();
+        try {
+            while (!queue.isFinished()) {
+                for (var worker : new ArrayList<>(workers.entrySet())) {
+                    if (!worker.getValue().isAlive()) {
+                        workers.remove(worker.getKey());
+                        // a worker only exits with claims if it died in the middle of a shard
+                        boolean hadClaims = releaseClaimsOf(worker.getKey());
+                        checkIdleCrash(worker.getKey(), worker.getValue().exitValue(), hadClaims);
+                    }
+                }
+                while (workers.size() < workerProcesses && queue.hasPending()) {
+                    // the coordinator's pid keeps the ids, and thereby the logs, of separate runs
+                    // apart
+                    String workerId =
+                            "worker-" + ProcessHandle.current().pid() + "-" + launchedWorkers++;
+                    workers.put(workerId, launch(workerId));
+                }
+                Thread.sleep(POLL_INTERVAL_MILLIS);
+            }
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            // the workers must not go on mining unsupervised, their claims are released by the
+            // next run on the queue
+            destroy(workers.values());
+            throw e;
+        }
+        for (Process worker : workers.values()) {
+            worker.waitFor();
+        }
+        if (!eventHandlers.isEmpty()) {
+            replayShardEvents();
+        }
+        EventHelper.fireEvent(EventType.MINING_END, eventHandlers);
+    }
+
+    private void replayShardEvents() throws IOException {
+        List<String> failedShards = queue.failedShards();
+        for (String shard : queue.shards()) {
+            Path shardOutput = queue.outputFileOf(shard);
+            Path statsJournal = Path.of(shardOutput + MineSonarWarnings.STATS_JOURNAL_SUFFIX);
+            if (failedShards.contains(shard)) {
+                EventHelper.fireEvent(
+                        new CrashEvent(
+                                String.format(
+                                        "Gave up on shard %s after %d attempts, see the worker logs in %s",
+                                        shard, MAX_SHARD_ATTEMPTS, logDir)),
+                        eventHandlers);
+                truncateToCompletedRepos(shardOutput, statsJournal);
+            }
+            RepoEvents.replay(statsJournal, eventHandlers);
+        }
+    }
+
+    /**
+     * Append the outputs of all shards to an output file, in the order of the repos list. Only the
+     * completed repositories of failed shards are included.
+     *
+     * @param outputFile The output file.
+     */
+    public void mergeOutputs(Path outputFile) throws IOException {
+        List<String> failedShards = queue.failedShards();
+        try (OutputStream out =
+                Files.newOutputStream(
+                        outputFile, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (String shard : queue.shards()) {
+                Path shardOutput = queue.outputFileOf(shard);
+                if (!Files.exists(shardOutput)) {
+                    continue;
+                }
+                if (failedShards.contains(shard)) {
+                    truncateToCompletedRepos(shardOutput, null);
+                }
+                Files.copy(shardOutput, out);
+            }
+        }
+    }
+
+    /**
+     * Truncate the partial report of the repository that the last worker of a failed shard died on,
+     * along with its events if there is a statistics journal.
+     */
+    private static void truncateToCompletedRepos(Path shardOutput, Path statsJournal)
+            throws IOException {
+        Path journalFile = Path.of(shardOutput + MineSonarWarnings.JOURNAL_SUFFIX);
+        if (Files.exists(journalFile)) {
+            MiningJournal.resume(journalFile, shardOutput, statsJournal).close();
+        }
+    }
+
+    private static void destroy(Collection<Process> workers) throws InterruptedException {
+        workers.forEach(Process::destroy);
+        for (Process worker : workers) {
+            worker.waitFor();
+        }
+    }
+
+    private Process launch(String workerId) throws IOException {
+        return new ProcessBuilder(workerCommand.apply(workerId))
+                .redirectErrorStream(true)
+                .redirectOutput(logDir.resolve(workerId + ".log").toFile())
+                .start();
+    }
+
+    /**
+     * A worker that keeps dying before it has claimed a shard can't be started at all, so replacing
+     * it over and over again would get nowhere.
+     */
+    private void checkIdleCrash(String workerId, int exitValue, boolean hadClaims)
+            throws IOException {
+        if (exitValue == 0 || hadClaims) {
+            idleCrashes = 0;
+        } else if (++idleCrashes >= MAX_SHARD_ATTEMPTS) {
+            throw new IOException(
+                    String.format(
+                            "%d worker processes in a row exited with an error before claiming a shard, see %s",
+                            idleCrashes, logDir.resolve(workerId + ".log")));
+        }
+    }
+
+    /** @return Whether the worker had any claims. */
+    private boolean releaseClaimsOf(String workerId) throws IOException {
+        List<String> claims = queue.claimsOf(workerId);
+        for (String shard : claims) {
+            int attempts = shardAttempts.merge(shard, 1, Integer::sum);
+            if (attempts >= MAX_SHARD_ATTEMPTS) {
+                queue.fail(shard, workerId);
+            } else {
+                queue.release(shard, workerId);
+            }
+        }
+        return !claims.isEmpty();
+    }
+}
@@ -0,0 +1,215 @@
+package sorald.miner;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.Set;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * A checkpoint journal of the repositories that a mining run has completed, such that a run that
+ * dies half way through can be resumed rather than started over.
+ *
+ * <p>The journal has one JSON object per line. The first one records the size of the output file
+ * when the run started, and each later one records a completed repository, the commit that was
+ * mined, and the size of the output file once the report of the repository had been written. A
+ * record is only written once the report is safely on disk, so the output file is complete up to
+ * the size in the last record. Anything after that is a partial report of a repository that was not
+ * completed, and is truncated on resume. A line without a trailing newline is likewise a partial
+ * record.
+ *
+ * <p>A run that gathers statistics also has a statistics journal, see {@link RepoEvents}, which
+ * starts out empty for each new run. Its size is recorded alongside the size of the output file,
+ * and it is truncated in the same way on resume, such that it holds the events of exactly the
+ * completed repositories of the run.
+ */
+class MiningJournal implements AutoCloseable {
+    private static final String REPO_KEY = "repo";
+    private static final String COMMIT_KEY = "commit";
+    private static final String OUTPUT_OFFSET_KEY = "outputOffset";
+    private static final String STATS_OFFSET_KEY = "statsOffset";
+
+    private final Set<String> completedRepos;
+    private final FileOutputStream journal;
+
+    private MiningJournal(Set<String> completedRepos, FileOutputStream journal) {
+        this.completedRepos = completedRepos;
+        this.journal = journal;
+    }
+
+    /**
+     * Start a new journal for a run, replacing any existing one.
+     *
+     * @param journalFile Path to the journal.
+     * @param outputFile Path to the output file of the run.
+     * @return The journal.
+     */
+    static MiningJournal start(Path journalFile, Path outputFile) throws IOException {
+        return start(journalFile, outputFile, null);
+    }
+
+    /**
+     * Start a new journal for a run, replacing any existing one.
+     *
+     * @param journalFile Path to the journal.
+     * @param outputFile Path to the output file of the run.
+     * @param statsJournal Path to the statistics journal of the run, which is emptied, or null if
+     *     the run does not gather statistics.
+     * @return The journal.
+     */
+    static MiningJournal start(Path journalFile, Path outputFile, Path statsJournal)
+            throws IOException {
+        var journal =
+                new MiningJournal(new HashSet<>(), new FileOutputStream(journalFile.toFile()));
+        var record = new JSONObject().put(OUTPUT_OFFSET_KEY, sizeOf(outputFile));
+        if (statsJournal != null) {
+            Files.write(statsJournal, new byte[0]);
+            record.put(STATS_OFFSET_KEY, 0);
+        }
+        journal.append(record);
+        return journal;
+    }
+
+    /**
+     * Resume the run of a journal, truncating the output file to the end of the last completed
+     * report. Starts a new journal if there is none to resume.
+     *
+     * @param journalFile Path to the journal.
+     * @param outputFile Path to the output file of the run.
+     * @return The journal.
+     */
+    static MiningJournal resume(Path journalFile, Path outputFile) throws IOException {
+        return resume(journalFile, outputFile, null);
+    }
+
+    /**
+     * Resume the run of a journal, truncating the output file and the statistics journal to the end
+     * of the last completed report. Starts a new journal if there is none to resume.
+     *
+     * @param journalFile Path to the journal.
+     * @param outputFile Path to the output file of the run.
+     * @param statsJournal Path to the statistics journal of the run, or null if the resumed run
+     *     does not gather statistics.
+     * @return The journal.
+     * @throws IllegalStateException If the resumed run gathers statistics, but the run that is
+     *     resumed did not.
+     */
+    static MiningJournal resume(Path journalFile, Path outputFile, Path statsJournal)
+            throws IOException {
+        if (!Files.isRegularFile(journalFile)) {
+            return start(journalFile, outputFile, statsJournal);
+        }
+
+        String contents = Files.readString(journalFile, UTF_8);
+        Set<String> completedRepos = new HashSet<>();
+        Long outputOffset = null;
+        Long statsOffset = null;
+        int validLength = 0;
+        for (int lineEnd = contents.indexOf('\n');
+                lineEnd != -1;
+                lineEnd = contents.indexOf('\n', validLength)) {
+            try {
+                JSONObject record = new JSONObject(contents.substring(validLength, lineEnd));
+                outputOffset = record.getLong(OUTPUT_OFFSET_KEY);
+                statsOffset =
+                        record.has(STATS_OFFSET_KEY) ? record.getLong(STATS_OFFSET_KEY) : null;
+                if (record.has(REPO_KEY)) {
+                    completedRepos.add(record.getString(REPO_KEY));
+                }
+            } catch (JSONException e) {
+                break;
+            }
+            validLength = lineEnd + 1;
+        }
+        if (outputOffset == null) {
+            // not even the start of the run was recorded, so there is nothing to resume
+            return start(journalFile, outputFile, statsJournal);
+        }
+        if (statsJournal != null && statsOffset == null) {
+            throw new IllegalStateException(
+                    "the run to resume did not gather statistics, so the statistics of its"
+                            + " completed repositories can't be recovered");
+        }
+
+        truncate(outputFile, outputOffset);
+        if (statsJournal != null) {
+            truncate(statsJournal, statsOffset);
+        }
+        truncate(journalFile, contents.substring(0, validLength).getBytes(UTF_8).length);
+        return new MiningJournal(completedRepos, new FileOutputStream(journalFile.toFile(), true));
+    }
+
+    /**
+     * @param repo Url of a repository.
+     * @return Whether the repository was completed by the run.
+     */
+    boolean isCompleted(String repo) {
+        return completedRepos.contains(repo);
+    }
+
+    /**
+     * Record that a repository has been completed. Must only be called once the report of the
+     * repository has been synced to disk.
+     *
+     * @param repo Url of the repository.
+     * @param commit The commit that was mined, or null if the repository could not be cloned.
+     * @param outputOffset The size of the output file after the report of the repository.
+     */
+    void recordCompleted(String repo, String commit, long outputOffset) throws IOException {
+        recordCompleted(repo, commit, outputOffset, null);
+    }
+
+    /**
+     * Record that a repository has been completed. Must only be called once the report and the
+     * events of the repository have been synced to disk.
+     *
+     * @param repo Url of the repository.
+     * @param commit The commit that was mined, or null if the repository could not be cloned.
+     * @param outputOffset The size of the output file after the report of the repository.
+     * @param statsOffset The size of the statistics journal after the events of the repository, or
+     *     null if the run does not gather statistics.
+     */
+    void recordCompleted(String repo, String commit, long outputOffset, Long statsOffset)
+            throws IOException {
+        var record =
+                new JSONObject()
+                        .put(REPO_KEY, repo)
+                        .put(COMMIT_KEY, commit == null ? JSONObject.NULL : commit)
+                        .put(OUTPUT_OFFSET_KEY, outputOffset);
+        if (statsOffset != null) {
+            record.put(STATS_OFFSET_KEY, statsOffset);
+        }
+        append(record);
+        completedRepos.add(repo);
+    }
+
+    private void append(JSONObject record) throws IOException {
+        journal.write((record.toString() + "\n").getBytes(UTF_8));
+        journal.getFD().sync();
+    }
+
+    private static long sizeOf(Path file) throws IOException {
+        return Files.exists(file) ? Files.size(file) : 0;
+    }
+
+    private static void truncate(Path file, long size) throws IOException {
+        if (!Files.exists(file)) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(size);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        journal.close();
+    }
+}
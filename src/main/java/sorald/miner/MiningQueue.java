@@ -0,0 +1,225 @@
+package sorald.miner;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A queue of shards of a repos list to mine, kept in a work directory that all workers share, such
+ * that workers in separate processes, or on separate machines sharing the directory, can take work
+ * from it without talking to each other.
+ *
+ * <p>Each shard is a repos list in the shards directory, and its state is an empty marker file in
+ * one of the pending, claimed, done and failed directories. A worker claims a pending shard by
+ * atomically moving its marker into the claimed directory under a name that includes the id of the
+ * worker, so exactly one worker wins each shard. The output of a shard is written to the output
+ * directory along with the checkpoint journal of {@link MiningJournal} and the statistics journal
+ * of {@link RepoEvents}, so a shard that is claimed again after its worker died resumes where the
+ * worker left off.
+ */
+public class MiningQueue {
+    private static final String SHARD_PREFIX = "shard-";
+    private static final String CLAIM_SEPARATOR = "@";
+
+    private final Path shardsDir;
+    private final Path pendingDir;
+    private final Path claimedDir;
+    private final Path doneDir;
+    private final Path failedDir;
+    private final Path outputDir;
+
+    private MiningQueue(Path workDir) {
+        shardsDir = workDir.resolve("shards");
+        pendingDir = workDir.resolve("pending");
+        claimedDir = workDir.resolve("claimed");
+        doneDir = workDir.resolve("done");
+        failedDir = workDir.resolve("failed");
+        outputDir = workDir.resolve("output");
+    }
+
+    /**
+     * Create a queue of the shards of a repos list in a work directory. If the work directory
+     * already has a queue, that queue is continued instead, and the repos list is ignored.
+     *
+     * @param workDir The work directory.
+     * @param reposList Urls of the repositories to mine.
+     * @param shardSize The maximum amount of repositories per shard.
+     * @return The queue.
+     */
+    public static MiningQueue create(Path workDir, List<String> reposList, int shardSize)
+            throws IOException {
+        var queue = new MiningQueue(workDir);
+        if (Files.isDirectory(queue.shardsDir)) {
+            return queue;
+        }
+
+        for (Path dir :
+                List.of(
+                        queue.pendingDir,
+                        queue.claimedDir,
+                        queue.doneDir,
+                        queue.failedDir,
+                        queue.outputDir)) {
+            Files.createDirectories(dir);
+        }
+        // the shards are written to a directory that only appears once they are all in place, such
+        // that a coordinator that dies half way through leaves no partial queue behind
+        Path tempShardsDir = Files.createTempDirectory(workDir, "shards");
+        List<String> shards = new ArrayList<>();
+        for (int i = 0; i * shardSize < reposList.size(); i++) {
+            String shard = String.format("%s%05d", SHARD_PREFIX, i);
+            Files.write(
+                    tempShardsDir.resolve(shard),
+                    reposList.subList(
+                            i * shardSize, Math.min((i + 1) * shardSize, reposList.size())));
+            shards.add(shard);
+        }
+        Files.move(tempShardsDir, queue.shardsDir, StandardCopyOption.ATOMIC_MOVE);
+        for (String shard : shards) {
+            Files.createFile(queue.pendingDir.resolve(shard));
+        }
+        return queue;
+    }
+
+    /**
+     * @param workDir A work directory that has a queue.
+     * @return The queue of the work directory.
+     */
+    public static MiningQueue open(Path workDir) throws IOException {
+        var queue = new MiningQueue(workDir);
+        if (!Files.isDirectory(queue.shardsDir)) {
+            throw new NoSuchFileException(queue.shardsDir.toString(), null, "no mining queue");
+        }
+        return queue;
+    }
+
+    /**
+     * Claim a pending shard.
+     *
+     * @param workerId Unique id of the claiming worker.
+     * @return The claimed shard, or empty if there are no pending shards.
+     */
+    public Optional<String> claim(String workerId) throws IOException {
+        for (String shard : list(pendingDir)) {
+            try {
+                Files.move(
+                        pendingDir.resolve(shard),
+                        claimedDir.resolve(shard + CLAIM_SEPARATOR + workerId),
+                        StandardCopyOption.ATOMIC_MOVE);
+                return Optional.of(shard);
+            } catch (NoSuchFileException e) {
+                // another worker got there first
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Mark a claimed shard as done.
+     *
+     * @param shard The shard.
+     * @param workerId Id of the worker that claimed it.
+     */
+    public void complete(String shard, String workerId) throws IOException {
+        moveClaim(shard, workerId, doneDir);
+    }
+
+    /**
+     * @param workerId Id of a worker.
+     * @return The shards that the worker has claimed but not completed.
+     */
+    public List<String> claimsOf(String workerId) throws IOException {
+        String suffix = CLAIM_SEPARATOR + workerId;
+        return list(claimedDir).stream()
+                .filter(claim -> claim.endsWith(suffix))
+                .map(claim -> claim.substring(0, claim.length() - suffix.length()))
+                .collect(Collectors.toList());
+    }
+
+    /** @return The ids of all workers that have claimed but not completed a shard. */
+    public List<String> claimingWorkers() throws IOException {
+        return list(claimedDir).stream()
+                .map(claim -> claim.substring(claim.indexOf(CLAIM_SEPARATOR) + 1))
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Put a shard that a worker claimed back in the queue, such that another worker can resume it.
+     *
+     * @param shard The shard.
+     * @param workerId Id of the worker that claimed it.
+     */
+    public void release(String shard, String workerId) throws IOException {
+        moveClaim(shard, workerId, pendingDir);
+    }
+
+    /**
+     * Give up on a shard that a worker claimed.
+     *
+     * @param shard The shard.
+     * @param workerId Id of the worker that claimed it.
+     */
+    public void fail(String shard, String workerId) throws IOException {
+        moveClaim(shard, workerId, failedDir);
+    }
+
+    /** @return Whether all shards are either done or failed. */
+    public boolean isFinished() throws IOException {
+        return list(pendingDir).isEmpty() && list(claimedDir).isEmpty();
+    }
+
+    /** @return Whether there are shards that no worker has claimed. */
+    public boolean hasPending() throws IOException {
+        return !list(pendingDir).isEmpty();
+    }
+
+    /** @return All shards, in the order of the repos list. */
+    public List<String> shards() throws IOException {
+        return list(shardsDir);
+    }
+
+    /** @return The failed shards. */
+    public List<String> failedShards() throws IOException {
+        return list(failedDir);
+    }
+
+    /**
+     * @param shard A shard.
+     * @return The urls of the repositories of the shard.
+     */
+    public List<String> reposOf(String shard) throws IOException {
+        return Files.readAllLines(shardsDir.resolve(shard));
+    }
+
+    /**
+     * @param shard A shard.
+     * @return Path to the output file of the shard.
+     */
+    public Path outputFileOf(String shard) {
+        return outputDir.resolve(shard + ".out");
+    }
+
+    private void moveClaim(String shard, String workerId, Path targetDir) throws IOException {
+        Files.move(
+                claimedDir.resolve(shard + CLAIM_SEPARATOR + workerId),
+                targetDir.resolve(shard),
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static List<String> list(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith(SHARD_PREFIX))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package sorald.miner;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A worker that mines the shards of a {@link MiningQueue} until there are none left to claim.
+ * Workers may run in any process that can reach the work directory of the queue.
+ */
+public class MiningWorker {
+    private final MiningQueue queue;
+    private final String workerId;
+    private final ShardMiner shardMiner;
+
+    /**
+     * @param queue The queue to take shards from.
+     * @param workerId Id of the worker, which must be unique among all workers of the queue.
+     * @param shardMiner Miner of the repositories of a shard.
+     */
+    public MiningWorker(MiningQueue queue, String workerId, ShardMiner shardMiner) {
+        this.queue = queue;
+        this.workerId = workerId;
+        this.shardMiner = shardMiner;
+    }
+
+    /**
+     * @return An id that is unique to this process among all processes on all machines, made up of
+     *     the host name and the process id.
+     */
+    public static String defaultWorkerId() {
+        String hostName;
+        try {
+            hostName = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            hostName = "unknown-host";
+        }
+        return hostName + "-" + ProcessHandle.current().pid();
+    }
+
+    /** Mine shards until there are no pending ones left. */
+    public void run() throws IOException {
+        Optional<String> shard;
+        while ((shard = queue.claim(workerId)).isPresent()) {
+            mine(shard.get());
+        }
+    }
+
+    private void mine(String shard) throws IOException {
+        shardMiner.mine(queue.reposOf(shard), queue.outputFileOf(shard));
+        queue.complete(shard, workerId);
+    }
+
+    /** Miner of the repositories of a shard. */
+    @FunctionalInterface
+    public interface ShardMiner {
+        /**
+         * Mine repositories, resuming the run recorded in the journal of the output file if there
+         * is one. The mined violations and crashes of each repository must be recorded in the
+         * statistics journal of the output file, see {@link
+         * MineSonarWarnings#STATS_JOURNAL_SUFFIX}, from which the statistics of the shard are
+         * merged.
+         *
+         * @param reposList Urls of the repositories to mine.
+         * @param outputFile The output file of the shard.
+         */
+        void mine(List<String> reposList, Path outputFile) throws IOException;
+    }
+}
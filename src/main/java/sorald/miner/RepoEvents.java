@@ -0,0 +1,102 @@
+package sorald.miner;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.json.JSONObject;
+import sorald.event.EventHelper;
+import sorald.event.EventType;
+import sorald.event.SoraldEvent;
+import sorald.event.SoraldEventHandler;
+import sorald.event.models.CrashEvent;
+import sorald.event.models.miner.MinedViolationEvent;
+
+/**
+ * The mined violations and crashes of a single repository, recorded in a temporary file such that
+ * they can be appended to the statistics journal of a run once the report of the repository has
+ * been written, and only then be passed on to the event handlers of the run. Other events are
+ * passed on right away.
+ *
+ * <p>Each event is a JSON object on a line of its own, which is also the format of the statistics
+ * journal. {@link #replay(Path, List)} passes the events of a statistics journal on to event
+ * handlers, such that the statistics of a resumed run also cover the repositories that were
+ * completed before it was resumed.
+ */
+class RepoEvents implements SoraldEventHandler {
+    private static final String TYPE_KEY = "type";
+
+    private final List<? extends SoraldEventHandler> eventHandlers;
+    private final Path file;
+    private final BufferedWriter writer;
+
+    /** @param eventHandlers Event handlers of the run. */
+    RepoEvents(List<? extends SoraldEventHandler> eventHandlers) throws IOException {
+        this.eventHandlers = eventHandlers;
+        file = Files.createTempFile("sorald-repo-events-", ".jsonl");
+        file.toFile().deleteOnExit();
+        writer = Files.newBufferedWriter(file, UTF_8);
+    }
+
+    @Override
+    public void registerEvent(SoraldEvent event) {
+        if (event.type() != EventType.MINED && event.type() != EventType.CRASH) {
+            EventHelper.fireEvent(event, eventHandlers);
+            return;
+        }
+        try {
+            writer.write(new JSONObject(event).put(TYPE_KEY, event.type().name()).toString());
+            writer.newLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Append the recorded events to a statistics journal. */
+    void appendTo(OutputStream statsJournal) throws IOException {
+        writer.flush();
+        Files.copy(file, statsJournal);
+    }
+
+    /** Pass the recorded events on to the event handlers of the run. */
+    void replay() throws IOException {
+        writer.flush();
+        replay(file, eventHandlers);
+    }
+
+    /** Delete the temporary file of the events. */
+    void delete() throws IOException {
+        writer.close();
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Pass the events of a statistics journal on to event handlers.
+     *
+     * @param statsJournal A statistics journal, or the recorded events of a repository.
+     * @param eventHandlers Event handlers to pass the events on to.
+     */
+    static void replay(Path statsJournal, List<? extends SoraldEventHandler> eventHandlers)
+            throws IOException {
+        if (!Files.exists(statsJournal)) {
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(statsJournal, UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                JSONObject json = new JSONObject(line);
+                SoraldEvent event =
+                        EventType.valueOf(json.getString(TYPE_KEY)) == EventType.MINED
+                                ? MinedViolationEvent.fromJSON(json)
+                                : CrashEvent.fromJSON(json);
+                EventHelper.fireEvent(event, eventHandlers);
+            }
+        }
+    }
+}
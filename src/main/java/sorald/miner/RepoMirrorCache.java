@@ -0,0 +1,165 @@
+package sorald.miner;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.transport.RefSpec;
+import sorald.util.HashUtils;
+
+/**
+ * A persistent cache of bare mirrors of remote git repositories, such that mining the same
+ * repositories again only needs to fetch what has changed since the last time.
+ *
+ * <p>Mirrors are evicted in least recently used order whenever the total size of the cache exceeds
+ * the disk budget. A mirror that is in use is never evicted.
+ */
+public class RepoMirrorCache {
+    private static final String MIRROR_SUFFIX = ".git";
+    private static final String PARTIAL_MIRROR_SUFFIX = ".partial";
+
+    private final Path cacheDir;
+    private final long maxBytes;
+    private final Map<Path, ReentrantLock> mirrorLocks = new ConcurrentHashMap<>();
+
+    /**
+     * @param cacheDir Directory to store the mirrors in.
+     * @param maxBytes The disk budget of the cache, in bytes.
+     */
+    public RepoMirrorCache(Path cacheDir, long maxBytes) {
+        this.cacheDir = cacheDir;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Clone a repository into a directory. The repository is fetched into its mirror, or mirrored
+     * if it is not in the cache, and then cloned from the mirror.
+     *
+     * @param url Url of the repository.
+     * @param dir Directory to clone the repository into.
+     */
+    public void cloneInto(String url, File dir) throws GitAPIException, IOException {
+        cloneInto(url, dir, false);
+    }
+
+    /**
+     * Clone a repository into a directory, optionally without a working tree.
+     *
+     * @param url Url of the repository.
+     * @param dir Directory to clone the repository into.
+     * @param bare Whether to make a bare clone.
+     */
+    public void cloneInto(String url, File dir, boolean bare) throws GitAPIException, IOException {
+        Files.createDirectories(cacheDir);
+        Path mirror = cacheDir.resolve(HashUtils.sha256Hex(url) + MIRROR_SUFFIX);
+        ReentrantLock lock = mirrorLocks.computeIfAbsent(mirror, m -> new ReentrantLock());
+        lock.lock();
+        try {
+            updateMirror(url, mirror);
+            Git.cloneRepository()
+                    .setURI(mirror.toUri().toString())
+                    .setDirectory(dir)
+                    .setBare(bare)
+                    .call()
+                    .close();
+            Files.setLastModifiedTime(mirror, FileTime.from(Instant.now()));
+        } finally {
+            lock.unlock();
+        }
+        evictLeastRecentlyUsed();
+    }
+
+    private static void updateMirror(String url, Path mirror) throws GitAPIException, IOException {
+        if (Files.isDirectory(mirror)) {
+            try (Git git = Git.open(mirror.toFile())) {
+                git.fetch()
+                        .setRemote("origin")
+                        .setRefSpecs(new RefSpec("+refs/*:refs/*"))
+                        .setRemoveDeletedRefs(true)
+                        .call();
+            }
+            return;
+        }
+
+        // mirror into a separate directory first, such that an interrupted mirroring never leaves a
+        // partial mirror behind in the cache
+        Path partialMirror = mirror.resolveSibling(mirror.getFileName() + PARTIAL_MIRROR_SUFFIX);
+        deleteRecursively(partialMirror);
+        Files.createDirectories(partialMirror);
+        Git.cloneRepository()
+                .setURI(url)
+                .setDirectory(partialMirror.toFile())
+                .setMirror(true)
+                .call()
+                .close();
+        Files.move(partialMirror, mirror, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private synchronized void evictLeastRecentlyUsed() throws IOException {
+        List<Path> mirrors;
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            mirrors =
+                    files.filter(file -> file.getFileName().toString().endsWith(MIRROR_SUFFIX))
+                            .sorted(Comparator.comparing(RepoMirrorCache::lastModified))
+                            .collect(Collectors.toList());
+        }
+
+        long totalBytes = 0;
+        for (Path mirror : mirrors) {
+            totalBytes += sizeOf(mirror);
+        }
+        for (Path mirror : mirrors) {
+            if (totalBytes <= maxBytes) {
+                return;
+            }
+            ReentrantLock lock = mirrorLocks.computeIfAbsent(mirror, m -> new ReentrantLock());
+            if (lock.tryLock()) {
+                try {
+                    long size = sizeOf(mirror);
+                    deleteRecursively(mirror);
+                    totalBytes -= size;
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    /** The size of a mirror, or 0 if it is changed by a fetch while its size is computed. */
+    private static long sizeOf(Path dir) {
+        try (Stream<Path> files = Files.walk(dir)) {
+            return files.filter(Files::isRegularFile)
+                    .mapToLong(file -> file.toFile().length())
+                    .sum();
+        } catch (IOException | UncheckedIOException e) {
+            return 0;
+        }
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        if (Files.exists(dir)) {
+            org.apache.commons.io.FileUtils.deleteDirectory(dir.toFile());
+        }
+    }
+}
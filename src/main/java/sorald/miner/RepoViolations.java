@@ -0,0 +1,69 @@
+package sorald.miner;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+import org.json.JSONObject;
+import sorald.event.models.WarningLocation;
+import sorald.rule.RuleViolation;
+
+/**
+ * The violations of a single repository, recorded in a temporary file such that the JSON Lines
+ * report of the repository can be written without holding all of its violations in memory.
+ *
+ * <p>The file holds the elements of a JSON array, which are the locations of the violations along
+ * with their rule keys, separated by commas on a single line.
+ */
+class RepoViolations implements Consumer<RuleViolation> {
+    private final Path projectRoot;
+    private final Path file;
+    private final BufferedWriter writer;
+    private boolean isEmpty = true;
+
+    /** @param projectRoot Root directory of the repository, which paths are made relative to. */
+    RepoViolations(Path projectRoot) throws IOException {
+        this.projectRoot = projectRoot;
+        file = Files.createTempFile("sorald-repo-violations-", ".json");
+        file.toFile().deleteOnExit();
+        writer = Files.newBufferedWriter(file, UTF_8);
+    }
+
+    @Override
+    public void accept(RuleViolation violation) {
+        try {
+            if (!isEmpty) {
+                writer.write(',');
+            }
+            writer.write(
+                    new JSONObject(new WarningLocation(violation, projectRoot))
+                            .put("ruleKey", violation.getRuleKey())
+                            .toString());
+            isEmpty = false;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Write the recorded violations as a JSON array. */
+    void writeArrayTo(Writer out) throws IOException {
+        writer.flush();
+        out.write('[');
+        try (Reader reader = Files.newBufferedReader(file, UTF_8)) {
+            reader.transferTo(out);
+        }
+        out.write(']');
+    }
+
+    /** Delete the temporary file of the violations. */
+    void delete() throws IOException {
+        writer.close();
+        Files.deleteIfExists(file);
+    }
+}
@@ -1,60 +1,383 @@
 package sorald.miner;
 
-import java.io.File;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Scanner;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import org.json.JSONArray;
+import org.json.JSONObject;
 import sorald.Constants;
+import sorald.rule.Rule;
 
+/**
+ * Aggregates the output files of mining git repos, in either output format, into summary
+ * statistics: the amount of warnings of each rule, the repo with the most warnings of each rule,
+ * percentiles of the amount of warnings per repo and the files with the most warnings.
+ *
+ * <p>The output files are read in a single pass. The reader splits them into chunks of whole repo
+ * reports, which are parsed and aggregated in parallel into partial statistics that are merged in
+ * the order of the chunks. Only a bounded amount of chunks is in flight at a time, so memory does
+ * not grow with the size of the output files, save for the amount of warnings of each repo that the
+ * percentiles are computed from.
+ */
 public class StatsOutputAnalyzer {
+    /** The amount of repo reports in a chunk. */
+    private static final int CHUNK_SIZE = 256;
+
+    private static final String REPO_NAME_PREFIX = "RepoName: ";
+    private static final String NOT_CLONED_SUFFIX = " not_cloned";
+    private static final String CRASHED_SUFFIX = " analysis_crashed";
+    private static final double[] PERCENTILES = {50, 90, 99};
+
+    private StatsOutputAnalyzer() {}
+
     public static void main(String[] args) throws IOException {
-        Scanner sc = new Scanner(new File(Constants.PATH_TO_STATS_OUTPUT));
-
-        Map<String, Integer> statsPerWarningType = new HashMap<>();
-        int warningsOfCurRepo = 0, totalRepos = 0, totalWarnings = 0, maxRepoWarnings = 0;
-        String repoWithMaxWarnings = null, curRepo = null;
-
-        while (sc.hasNextLine()) {
-            String line = sc.nextLine();
-            if (line.contains("=")) { // a line like: "CastArithmeticOperandCheck=48"
-                String warningType = line.split("=")[0];
-                int warningCount = Integer.parseInt(line.split("=")[1]);
-                warningsOfCurRepo += warningCount;
-                totalWarnings += warningCount;
-
-                if (statsPerWarningType.containsKey(warningType)) {
-                    statsPerWarningType.put(
-                            warningType, statsPerWarningType.get(warningType) + warningCount);
+        var out = new PrintWriter(System.out);
+        analyze(List.of(Path.of(Constants.PATH_TO_STATS_OUTPUT)), 10).print(out);
+        out.flush();
+    }
+
+    /**
+     * @param outputFiles Output files of mining git repos.
+     * @param topFiles The amount of files with the most warnings to keep. Only the JSON Lines
+     *     format has the locations of the warnings.
+     * @return The statistics of the output files.
+     */
+    public static Stats analyze(List<Path> outputFiles, int topFiles) throws IOException {
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism);
+        try {
+            var stats = new Stats(topFiles);
+            Deque<CompletableFuture<Stats>> inFlight = new ArrayDeque<>();
+            long ordinal = 0;
+            for (Path outputFile : outputFiles) {
+                try (BufferedReader reader =
+                        new BufferedReader(
+                                new InputStreamReader(Files.newInputStream(outputFile), UTF_8),
+                                1 << 20)) {
+                    Chunk chunk = new Chunk(ordinal);
+                    List<String> report = new ArrayList<>();
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        // a text report spans several lines, a JSON Lines report only one
+                        if (line.startsWith("{") || line.startsWith(REPO_NAME_PREFIX)) {
+                            chunk.add(report);
+                            report = new ArrayList<>();
+                        }
+                        if (!line.isBlank()) {
+                            report.add(line);
+                        }
+                        if (chunk.size() == CHUNK_SIZE) {
+                            ordinal += chunk.size();
+                            submit(chunk, topFiles, pool, inFlight);
+                            while (inFlight.size() > 2 * parallelism) {
+                                stats.merge(inFlight.removeFirst().join());
+                            }
+                            chunk = new Chunk(ordinal);
+                        }
+                    }
+                    chunk.add(report);
+                    ordinal += chunk.size();
+                    submit(chunk, topFiles, pool, inFlight);
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                stats.merge(inFlight.removeFirst().join());
+            }
+            return stats;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void submit(
+            Chunk chunk,
+            int topFiles,
+            ExecutorService pool,
+            Deque<CompletableFuture<Stats>> inFlight) {
+        inFlight.addLast(CompletableFuture.supplyAsync(() -> chunk.aggregate(topFiles), pool));
+    }
+
+    /** Consecutive repo reports, each made up of its lines. */
+    private static class Chunk {
+        private final long firstOrdinal;
+        private final List<List<String>> reports = new ArrayList<>();
+
+        Chunk(long firstOrdinal) {
+            this.firstOrdinal = firstOrdinal;
+        }
+
+        void add(List<String> report) {
+            if (!report.isEmpty()) {
+                reports.add(report);
+            }
+        }
+
+        int size() {
+            return reports.size();
+        }
+
+        Stats aggregate(int topFiles) {
+            var stats = new Stats(topFiles);
+            for (int i = 0; i < reports.size(); i++) {
+                List<String> report = reports.get(i);
+                if (report.get(0).startsWith("{")) {
+                    stats.addJSONReport(new JSONObject(report.get(0)), firstOrdinal + i);
                 } else {
-                    statsPerWarningType.put(warningType, warningCount);
+                    stats.addTextReport(report, firstOrdinal + i);
                 }
-            } else if (line.startsWith("RepoName: ")) { // a line like: RepoName: discover
-                if (warningsOfCurRepo > maxRepoWarnings) {
-                    maxRepoWarnings = warningsOfCurRepo;
-                    repoWithMaxWarnings = curRepo;
+            }
+            return stats;
+        }
+    }
+
+    /** Statistics of mined repos, which can be merged with the statistics of later repos. */
+    public static class Stats {
+        private final int topFiles;
+        private long[] repoWarnings = new long[16];
+        private int repos;
+        private long totalWarnings;
+        private RepoCount maxRepo;
+        private final Map<String, Long> warningsPerCheck = new HashMap<>();
+        private final Map<String, RepoCount> maxRepoPerCheck = new HashMap<>();
+        private final PriorityQueue<FileCount> filesWithMostWarnings =
+                new PriorityQueue<>(FileCount.BY_COUNT);
+
+        private Stats(int topFiles) {
+            this.topFiles = topFiles;
+        }
+
+        /** A text report is a line like "RepoName: discover", followed by lines like "Check=48". */
+        private void addTextReport(List<String> report, long ordinal) {
+            String header = report.get(0);
+            if (!header.startsWith(REPO_NAME_PREFIX)
+                    || header.endsWith(NOT_CLONED_SUFFIX)
+                    || header.endsWith(CRASHED_SUFFIX)) {
+                return;
+            }
+            String repoName = header.substring(REPO_NAME_PREFIX.length());
+            Map<String, Long> counts = new HashMap<>();
+            for (String line : report.subList(1, report.size())) {
+                int separator = line.lastIndexOf('=');
+                if (separator != -1) {
+                    counts.merge(
+                            line.substring(0, separator),
+                            Long.parseLong(line.substring(separator + 1).trim()),
+                            Long::sum);
                 }
+            }
+            addRepo(repoName, counts, ordinal);
+        }
 
-                curRepo = line.split(": ")[1];
+        private void addJSONReport(JSONObject report, long ordinal) {
+            if (!report.getBoolean("cloned") || report.optBoolean("crashed")) {
+                return;
+            }
+            String repoName = report.getString("repoName");
+            JSONObject counts = report.getJSONObject("counts");
+            Map<String, Long> countsPerCheck = new HashMap<>();
+            for (String ruleKey : counts.keySet()) {
+                countsPerCheck.put(
+                        Rule.of(ruleKey).getName() + "Check<" + ruleKey + ">",
+                        counts.getLong(ruleKey));
+            }
+            addRepo(repoName, countsPerCheck, ordinal);
 
-                if (!line.contains("not_cloned")) // a line like: RepoName: discover not_cloned
-                totalRepos++;
+            // all warnings in a file are in the report of its repo, so the counts are complete
+            JSONArray violations = report.optJSONArray("violations");
+            if (violations != null) {
+                Map<String, Long> countsPerFile = new HashMap<>();
+                for (int i = 0; i < violations.length(); i++) {
+                    countsPerFile.merge(
+                            violations.getJSONObject(i).getString("filePath"), 1L, Long::sum);
+                }
+                countsPerFile.forEach(
+                        (file, count) -> addFile(new FileCount(repoName, file, count, ordinal)));
+            }
+        }
+
+        private void addRepo(String repoName, Map<String, Long> countsPerCheck, long ordinal) {
+            long warnings = 0;
+            for (Map.Entry<String, Long> count : countsPerCheck.entrySet()) {
+                warnings += count.getValue();
+                warningsPerCheck.merge(count.getKey(), count.getValue(), Long::sum);
+                if (count.getValue() > 0) {
+                    maxRepoPerCheck.merge(
+                            count.getKey(),
+                            new RepoCount(repoName, count.getValue(), ordinal),
+                            RepoCount::max);
+                }
+            }
+            if (repos == repoWarnings.length) {
+                repoWarnings = Arrays.copyOf(repoWarnings, repos * 2);
+            }
+            repoWarnings[repos++] = warnings;
+            totalWarnings += warnings;
+            maxRepo = RepoCount.max(maxRepo, new RepoCount(repoName, warnings, ordinal));
+        }
+
+        private void addFile(FileCount file) {
+            filesWithMostWarnings.add(file);
+            if (filesWithMostWarnings.size() > topFiles) {
+                filesWithMostWarnings.poll();
+            }
+        }
 
-                warningsOfCurRepo = 0;
+        private void merge(Stats other) {
+            if (repos + other.repos > repoWarnings.length) {
+                repoWarnings =
+                        Arrays.copyOf(repoWarnings, Math.max(repos * 2, repos + other.repos));
             }
+            System.arraycopy(other.repoWarnings, 0, repoWarnings, repos, other.repos);
+            repos += other.repos;
+            totalWarnings += other.totalWarnings;
+            maxRepo = RepoCount.max(maxRepo, other.maxRepo);
+            other.warningsPerCheck.forEach(
+                    (check, count) -> warningsPerCheck.merge(check, count, Long::sum));
+            other.maxRepoPerCheck.forEach(
+                    (check, max) -> maxRepoPerCheck.merge(check, max, RepoCount::max));
+            other.filesWithMostWarnings.forEach(this::addFile);
         }
 
-        sc.close();
+        /** @return The amount of cloned repos. */
+        public int getTotalRepos() {
+            return repos;
+        }
+
+        /** @return The amount of warnings in all repos. */
+        public long getTotalWarnings() {
+            return totalWarnings;
+        }
+
+        /** @return The amount of warnings of each check, keyed by name on the form Check<key>. */
+        public Map<String, Long> getWarningsPerCheck() {
+            return Collections.unmodifiableMap(warningsPerCheck);
+        }
 
-        System.out.println("TotalRepos: " + totalRepos);
-        System.out.println("TotalWarnings: " + totalWarnings);
-        System.out.println("AVGWarnings: " + (totalWarnings / totalRepos));
-        System.out.println("RepoWithMaxWarnings: " + repoWithMaxWarnings);
-        System.out.println("MaxRepoWarnings: " + maxRepoWarnings);
+        /**
+         * @param percentile A percentile between 0 and 100.
+         * @return The amount of warnings per repo at the percentile, by the nearest-rank method.
+         */
+        public long getWarningsPerRepoPercentile(double percentile) {
+            if (repos == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(repoWarnings, repos);
+            Arrays.sort(sorted);
+            int rank = (int) Math.ceil(percentile / 100 * repos);
+            return sorted[Math.max(rank, 1) - 1];
+        }
+
+        /** @return The files with the most warnings, most first, on the form repoName:filePath. */
+        public List<Map.Entry<String, Long>> getFilesWithMostWarnings() {
+            return filesWithMostWarnings.stream()
+                    .sorted(FileCount.BY_COUNT.reversed())
+                    .map(file -> Map.entry(file.repoName + ":" + file.filePath, file.count))
+                    .collect(Collectors.toList());
+        }
 
-        statsPerWarningType.entrySet().stream()
-                .sorted(Collections.reverseOrder(Map.Entry.comparingByValue()))
-                .forEach(System.out::println);
+        /**
+         * Print the statistics, starting with the same lines as the analysis of a single text
+         * output file always has.
+         *
+         * @param out Writer to print to.
+         */
+        public void print(PrintWriter out) {
+            out.println("TotalRepos: " + repos);
+            out.println("TotalWarnings: " + totalWarnings);
+            out.println("AVGWarnings: " + (repos == 0 ? 0 : totalWarnings / repos));
+            out.println("RepoWithMaxWarnings: " + (maxRepo == null ? null : maxRepo.repoName));
+            out.println("MaxRepoWarnings: " + (maxRepo == null ? 0 : maxRepo.count));
+            for (double percentile : PERCENTILES) {
+                out.printf(
+                        "P%dRepoWarnings: %d%n",
+                        (int) percentile, getWarningsPerRepoPercentile(percentile));
+            }
+
+            warningsPerCheck.entrySet().stream()
+                    .sorted(Collections.reverseOrder(Map.Entry.comparingByValue()))
+                    .forEach(out::println);
+
+            out.println("MaxRepoWarningsPerCheck:");
+            maxRepoPerCheck.entrySet().stream()
+                    .sorted(
+                            Comparator.comparing(
+                                            (Map.Entry<String, RepoCount> e) -> e.getValue().count)
+                                    .reversed())
+                    .forEach(
+                            e ->
+                                    out.println(
+                                            e.getKey()
+                                                    + "="
+                                                    + e.getValue().count
+                                                    + " "
+                                                    + e.getValue().repoName));
+
+            out.println("FilesWithMostWarnings:");
+            getFilesWithMostWarnings().forEach(out::println);
+        }
+    }
+
+    /** The amount of warnings of a repo, where earlier repos win ties. */
+    private static class RepoCount {
+        private final String repoName;
+        private final long count;
+        private final long ordinal;
+
+        RepoCount(String repoName, long count, long ordinal) {
+            this.repoName = repoName;
+            this.count = count;
+            this.ordinal = ordinal;
+        }
+
+        static RepoCount max(RepoCount a, RepoCount b) {
+            if (a == null || b == null) {
+                return a == null ? b : a;
+            } else if (a.count != b.count) {
+                return a.count > b.count ? a : b;
+            }
+            return a.ordinal <= b.ordinal ? a : b;
+        }
+    }
+
+    /** The amount of warnings of a file. */
+    private static class FileCount {
+        /** Orders by count, where earlier repos win ties. */
+        static final Comparator<FileCount> BY_COUNT =
+                Comparator.comparingLong((FileCount file) -> file.count)
+                        .thenComparing(
+                                Comparator.comparingLong((FileCount file) -> file.ordinal)
+                                        .reversed())
+                        .thenComparing(file -> file.filePath, Comparator.reverseOrder());
+
+        private final String repoName;
+        private final String filePath;
+        private final long count;
+        private final long ordinal;
+
+        FileCount(String repoName, String filePath, long count, long ordinal) {
+            this.repoName = repoName;
+            this.filePath = filePath;
+            this.count = count;
+            this.ordinal = ordinal;
+        }
     }
 }
@@ -1,6 +1,6 @@
 package sorald.rule;
 
-import sorald.sonar.SonarRule;
+import sorald.sonar.SonarRules;
 
 /** A static analysis rule */
 public interface Rule {
@@ -15,12 +15,13 @@ public interface Rule {
     RuleType getType();
 
     /**
-     * Create a rule based on the key.
+     * Get the rule with the key. Rules are immutable, so the same instance is returned for each
+     * call with the same key.
      *
-     * @param key A key for which to create a rule.
-     * @return A rule based on the key.
+     * @param key A key for which to get a rule.
+     * @return The rule with the key.
      */
     static Rule of(String key) {
-        return new SonarRule(key);
+        return SonarRules.getRule(key);
     }
 }
@@ -1,8 +1,10 @@
 package sorald.rule;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 /** A static analyzer for Java source code */
 public interface StaticAnalyzer {
@@ -15,6 +17,26 @@ public interface StaticAnalyzer {
      * @param classpath Classpath that includes any dependencies.
      * @return All violations of the rules found in the files.
      */
-    Collection<RuleViolation> findViolations(
-            List<File> files, List<Rule> rule, List<String> classpath);
+    default Collection<RuleViolation> findViolations(
+            List<File> files, List<Rule> rule, List<String> classpath) {
+        List<RuleViolation> violations = new ArrayList<>();
+        findViolations(files, rule, classpath, violations::add);
+        return violations;
+    }
+
+    /**
+     * Scan files for violations of some rules, and pass each violation to the consumer as soon as
+     * the analysis of the file that contains it has finished. The consumer is called from the
+     * thread that invokes this method.
+     *
+     * @param files The files to analyze.
+     * @param rule The rules to use.
+     * @param classpath Classpath that includes any dependencies.
+     * @param violationConsumer Consumer of the violations found in the files.
+     */
+    void findViolations(
+            List<File> files,
+            List<Rule> rule,
+            List<String> classpath,
+            Consumer<RuleViolation> violationConsumer);
 }
@@ -0,0 +1,67 @@
+package sorald.sonar;
+
+import java.io.File;
+import java.util.List;
+import org.sonar.api.batch.fs.internal.DefaultFileSystem;
+import org.sonar.api.config.internal.MapSettings;
+import org.sonar.java.JavaClasspath;
+import org.sonar.java.JavaClasspathProperties;
+import org.sonar.java.JavaSonarLintClasspath;
+import org.sonar.java.JavaTestClasspath;
+
+/**
+ * The configuration that Sonar analyses of a project share: the sensor context, the file system and
+ * the resolved classpaths. Resolving the classpath entries is comparatively expensive, so an
+ * environment is meant to be created once and reused for any number of analyses.
+ */
+class AnalysisEnvironment {
+    private final File baseDir;
+    private final SoraldSensorContext sensorContext;
+    private final JavaClasspath classpath;
+    private final JavaTestClasspath testClasspath;
+
+    /**
+     * @param baseDir The base directory of the project to analyze.
+     * @param classpath Classpath to fetch type information from.
+     */
+    AnalysisEnvironment(File baseDir, List<String> classpath) {
+        this.baseDir = baseDir;
+
+        // FIXME populate the classpaths
+        MapSettings settings =
+                new MapSettings()
+                        .setProperty(
+                                JavaClasspathProperties.SONAR_JAVA_BINARIES,
+                                String.join(",", classpath));
+        sensorContext = new SoraldSensorContext(baseDir, settings);
+
+        DefaultFileSystem fs = sensorContext.fileSystem();
+        this.classpath = new JavaSonarLintClasspath(settings.asConfig(), fs);
+        testClasspath = new JavaTestClasspath(settings.asConfig(), fs);
+
+        // the classpaths resolve their elements lazily, so resolve them right away to avoid
+        // concurrent analyses racing to do it
+        this.classpath.getElements();
+        testClasspath.getElements();
+    }
+
+    File getBaseDir() {
+        return baseDir;
+    }
+
+    SoraldSensorContext getSensorContext() {
+        return sensorContext;
+    }
+
+    DefaultFileSystem getFileSystem() {
+        return sensorContext.fileSystem();
+    }
+
+    JavaClasspath getClasspath() {
+        return classpath;
+    }
+
+    JavaTestClasspath getTestClasspath() {
+        return testClasspath;
+    }
+}
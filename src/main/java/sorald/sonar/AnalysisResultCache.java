@@ -0,0 +1,138 @@
+package sorald.sonar;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import sorald.rule.Rule;
+import sorald.util.HashUtils;
+
+/**
+ * A cache of the violations found in files, keyed by the contents of the files rather than by their
+ * paths, such that a file that occurs in many projects or at many paths, as vendored libraries and
+ * forks tend to make them, only needs to be analyzed once. Results are only shared between analyses
+ * with the same rules and classpath.
+ *
+ * <p>Sonar analyzes each file on its own, so the violations of most rules only depend on the
+ * contents of the file. The exceptions are the few checks that look at the path of the file, whose
+ * violations are never cached, and those that report on the project as a whole, which rule out
+ * deduplication for the analyses they are part of. The cache holds a bounded amount of violations,
+ * in which each file also counts as one violation such that files without violations are bounded as
+ * well, and evicts the least recently used files when it is full.
+ */
+public class AnalysisResultCache {
+    /**
+     * Rules whose violations depend on the path of a file as well as its contents: S1598 compares
+     * the package to the directory of the file, and S4032 looks at the name of the file.
+     */
+    static final Set<String> PATH_DEPENDENT_RULES = Set.of("S1598", "S4032");
+
+    /**
+     * Rules that report on the project as a whole once all of its files have been analyzed, and
+     * thereby need to see all of them in a single analysis: S1228 reports the packages without a
+     * package-info.java, and S4605 the Spring beans outside of the packages scanned by Spring.
+     */
+    static final Set<String> PROJECT_RULES = Set.of("S1228", "S4605");
+
+    private final Map<String, List<ScannedViolation>> violationsByKey =
+            new LinkedHashMap<>(16, 0.75f, true);
+    private final long maxViolations;
+    private long size;
+
+    /** @param maxViolations The maximum amount of violations to keep. */
+    public AnalysisResultCache(long maxViolations) {
+        this.maxViolations = maxViolations;
+    }
+
+    /**
+     * @param rules Rules of an analysis.
+     * @param classpath Classpath of the analysis.
+     * @return A fingerprint that is shared by all analyses with the same rules and classpath.
+     */
+    static String fingerprint(Collection<Rule> rules, List<String> classpath) {
+        String ruleKeys =
+                rules.stream().map(Rule::getKey).sorted().collect(Collectors.joining(","));
+        return HashUtils.sha256Hex(ruleKeys + "\n" + String.join("\n", classpath));
+    }
+
+    /**
+     * @param rules Rules of an analysis.
+     * @return Whether files with the same contents may be analyzed once for the analysis, which is
+     *     not the case if any of its rules reports on the project as a whole.
+     */
+    static boolean canDeduplicate(Collection<Rule> rules) {
+        return rules.stream().map(Rule::getKey).noneMatch(PROJECT_RULES::contains);
+    }
+
+    /**
+     * @param contentLoader Loader of the contents of a file.
+     * @param fingerprint Fingerprint of the analysis.
+     * @return The key of the file in the analysis, or null if the file cannot be read.
+     */
+    static String key(InMemorySourceFile.ContentLoader contentLoader, String fingerprint) {
+        try {
+            return HashUtils.sha256Hex(contentLoader.load()) + ":" + fingerprint;
+        } catch (IOException e) {
+            // leave it to Sonar to deal with unreadable files
+            return null;
+        }
+    }
+
+    /**
+     * @param key Key of a file.
+     * @return The cached violations of the file, excluding any of path dependent rules, or null if
+     *     the file is not in the cache.
+     */
+    synchronized List<ScannedViolation> get(String key) {
+        return violationsByKey.get(key);
+    }
+
+    /**
+     * @param key Key of a file.
+     * @return Whether the file is in the cache.
+     */
+    synchronized boolean contains(String key) {
+        return violationsByKey.containsKey(key);
+    }
+
+    /**
+     * @param violations An amount of violations in a file.
+     * @return Whether a file with that many violations fits in the cache.
+     */
+    boolean fits(int violations) {
+        return sizeOf(violations) <= maxViolations;
+    }
+
+    /**
+     * Cache the violations of a file, unless they do not fit. Violations of path dependent rules
+     * are left out.
+     *
+     * @param key Key of the file.
+     * @param violations All violations of the file.
+     */
+    void put(String key, List<ScannedViolation> violations) {
+        List<ScannedViolation> cacheable =
+                violations.stream()
+                        .filter(violation -> !PATH_DEPENDENT_RULES.contains(violation.getRuleKey()))
+                        .collect(Collectors.toUnmodifiableList());
+        if (!fits(cacheable.size())) {
+            return;
+        }
+        synchronized (this) {
+            List<ScannedViolation> replaced = violationsByKey.put(key, cacheable);
+            size += sizeOf(cacheable.size()) - (replaced == null ? 0 : sizeOf(replaced.size()));
+            var eldest = violationsByKey.values().iterator();
+            while (size > maxViolations) {
+                size -= sizeOf(eldest.next().size());
+                eldest.remove();
+            }
+        }
+    }
+
+    private static long sizeOf(int violations) {
+        return violations + 1L;
+    }
+}
@@ -0,0 +1,300 @@
+package sorald.sonar;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import sorald.rule.RuleViolation;
+
+/**
+ * Bounds the time that an analysis may spend on any single file, as well as on setting up before
+ * the first file and on finishing up after the last one.
+ *
+ * <p>The analysis is run on a worker thread while the calling thread keeps track of which file is
+ * being analyzed. A file whose analysis exceeds the time budget, or crashes the worker, is
+ * abandoned and reported to the handler, and a fresh analysis is started for the remaining files.
+ * The violations are passed to the consumer on the calling thread. The setup and the end of the
+ * analysis each get a time budget of the same size. As there is no file to blame if either of them
+ * exceeds it, and a fresh analysis would likely do no better, the watchdog then gives up on the
+ * remaining files.
+ *
+ * <p>Java offers no safe way of killing a thread, so an abandoned worker is only told to stop
+ * before the next file. Interrupting it is not safe either, as it may be in the middle of
+ * initializing classes that the next worker also needs. The abandoned worker keeps running until
+ * the analysis of the abandoned file finishes, but as a daemon thread it does not keep the JVM
+ * alive, and its results are discarded. As abandoned workers still take up CPU and memory, only a
+ * bounded amount of them may be running at a time. Once that bound is reached, the watchdog gives
+ * up on the remaining files rather than starting yet another worker.
+ */
+class AnalysisWatchdog {
+    /** The default amount of abandoned workers that may still be running at a time. */
+    static final int MAX_RUNNING_ABANDONED_WORKERS = 4;
+
+    private static final Object COMPLETED = new Object();
+
+    private final Duration fileTimeout;
+    private final BiConsumer<String, Exception> abandonedFileHandler;
+    private final int maxRunningAbandonedWorkers;
+    private final AtomicInteger runningAbandonedWorkers = new AtomicInteger();
+
+    /**
+     * @param fileTimeout The maximum amount of time to spend analyzing a single file.
+     * @param abandonedFileHandler Handler that is passed the path to each abandoned file, along
+     *     with the reason for abandoning it.
+     */
+    AnalysisWatchdog(Duration fileTimeout, BiConsumer<String, Exception> abandonedFileHandler) {
+        this(fileTimeout, abandonedFileHandler, MAX_RUNNING_ABANDONED_WORKERS);
+    }
+
+    /**
+     * @param fileTimeout The maximum amount of time to spend analyzing a single file.
+     * @param abandonedFileHandler Handler that is passed the path to each abandoned file, along
+     *     with the reason for abandoning it.
+     * @param maxRunningAbandonedWorkers The amount of abandoned workers that may still be running
+     *     before the watchdog gives up on the remaining files.
+     */
+    AnalysisWatchdog(
+            Duration fileTimeout,
+            BiConsumer<String, Exception> abandonedFileHandler,
+            int maxRunningAbandonedWorkers) {
+        this.fileTimeout = fileTimeout;
+        this.abandonedFileHandler = abandonedFileHandler;
+        this.maxRunningAbandonedWorkers = maxRunningAbandonedWorkers;
+    }
+
+    /**
+     * Run the analysis on the files, abandoning any file whose analysis exceeds the time budget.
+     *
+     * @param filesToScan Paths to the files to analyze.
+     * @param violationConsumer Consumer of the violations found in the files.
+     * @param analysis The analysis to run.
+     * @throws AbandonedAnalysisException If the watchdog gives up on the remaining files, as too
+     *     many abandoned workers are still running to start another one, or as the setup or the end
+     *     of the analysis exceeded the time budget.
+     */
+    void analyze(
+            List<String> filesToScan,
+            Consumer<RuleViolation> violationConsumer,
+            Analysis analysis) {
+        List<String> remainingFiles = filesToScan;
+        while (!remainingFiles.isEmpty()) {
+            if (runningAbandonedWorkers.get() >= maxRunningAbandonedWorkers) {
+                throw new AbandonedAnalysisException(
+                        String.format(
+                                "%d abandoned analyses are still running, giving up on %d"
+                                        + " remaining files",
+                                maxRunningAbandonedWorkers, remainingFiles.size()),
+                        remainingFiles,
+                        null);
+            }
+            int abandonedFile = new Worker(remainingFiles, analysis).await(violationConsumer);
+            if (abandonedFile < 0) {
+                return;
+            }
+            remainingFiles = remainingFiles.subList(abandonedFile + 1, remainingFiles.size());
+        }
+    }
+
+    /** Thrown when the watchdog gives up on the remaining files. */
+    static class AbandonedAnalysisException extends RuntimeException {
+        private final List<String> remainingFiles;
+
+        AbandonedAnalysisException(String message, List<String> remainingFiles, Throwable cause) {
+            super(message, cause);
+            this.remainingFiles = List.copyOf(remainingFiles);
+        }
+
+        /** @return Paths to the files that were not analyzed. */
+        List<String> getRemainingFiles() {
+            return remainingFiles;
+        }
+    }
+
+    /** An analysis of files that can be cancelled between files. */
+    @FunctionalInterface
+    interface Analysis {
+
+        /**
+         * @param filesToScan Paths to the files to analyze, in the order to analyze them.
+         * @param violationConsumer Consumer of the violations found in the files.
+         * @param cancellationCheck Must be called right before the analysis of each file starts,
+         *     and once more right after the last file has been analyzed, before the end of the
+         *     analysis. If it returns true, the remaining files must not be analyzed.
+         */
+        void analyze(
+                List<String> filesToScan,
+                Consumer<RuleViolation> violationConsumer,
+                BooleanSupplier cancellationCheck);
+    }
+
+    /** A single attempt at analyzing the files, run on its own thread. */
+    private class Worker implements Runnable {
+        private final List<String> files;
+        private final Analysis analysis;
+        private final BlockingQueue<Object> results = new LinkedBlockingQueue<>();
+        private final AtomicReference<FileStart> currentFile = new AtomicReference<>();
+        private final Thread thread;
+        private volatile boolean abandoned;
+        private boolean finished;
+
+        Worker(List<String> files, Analysis analysis) {
+            this.files = files;
+            this.analysis = analysis;
+            thread = new Thread(this, "sorald-analysis");
+            thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            try {
+                analysis.analyze(files, results::add, this::startNextFile);
+                results.add(COMPLETED);
+            } catch (Throwable e) {
+                results.add(e);
+            } finally {
+                finish();
+            }
+        }
+
+        private synchronized void finish() {
+            finished = true;
+            if (abandoned) {
+                runningAbandonedWorkers.decrementAndGet();
+            }
+        }
+
+        private boolean startNextFile() {
+            if (abandoned) {
+                return true;
+            }
+            int previous = currentFile.get().index;
+            if (previous < files.size()) {
+                // after the last file, this starts the end of the analysis
+                currentFile.set(new FileStart(previous + 1));
+            }
+            return false;
+        }
+
+        /**
+         * Start the worker and pass its violations to the consumer until it either completes or a
+         * file is abandoned.
+         *
+         * @return The index of the abandoned file, or -1 if the analysis completed.
+         */
+        int await(Consumer<RuleViolation> violationConsumer) {
+            currentFile.set(new FileStart(-1));
+            thread.start();
+            try {
+                while (true) {
+                    Object result = results.poll(timeUntilDeadline(), TimeUnit.NANOSECONDS);
+                    if (result == COMPLETED) {
+                        return -1;
+                    } else if (result instanceof RuleViolation) {
+                        violationConsumer.accept((RuleViolation) result);
+                    } else if (result instanceof Throwable) {
+                        return abandonCrashedFile((Throwable) result);
+                    } else if (timeUntilDeadline() <= 0) {
+                        return isAnalyzingFile() ? abandonTimedOutFile() : giveUpOnTimedOutPhase();
+                    }
+                }
+            } catch (InterruptedException e) {
+                abandon();
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("interrupted while analyzing files", e);
+            }
+        }
+
+        private long timeUntilDeadline() {
+            return fileTimeout.toNanos() - (System.nanoTime() - currentFile.get().startNanos);
+        }
+
+        /**
+         * @return Whether a file is being analyzed, rather than the setup or end of the analysis.
+         */
+        private boolean isAnalyzingFile() {
+            int index = currentFile.get().index;
+            return index >= 0 && index < files.size();
+        }
+
+        private int giveUpOnTimedOutPhase() {
+            StackTraceElement[] workerStackTrace = thread.getStackTrace();
+            abandon();
+
+            boolean isSetup = currentFile.get().index < 0;
+            String phase = isSetup ? "setup" : "end";
+            var timeout =
+                    new TimeoutException(
+                            String.format(
+                                    "The %s of the analysis exceeded the time budget of %d ms",
+                                    phase, fileTimeout.toMillis()));
+            timeout.setStackTrace(workerStackTrace);
+            throw new AbandonedAnalysisException(
+                    String.format(
+                            "Gave up on the analysis as its %s timed out, giving up on %d"
+                                    + " remaining files",
+                            phase, isSetup ? files.size() : 0),
+                    isSetup ? files : List.of(),
+                    timeout);
+        }
+
+        private int abandonTimedOutFile() {
+            StackTraceElement[] workerStackTrace = thread.getStackTrace();
+            abandon();
+
+            int index = currentFile.get().index;
+            var timeout =
+                    new TimeoutException(
+                            String.format(
+                                    "Analysis of %s exceeded the time budget of %d ms",
+                                    files.get(index), fileTimeout.toMillis()));
+            // show where the analysis was stuck rather than where the watchdog noticed it
+            timeout.setStackTrace(workerStackTrace);
+            abandonedFileHandler.accept(files.get(index), timeout);
+            return index;
+        }
+
+        private int abandonCrashedFile(Throwable crash) {
+            FileStart file = currentFile.get();
+            if (!isAnalyzingFile()) {
+                // the analysis crashed outside of any file, so there is nothing to skip
+                if (crash instanceof Error) {
+                    throw (Error) crash;
+                }
+                throw crash instanceof RuntimeException
+                        ? (RuntimeException) crash
+                        : new RuntimeException(crash);
+            }
+            abandonedFileHandler.accept(
+                    files.get(file.index),
+                    new ExecutionException(
+                            "Analysis of " + files.get(file.index) + " crashed", crash));
+            return file.index;
+        }
+
+        private synchronized void abandon() {
+            if (!abandoned && !finished) {
+                runningAbandonedWorkers.incrementAndGet();
+            }
+            abandoned = true;
+        }
+    }
+
+    /** The index of a file in the files to analyze, and the time its analysis started. */
+    private static class FileStart {
+        private final int index;
+        private final long startNanos;
+
+        FileStart(int index) {
+            this.index = index;
+            startNanos = System.nanoTime();
+        }
+    }
+}
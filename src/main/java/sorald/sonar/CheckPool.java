@@ -0,0 +1,64 @@
+package sorald.sonar;
+
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.stream.Collectors;
+import org.sonar.java.EndOfAnalysisCheck;
+import org.sonar.plugins.java.api.JavaFileScanner;
+
+/**
+ * A pool of check instances that are reused across analyses, such that mining many projects does
+ * not instantiate hundreds of checks for each of them.
+ *
+ * <p>Sonar uses a single check instance for all files of an analysis, and each check resets its
+ * per-file state when it starts scanning a file. A check that has completed an analysis is
+ * therefore as good as new, unless it accumulates state across files to report on at the end of the
+ * analysis, which is what {@link EndOfAnalysisCheck} is for. Such checks are never pooled.
+ *
+ * <p>A check is only used by one analysis at a time: it is taken out of the pool when acquired, and
+ * only put back when released.
+ */
+class CheckPool {
+    private static final Map<String, Deque<JavaFileScanner>> IDLE_CHECKS =
+            new ConcurrentHashMap<>();
+
+    private CheckPool() {}
+
+    /**
+     * Take a check out of the pool for each rule, instantiating checks that are not in the pool.
+     *
+     * @param ruleKeys Keys of the rules to acquire checks for.
+     * @return A check for each of the rules.
+     */
+    static List<JavaFileScanner> acquire(Collection<String> ruleKeys) {
+        return ruleKeys.stream().map(CheckPool::acquire).collect(Collectors.toList());
+    }
+
+    /**
+     * Put the checks back into the pool. Must only be called once the checks have completed an
+     * analysis, as a check that was abandoned in the middle of a file may be in any state.
+     *
+     * @param checks Checks to put back into the pool.
+     */
+    static void release(Collection<? extends JavaFileScanner> checks) {
+        for (JavaFileScanner check : checks) {
+            if (!(check instanceof EndOfAnalysisCheck)) {
+                IDLE_CHECKS
+                        .computeIfAbsent(
+                                Checks.getRuleKey(check.getClass()),
+                                key -> new ConcurrentLinkedDeque<>())
+                        .push(check);
+            }
+        }
+    }
+
+    private static JavaFileScanner acquire(String ruleKey) {
+        Deque<JavaFileScanner> idle = IDLE_CHECKS.get(ruleKey);
+        JavaFileScanner check = idle == null ? null : idle.poll();
+        return check != null ? check : Checks.getCheckInstance(ruleKey);
+    }
+}
@@ -0,0 +1,323 @@
+package sorald.sonar;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import org.sonar.java.EndOfAnalysisCheck;
+import org.sonar.java.JavaVersionAwareVisitor;
+import org.sonar.java.se.checks.SECheck;
+import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
+import org.sonar.plugins.java.api.JavaCheck;
+import org.sonar.plugins.java.api.JavaFileScanner;
+import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.JavaVersion;
+import org.sonar.plugins.java.api.tree.SyntaxToken;
+import org.sonar.plugins.java.api.tree.SyntaxTrivia;
+import org.sonar.plugins.java.api.tree.Tree;
+import sorald.event.models.miner.CheckProfile;
+
+/**
+ * Records the CPU time that Sonar checks spend analyzing files. A profiler can be shared by any
+ * number of analyses, also concurrent ones, and accumulates the results of all of them.
+ *
+ * <p>Each check is profiled by wrapping it. Note that the wrapping itself adds some overhead to
+ * each check, so profiling should only be enabled when the results are actually needed.
+ *
+ * <p>Symbolic execution checks are all executed together by a single visitor in Sonar, so their
+ * time cannot be told apart. Their combined time is recorded as a single profile named {@link
+ * #SYMBOLIC_EXECUTION}, whose rule key lists the keys of all of the symbolic execution checks.
+ */
+public class CheckProfiler {
+    /** Name of the profile that holds the combined time of all symbolic execution checks. */
+    public static final String SYMBOLIC_EXECUTION = "SymbolicExecution";
+
+    static final int NUM_SLOWEST_FILES = 5;
+
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    private final Map<String, Profile> profiles = new ConcurrentHashMap<>();
+
+    /** @return The profiles of all checks that have been run, slowest first. */
+    public List<CheckProfile> getProfiles() {
+        return profiles.values().stream()
+                .map(Profile::toCheckProfile)
+                .sorted(Comparator.comparingDouble(CheckProfile::getCpuTimeMs).reversed())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Wrap the given checks such that the time they spend is recorded in this profiler.
+     *
+     * @param checks Checks to profile.
+     * @param issueFilter The issue filter that Sonar runs right before the symbolic execution.
+     * @return Profiled scanners to pass to Sonar in place of the checks, and the issue filter to
+     *     use instead of the given one. The first scanner must be the first one that Sonar runs on
+     *     each file.
+     */
+    ProfiledScanners profile(List<JavaCheck> checks, JavaFileScanner issueFilter) {
+        List<SECheck> seChecks =
+                checks.stream()
+                        .filter(SECheck.class::isInstance)
+                        .map(SECheck.class::cast)
+                        .collect(Collectors.toList());
+        if (seChecks.isEmpty()) {
+            return new ProfiledScanners(
+                    issueFilter,
+                    checks.stream().map(this::profileCheck).collect(Collectors.toList()));
+        }
+
+        String seRuleKeys =
+                seChecks.stream()
+                        .map(check -> Checks.getRuleKey(check.getClass()))
+                        .sorted()
+                        .collect(Collectors.joining(","));
+        var seTimer = new SymbolicExecutionTimer(issueFilter, getProfile(seRuleKeys));
+
+        List<JavaCheck> scanners = new ArrayList<>();
+        scanners.add(seTimer.new EndOfSymbolicExecution());
+        checks.stream().map(this::profileCheck).forEach(scanners::add);
+        return new ProfiledScanners(seTimer, scanners);
+    }
+
+    private JavaCheck profileCheck(JavaCheck check) {
+        if (check instanceof SECheck) {
+            return check;
+        }
+        Profile profile = getProfile(check);
+        if (check instanceof IssuableSubscriptionVisitor) {
+            return new ProfiledSubscriptionVisitor((IssuableSubscriptionVisitor) check, profile);
+        } else if (check instanceof JavaFileScanner) {
+            return new ProfiledFileScanner((JavaFileScanner) check, profile);
+        }
+        return check;
+    }
+
+    private Profile getProfile(JavaCheck check) {
+        Class<? extends JavaCheck> checkClass = check.getClass();
+        return profiles.computeIfAbsent(
+                checkClass.getName(),
+                name -> new Profile(Checks.getRuleKey(checkClass), checkClass.getSimpleName()));
+    }
+
+    private Profile getProfile(String seRuleKeys) {
+        return profiles.computeIfAbsent(
+                SYMBOLIC_EXECUTION, name -> new Profile(seRuleKeys, SYMBOLIC_EXECUTION));
+    }
+
+    private static long currentCpuTime() {
+        return THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported()
+                ? THREAD_MX_BEAN.getCurrentThreadCpuTime()
+                : System.nanoTime();
+    }
+
+    private static String filePath(JavaFileScannerContext context) {
+        return Paths.get(context.getInputFile().uri()).toString();
+    }
+
+    /** The result of profiling checks: the scanners and issue filter to pass to Sonar. */
+    static class ProfiledScanners {
+        private final JavaFileScanner issueFilter;
+        private final List<JavaCheck> scanners;
+
+        private ProfiledScanners(JavaFileScanner issueFilter, List<JavaCheck> scanners) {
+            this.issueFilter = issueFilter;
+            this.scanners = List.copyOf(scanners);
+        }
+
+        JavaFileScanner getIssueFilter() {
+            return issueFilter;
+        }
+
+        List<JavaCheck> getScanners() {
+            return scanners;
+        }
+    }
+
+    /** The accumulated CPU time of a single check. */
+    private static class Profile {
+        private final String ruleKey;
+        private final String checkName;
+        private final PriorityQueue<CheckProfile.FileTime> slowestFiles =
+                new PriorityQueue<>(
+                        Comparator.comparingDouble(CheckProfile.FileTime::getCpuTimeMs));
+        private long cpuTimeNs;
+        private int invocations;
+
+        Profile(String ruleKey, String checkName) {
+            this.ruleKey = ruleKey;
+            this.checkName = checkName;
+        }
+
+        synchronized void record(String filePath, long fileCpuTimeNs) {
+            cpuTimeNs += fileCpuTimeNs;
+            invocations++;
+            slowestFiles.add(new CheckProfile.FileTime(filePath, toMillis(fileCpuTimeNs)));
+            if (slowestFiles.size() > NUM_SLOWEST_FILES) {
+                slowestFiles.poll();
+            }
+        }
+
+        synchronized CheckProfile toCheckProfile() {
+            List<CheckProfile.FileTime> files = new ArrayList<>(slowestFiles);
+            files.sort(Comparator.comparingDouble(CheckProfile.FileTime::getCpuTimeMs).reversed());
+            return new CheckProfile(ruleKey, checkName, toMillis(cpuTimeNs), invocations, files);
+        }
+
+        private static double toMillis(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+
+    /** Wrapper for checks that Sonar runs on each file with {@link #scanFile}. */
+    private static class ProfiledFileScanner
+            implements JavaFileScanner, JavaVersionAwareVisitor, EndOfAnalysisCheck {
+        private final JavaFileScanner check;
+        private final Profile profile;
+
+        ProfiledFileScanner(JavaFileScanner check, Profile profile) {
+            this.check = check;
+            this.profile = profile;
+        }
+
+        @Override
+        public void scanFile(JavaFileScannerContext context) {
+            long start = currentCpuTime();
+            try {
+                check.scanFile(context);
+            } finally {
+                profile.record(filePath(context), currentCpuTime() - start);
+            }
+        }
+
+        @Override
+        public boolean isCompatibleWithJavaVersion(JavaVersion version) {
+            return !(check instanceof JavaVersionAwareVisitor)
+                    || ((JavaVersionAwareVisitor) check).isCompatibleWithJavaVersion(version);
+        }
+
+        @Override
+        public void endOfAnalysis() {
+            if (check instanceof EndOfAnalysisCheck) {
+                ((EndOfAnalysisCheck) check).endOfAnalysis();
+            }
+        }
+    }
+
+    /**
+     * Wrapper for checks that Sonar runs together in a single traversal of each file, by calling
+     * back to each check on the nodes it has subscribed to.
+     */
+    private static class ProfiledSubscriptionVisitor extends IssuableSubscriptionVisitor
+            implements JavaVersionAwareVisitor, EndOfAnalysisCheck {
+        private final IssuableSubscriptionVisitor check;
+        private final Profile profile;
+        private long fileCpuTimeNs;
+
+        ProfiledSubscriptionVisitor(IssuableSubscriptionVisitor check, Profile profile) {
+            this.check = check;
+            this.profile = profile;
+        }
+
+        @Override
+        public List<Tree.Kind> nodesToVisit() {
+            return check.nodesToVisit();
+        }
+
+        @Override
+        public void setContext(JavaFileScannerContext context) {
+            super.setContext(context);
+            fileCpuTimeNs = 0;
+            timed(() -> check.setContext(context));
+        }
+
+        @Override
+        public void visitNode(Tree tree) {
+            timed(() -> check.visitNode(tree));
+        }
+
+        @Override
+        public void leaveNode(Tree tree) {
+            timed(() -> check.leaveNode(tree));
+        }
+
+        @Override
+        public void visitToken(SyntaxToken syntaxToken) {
+            timed(() -> check.visitToken(syntaxToken));
+        }
+
+        @Override
+        public void visitTrivia(SyntaxTrivia syntaxTrivia) {
+            timed(() -> check.visitTrivia(syntaxTrivia));
+        }
+
+        @Override
+        public void leaveFile(JavaFileScannerContext context) {
+            try {
+                timed(() -> check.leaveFile(context));
+            } finally {
+                profile.record(filePath(context), fileCpuTimeNs);
+            }
+        }
+
+        private void timed(Runnable callback) {
+            long start = currentCpuTime();
+            try {
+                callback.run();
+            } finally {
+                fileCpuTimeNs += currentCpuTime() - start;
+            }
+        }
+
+        @Override
+        public boolean isCompatibleWithJavaVersion(JavaVersion version) {
+            return !(check instanceof JavaVersionAwareVisitor)
+                    || ((JavaVersionAwareVisitor) check).isCompatibleWithJavaVersion(version);
+        }
+
+        @Override
+        public void endOfAnalysis() {
+            if (check instanceof EndOfAnalysisCheck) {
+                ((EndOfAnalysisCheck) check).endOfAnalysis();
+            }
+        }
+    }
+
+    /**
+     * Measures the time of the symbolic execution of each file. Sonar runs the symbolic execution
+     * right after the issue filter and before any other scanner, so the time between the end of the
+     * issue filter and the start of the first scanner is the time of the symbolic execution. The
+     * first scanner is however preceded by some bookkeeping scanners of Sonar, whose time is
+     * negligible in comparison.
+     */
+    private static class SymbolicExecutionTimer implements JavaFileScanner {
+        private final JavaFileScanner issueFilter;
+        private final Profile profile;
+        private long start;
+
+        SymbolicExecutionTimer(JavaFileScanner issueFilter, Profile profile) {
+            this.issueFilter = issueFilter;
+            this.profile = profile;
+        }
+
+        @Override
+        public void scanFile(JavaFileScannerContext context) {
+            issueFilter.scanFile(context);
+            start = currentCpuTime();
+        }
+
+        private class EndOfSymbolicExecution implements JavaFileScanner {
+
+            @Override
+            public void scanFile(JavaFileScannerContext context) {
+                profile.record(filePath(context), currentCpuTime() - start);
+            }
+        }
+    }
+}
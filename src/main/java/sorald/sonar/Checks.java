@@ -1,51 +1,98 @@
 package sorald.sonar;
 
-import java.util.ArrayList;
+import static sorald.rule.RuleType.BUG;
+import static sorald.rule.RuleType.CODE_SMELL;
+import static sorald.rule.RuleType.SECURITY_HOTSPOT;
+import static sorald.rule.RuleType.VULNERABILITY;
+
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.Collections;
-import java.util.EnumMap;
 import java.util.HashMap;
-import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import org.sonar.check.Rule;
-import org.sonar.java.checks.*;
-import org.sonar.java.checks.naming.*;
-import org.sonar.java.checks.regex.*;
-import org.sonar.java.checks.security.*;
-import org.sonar.java.checks.serialization.*;
-import org.sonar.java.checks.spring.*;
-import org.sonar.java.checks.synchronization.DoubleCheckedLockingCheck;
-import org.sonar.java.checks.synchronization.SynchronizationOnGetClassCheck;
-import org.sonar.java.checks.synchronization.TwoLocksWaitCheck;
-import org.sonar.java.checks.synchronization.ValueBasedObjectUsedForLockCheck;
-import org.sonar.java.checks.synchronization.WriteObjectTheOnlySynchronizedMethodCheck;
-import org.sonar.java.checks.tests.*;
-import org.sonar.java.checks.unused.*;
-import org.sonar.java.se.checks.*;
 import org.sonar.plugins.java.api.JavaCheck;
 import org.sonar.plugins.java.api.JavaFileScanner;
 import sorald.rule.RuleType;
 
-/** Class for easily accessing Sonar check classes. */
+/**
+ * Class for easily accessing Sonar check classes.
+ *
+ * <p>Checks are registered by rule key and class name, and a check class is only loaded once it is
+ * first asked for. Loading all of the several hundred check classes up front would otherwise
+ * dominate the startup time of anything that only deals with a handful of rules.
+ */
 @SuppressWarnings({"unchecked", "UnstableApiUsage"})
 class Checks {
     private Checks() {}
 
-    private static final Map<RuleType, Map<String, Class<? extends JavaFileScanner>>>
-            TYPE_TO_CHECKS;
+    private static final Map<String, String> KEY_TO_CHECK_CLASS_NAME = new HashMap<>();
+    private static final Map<String, RuleType> KEY_TO_TYPE = new HashMap<>();
+    private static final Map<String, Class<? extends JavaFileScanner>> LOADED_CHECKS =
+            new ConcurrentHashMap<>();
 
-    private static final Map<Class<? extends JavaFileScanner>, RuleType> CHECK_TO_TYPE;
+    /**
+     * The class names of the checks that apply to test code, as listed by {@code
+     * CheckList.getJavaTestChecks()}. All other checks apply to main code. The names are listed
+     * here as CheckList refers to its checks by class, and asking it would load all of them.
+     */
+    private static final Set<String> TEST_CHECK_CLASS_NAMES =
+            Set.of(
+                    "org.sonar.java.checks.naming.BadTestClassNameCheck",
+                    "org.sonar.java.checks.naming.BadTestMethodNameCheck",
+                    "org.sonar.java.checks.tests.AssertJApplyConfigurationCheck",
+                    "org.sonar.java.checks.tests.AssertJChainSimplificationCheck",
+                    "org.sonar.java.checks.tests.AssertJConsecutiveAssertionCheck",
+                    "org.sonar.java.checks.tests.AssertJContextBeforeAssertionCheck",
+                    "org.sonar.java.checks.tests.AssertJTestForEmptinessCheck",
+                    "org.sonar.java.checks.tests.AssertThatThrownByAloneCheck",
+                    "org.sonar.java.checks.tests.AssertTrueInsteadOfDedicatedAssertCheck",
+                    "org.sonar.java.checks.tests.AssertionArgumentOrderCheck",
+                    "org.sonar.java.checks.tests.AssertionCompareToSelfCheck",
+                    "org.sonar.java.checks.tests.AssertionFailInCatchBlockCheck",
+                    "org.sonar.java.checks.tests.AssertionInThreadRunCheck",
+                    "org.sonar.java.checks.tests.AssertionInTryCatchCheck",
+                    "org.sonar.java.checks.tests.AssertionTypesCheck",
+                    "org.sonar.java.checks.tests.AssertionsCompletenessCheck",
+                    "org.sonar.java.checks.tests.AssertionsInTestsCheck",
+                    "org.sonar.java.checks.tests.AssertionsWithoutMessageCheck",
+                    "org.sonar.java.checks.tests.BooleanOrNullLiteralInAssertionsCheck",
+                    "org.sonar.java.checks.tests.CallSuperInTestCaseCheck",
+                    "org.sonar.java.checks.tests.ExpectedExceptionCheck",
+                    "org.sonar.java.checks.tests.IgnoredTestsCheck",
+                    "org.sonar.java.checks.tests.JUnit45MethodAnnotationCheck",
+                    "org.sonar.java.checks.tests.JUnit4AnnotationsCheck",
+                    "org.sonar.java.checks.tests.JUnit5DefaultPackageClassAndMethodCheck",
+                    "org.sonar.java.checks.tests.JUnit5SilentlyIgnoreClassAndMethodCheck",
+                    "org.sonar.java.checks.tests.JUnitCompatibleAnnotationsCheck",
+                    "org.sonar.java.checks.tests.JunitMethodDeclarationCheck",
+                    "org.sonar.java.checks.tests.JunitNestedAnnotationCheck",
+                    "org.sonar.java.checks.tests.MockingAllMethodsCheck",
+                    "org.sonar.java.checks.tests.NoTestInTestClassCheck",
+                    "org.sonar.java.checks.tests.OneExpectedCheckedExceptionCheck",
+                    "org.sonar.java.checks.tests.OneExpectedRuntimeExceptionCheck",
+                    "org.sonar.java.checks.tests.ParameterizedTestCheck",
+                    "org.sonar.java.checks.tests.RandomizedTestDataCheck",
+                    "org.sonar.java.checks.tests.SpringAssertionsSimplificationCheck",
+                    "org.sonar.java.checks.tests.TestAnnotationWithExpectedExceptionCheck",
+                    "org.sonar.java.checks.tests.TestsStabilityCheck",
+                    "org.sonar.java.checks.tests.ThreadSleepInTestsCheck",
+                    "org.sonar.java.checks.tests.TooManyAssertionsCheck",
+                    "org.sonar.java.checks.unused.UnusedTestRuleCheck");
 
     /**
      * @param checkType A check type.
      * @return All checks of the given type.
      */
     static List<Class<? extends JavaFileScanner>> getChecksByType(RuleType checkType) {
-        return new ArrayList<>(TYPE_TO_CHECKS.get(checkType).values());
+        return KEY_TO_TYPE.entrySet().stream()
+                .filter(entry -> entry.getValue() == checkType)
+                .map(Map.Entry::getKey)
+                .map(Checks::getCheck)
+                .collect(Collectors.toList());
     }
 
     /**
@@ -67,11 +114,8 @@ class Checks {
      * @return The check class corresponding to the key.
      */
     static Class<? extends JavaFileScanner> getCheck(String key) {
-        return TYPE_TO_CHECKS.values().stream()
-                .map(checks -> checks.get(key))
-                .filter(Objects::nonNull)
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("no rule with key " + key));
+        Class<? extends JavaFileScanner> check = LOADED_CHECKS.get(key);
+        return check != null ? check : LOADED_CHECKS.computeIfAbsent(key, Checks::loadCheck);
     }
 
     /**
@@ -86,12 +130,16 @@ class Checks {
 
     /** @return All Sonar-Java checks that Sorald currently keeps track of. */
     static List<Class<? extends JavaFileScanner>> getAllChecks() {
-        return TYPE_TO_CHECKS.values().stream()
-                .map(Map::values)
-                .flatMap(Collection::stream)
+        return KEY_TO_CHECK_CLASS_NAME.keySet().stream()
+                .map(Checks::getCheck)
                 .collect(Collectors.toList());
     }
 
+    /** @return The rule keys of all Sonar-Java checks that Sorald currently keeps track of. */
+    static Set<String> getAllRuleKeys() {
+        return Collections.unmodifiableSet(KEY_TO_CHECK_CLASS_NAME.keySet());
+    }
+
     /**
      * @param checkClass A Sonar-Java check class.
      * @return the numeric identifier of the rule related to the given check class. Non-digits are
@@ -108,583 +156,653 @@ class Checks {
     }
 
     /**
-     * @param check A check.
-     * @return The rule type associated with this check.
+     * @param key The key of a check.
+     * @return The rule type associated with the check, or null if there is no such check.
      */
-    static RuleType getRuleType(Class<? extends JavaFileScanner> check) {
-        return CHECK_TO_TYPE.get(check);
+    static RuleType getRuleType(String key) {
+        return KEY_TO_TYPE.get(key);
     }
 
-    private static Map<String, Class<? extends JavaFileScanner>> createKeyToCheckMap(
-            Class<? extends JavaFileScanner>... checksToAdd) {
-        Map<String, Class<? extends JavaFileScanner>> keyToCheck = new HashMap<>();
-        for (Class<? extends JavaFileScanner> check : checksToAdd) {
-            keyToCheck.put(getRuleKey(check), check);
-        }
-        return Collections.unmodifiableMap(keyToCheck);
+    /**
+     * @param checkClass A Sonar-Java check class.
+     * @return true iff the check applies to test code rather than main code.
+     */
+    static boolean isTestCheck(Class<? extends JavaCheck> checkClass) {
+        return TEST_CHECK_CLASS_NAMES.contains(checkClass.getName());
     }
 
-    static {
-        Map<RuleType, Map<String, Class<? extends JavaFileScanner>>> typeToChecks =
-                new EnumMap<>(RuleType.class);
-
-        typeToChecks.put(
-                RuleType.BUG,
-                createKeyToCheckMap(
-                        AbsOnNegativeCheck.class,
-                        AllBranchesAreIdenticalCheck.class,
-                        AnchorPrecedenceCheck.class,
-                        ArrayHashCodeAndToStringCheck.class,
-                        AssertionCompareToSelfCheck.class,
-                        AssertionInTryCatchCheck.class,
-                        AssertionsInProductionCodeCheck.class,
-                        AssertionTypesCheck.class,
-                        AssertJApplyConfigurationCheck.class,
-                        AssertJContextBeforeAssertionCheck.class,
-                        AssertJTestForEmptinessCheck.class,
-                        AssertOnBooleanVariableCheck.class,
-                        BigDecimalDoubleConstructorCheck.class,
-                        CastArithmeticOperandCheck.class,
-                        ClassComparedByNameCheck.class,
-                        ClassWithoutHashCodeInHashStructureCheck.class,
-                        CollectionCallingItselfCheck.class,
-                        CollectionInappropriateCallsCheck.class,
-                        CollectionSizeAndArrayLengthCheck.class,
-                        CompareStringsBoxedTypesWithEqualsCheck.class,
-                        CompareToNotOverloadedCheck.class,
-                        CompareToResultTestCheck.class,
-                        CompareToReturnValueCheck.class,
-                        ConditionalUnreachableCodeCheck.class,
-                        ConfusingOverloadCheck.class,
-                        ConstructorInjectionCheck.class,
-                        ControllerWithSessionAttributesCheck.class,
-                        CustomSerializationMethodCheck.class,
-                        CustomUnclosedResourcesCheck.class,
-                        DateFormatWeekYearCheck.class,
-                        DivisionByZeroCheck.class,
-                        DoubleBraceInitializationCheck.class,
-                        DoubleCheckedLockingAssignmentCheck.class,
-                        DoubleCheckedLockingCheck.class,
-                        DoublePrefixOperatorCheck.class,
-                        DuplicateConditionIfElseIfCheck.class,
-                        EmptyStringRepetitionCheck.class,
-                        EqualsArgumentTypeCheck.class,
-                        EqualsOnAtomicClassCheck.class,
-                        EqualsOverridenWithHashCodeCheck.class,
-                        ExternalizableClassConstructorCheck.class,
-                        FloatEqualityCheck.class,
-                        ForLoopFalseConditionCheck.class,
-                        ForLoopIncrementSignCheck.class,
-                        GetClassLoaderCheck.class,
-                        GettersSettersOnRightFieldCheck.class,
-                        GraphemeClustersInClassesCheck.class,
-                        HasNextCallingNextCheck.class,
-                        IdenticalOperandOnBinaryExpressionCheck.class,
-                        IfConditionAlwaysTrueOrFalseCheck.class,
-                        IgnoredOperationStatusCheck.class,
-                        IgnoredReturnValueCheck.class,
-                        IgnoredStreamReturnValueCheck.class,
-                        ImmediateReverseBoxingCheck.class,
-                        ImpossibleRegexCheck.class,
-                        InappropriateRegexpCheck.class,
-                        InnerClassOfNonSerializableCheck.class,
-                        InputStreamReadCheck.class,
-                        InstanceOfAlwaysTrueCheck.class,
-                        InterruptedExceptionCheck.class,
-                        InvalidDateValuesCheck.class,
-                        InvalidRegexCheck.class,
-                        IterableIteratorCheck.class,
-                        IteratorNextExceptionCheck.class,
-                        JUnit5SilentlyIgnoreClassAndMethodCheck.class,
-                        JUnitCompatibleAnnotationsCheck.class,
-                        JunitNestedAnnotationCheck.class,
-                        LocksNotUnlockedCheck.class,
-                        LongBitsToDoubleOnIntCheck.class,
-                        LoopExecutingAtMostOnceCheck.class,
-                        MathOnFloatCheck.class,
-                        MethodNamedEqualsCheck.class,
-                        MethodNamedHashcodeOrEqualCheck.class,
-                        MinMaxRangeCheck.class,
-                        NonNullSetToNullCheck.class,
-                        NonSerializableWriteCheck.class,
-                        NotifyCheck.class,
-                        NoWayOutLoopCheck.class,
-                        NullDereferenceCheck.class,
-                        NullDereferenceInConditionalCheck.class,
-                        NullShouldNotBeUsedWithOptionalCheck.class,
-                        ObjectFinalizeOverloadedCheck.class,
-                        ObjectOutputStreamCheck.class,
-                        OneExpectedCheckedExceptionCheck.class,
-                        OptionalGetBeforeIsPresentCheck.class,
-                        OverwrittenKeyCheck.class,
-                        ParameterReassignedToCheck.class,
-                        PreparedStatementAndResultSetCheck.class,
-                        PrimitiveWrappersInTernaryOperatorCheck.class,
-                        PrintfFailCheck.class,
-                        RawByteBitwiseOperationsCheck.class,
-                        ReflectionOnNonRuntimeAnnotationCheck.class,
-                        ReturnInFinallyCheck.class,
-                        ReuseRandomCheck.class,
-                        RunFinalizersCheck.class,
-                        ScheduledThreadPoolExecutorZeroCheck.class,
-                        SelfAssignementCheck.class,
-                        SerializableObjectInSessionCheck.class,
-                        SerializableSuperConstructorCheck.class,
-                        ServletInstanceFieldCheck.class,
-                        ShiftOnIntOrLongCheck.class,
-                        SillyEqualsCheck.class,
-                        SillyStringOperationsCheck.class,
-                        SpringComponentWithWrongScopeCheck.class,
-                        SpringIncompatibleTransactionalCheck.class,
-                        SpringScanDefaultPackageCheck.class,
-                        StaticMultithreadedUnsafeFieldsCheck.class,
-                        StreamConsumedCheck.class,
-                        StreamNotConsumedCheck.class,
-                        StringBufferAndBuilderWithCharCheck.class,
-                        StringCallsBeyondBoundsCheck.class,
-                        SymmetricEqualsCheck.class,
-                        SyncGetterAndSetterCheck.class,
-                        SynchronizationOnGetClassCheck.class,
-                        SynchronizationOnStringOrBoxedCheck.class,
-                        SynchronizedFieldAssignmentCheck.class,
-                        SynchronizedOverrideCheck.class,
-                        ThreadLocalCleanupCheck.class,
-                        ThreadOverridesRunCheck.class,
-                        ThreadRunCheck.class,
-                        ThreadSleepCheck.class,
-                        ThreadWaitCallCheck.class,
-                        ToArrayCheck.class,
-                        ToStringReturningNullCheck.class,
-                        TransactionalMethodVisibilityCheck.class,
-                        TwoLocksWaitCheck.class,
-                        UnclosedResourcesCheck.class,
-                        UnicodeCaseCheck.class,
-                        UnusedReturnedDataCheck.class,
-                        UnusedThrowableCheck.class,
-                        UselessIncrementCheck.class,
-                        ValueBasedObjectUsedForLockCheck.class,
-                        VolatileNonPrimitiveFieldCheck.class,
-                        VolatileVariablesOperationsCheck.class,
-                        WaitInSynchronizeCheck.class,
-                        WrongAssignmentOperatorCheck.class));
+    /** @return The name of the check class registered for the key, or null if there is none. */
+    static String getCheckClassName(String key) {
+        return KEY_TO_CHECK_CLASS_NAME.get(key);
+    }
 
-        typeToChecks.put(
-                RuleType.VULNERABILITY,
-                createKeyToCheckMap(
-                        AESAlgorithmCheck.class,
-                        AuthorizationsStrongDecisionsCheck.class,
-                        AvoidDESCheck.class,
-                        BasicAuthCheck.class,
-                        CipherBlockChainingCheck.class,
-                        CryptographicKeySizeCheck.class,
-                        DeprecatedHashAlgorithmCheck.class,
-                        DynamicClassLoadCheck.class,
-                        EmptyDatabasePasswordCheck.class,
-                        EncryptionAlgorithmCheck.class,
-                        EnumMutableFieldCheck.class,
-                        FileCreateTempFileCheck.class,
-                        GetRequestedSessionIdCheck.class,
-                        HostnameVerifierImplementationCheck.class,
-                        HttpRefererCheck.class,
-                        LDAPAuthenticatedConnectionCheck.class,
-                        LDAPDeserializationCheck.class,
-                        MainInServletCheck.class,
-                        MutableMembersUsageCheck.class,
-                        NullCipherCheck.class,
-                        OpenSAML2AuthenticationBypassCheck.class,
-                        PasswordEncoderCheck.class,
-                        PersistentEntityUsedAsRequestParameterCheck.class,
-                        PredictableSeedCheck.class,
-                        PrintStackTraceCalledWithoutArgumentCheck.class,
-                        RequestMappingMethodPublicCheck.class,
-                        RSAUsesOAEPCheck.class,
-                        SecureXmlTransformerCheck.class,
-                        ServletMethodsExceptionsThrownCheck.class,
-                        SMTPSSLServerIdentityCheck.class,
-                        SpringAntMatcherOrderCheck.class,
-                        SpringComponentWithNonAutowiredMembersCheck.class,
-                        SpringSessionFixationCheck.class,
-                        StrongCipherAlgorithmCheck.class,
-                        VerifiedServerHostnamesCheck.class,
-                        WeakSSLContextCheck.class,
-                        XxeActiveMQCheck.class,
-                        XxeProcessingCheck.class));
+    private static Class<? extends JavaFileScanner> loadCheck(String key) {
+        String checkClassName = KEY_TO_CHECK_CLASS_NAME.get(key);
+        if (checkClassName == null) {
+            throw new IllegalArgumentException("no rule with key " + key);
+        }
+        try {
+            return (Class<? extends JavaFileScanner>)
+                    Class.forName(checkClassName, false, Checks.class.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Could not load check class " + checkClassName, e);
+        }
+    }
 
-        typeToChecks.put(
-                RuleType.SECURITY_HOTSPOT,
-                createKeyToCheckMap(
-                        AndroidBroadcastingCheck.class,
-                        AndroidExternalStorageCheck.class,
-                        AndroidSSLConnectionCheck.class,
-                        CommandLineArgumentsCheck.class,
-                        ControllingPermissionsCheck.class,
-                        CookieDomainCheck.class,
-                        CookieHttpOnlyCheck.class,
-                        CookieShouldNotContainSensitiveDataCheck.class,
-                        CORSCheck.class,
-                        CustomCryptographicAlgorithmCheck.class,
-                        DataEncryptionCheck.class,
-                        DataHashingCheck.class,
-                        DebugFeatureEnabledCheck.class,
-                        EmailHotspotCheck.class,
-                        EnvVariablesHotspotCheck.class,
-                        FilePermissionsCheck.class,
-                        HardCodedCredentialsCheck.class,
-                        HardcodedIpCheck.class,
-                        JacksonDeserializationCheck.class,
-                        LogConfigurationCheck.class,
-                        ObjectDeserializationCheck.class,
-                        PopulateBeansCheck.class,
-                        PseudoRandomCheck.class,
-                        ReceivingIntentsCheck.class,
-                        RedosCheck.class,
-                        RegexHotspotCheck.class,
-                        SecureCookieCheck.class,
-                        SocketUsageCheck.class,
-                        SpringRequestMappingMethodCheck.class,
-                        SpringSecurityDisableCSRFCheck.class,
-                        SQLInjectionCheck.class,
-                        StandardInputReadCheck.class,
-                        Struts1EndpointCheck.class,
-                        Struts2EndpointCheck.class,
-                        UserEnumerationCheck.class,
-                        XmlDeserializationCheck.class,
-                        ZipEntryCheck.class));
+    private static void put(RuleType type, String key, String checkClassName) {
+        if (KEY_TO_CHECK_CLASS_NAME.put(key, checkClassName) != null) {
+            throw new IllegalStateException("duplicate check for rule " + key);
+        }
+        KEY_TO_TYPE.put(key, type);
+    }
 
-        typeToChecks.put(
-                RuleType.CODE_SMELL,
-                createKeyToCheckMap(
-                        AbstractClassNoFieldShouldBeInterfaceCheck.class,
-                        AbstractClassWithoutAbstractMethodCheck.class,
-                        AccessibilityChangeCheck.class,
-                        AnnotationDefaultArgumentCheck.class,
-                        AnonymousClassesTooBigCheck.class,
-                        AnonymousClassShouldBeLambdaCheck.class,
-                        ArrayCopyLoopCheck.class,
-                        ArrayDesignatorAfterTypeCheck.class,
-                        ArrayDesignatorOnVariableCheck.class,
-                        ArrayForVarArgCheck.class,
-                        ArraysAsListOfPrimitiveToStreamCheck.class,
-                        AssertionArgumentOrderCheck.class,
-                        AssertionFailInCatchBlockCheck.class,
-                        AssertionInThreadRunCheck.class,
-                        AssertionsCompletenessCheck.class,
-                        AssertionsInTestsCheck.class,
-                        AssertionsWithoutMessageCheck.class,
-                        AssertJChainSimplificationCheck.class,
-                        AssertJConsecutiveAssertionCheck.class,
-                        AssertsOnParametersOfPublicMethodCheck.class,
-                        AssertThatThrownByAloneCheck.class,
-                        AssertTrueInsteadOfDedicatedAssertCheck.class,
-                        AtLeastOneConstructorCheck.class,
-                        BadFieldNameStaticNonFinalCheck.class,
-                        BadLocalConstantNameCheck.class,
-                        BadTestClassNameCheck.class,
-                        BadTestMethodNameCheck.class,
-                        BlindSerialVersionUidCheck.class,
-                        BooleanGratuitousExpressionsCheck.class,
-                        BooleanInversionCheck.class,
-                        BooleanLiteralCheck.class,
-                        BooleanMethodNameCheck.class,
-                        BooleanMethodReturnCheck.class,
-                        BooleanOrNullLiteralInAssertionsCheck.class,
-                        BoxedBooleanExpressionsCheck.class,
-                        CallOuterPrivateMethodCheck.class,
-                        CallSuperInTestCaseCheck.class,
-                        CallSuperMethodFromInnerClassCheck.class,
-                        CanonEqFlagInRegexCheck.class,
-                        CaseInsensitiveComparisonCheck.class,
-                        CatchExceptionCheck.class,
-                        CatchIllegalMonitorStateExceptionCheck.class,
-                        CatchNPECheck.class,
-                        CatchOfThrowableOrErrorCheck.class,
-                        CatchRethrowingCheck.class,
-                        CatchUsesExceptionWithContextCheck.class,
-                        ChangeMethodContractCheck.class,
-                        ChildClassShadowFieldCheck.class,
-                        ClassCouplingCheck.class,
-                        ClassFieldCountCheck.class,
-                        ClassNamedLikeExceptionCheck.class,
-                        ClassWithOnlyStaticMethodsInstantiationCheck.class,
-                        CloneableImplementingCloneCheck.class,
-                        CloneMethodCallsSuperCloneCheck.class,
-                        CloneOverrideCheck.class,
-                        CognitiveComplexityMethodCheck.class,
-                        CollapsibleIfCandidateCheck.class,
-                        CollectInsteadOfForeachCheck.class,
-                        CollectionImplementationReferencedCheck.class,
-                        CollectionIsEmptyCheck.class,
-                        CollectionMethodsWithLinearComplexityCheck.class,
-                        CollectionsEmptyConstantsCheck.class,
-                        CombineCatchCheck.class,
-                        CommentRegularExpressionCheck.class,
-                        CompareObjectWithEqualsCheck.class,
-                        ConcatenationWithStringValueOfCheck.class,
-                        ConditionalOnNewLineCheck.class,
-                        ConfusingVarargCheck.class,
-                        ConstantMathCheck.class,
-                        ConstantMethodCheck.class,
-                        ConstantsShouldBeStaticFinalCheck.class,
-                        ConstructorCallingOverridableCheck.class,
-                        ControlCharacterInLiteralCheck.class,
-                        DanglingElseStatementsCheck.class,
-                        DateAndTimesCheck.class,
-                        DateUtilsTruncateCheck.class,
-                        DeadStoreCheck.class,
-                        DefaultEncodingUsageCheck.class,
-                        DefaultInitializedFieldCheck.class,
-                        DeprecatedTagPresenceCheck.class,
-                        DiamondOperatorCheck.class,
-                        DisallowedClassCheck.class,
-                        DisallowedConstructorCheck.class,
-                        DisallowedMethodCheck.class,
-                        DisallowedThreadGroupCheck.class,
-                        DuplicateArgumentCheck.class,
-                        DuplicatesInCharacterClassCheck.class,
-                        EmptyClassCheck.class,
-                        EmptyLineRegexCheck.class,
-                        EmptyMethodsCheck.class,
-                        EnumEqualCheck.class,
-                        EnumMapCheck.class,
-                        EnumSetCheck.class,
-                        EqualsNotOverriddenInSubclassCheck.class,
-                        EqualsNotOverridenWithCompareToCheck.class,
-                        EqualsParametersMarkedNonNullCheck.class,
-                        ErrorClassExtendedCheck.class,
-                        EscapedUnicodeCharactersCheck.class,
-                        ExceptionsShouldBeImmutableCheck.class,
-                        ExpectedExceptionCheck.class,
-                        ExpressionComplexityCheck.class,
-                        FieldModifierCheck.class,
-                        FieldNameMatchingTypeNameCheck.class,
-                        FilesExistsJDK8Check.class,
-                        FinalClassCheck.class,
-                        FinalizeFieldsSetCheck.class,
-                        FixmeTagPresenceCheck.class,
-                        ForLoopIncrementAndUpdateCheck.class,
-                        ForLoopTerminationConditionCheck.class,
-                        ForLoopUsedAsWhileLoopCheck.class,
-                        ForLoopVariableTypeCheck.class,
-                        GarbageCollectorCalledCheck.class,
-                        HardcodedURICheck.class,
-                        IdenticalCasesInSwitchCheck.class,
-                        IfElseIfStatementEndsWithElseCheck.class,
-                        IgnoredTestsCheck.class,
-                        ImmediatelyReturnedVariableCheck.class,
-                        ImplementsEnumerationCheck.class,
-                        IncorrectOrderOfMembersCheck.class,
-                        IncrementDecrementInSubExpressionCheck.class,
-                        IndentationAfterConditionalCheck.class,
-                        IndexOfStartPositionCheck.class,
-                        IndexOfWithPositiveNumberCheck.class,
-                        InnerClassOfSerializableCheck.class,
-                        InnerClassTooManyLinesCheck.class,
-                        InnerStaticClassesCheck.class,
-                        InputStreamOverrideReadCheck.class,
-                        InstanceofUsedOnExceptionCheck.class,
-                        IntegerToHexStringCheck.class,
-                        InterfaceAsConstantContainerCheck.class,
-                        InterfaceOrSuperclassShadowingCheck.class,
-                        InvariantReturnCheck.class,
-                        JdbcDriverExplicitLoadingCheck.class,
-                        JUnit45MethodAnnotationCheck.class,
-                        JUnit4AnnotationsCheck.class,
-                        JUnit5DefaultPackageClassAndMethodCheck.class,
-                        JunitMethodDeclarationCheck.class,
-                        KeySetInsteadOfEntrySetCheck.class,
-                        KeywordAsIdentifierCheck.class,
-                        LambdaOptionalParenthesisCheck.class,
-                        LambdaSingleExpressionCheck.class,
-                        LambdaTooBigCheck.class,
-                        LambdaTypeParameterCheck.class,
-                        LazyArgEvaluationCheck.class,
-                        LeastSpecificTypeCheck.class,
-                        LoggedRethrownExceptionsCheck.class,
-                        LoggerClassCheck.class,
-                        LoggersDeclarationCheck.class,
-                        LoopsOnSameSetCheck.class,
-                        MagicNumberCheck.class,
-                        MainMethodThrowsExceptionCheck.class,
-                        MapComputeIfAbsentOrPresentCheck.class,
-                        MembersDifferOnlyByCapitalizationCheck.class,
-                        MethodIdenticalImplementationsCheck.class,
-                        MethodNameSameAsClassCheck.class,
-                        MethodOnlyCallsSuperCheck.class,
-                        MethodParametersOrderCheck.class,
-                        MethodTooBigCheck.class,
-                        MethodWithExcessiveReturnsCheck.class,
-                        MismatchPackageDirectoryCheck.class,
-                        MissingBeanValidationCheck.class,
-                        MockingAllMethodsCheck.class,
-                        ModulusEqualityCheck.class,
-                        MultilineBlocksCurlyBracesCheck.class,
-                        NestedBlocksCheck.class,
-                        NestedEnumStaticCheck.class,
-                        NestedIfStatementsCheck.class,
-                        NestedSwitchStatementCheck.class,
-                        NestedTernaryOperatorsCheck.class,
-                        NestedTryCatchCheck.class,
-                        NioFileDeleteCheck.class,
-                        NoCheckstyleTagPresenceCheck.class,
-                        NonShortCircuitLogicCheck.class,
-                        NonStaticClassInitializerCheck.class,
-                        NoPmdTagPresenceCheck.class,
-                        NoTestInTestClassCheck.class,
-                        NPEThrowCheck.class,
-                        NullCheckWithInstanceofCheck.class,
-                        ObjectCreatedOnlyToCallGetClassCheck.class,
-                        ObjectFinalizeOverridenNotPublicCheck.class,
-                        OctalValuesCheck.class,
-                        OneClassInterfacePerFileCheck.class,
-                        OneDeclarationPerLineCheck.class,
-                        OneExpectedRuntimeExceptionCheck.class,
-                        OperatorPrecedenceCheck.class,
-                        OptionalAsParameterCheck.class,
-                        OutputStreamOverrideWriteCheck.class,
-                        OverrideAnnotationCheck.class,
-                        PackageInfoCheck.class,
-                        ParameterizedTestCheck.class,
-                        ParameterNullnessCheck.class,
-                        PreferStreamAnyMatchCheck.class,
-                        PrimitivesMarkedNullableCheck.class,
-                        PrimitiveTypeBoxingWithToStringCheck.class,
-                        PrintfMisuseCheck.class,
-                        PrivateFieldUsedLocallyCheck.class,
-                        PrivateReadResolveCheck.class,
-                        ProtectedMemberInFinalClassCheck.class,
-                        PublicConstructorInAbstractClassCheck.class,
-                        PublicStaticFieldShouldBeFinalCheck.class,
-                        PublicStaticMutableMembersCheck.class,
-                        RandomFloatToIntCheck.class,
-                        RandomizedTestDataCheck.class,
-                        RawTypeCheck.class,
-                        ReadObjectSynchronizedCheck.class,
-                        RedundantAbstractMethodCheck.class,
-                        RedundantAssignmentsCheck.class,
-                        RedundantCloseCheck.class,
-                        RedundantJumpCheck.class,
-                        RedundantModifierCheck.class,
-                        RedundantStreamCollectCheck.class,
-                        RedundantTypeCastCheck.class,
-                        RegexComplexityCheck.class,
-                        RegexPatternsNeedlesslyCheck.class,
-                        ReluctantQuantifierCheck.class,
-                        RepeatAnnotationCheck.class,
-                        ReplaceGuavaWithJava8Check.class,
-                        ReplaceLambdaByMethodRefCheck.class,
-                        ResultSetIsLastCheck.class,
-                        ReturnEmptyArrayNotNullCheck.class,
-                        ReturnOfBooleanExpressionsCheck.class,
-                        SAMAnnotatedCheck.class,
-                        SelectorMethodArgumentCheck.class,
-                        SerializableComparatorCheck.class,
-                        SerializableFieldInSerializableClassCheck.class,
-                        SerialVersionUidCheck.class,
-                        SeveralBreakOrContinuePerLoopCheck.class,
-                        SillyBitOperationCheck.class,
-                        SimpleClassNameCheck.class,
-                        SpecializedFunctionalInterfacesCheck.class,
-                        SpringAssertionsSimplificationCheck.class,
-                        SpringAutoConfigurationCheck.class,
-                        SpringBeansShouldBeAccessibleCheck.class,
-                        SpringComponentScanCheck.class,
-                        SpringComposedRequestMappingCheck.class,
-                        SpringConfigurationWithAutowiredFieldsCheck.class,
-                        SpringConstructorInjectionCheck.class,
-                        StandardCharsetsConstantsCheck.class,
-                        StandardFunctionalInterfaceCheck.class,
-                        StaticFieldInitializationCheck.class,
-                        StaticFieldUpateCheck.class,
-                        StaticFieldUpdateInConstructorCheck.class,
-                        StaticImportCountCheck.class,
-                        StaticMemberAccessCheck.class,
-                        StaticMembersAccessCheck.class,
-                        StaticMethodCheck.class,
-                        StreamPeekCheck.class,
-                        StringConcatenationInLoopCheck.class,
-                        StringLiteralDuplicatedCheck.class,
-                        StringLiteralInsideEqualsCheck.class,
-                        StringMethodsOnSingleCharCheck.class,
-                        StringMethodsWithLocaleCheck.class,
-                        StringOffsetMethodsCheck.class,
-                        StringPrimitiveConstructorCheck.class,
-                        StringReplaceCheck.class,
-                        StringToPrimitiveConversionCheck.class,
-                        StringToStringCheck.class,
-                        SubClassStaticReferenceCheck.class,
-                        SunPackagesUsedCheck.class,
-                        SuppressWarningsCheck.class,
-                        SuspiciousListRemoveCheck.class,
-                        SwitchAtLeastThreeCasesCheck.class,
-                        SwitchCaseTooBigCheck.class,
-                        SwitchCaseWithoutBreakCheck.class,
-                        SwitchDefaultLastCaseCheck.class,
-                        SwitchInsteadOfIfSequenceCheck.class,
-                        SwitchWithLabelsCheck.class,
-                        SwitchWithTooManyCasesCheck.class,
-                        SynchronizedClassUsageCheck.class,
-                        SynchronizedLockCheck.class,
-                        SystemExitCalledCheck.class,
-                        SystemOutOrErrUsageCheck.class,
-                        TernaryOperatorCheck.class,
-                        TestAnnotationWithExpectedExceptionCheck.class,
-                        TestsInSeparateFolderCheck.class,
-                        TestsStabilityCheck.class,
-                        ThisExposedFromConstructorCheck.class,
-                        ThreadAsRunnableArgumentCheck.class,
-                        ThreadLocalWithInitialCheck.class,
-                        ThreadSleepInTestsCheck.class,
-                        ThreadStartedInConstructorCheck.class,
-                        ThrowCheckedExceptionCheck.class,
-                        ThrowsFromFinallyCheck.class,
-                        ThrowsSeveralCheckedExceptionCheck.class,
-                        TodoTagPresenceCheck.class,
-                        TooManyAssertionsCheck.class,
-                        TooManyMethodsCheck.class,
-                        ToStringUsingBoxingCheck.class,
-                        TransientFieldInNonSerializableCheck.class,
-                        TryWithResourcesCheck.class,
-                        UnderscoreMisplacedOnNumberCheck.class,
-                        UnderscoreOnNumberCheck.class,
-                        UnicodeAwareCharClassesCheck.class,
-                        UnnecessarySemicolonCheck.class,
-                        UnreachableCatchCheck.class,
-                        UnusedGroupNamesCheck.class,
-                        UnusedLabelCheck.class,
-                        UnusedLocalVariableCheck.class,
-                        UnusedMethodParameterCheck.class,
-                        UnusedPrivateFieldCheck.class,
-                        UnusedTestRuleCheck.class,
-                        UnusedTypeParameterCheck.class,
-                        UppercaseSuffixesCheck.class,
-                        URLHashCodeAndEqualsCheck.class,
-                        UselessExtendsCheck.class,
-                        UselessPackageInfoCheck.class,
-                        UseSwitchExpressionCheck.class,
-                        UtilityClassWithPublicConstructorCheck.class,
-                        ValueBasedObjectsShouldNotBeSerializedCheck.class,
-                        VarArgCheck.class,
-                        VariableDeclarationScopeCheck.class,
-                        VisibleForTestingUsageCheck.class,
-                        WaitInWhileLoopCheck.class,
-                        WaitOnConditionCheck.class,
-                        WildcardImportsShouldNotBeUsedCheck.class,
-                        WildcardReturnParameterTypeCheck.class,
-                        WriteObjectTheOnlySynchronizedMethodCheck.class));
+    static {
+        // bugs
+        put(BUG, "S2676", "org.sonar.java.checks.AbsOnNegativeCheck");
+        put(BUG, "S3923", "org.sonar.java.checks.AllBranchesAreIdenticalCheck");
+        put(BUG, "S5850", "org.sonar.java.checks.regex.AnchorPrecedenceCheck");
+        put(BUG, "S2116", "org.sonar.java.checks.ArrayHashCodeAndToStringCheck");
+        put(BUG, "S5831", "org.sonar.java.checks.tests.AssertJApplyConfigurationCheck");
+        put(BUG, "S5833", "org.sonar.java.checks.tests.AssertJContextBeforeAssertionCheck");
+        put(BUG, "S5841", "org.sonar.java.checks.tests.AssertJTestForEmptinessCheck");
+        put(BUG, "S3346", "org.sonar.java.checks.AssertOnBooleanVariableCheck");
+        put(BUG, "S5863", "org.sonar.java.checks.tests.AssertionCompareToSelfCheck");
+        put(BUG, "S5779", "org.sonar.java.checks.tests.AssertionInTryCatchCheck");
+        put(BUG, "S5845", "org.sonar.java.checks.tests.AssertionTypesCheck");
+        put(BUG, "S5960", "org.sonar.java.checks.AssertionsInProductionCodeCheck");
+        put(BUG, "S2111", "org.sonar.java.checks.BigDecimalDoubleConstructorCheck");
+        put(BUG, "S2184", "org.sonar.java.checks.CastArithmeticOperandCheck");
+        put(BUG, "S1872", "org.sonar.java.checks.ClassComparedByNameCheck");
+        put(BUG, "S2141", "org.sonar.java.checks.ClassWithoutHashCodeInHashStructureCheck");
+        put(BUG, "S2114", "org.sonar.java.checks.CollectionCallingItselfCheck");
+        put(BUG, "S2175", "org.sonar.java.checks.CollectionInappropriateCallsCheck");
+        put(BUG, "S3981", "org.sonar.java.checks.CollectionSizeAndArrayLengthCheck");
+        put(BUG, "S4973", "org.sonar.java.checks.CompareStringsBoxedTypesWithEqualsCheck");
+        put(BUG, "S4351", "org.sonar.java.checks.CompareToNotOverloadedCheck");
+        put(BUG, "S2200", "org.sonar.java.checks.CompareToResultTestCheck");
+        put(BUG, "S2167", "org.sonar.java.checks.CompareToReturnValueCheck");
+        put(BUG, "S2583", "org.sonar.java.se.checks.ConditionalUnreachableCodeCheck");
+        put(BUG, "S2177", "org.sonar.java.checks.ConfusingOverloadCheck");
+        put(BUG, "S3306", "org.sonar.java.checks.ConstructorInjectionCheck");
+        put(BUG, "S3753", "org.sonar.java.checks.spring.ControllerWithSessionAttributesCheck");
+        put(BUG, "S2061", "org.sonar.java.checks.serialization.CustomSerializationMethodCheck");
+        put(BUG, "S3546", "org.sonar.java.se.checks.CustomUnclosedResourcesCheck");
+        put(BUG, "S3986", "org.sonar.java.checks.DateFormatWeekYearCheck");
+        put(BUG, "S3518", "org.sonar.java.se.checks.DivisionByZeroCheck");
+        put(BUG, "S3599", "org.sonar.java.checks.DoubleBraceInitializationCheck");
+        put(BUG, "S3064", "org.sonar.java.checks.DoubleCheckedLockingAssignmentCheck");
+        put(BUG, "S2168", "org.sonar.java.checks.synchronization.DoubleCheckedLockingCheck");
+        put(BUG, "S2761", "org.sonar.java.checks.DoublePrefixOperatorCheck");
+        put(BUG, "S1862", "org.sonar.java.checks.DuplicateConditionIfElseIfCheck");
+        put(BUG, "S5842", "org.sonar.java.checks.regex.EmptyStringRepetitionCheck");
+        put(BUG, "S2097", "org.sonar.java.checks.EqualsArgumentTypeCheck");
+        put(BUG, "S2204", "org.sonar.java.checks.EqualsOnAtomicClassCheck");
+        put(BUG, "S1206", "org.sonar.java.checks.EqualsOverridenWithHashCodeCheck");
+        put(
+                BUG,
+                "S2060",
+                "org.sonar.java.checks.serialization.ExternalizableClassConstructorCheck");
+        put(BUG, "S1244", "org.sonar.java.checks.FloatEqualityCheck");
+        put(BUG, "S2252", "org.sonar.java.checks.ForLoopFalseConditionCheck");
+        put(BUG, "S2251", "org.sonar.java.checks.ForLoopIncrementSignCheck");
+        put(BUG, "S3032", "org.sonar.java.checks.GetClassLoaderCheck");
+        put(BUG, "S4275", "org.sonar.java.checks.GettersSettersOnRightFieldCheck");
+        put(BUG, "S5868", "org.sonar.java.checks.regex.GraphemeClustersInClassesCheck");
+        put(BUG, "S1849", "org.sonar.java.checks.HasNextCallingNextCheck");
+        put(BUG, "S1764", "org.sonar.java.checks.IdenticalOperandOnBinaryExpressionCheck");
+        put(BUG, "S1145", "org.sonar.java.checks.IfConditionAlwaysTrueOrFalseCheck");
+        put(BUG, "S899", "org.sonar.java.checks.IgnoredOperationStatusCheck");
+        put(BUG, "S2201", "org.sonar.java.checks.IgnoredReturnValueCheck");
+        put(BUG, "S2674", "org.sonar.java.checks.IgnoredStreamReturnValueCheck");
+        put(BUG, "S2153", "org.sonar.java.checks.ImmediateReverseBoxingCheck");
+        put(BUG, "S5840", "org.sonar.java.checks.regex.ImpossibleRegexCheck");
+        put(BUG, "S2639", "org.sonar.java.checks.InappropriateRegexpCheck");
+        put(BUG, "S2066", "org.sonar.java.checks.InnerClassOfNonSerializableCheck");
+        put(BUG, "S4517", "org.sonar.java.checks.InputStreamReadCheck");
+        put(BUG, "S1850", "org.sonar.java.checks.InstanceOfAlwaysTrueCheck");
+        put(BUG, "S2142", "org.sonar.java.checks.InterruptedExceptionCheck");
+        put(BUG, "S2110", "org.sonar.java.checks.InvalidDateValuesCheck");
+        put(BUG, "S5856", "org.sonar.java.checks.regex.InvalidRegexCheck");
+        put(BUG, "S4348", "org.sonar.java.checks.IterableIteratorCheck");
+        put(BUG, "S2272", "org.sonar.java.checks.IteratorNextExceptionCheck");
+        put(BUG, "S5810", "org.sonar.java.checks.tests.JUnit5SilentlyIgnoreClassAndMethodCheck");
+        put(BUG, "S5967", "org.sonar.java.checks.tests.JUnitCompatibleAnnotationsCheck");
+        put(BUG, "S5790", "org.sonar.java.checks.tests.JunitNestedAnnotationCheck");
+        put(BUG, "S2222", "org.sonar.java.se.checks.LocksNotUnlockedCheck");
+        put(BUG, "S2127", "org.sonar.java.checks.LongBitsToDoubleOnIntCheck");
+        put(BUG, "S1751", "org.sonar.java.checks.LoopExecutingAtMostOnceCheck");
+        put(BUG, "S2164", "org.sonar.java.checks.MathOnFloatCheck");
+        put(BUG, "S1201", "org.sonar.java.checks.naming.MethodNamedEqualsCheck");
+        put(BUG, "S1221", "org.sonar.java.checks.naming.MethodNamedHashcodeOrEqualCheck");
+        put(BUG, "S3065", "org.sonar.java.se.checks.MinMaxRangeCheck");
+        put(BUG, "S2189", "org.sonar.java.se.checks.NoWayOutLoopCheck");
+        put(BUG, "S2637", "org.sonar.java.se.checks.NonNullSetToNullCheck");
+        put(BUG, "S2118", "org.sonar.java.checks.serialization.NonSerializableWriteCheck");
+        put(BUG, "S2446", "org.sonar.java.checks.NotifyCheck");
+        put(BUG, "S2259", "org.sonar.java.se.checks.NullDereferenceCheck");
+        put(BUG, "S1697", "org.sonar.java.checks.NullDereferenceInConditionalCheck");
+        put(BUG, "S2789", "org.sonar.java.checks.NullShouldNotBeUsedWithOptionalCheck");
+        put(BUG, "S1175", "org.sonar.java.checks.ObjectFinalizeOverloadedCheck");
+        put(BUG, "S2689", "org.sonar.java.se.checks.ObjectOutputStreamCheck");
+        put(BUG, "S5783", "org.sonar.java.checks.tests.OneExpectedCheckedExceptionCheck");
+        put(BUG, "S3655", "org.sonar.java.se.checks.OptionalGetBeforeIsPresentCheck");
+        put(BUG, "S4143", "org.sonar.java.checks.OverwrittenKeyCheck");
+        put(BUG, "S1226", "org.sonar.java.checks.ParameterReassignedToCheck");
+        put(BUG, "S2695", "org.sonar.java.checks.PreparedStatementAndResultSetCheck");
+        put(BUG, "S2154", "org.sonar.java.checks.PrimitiveWrappersInTernaryOperatorCheck");
+        put(BUG, "S2275", "org.sonar.java.checks.PrintfFailCheck");
+        put(BUG, "S3034", "org.sonar.java.checks.RawByteBitwiseOperationsCheck");
+        put(BUG, "S2109", "org.sonar.java.checks.ReflectionOnNonRuntimeAnnotationCheck");
+        put(BUG, "S1143", "org.sonar.java.checks.ReturnInFinallyCheck");
+        put(BUG, "S2119", "org.sonar.java.checks.ReuseRandomCheck");
+        put(BUG, "S2151", "org.sonar.java.checks.RunFinalizersCheck");
+        put(BUG, "S2122", "org.sonar.java.checks.ScheduledThreadPoolExecutorZeroCheck");
+        put(BUG, "S1656", "org.sonar.java.checks.SelfAssignementCheck");
+        put(BUG, "S2441", "org.sonar.java.checks.serialization.SerializableObjectInSessionCheck");
+        put(BUG, "S2055", "org.sonar.java.checks.serialization.SerializableSuperConstructorCheck");
+        put(BUG, "S2226", "org.sonar.java.checks.ServletInstanceFieldCheck");
+        put(BUG, "S2183", "org.sonar.java.checks.ShiftOnIntOrLongCheck");
+        put(BUG, "S2159", "org.sonar.java.checks.SillyEqualsCheck");
+        put(BUG, "S2121", "org.sonar.java.checks.SillyStringOperationsCheck");
+        put(BUG, "S3750", "org.sonar.java.checks.spring.SpringComponentWithWrongScopeCheck");
+        put(BUG, "S2229", "org.sonar.java.checks.spring.SpringIncompatibleTransactionalCheck");
+        put(BUG, "S4602", "org.sonar.java.checks.spring.SpringScanDefaultPackageCheck");
+        put(BUG, "S2885", "org.sonar.java.checks.StaticMultithreadedUnsafeFieldsCheck");
+        put(BUG, "S3959", "org.sonar.java.se.checks.StreamConsumedCheck");
+        put(BUG, "S3958", "org.sonar.java.se.checks.StreamNotConsumedCheck");
+        put(BUG, "S1317", "org.sonar.java.checks.StringBufferAndBuilderWithCharCheck");
+        put(BUG, "S3039", "org.sonar.java.checks.StringCallsBeyondBoundsCheck");
+        put(BUG, "S2162", "org.sonar.java.checks.SymmetricEqualsCheck");
+        put(BUG, "S2886", "org.sonar.java.checks.SyncGetterAndSetterCheck");
+        put(BUG, "S3067", "org.sonar.java.checks.synchronization.SynchronizationOnGetClassCheck");
+        put(BUG, "S1860", "org.sonar.java.checks.SynchronizationOnStringOrBoxedCheck");
+        put(BUG, "S2445", "org.sonar.java.checks.SynchronizedFieldAssignmentCheck");
+        put(BUG, "S3551", "org.sonar.java.checks.SynchronizedOverrideCheck");
+        put(BUG, "S5164", "org.sonar.java.checks.ThreadLocalCleanupCheck");
+        put(BUG, "S2134", "org.sonar.java.checks.ThreadOverridesRunCheck");
+        put(BUG, "S1217", "org.sonar.java.checks.ThreadRunCheck");
+        put(BUG, "S2276", "org.sonar.java.checks.ThreadSleepCheck");
+        put(BUG, "S2236", "org.sonar.java.checks.ThreadWaitCallCheck");
+        put(BUG, "S3020", "org.sonar.java.checks.ToArrayCheck");
+        put(BUG, "S2225", "org.sonar.java.checks.ToStringReturningNullCheck");
+        put(BUG, "S2230", "org.sonar.java.checks.TransactionalMethodVisibilityCheck");
+        put(BUG, "S3046", "org.sonar.java.checks.synchronization.TwoLocksWaitCheck");
+        put(BUG, "S2095", "org.sonar.java.se.checks.UnclosedResourcesCheck");
+        put(BUG, "S5866", "org.sonar.java.checks.regex.UnicodeCaseCheck");
+        put(BUG, "S2677", "org.sonar.java.checks.unused.UnusedReturnedDataCheck");
+        put(BUG, "S3984", "org.sonar.java.checks.unused.UnusedThrowableCheck");
+        put(BUG, "S2123", "org.sonar.java.checks.UselessIncrementCheck");
+        put(BUG, "S3436", "org.sonar.java.checks.synchronization.ValueBasedObjectUsedForLockCheck");
+        put(BUG, "S3077", "org.sonar.java.checks.VolatileNonPrimitiveFieldCheck");
+        put(BUG, "S3078", "org.sonar.java.checks.VolatileVariablesOperationsCheck");
+        put(BUG, "S2273", "org.sonar.java.checks.WaitInSynchronizeCheck");
+        put(BUG, "S2757", "org.sonar.java.checks.WrongAssignmentOperatorCheck");
 
-        TYPE_TO_CHECKS = Collections.unmodifiableMap(typeToChecks);
+        // vulnerabilities
+        put(VULNERABILITY, "S4432", "org.sonar.java.checks.security.AESAlgorithmCheck");
+        put(
+                VULNERABILITY,
+                "S5808",
+                "org.sonar.java.checks.security.AuthorizationsStrongDecisionsCheck");
+        put(VULNERABILITY, "S2278", "org.sonar.java.checks.AvoidDESCheck");
+        put(VULNERABILITY, "S2647", "org.sonar.java.checks.BasicAuthCheck");
+        put(VULNERABILITY, "S3329", "org.sonar.java.checks.security.CipherBlockChainingCheck");
+        put(VULNERABILITY, "S4426", "org.sonar.java.checks.security.CryptographicKeySizeCheck");
+        put(VULNERABILITY, "S2070", "org.sonar.java.checks.DeprecatedHashAlgorithmCheck");
+        put(VULNERABILITY, "S2658", "org.sonar.java.checks.DynamicClassLoadCheck");
+        put(VULNERABILITY, "S2115", "org.sonar.java.checks.security.EmptyDatabasePasswordCheck");
+        put(VULNERABILITY, "S5542", "org.sonar.java.checks.security.EncryptionAlgorithmCheck");
+        put(VULNERABILITY, "S3066", "org.sonar.java.checks.EnumMutableFieldCheck");
+        put(VULNERABILITY, "S2976", "org.sonar.java.checks.FileCreateTempFileCheck");
+        put(VULNERABILITY, "S2254", "org.sonar.java.checks.GetRequestedSessionIdCheck");
+        put(
+                VULNERABILITY,
+                "S3510",
+                "org.sonar.java.checks.security.HostnameVerifierImplementationCheck");
+        put(VULNERABILITY, "S2089", "org.sonar.java.checks.HttpRefererCheck");
+        put(
+                VULNERABILITY,
+                "S4433",
+                "org.sonar.java.checks.security.LDAPAuthenticatedConnectionCheck");
+        put(VULNERABILITY, "S4434", "org.sonar.java.checks.security.LDAPDeserializationCheck");
+        put(VULNERABILITY, "S2653", "org.sonar.java.checks.MainInServletCheck");
+        put(VULNERABILITY, "S2384", "org.sonar.java.checks.MutableMembersUsageCheck");
+        put(VULNERABILITY, "S2258", "org.sonar.java.checks.NullCipherCheck");
+        put(
+                VULNERABILITY,
+                "S5679",
+                "org.sonar.java.checks.security.OpenSAML2AuthenticationBypassCheck");
+        put(VULNERABILITY, "S5344", "org.sonar.java.checks.security.PasswordEncoderCheck");
+        put(
+                VULNERABILITY,
+                "S4684",
+                "org.sonar.java.checks.spring.PersistentEntityUsedAsRequestParameterCheck");
+        put(VULNERABILITY, "S4347", "org.sonar.java.checks.PredictableSeedCheck");
+        put(
+                VULNERABILITY,
+                "S1148",
+                "org.sonar.java.checks.PrintStackTraceCalledWithoutArgumentCheck");
+        put(VULNERABILITY, "S2277", "org.sonar.java.checks.RSAUsesOAEPCheck");
+        put(VULNERABILITY, "S3751", "org.sonar.java.checks.spring.RequestMappingMethodPublicCheck");
+        put(VULNERABILITY, "S4499", "org.sonar.java.checks.security.SMTPSSLServerIdentityCheck");
+        put(VULNERABILITY, "S4435", "org.sonar.java.checks.security.SecureXmlTransformerCheck");
+        put(VULNERABILITY, "S1989", "org.sonar.java.checks.ServletMethodsExceptionsThrownCheck");
+        put(VULNERABILITY, "S4601", "org.sonar.java.checks.spring.SpringAntMatcherOrderCheck");
+        put(
+                VULNERABILITY,
+                "S3749",
+                "org.sonar.java.checks.spring.SpringComponentWithNonAutowiredMembersCheck");
+        put(VULNERABILITY, "S5876", "org.sonar.java.checks.spring.SpringSessionFixationCheck");
+        put(VULNERABILITY, "S5547", "org.sonar.java.checks.StrongCipherAlgorithmCheck");
+        put(VULNERABILITY, "S5527", "org.sonar.java.checks.security.VerifiedServerHostnamesCheck");
+        put(VULNERABILITY, "S4423", "org.sonar.java.checks.WeakSSLContextCheck");
+        put(VULNERABILITY, "S5301", "org.sonar.java.checks.security.XxeActiveMQCheck");
+        put(VULNERABILITY, "S2755", "org.sonar.java.se.checks.XxeProcessingCheck");
 
-        // sanity check: all CheckType values should be accounted for
-        for (RuleType type : RuleType.values()) {
-            assert TYPE_TO_CHECKS.containsKey(type);
-        }
+        // code smells
+        put(
+                CODE_SMELL,
+                "S1610",
+                "org.sonar.java.checks.AbstractClassNoFieldShouldBeInterfaceCheck");
+        put(CODE_SMELL, "S1694", "org.sonar.java.checks.AbstractClassWithoutAbstractMethodCheck");
+        put(CODE_SMELL, "S3011", "org.sonar.java.checks.AccessibilityChangeCheck");
+        put(CODE_SMELL, "S3254", "org.sonar.java.checks.AnnotationDefaultArgumentCheck");
+        put(CODE_SMELL, "S1604", "org.sonar.java.checks.AnonymousClassShouldBeLambdaCheck");
+        put(CODE_SMELL, "S1188", "org.sonar.java.checks.AnonymousClassesTooBigCheck");
+        put(CODE_SMELL, "S3012", "org.sonar.java.checks.ArrayCopyLoopCheck");
+        put(CODE_SMELL, "S1195", "org.sonar.java.checks.ArrayDesignatorAfterTypeCheck");
+        put(CODE_SMELL, "S1197", "org.sonar.java.checks.ArrayDesignatorOnVariableCheck");
+        put(CODE_SMELL, "S3878", "org.sonar.java.checks.ArrayForVarArgCheck");
+        put(CODE_SMELL, "S3631", "org.sonar.java.checks.ArraysAsListOfPrimitiveToStreamCheck");
+        put(CODE_SMELL, "S5838", "org.sonar.java.checks.tests.AssertJChainSimplificationCheck");
+        put(CODE_SMELL, "S5853", "org.sonar.java.checks.tests.AssertJConsecutiveAssertionCheck");
+        put(CODE_SMELL, "S5958", "org.sonar.java.checks.tests.AssertThatThrownByAloneCheck");
+        put(
+                CODE_SMELL,
+                "S5785",
+                "org.sonar.java.checks.tests.AssertTrueInsteadOfDedicatedAssertCheck");
+        put(CODE_SMELL, "S3415", "org.sonar.java.checks.tests.AssertionArgumentOrderCheck");
+        put(CODE_SMELL, "S3658", "org.sonar.java.checks.tests.AssertionFailInCatchBlockCheck");
+        put(CODE_SMELL, "S2186", "org.sonar.java.checks.tests.AssertionInThreadRunCheck");
+        put(CODE_SMELL, "S2970", "org.sonar.java.checks.tests.AssertionsCompletenessCheck");
+        put(CODE_SMELL, "S2699", "org.sonar.java.checks.tests.AssertionsInTestsCheck");
+        put(CODE_SMELL, "S2698", "org.sonar.java.checks.tests.AssertionsWithoutMessageCheck");
+        put(CODE_SMELL, "S4274", "org.sonar.java.checks.AssertsOnParametersOfPublicMethodCheck");
+        put(CODE_SMELL, "S1258", "org.sonar.java.checks.AtLeastOneConstructorCheck");
+        put(CODE_SMELL, "S3008", "org.sonar.java.checks.naming.BadFieldNameStaticNonFinalCheck");
+        put(CODE_SMELL, "S4174", "org.sonar.java.checks.naming.BadLocalConstantNameCheck");
+        put(CODE_SMELL, "S3577", "org.sonar.java.checks.naming.BadTestClassNameCheck");
+        put(CODE_SMELL, "S3578", "org.sonar.java.checks.naming.BadTestMethodNameCheck");
+        put(CODE_SMELL, "S4926", "org.sonar.java.checks.serialization.BlindSerialVersionUidCheck");
+        put(CODE_SMELL, "S2589", "org.sonar.java.se.checks.BooleanGratuitousExpressionsCheck");
+        put(CODE_SMELL, "S1940", "org.sonar.java.checks.BooleanInversionCheck");
+        put(CODE_SMELL, "S1125", "org.sonar.java.checks.BooleanLiteralCheck");
+        put(CODE_SMELL, "S2047", "org.sonar.java.checks.naming.BooleanMethodNameCheck");
+        put(CODE_SMELL, "S2447", "org.sonar.java.checks.BooleanMethodReturnCheck");
+        put(
+                CODE_SMELL,
+                "S2701",
+                "org.sonar.java.checks.tests.BooleanOrNullLiteralInAssertionsCheck");
+        put(CODE_SMELL, "S5411", "org.sonar.java.checks.BoxedBooleanExpressionsCheck");
+        put(CODE_SMELL, "S3398", "org.sonar.java.checks.CallOuterPrivateMethodCheck");
+        put(CODE_SMELL, "S2188", "org.sonar.java.checks.tests.CallSuperInTestCaseCheck");
+        put(CODE_SMELL, "S2388", "org.sonar.java.checks.CallSuperMethodFromInnerClassCheck");
+        put(CODE_SMELL, "S5854", "org.sonar.java.checks.regex.CanonEqFlagInRegexCheck");
+        put(CODE_SMELL, "S1157", "org.sonar.java.checks.CaseInsensitiveComparisonCheck");
+        put(CODE_SMELL, "S2221", "org.sonar.java.checks.CatchExceptionCheck");
+        put(CODE_SMELL, "S2235", "org.sonar.java.checks.CatchIllegalMonitorStateExceptionCheck");
+        put(CODE_SMELL, "S1696", "org.sonar.java.checks.CatchNPECheck");
+        put(CODE_SMELL, "S1181", "org.sonar.java.checks.CatchOfThrowableOrErrorCheck");
+        put(CODE_SMELL, "S2737", "org.sonar.java.checks.CatchRethrowingCheck");
+        put(CODE_SMELL, "S1166", "org.sonar.java.checks.CatchUsesExceptionWithContextCheck");
+        put(CODE_SMELL, "S2638", "org.sonar.java.checks.ChangeMethodContractCheck");
+        put(CODE_SMELL, "S2387", "org.sonar.java.checks.ChildClassShadowFieldCheck");
+        put(CODE_SMELL, "S1200", "org.sonar.java.checks.ClassCouplingCheck");
+        put(CODE_SMELL, "S1820", "org.sonar.java.checks.ClassFieldCountCheck");
+        put(CODE_SMELL, "S2166", "org.sonar.java.checks.naming.ClassNamedLikeExceptionCheck");
+        put(
+                CODE_SMELL,
+                "S2440",
+                "org.sonar.java.checks.ClassWithOnlyStaticMethodsInstantiationCheck");
+        put(CODE_SMELL, "S1182", "org.sonar.java.checks.CloneMethodCallsSuperCloneCheck");
+        put(CODE_SMELL, "S2975", "org.sonar.java.checks.CloneOverrideCheck");
+        put(CODE_SMELL, "S2157", "org.sonar.java.checks.CloneableImplementingCloneCheck");
+        put(CODE_SMELL, "S3776", "org.sonar.java.checks.CognitiveComplexityMethodCheck");
+        put(CODE_SMELL, "S1066", "org.sonar.java.checks.CollapsibleIfCandidateCheck");
+        put(CODE_SMELL, "S2203", "org.sonar.java.checks.CollectInsteadOfForeachCheck");
+        put(CODE_SMELL, "S1319", "org.sonar.java.checks.CollectionImplementationReferencedCheck");
+        put(CODE_SMELL, "S1155", "org.sonar.java.checks.CollectionIsEmptyCheck");
+        put(
+                CODE_SMELL,
+                "S2250",
+                "org.sonar.java.checks.CollectionMethodsWithLinearComplexityCheck");
+        put(CODE_SMELL, "S1596", "org.sonar.java.checks.CollectionsEmptyConstantsCheck");
+        put(CODE_SMELL, "S2147", "org.sonar.java.checks.CombineCatchCheck");
+        put(CODE_SMELL, "S124", "org.sonar.java.checks.CommentRegularExpressionCheck");
+        put(CODE_SMELL, "S1698", "org.sonar.java.checks.CompareObjectWithEqualsCheck");
+        put(CODE_SMELL, "S1153", "org.sonar.java.checks.ConcatenationWithStringValueOfCheck");
+        put(CODE_SMELL, "S3972", "org.sonar.java.checks.ConditionalOnNewLineCheck");
+        put(CODE_SMELL, "S5669", "org.sonar.java.checks.ConfusingVarargCheck");
+        put(CODE_SMELL, "S2185", "org.sonar.java.checks.ConstantMathCheck");
+        put(CODE_SMELL, "S3400", "org.sonar.java.checks.ConstantMethodCheck");
+        put(CODE_SMELL, "S1170", "org.sonar.java.checks.ConstantsShouldBeStaticFinalCheck");
+        put(CODE_SMELL, "S1699", "org.sonar.java.checks.ConstructorCallingOverridableCheck");
+        put(CODE_SMELL, "S2479", "org.sonar.java.checks.ControlCharacterInLiteralCheck");
+        put(CODE_SMELL, "S5261", "org.sonar.java.checks.DanglingElseStatementsCheck");
+        put(CODE_SMELL, "S2143", "org.sonar.java.checks.DateAndTimesCheck");
+        put(CODE_SMELL, "S2718", "org.sonar.java.checks.DateUtilsTruncateCheck");
+        put(CODE_SMELL, "S1854", "org.sonar.java.checks.DeadStoreCheck");
+        put(CODE_SMELL, "S1943", "org.sonar.java.checks.DefaultEncodingUsageCheck");
+        put(CODE_SMELL, "S3052", "org.sonar.java.checks.DefaultInitializedFieldCheck");
+        put(CODE_SMELL, "S1133", "org.sonar.java.checks.DeprecatedTagPresenceCheck");
+        put(CODE_SMELL, "S2293", "org.sonar.java.checks.DiamondOperatorCheck");
+        put(CODE_SMELL, "S3688", "org.sonar.java.checks.DisallowedClassCheck");
+        put(CODE_SMELL, "S4011", "org.sonar.java.checks.DisallowedConstructorCheck");
+        put(CODE_SMELL, "S2253", "org.sonar.java.checks.DisallowedMethodCheck");
+        put(CODE_SMELL, "S3014", "org.sonar.java.checks.DisallowedThreadGroupCheck");
+        put(CODE_SMELL, "S4142", "org.sonar.java.checks.DuplicateArgumentCheck");
+        put(CODE_SMELL, "S5869", "org.sonar.java.checks.regex.DuplicatesInCharacterClassCheck");
+        put(CODE_SMELL, "S2094", "org.sonar.java.checks.EmptyClassCheck");
+        put(CODE_SMELL, "S5846", "org.sonar.java.checks.regex.EmptyLineRegexCheck");
+        put(CODE_SMELL, "S1186", "org.sonar.java.checks.EmptyMethodsCheck");
+        put(CODE_SMELL, "S4551", "org.sonar.java.checks.EnumEqualCheck");
+        put(CODE_SMELL, "S1640", "org.sonar.java.checks.EnumMapCheck");
+        put(CODE_SMELL, "S1641", "org.sonar.java.checks.EnumSetCheck");
+        put(CODE_SMELL, "S2160", "org.sonar.java.checks.EqualsNotOverriddenInSubclassCheck");
+        put(CODE_SMELL, "S1210", "org.sonar.java.checks.EqualsNotOverridenWithCompareToCheck");
+        put(CODE_SMELL, "S4454", "org.sonar.java.checks.EqualsParametersMarkedNonNullCheck");
+        put(CODE_SMELL, "S1194", "org.sonar.java.checks.ErrorClassExtendedCheck");
+        put(CODE_SMELL, "S2973", "org.sonar.java.checks.EscapedUnicodeCharactersCheck");
+        put(CODE_SMELL, "S1165", "org.sonar.java.checks.ExceptionsShouldBeImmutableCheck");
+        put(CODE_SMELL, "S5776", "org.sonar.java.checks.tests.ExpectedExceptionCheck");
+        put(CODE_SMELL, "S1067", "org.sonar.java.checks.ExpressionComplexityCheck");
+        put(CODE_SMELL, "S2039", "org.sonar.java.checks.FieldModifierCheck");
+        put(CODE_SMELL, "S1700", "org.sonar.java.checks.naming.FieldNameMatchingTypeNameCheck");
+        put(CODE_SMELL, "S3725", "org.sonar.java.checks.FilesExistsJDK8Check");
+        put(CODE_SMELL, "S2974", "org.sonar.java.checks.FinalClassCheck");
+        put(CODE_SMELL, "S2165", "org.sonar.java.checks.FinalizeFieldsSetCheck");
+        put(CODE_SMELL, "S1134", "org.sonar.java.checks.FixmeTagPresenceCheck");
+        put(CODE_SMELL, "S1994", "org.sonar.java.checks.ForLoopIncrementAndUpdateCheck");
+        put(CODE_SMELL, "S888", "org.sonar.java.checks.ForLoopTerminationConditionCheck");
+        put(CODE_SMELL, "S1264", "org.sonar.java.checks.ForLoopUsedAsWhileLoopCheck");
+        put(CODE_SMELL, "S4838", "org.sonar.java.checks.ForLoopVariableTypeCheck");
+        put(CODE_SMELL, "S1215", "org.sonar.java.checks.GarbageCollectorCalledCheck");
+        put(CODE_SMELL, "S1075", "org.sonar.java.checks.HardcodedURICheck");
+        put(CODE_SMELL, "S1871", "org.sonar.java.checks.IdenticalCasesInSwitchCheck");
+        put(CODE_SMELL, "S126", "org.sonar.java.checks.IfElseIfStatementEndsWithElseCheck");
+        put(CODE_SMELL, "S1607", "org.sonar.java.checks.tests.IgnoredTestsCheck");
+        put(CODE_SMELL, "S1488", "org.sonar.java.checks.ImmediatelyReturnedVariableCheck");
+        put(CODE_SMELL, "S1150", "org.sonar.java.checks.ImplementsEnumerationCheck");
+        put(CODE_SMELL, "S1213", "org.sonar.java.checks.IncorrectOrderOfMembersCheck");
+        put(CODE_SMELL, "S881", "org.sonar.java.checks.IncrementDecrementInSubExpressionCheck");
+        put(CODE_SMELL, "S3973", "org.sonar.java.checks.IndentationAfterConditionalCheck");
+        put(CODE_SMELL, "S2912", "org.sonar.java.checks.IndexOfStartPositionCheck");
+        put(CODE_SMELL, "S2692", "org.sonar.java.checks.IndexOfWithPositiveNumberCheck");
+        put(CODE_SMELL, "S2059", "org.sonar.java.checks.InnerClassOfSerializableCheck");
+        put(CODE_SMELL, "S2972", "org.sonar.java.checks.InnerClassTooManyLinesCheck");
+        put(CODE_SMELL, "S2694", "org.sonar.java.checks.InnerStaticClassesCheck");
+        put(CODE_SMELL, "S4929", "org.sonar.java.checks.InputStreamOverrideReadCheck");
+        put(CODE_SMELL, "S1193", "org.sonar.java.checks.InstanceofUsedOnExceptionCheck");
+        put(CODE_SMELL, "S4425", "org.sonar.java.checks.security.IntegerToHexStringCheck");
+        put(CODE_SMELL, "S1214", "org.sonar.java.checks.InterfaceAsConstantContainerCheck");
+        put(CODE_SMELL, "S2176", "org.sonar.java.checks.InterfaceOrSuperclassShadowingCheck");
+        put(CODE_SMELL, "S3516", "org.sonar.java.se.checks.InvariantReturnCheck");
+        put(CODE_SMELL, "S5826", "org.sonar.java.checks.tests.JUnit45MethodAnnotationCheck");
+        put(CODE_SMELL, "S5793", "org.sonar.java.checks.tests.JUnit4AnnotationsCheck");
+        put(
+                CODE_SMELL,
+                "S5786",
+                "org.sonar.java.checks.tests.JUnit5DefaultPackageClassAndMethodCheck");
+        put(CODE_SMELL, "S4925", "org.sonar.java.checks.JdbcDriverExplicitLoadingCheck");
+        put(CODE_SMELL, "S2391", "org.sonar.java.checks.tests.JunitMethodDeclarationCheck");
+        put(CODE_SMELL, "S2864", "org.sonar.java.checks.KeySetInsteadOfEntrySetCheck");
+        put(CODE_SMELL, "S1190", "org.sonar.java.checks.naming.KeywordAsIdentifierCheck");
+        put(CODE_SMELL, "S1611", "org.sonar.java.checks.LambdaOptionalParenthesisCheck");
+        put(CODE_SMELL, "S1602", "org.sonar.java.checks.LambdaSingleExpressionCheck");
+        put(CODE_SMELL, "S5612", "org.sonar.java.checks.LambdaTooBigCheck");
+        put(CODE_SMELL, "S2211", "org.sonar.java.checks.LambdaTypeParameterCheck");
+        put(CODE_SMELL, "S2629", "org.sonar.java.checks.LazyArgEvaluationCheck");
+        put(CODE_SMELL, "S3242", "org.sonar.java.checks.LeastSpecificTypeCheck");
+        put(CODE_SMELL, "S2139", "org.sonar.java.checks.LoggedRethrownExceptionsCheck");
+        put(CODE_SMELL, "S3416", "org.sonar.java.checks.LoggerClassCheck");
+        put(CODE_SMELL, "S1312", "org.sonar.java.checks.LoggersDeclarationCheck");
+        put(CODE_SMELL, "S3047", "org.sonar.java.checks.LoopsOnSameSetCheck");
+        put(CODE_SMELL, "S109", "org.sonar.java.checks.MagicNumberCheck");
+        put(CODE_SMELL, "S2096", "org.sonar.java.checks.MainMethodThrowsExceptionCheck");
+        put(CODE_SMELL, "S3824", "org.sonar.java.se.checks.MapComputeIfAbsentOrPresentCheck");
+        put(CODE_SMELL, "S1845", "org.sonar.java.checks.MembersDifferOnlyByCapitalizationCheck");
+        put(CODE_SMELL, "S4144", "org.sonar.java.checks.MethodIdenticalImplementationsCheck");
+        put(CODE_SMELL, "S1223", "org.sonar.java.checks.naming.MethodNameSameAsClassCheck");
+        put(CODE_SMELL, "S1185", "org.sonar.java.checks.MethodOnlyCallsSuperCheck");
+        put(CODE_SMELL, "S2234", "org.sonar.java.checks.MethodParametersOrderCheck");
+        put(CODE_SMELL, "S138", "org.sonar.java.checks.MethodTooBigCheck");
+        put(CODE_SMELL, "S1142", "org.sonar.java.checks.MethodWithExcessiveReturnsCheck");
+        put(CODE_SMELL, "S1598", "org.sonar.java.checks.MismatchPackageDirectoryCheck");
+        put(CODE_SMELL, "S5128", "org.sonar.java.checks.MissingBeanValidationCheck");
+        put(CODE_SMELL, "S5969", "org.sonar.java.checks.tests.MockingAllMethodsCheck");
+        put(CODE_SMELL, "S2197", "org.sonar.java.checks.ModulusEqualityCheck");
+        put(CODE_SMELL, "S2681", "org.sonar.java.checks.MultilineBlocksCurlyBracesCheck");
+        put(CODE_SMELL, "S1695", "org.sonar.java.checks.NPEThrowCheck");
+        put(CODE_SMELL, "S1199", "org.sonar.java.checks.NestedBlocksCheck");
+        put(CODE_SMELL, "S2786", "org.sonar.java.checks.NestedEnumStaticCheck");
+        put(CODE_SMELL, "S134", "org.sonar.java.checks.NestedIfStatementsCheck");
+        put(CODE_SMELL, "S1821", "org.sonar.java.checks.NestedSwitchStatementCheck");
+        put(CODE_SMELL, "S3358", "org.sonar.java.checks.NestedTernaryOperatorsCheck");
+        put(CODE_SMELL, "S1141", "org.sonar.java.checks.NestedTryCatchCheck");
+        put(CODE_SMELL, "S4042", "org.sonar.java.checks.NioFileDeleteCheck");
+        put(CODE_SMELL, "S1315", "org.sonar.java.checks.NoCheckstyleTagPresenceCheck");
+        put(CODE_SMELL, "S1310", "org.sonar.java.checks.NoPmdTagPresenceCheck");
+        put(CODE_SMELL, "S2187", "org.sonar.java.checks.tests.NoTestInTestClassCheck");
+        put(CODE_SMELL, "S2178", "org.sonar.java.checks.NonShortCircuitLogicCheck");
+        put(CODE_SMELL, "S1171", "org.sonar.java.checks.NonStaticClassInitializerCheck");
+        put(CODE_SMELL, "S4201", "org.sonar.java.checks.NullCheckWithInstanceofCheck");
+        put(CODE_SMELL, "S2133", "org.sonar.java.checks.ObjectCreatedOnlyToCallGetClassCheck");
+        put(CODE_SMELL, "S1174", "org.sonar.java.checks.ObjectFinalizeOverridenNotPublicCheck");
+        put(CODE_SMELL, "S1314", "org.sonar.java.checks.OctalValuesCheck");
+        put(CODE_SMELL, "S1996", "org.sonar.java.checks.OneClassInterfacePerFileCheck");
+        put(CODE_SMELL, "S1659", "org.sonar.java.checks.OneDeclarationPerLineCheck");
+        put(CODE_SMELL, "S5778", "org.sonar.java.checks.tests.OneExpectedRuntimeExceptionCheck");
+        put(CODE_SMELL, "S864", "org.sonar.java.checks.OperatorPrecedenceCheck");
+        put(CODE_SMELL, "S3553", "org.sonar.java.checks.OptionalAsParameterCheck");
+        put(CODE_SMELL, "S4349", "org.sonar.java.checks.OutputStreamOverrideWriteCheck");
+        put(CODE_SMELL, "S1161", "org.sonar.java.checks.OverrideAnnotationCheck");
+        put(CODE_SMELL, "S1228", "org.sonar.java.checks.PackageInfoCheck");
+        put(CODE_SMELL, "S4449", "org.sonar.java.se.checks.ParameterNullnessCheck");
+        put(CODE_SMELL, "S5976", "org.sonar.java.checks.tests.ParameterizedTestCheck");
+        put(CODE_SMELL, "S4034", "org.sonar.java.checks.PreferStreamAnyMatchCheck");
+        put(CODE_SMELL, "S2131", "org.sonar.java.checks.PrimitiveTypeBoxingWithToStringCheck");
+        put(CODE_SMELL, "S4682", "org.sonar.java.checks.PrimitivesMarkedNullableCheck");
+        put(CODE_SMELL, "S3457", "org.sonar.java.checks.PrintfMisuseCheck");
+        put(CODE_SMELL, "S1450", "org.sonar.java.checks.PrivateFieldUsedLocallyCheck");
+        put(CODE_SMELL, "S2062", "org.sonar.java.checks.serialization.PrivateReadResolveCheck");
+        put(CODE_SMELL, "S2156", "org.sonar.java.checks.ProtectedMemberInFinalClassCheck");
+        put(CODE_SMELL, "S5993", "org.sonar.java.checks.PublicConstructorInAbstractClassCheck");
+        put(CODE_SMELL, "S1444", "org.sonar.java.checks.PublicStaticFieldShouldBeFinalCheck");
+        put(CODE_SMELL, "S2386", "org.sonar.java.checks.PublicStaticMutableMembersCheck");
+        put(CODE_SMELL, "S2140", "org.sonar.java.checks.RandomFloatToIntCheck");
+        put(CODE_SMELL, "S5977", "org.sonar.java.checks.tests.RandomizedTestDataCheck");
+        put(CODE_SMELL, "S3740", "org.sonar.java.checks.RawTypeCheck");
+        put(CODE_SMELL, "S2675", "org.sonar.java.checks.ReadObjectSynchronizedCheck");
+        put(CODE_SMELL, "S3038", "org.sonar.java.checks.RedundantAbstractMethodCheck");
+        put(CODE_SMELL, "S4165", "org.sonar.java.se.checks.RedundantAssignmentsCheck");
+        put(CODE_SMELL, "S4087", "org.sonar.java.checks.RedundantCloseCheck");
+        put(CODE_SMELL, "S3626", "org.sonar.java.checks.RedundantJumpCheck");
+        put(CODE_SMELL, "S2333", "org.sonar.java.checks.RedundantModifierCheck");
+        put(CODE_SMELL, "S4266", "org.sonar.java.checks.RedundantStreamCollectCheck");
+        put(CODE_SMELL, "S1905", "org.sonar.java.checks.RedundantTypeCastCheck");
+        put(CODE_SMELL, "S5843", "org.sonar.java.checks.regex.RegexComplexityCheck");
+        put(CODE_SMELL, "S4248", "org.sonar.java.checks.RegexPatternsNeedlesslyCheck");
+        put(CODE_SMELL, "S5857", "org.sonar.java.checks.regex.ReluctantQuantifierCheck");
+        put(CODE_SMELL, "S1710", "org.sonar.java.checks.RepeatAnnotationCheck");
+        put(CODE_SMELL, "S4738", "org.sonar.java.checks.ReplaceGuavaWithJava8Check");
+        put(CODE_SMELL, "S1612", "org.sonar.java.checks.ReplaceLambdaByMethodRefCheck");
+        put(CODE_SMELL, "S2232", "org.sonar.java.checks.ResultSetIsLastCheck");
+        put(CODE_SMELL, "S1168", "org.sonar.java.checks.ReturnEmptyArrayNotNullCheck");
+        put(CODE_SMELL, "S1126", "org.sonar.java.checks.ReturnOfBooleanExpressionsCheck");
+        put(CODE_SMELL, "S1609", "org.sonar.java.checks.SAMAnnotatedCheck");
+        put(CODE_SMELL, "S2301", "org.sonar.java.checks.SelectorMethodArgumentCheck");
+        put(CODE_SMELL, "S2057", "org.sonar.java.checks.serialization.SerialVersionUidCheck");
+        put(CODE_SMELL, "S2063", "org.sonar.java.checks.serialization.SerializableComparatorCheck");
+        put(
+                CODE_SMELL,
+                "S1948",
+                "org.sonar.java.checks.serialization.SerializableFieldInSerializableClassCheck");
+        put(CODE_SMELL, "S135", "org.sonar.java.checks.SeveralBreakOrContinuePerLoopCheck");
+        put(CODE_SMELL, "S2437", "org.sonar.java.checks.SillyBitOperationCheck");
+        put(CODE_SMELL, "S1942", "org.sonar.java.checks.SimpleClassNameCheck");
+        put(CODE_SMELL, "S4276", "org.sonar.java.checks.SpecializedFunctionalInterfacesCheck");
+        put(CODE_SMELL, "S5970", "org.sonar.java.checks.tests.SpringAssertionsSimplificationCheck");
+        put(CODE_SMELL, "S4604", "org.sonar.java.checks.spring.SpringAutoConfigurationCheck");
+        put(CODE_SMELL, "S4605", "org.sonar.java.checks.spring.SpringBeansShouldBeAccessibleCheck");
+        put(CODE_SMELL, "S4603", "org.sonar.java.checks.spring.SpringComponentScanCheck");
+        put(CODE_SMELL, "S4488", "org.sonar.java.checks.spring.SpringComposedRequestMappingCheck");
+        put(
+                CODE_SMELL,
+                "S3305",
+                "org.sonar.java.checks.spring.SpringConfigurationWithAutowiredFieldsCheck");
+        put(CODE_SMELL, "S4288", "org.sonar.java.checks.SpringConstructorInjectionCheck");
+        put(CODE_SMELL, "S4719", "org.sonar.java.checks.StandardCharsetsConstantsCheck");
+        put(CODE_SMELL, "S1711", "org.sonar.java.checks.StandardFunctionalInterfaceCheck");
+        put(CODE_SMELL, "S2444", "org.sonar.java.checks.StaticFieldInitializationCheck");
+        put(CODE_SMELL, "S2696", "org.sonar.java.checks.StaticFieldUpateCheck");
+        put(CODE_SMELL, "S3010", "org.sonar.java.checks.StaticFieldUpdateInConstructorCheck");
+        put(CODE_SMELL, "S3030", "org.sonar.java.checks.StaticImportCountCheck");
+        put(CODE_SMELL, "S3252", "org.sonar.java.checks.StaticMemberAccessCheck");
+        put(CODE_SMELL, "S2209", "org.sonar.java.checks.StaticMembersAccessCheck");
+        put(CODE_SMELL, "S2325", "org.sonar.java.checks.StaticMethodCheck");
+        put(CODE_SMELL, "S3864", "org.sonar.java.checks.StreamPeekCheck");
+        put(CODE_SMELL, "S1643", "org.sonar.java.checks.StringConcatenationInLoopCheck");
+        put(CODE_SMELL, "S1192", "org.sonar.java.checks.StringLiteralDuplicatedCheck");
+        put(CODE_SMELL, "S1132", "org.sonar.java.checks.StringLiteralInsideEqualsCheck");
+        put(CODE_SMELL, "S3027", "org.sonar.java.checks.StringMethodsOnSingleCharCheck");
+        put(CODE_SMELL, "S1449", "org.sonar.java.checks.StringMethodsWithLocaleCheck");
+        put(CODE_SMELL, "S4635", "org.sonar.java.checks.StringOffsetMethodsCheck");
+        put(CODE_SMELL, "S2129", "org.sonar.java.checks.StringPrimitiveConstructorCheck");
+        put(CODE_SMELL, "S5361", "org.sonar.java.checks.regex.StringReplaceCheck");
+        put(CODE_SMELL, "S2130", "org.sonar.java.checks.StringToPrimitiveConversionCheck");
+        put(CODE_SMELL, "S1858", "org.sonar.java.checks.StringToStringCheck");
+        put(CODE_SMELL, "S2390", "org.sonar.java.checks.SubClassStaticReferenceCheck");
+        put(CODE_SMELL, "S1191", "org.sonar.java.checks.SunPackagesUsedCheck");
+        put(CODE_SMELL, "S1309", "org.sonar.java.checks.SuppressWarningsCheck");
+        put(CODE_SMELL, "S5413", "org.sonar.java.checks.SuspiciousListRemoveCheck");
+        put(CODE_SMELL, "S1301", "org.sonar.java.checks.SwitchAtLeastThreeCasesCheck");
+        put(CODE_SMELL, "S1151", "org.sonar.java.checks.SwitchCaseTooBigCheck");
+        put(CODE_SMELL, "S128", "org.sonar.java.checks.SwitchCaseWithoutBreakCheck");
+        put(CODE_SMELL, "S4524", "org.sonar.java.checks.SwitchDefaultLastCaseCheck");
+        put(CODE_SMELL, "S2196", "org.sonar.java.checks.SwitchInsteadOfIfSequenceCheck");
+        put(CODE_SMELL, "S1219", "org.sonar.java.checks.SwitchWithLabelsCheck");
+        put(CODE_SMELL, "S1479", "org.sonar.java.checks.SwitchWithTooManyCasesCheck");
+        put(CODE_SMELL, "S1149", "org.sonar.java.checks.SynchronizedClassUsageCheck");
+        put(CODE_SMELL, "S2442", "org.sonar.java.checks.SynchronizedLockCheck");
+        put(CODE_SMELL, "S1147", "org.sonar.java.checks.SystemExitCalledCheck");
+        put(CODE_SMELL, "S106", "org.sonar.java.checks.SystemOutOrErrUsageCheck");
+        put(CODE_SMELL, "S1774", "org.sonar.java.checks.TernaryOperatorCheck");
+        put(
+                CODE_SMELL,
+                "S5777",
+                "org.sonar.java.checks.tests.TestAnnotationWithExpectedExceptionCheck");
+        put(CODE_SMELL, "S3414", "org.sonar.java.checks.TestsInSeparateFolderCheck");
+        put(CODE_SMELL, "S5973", "org.sonar.java.checks.tests.TestsStabilityCheck");
+        put(CODE_SMELL, "S3366", "org.sonar.java.checks.ThisExposedFromConstructorCheck");
+        put(CODE_SMELL, "S2438", "org.sonar.java.checks.ThreadAsRunnableArgumentCheck");
+        put(CODE_SMELL, "S4065", "org.sonar.java.checks.ThreadLocalWithInitialCheck");
+        put(CODE_SMELL, "S2925", "org.sonar.java.checks.tests.ThreadSleepInTestsCheck");
+        put(CODE_SMELL, "S2693", "org.sonar.java.checks.ThreadStartedInConstructorCheck");
+        put(CODE_SMELL, "S1162", "org.sonar.java.checks.ThrowCheckedExceptionCheck");
+        put(CODE_SMELL, "S1163", "org.sonar.java.checks.ThrowsFromFinallyCheck");
+        put(CODE_SMELL, "S1160", "org.sonar.java.checks.ThrowsSeveralCheckedExceptionCheck");
+        put(CODE_SMELL, "S1158", "org.sonar.java.checks.ToStringUsingBoxingCheck");
+        put(CODE_SMELL, "S1135", "org.sonar.java.checks.TodoTagPresenceCheck");
+        put(CODE_SMELL, "S5961", "org.sonar.java.checks.tests.TooManyAssertionsCheck");
+        put(CODE_SMELL, "S1448", "org.sonar.java.checks.TooManyMethodsCheck");
+        put(CODE_SMELL, "S2065", "org.sonar.java.checks.TransientFieldInNonSerializableCheck");
+        put(CODE_SMELL, "S2093", "org.sonar.java.checks.TryWithResourcesCheck");
+        put(CODE_SMELL, "S2112", "org.sonar.java.checks.URLHashCodeAndEqualsCheck");
+        put(CODE_SMELL, "S3937", "org.sonar.java.checks.UnderscoreMisplacedOnNumberCheck");
+        put(CODE_SMELL, "S2148", "org.sonar.java.checks.UnderscoreOnNumberCheck");
+        put(CODE_SMELL, "S5867", "org.sonar.java.checks.regex.UnicodeAwareCharClassesCheck");
+        put(CODE_SMELL, "S2959", "org.sonar.java.checks.UnnecessarySemicolonCheck");
+        put(CODE_SMELL, "S4970", "org.sonar.java.checks.UnreachableCatchCheck");
+        put(CODE_SMELL, "S5860", "org.sonar.java.checks.regex.UnusedGroupNamesCheck");
+        put(CODE_SMELL, "S1065", "org.sonar.java.checks.unused.UnusedLabelCheck");
+        put(CODE_SMELL, "S1481", "org.sonar.java.checks.unused.UnusedLocalVariableCheck");
+        put(CODE_SMELL, "S1172", "org.sonar.java.checks.unused.UnusedMethodParameterCheck");
+        put(CODE_SMELL, "S1068", "org.sonar.java.checks.unused.UnusedPrivateFieldCheck");
+        put(CODE_SMELL, "S2924", "org.sonar.java.checks.unused.UnusedTestRuleCheck");
+        put(CODE_SMELL, "S2326", "org.sonar.java.checks.unused.UnusedTypeParameterCheck");
+        put(CODE_SMELL, "S818", "org.sonar.java.checks.UppercaseSuffixesCheck");
+        put(CODE_SMELL, "S5194", "org.sonar.java.checks.UseSwitchExpressionCheck");
+        put(CODE_SMELL, "S1939", "org.sonar.java.checks.UselessExtendsCheck");
+        put(CODE_SMELL, "S4032", "org.sonar.java.checks.UselessPackageInfoCheck");
+        put(CODE_SMELL, "S1118", "org.sonar.java.checks.UtilityClassWithPublicConstructorCheck");
+        put(
+                CODE_SMELL,
+                "S3437",
+                "org.sonar.java.checks.ValueBasedObjectsShouldNotBeSerializedCheck");
+        put(CODE_SMELL, "S923", "org.sonar.java.checks.VarArgCheck");
+        put(CODE_SMELL, "S1941", "org.sonar.java.checks.VariableDeclarationScopeCheck");
+        put(CODE_SMELL, "S5803", "org.sonar.java.checks.VisibleForTestingUsageCheck");
+        put(CODE_SMELL, "S2274", "org.sonar.java.checks.WaitInWhileLoopCheck");
+        put(CODE_SMELL, "S1844", "org.sonar.java.checks.WaitOnConditionCheck");
+        put(CODE_SMELL, "S2208", "org.sonar.java.checks.WildcardImportsShouldNotBeUsedCheck");
+        put(CODE_SMELL, "S1452", "org.sonar.java.checks.WildcardReturnParameterTypeCheck");
+        put(
+                CODE_SMELL,
+                "S3042",
+                "org.sonar.java.checks.synchronization.WriteObjectTheOnlySynchronizedMethodCheck");
 
-        Map<Class<? extends JavaFileScanner>, RuleType> checkToType = new IdentityHashMap<>();
-        for (var ruleType : RuleType.values()) {
-            for (var check : TYPE_TO_CHECKS.get(ruleType).values()) {
-                checkToType.put(check, ruleType);
-            }
-        }
-        CHECK_TO_TYPE = Collections.unmodifiableMap(checkToType);
+        // security hotspots
+        put(SECURITY_HOTSPOT, "S5320", "org.sonar.java.checks.security.AndroidBroadcastingCheck");
+        put(
+                SECURITY_HOTSPOT,
+                "S5324",
+                "org.sonar.java.checks.security.AndroidExternalStorageCheck");
+        put(SECURITY_HOTSPOT, "S5326", "org.sonar.java.checks.security.AndroidSSLConnectionCheck");
+        put(SECURITY_HOTSPOT, "S5122", "org.sonar.java.checks.CORSCheck");
+        put(SECURITY_HOTSPOT, "S4823", "org.sonar.java.checks.security.CommandLineArgumentsCheck");
+        put(
+                SECURITY_HOTSPOT,
+                "S4834",
+                "org.sonar.java.checks.security.ControllingPermissionsCheck");
+        put(SECURITY_HOTSPOT, "S3331", "org.sonar.java.checks.CookieDomainCheck");
+        put(SECURITY_HOTSPOT, "S3330", "org.sonar.java.checks.security.CookieHttpOnlyCheck");
+        put(
+                SECURITY_HOTSPOT,
+                "S2255",
+                "org.sonar.java.checks.security.CookieShouldNotContainSensitiveDataCheck");
+        put(SECURITY_HOTSPOT, "S2257", "org.sonar.java.checks.CustomCryptographicAlgorithmCheck");
+        put(SECURITY_HOTSPOT, "S4787", "org.sonar.java.checks.security.DataEncryptionCheck");
+        put(SECURITY_HOTSPOT, "S4790", "org.sonar.java.checks.security.DataHashingCheck");
+        put(SECURITY_HOTSPOT, "S4507", "org.sonar.java.checks.security.DebugFeatureEnabledCheck");
+        put(SECURITY_HOTSPOT, "S5300", "org.sonar.java.checks.security.EmailHotspotCheck");
+        put(SECURITY_HOTSPOT, "S5304", "org.sonar.java.checks.security.EnvVariablesHotspotCheck");
+        put(SECURITY_HOTSPOT, "S2612", "org.sonar.java.checks.security.FilePermissionsCheck");
+        put(SECURITY_HOTSPOT, "S2068", "org.sonar.java.checks.HardCodedCredentialsCheck");
+        put(SECURITY_HOTSPOT, "S1313", "org.sonar.java.checks.HardcodedIpCheck");
+        put(SECURITY_HOTSPOT, "S4544", "org.sonar.java.checks.JacksonDeserializationCheck");
+        put(SECURITY_HOTSPOT, "S4792", "org.sonar.java.checks.security.LogConfigurationCheck");
+        put(SECURITY_HOTSPOT, "S4508", "org.sonar.java.checks.ObjectDeserializationCheck");
+        put(SECURITY_HOTSPOT, "S4512", "org.sonar.java.checks.PopulateBeansCheck");
+        put(SECURITY_HOTSPOT, "S2245", "org.sonar.java.checks.PseudoRandomCheck");
+        put(SECURITY_HOTSPOT, "S5322", "org.sonar.java.checks.security.ReceivingIntentsCheck");
+        put(SECURITY_HOTSPOT, "S5852", "org.sonar.java.checks.regex.RedosCheck");
+        put(SECURITY_HOTSPOT, "S4784", "org.sonar.java.checks.security.RegexHotspotCheck");
+        put(SECURITY_HOTSPOT, "S2077", "org.sonar.java.checks.SQLInjectionCheck");
+        put(SECURITY_HOTSPOT, "S2092", "org.sonar.java.checks.security.SecureCookieCheck");
+        put(SECURITY_HOTSPOT, "S4818", "org.sonar.java.checks.security.SocketUsageCheck");
+        put(
+                SECURITY_HOTSPOT,
+                "S3752",
+                "org.sonar.java.checks.spring.SpringRequestMappingMethodCheck");
+        put(
+                SECURITY_HOTSPOT,
+                "S4502",
+                "org.sonar.java.checks.spring.SpringSecurityDisableCSRFCheck");
+        put(SECURITY_HOTSPOT, "S4829", "org.sonar.java.checks.security.StandardInputReadCheck");
+        put(SECURITY_HOTSPOT, "S4530", "org.sonar.java.checks.Struts1EndpointCheck");
+        put(SECURITY_HOTSPOT, "S4531", "org.sonar.java.checks.Struts2EndpointCheck");
+        put(SECURITY_HOTSPOT, "S5804", "org.sonar.java.checks.security.UserEnumerationCheck");
+        put(SECURITY_HOTSPOT, "S4510", "org.sonar.java.checks.XmlDeserializationCheck");
+        put(SECURITY_HOTSPOT, "S5042", "org.sonar.java.checks.security.ZipEntryCheck");
     }
 }
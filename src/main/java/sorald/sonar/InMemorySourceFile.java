@@ -0,0 +1,38 @@
+package sorald.sonar;
+
+import java.io.IOException;
+
+/**
+ * A Java source file that is not read from the file system, but from some other source such as a
+ * git object database. The contents are only loaded when the analyzer asks for them, such that the
+ * contents of all files to analyze are not held in memory at once.
+ */
+public class InMemorySourceFile {
+    private final String relativePath;
+    private final ContentLoader contentLoader;
+
+    /**
+     * @param relativePath Path to the file relative to the root of the project.
+     * @param contentLoader Loader of the UTF-8 encoded contents of the file.
+     */
+    public InMemorySourceFile(String relativePath, ContentLoader contentLoader) {
+        this.relativePath = relativePath;
+        this.contentLoader = contentLoader;
+    }
+
+    /** @return Path to the file relative to the root of the project. */
+    public String getRelativePath() {
+        return relativePath;
+    }
+
+    /** @return The UTF-8 encoded contents of the file. */
+    public byte[] loadContents() throws IOException {
+        return contentLoader.load();
+    }
+
+    /** Loader of the contents of a source file. */
+    @FunctionalInterface
+    public interface ContentLoader {
+        byte[] load() throws IOException;
+    }
+}
@@ -6,10 +6,12 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 import sorald.Constants;
 import sorald.FileUtils;
 import sorald.rule.Rule;
 import sorald.rule.RuleViolation;
+import sorald.rule.StaticAnalyzer;
 
 /** Helper class that uses Sonar to scan projects for rule violations. */
 public class ProjectScanner {
@@ -51,6 +53,43 @@ public class ProjectScanner {
      */
     public static Set<RuleViolation> scanProject(
             File target, File baseDir, List<Rule> rules, List<String> classpath) {
+        return scanProject(target, rules, classpath, new SonarStaticAnalyzer(baseDir));
+    }
+
+    /**
+     * Scan a project for rule violations with an existing static analyzer, with additional type
+     * information collected from the provided classpath. Reusing the same analyzer for several
+     * scans of the same project allows the analyzer to reuse work between the scans.
+     *
+     * @param target Targeted file or directory of the project.
+     * @param rules Rules to scan for.
+     * @param classpath Classpath to fetch type information from.
+     * @param analyzer The static analyzer to scan with.
+     * @return All violations in the target.
+     */
+    public static Set<RuleViolation> scanProject(
+            File target, List<Rule> rules, List<String> classpath, StaticAnalyzer analyzer) {
+        Set<RuleViolation> violations = new HashSet<>();
+        scanProject(target, rules, classpath, analyzer, violations::add);
+        return violations;
+    }
+
+    /**
+     * Scan a project for rule violations with an existing static analyzer, and pass each violation
+     * to the consumer as soon as the file that contains it has been analyzed.
+     *
+     * @param target Targeted file or directory of the project.
+     * @param rules Rules to scan for.
+     * @param classpath Classpath to fetch type information from.
+     * @param analyzer The static analyzer to scan with.
+     * @param violationConsumer Consumer of the violations in the target.
+     */
+    public static void scanProject(
+            File target,
+            List<Rule> rules,
+            List<String> classpath,
+            StaticAnalyzer analyzer,
+            Consumer<RuleViolation> violationConsumer) {
         List<File> filesToScan = new ArrayList<>();
         if (target.isFile()) {
             filesToScan.add(target);
@@ -62,9 +101,6 @@ public class ProjectScanner {
             }
         }
 
-        // TODO generalize to not directly use the SonarStaticAnalyzer
-        var violations =
-                new SonarStaticAnalyzer(baseDir).findViolations(filesToScan, rules, classpath);
-        return new HashSet<>(violations);
+        analyzer.findViolations(filesToScan, rules, classpath, violationConsumer);
     }
 }
@@ -2,34 +2,47 @@ package sorald.sonar;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 
+import com.sonar.sslr.api.RecognitionException;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
+import java.io.InputStream;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import org.apache.commons.io.ByteOrderMark;
+import org.apache.commons.io.input.BOMInputStream;
 import org.sonar.api.batch.fs.InputFile;
 import org.sonar.api.batch.fs.internal.DefaultFileSystem;
+import org.sonar.api.batch.fs.internal.DefaultIndexedFile;
 import org.sonar.api.batch.fs.internal.DefaultInputFile;
+import org.sonar.api.batch.fs.internal.FileMetadata;
+import org.sonar.api.batch.fs.internal.SensorStrategy;
 import org.sonar.api.batch.fs.internal.TestInputFileBuilder;
 import org.sonar.api.batch.rule.CheckFactory;
 import org.sonar.api.batch.rule.internal.ActiveRulesBuilder;
 import org.sonar.api.batch.rule.internal.NewActiveRule;
 import org.sonar.api.batch.sensor.SensorContext;
-import org.sonar.api.batch.sensor.internal.SensorContextTester;
-import org.sonar.api.config.internal.MapSettings;
 import org.sonar.api.issue.NoSonarFilter;
 import org.sonar.api.measures.FileLinesContext;
 import org.sonar.api.measures.FileLinesContextFactory;
 import org.sonar.api.rule.RuleKey;
 import org.sonar.java.AnalyzerMessage;
 import org.sonar.java.DefaultJavaResourceLocator;
+import org.sonar.java.EndOfAnalysisCheck;
 import org.sonar.java.JavaClasspath;
-import org.sonar.java.JavaClasspathProperties;
-import org.sonar.java.JavaSonarLintClasspath;
 import org.sonar.java.JavaSquid;
 import org.sonar.java.JavaTestClasspath;
 import org.sonar.java.Measurer;
@@ -37,7 +50,9 @@ import org.sonar.java.SonarComponents;
 import org.sonar.java.checks.CheckList;
 import org.sonar.java.filters.PostAnalysisIssueFilter;
 import org.sonar.java.model.JavaVersionImpl;
+import org.sonar.plugins.java.api.JavaCheck;
 import org.sonar.plugins.java.api.JavaFileScanner;
+import org.sonar.plugins.java.api.JavaFileScannerContext;
 import sorald.Constants;
 import sorald.rule.RuleViolation;
 
@@ -70,26 +85,16 @@ class RuleVerifier {
     @SuppressWarnings("UnstableApiUsage")
     static Set<RuleViolation> analyze(
             List<String> filesToScan, File baseDir, List<? extends JavaFileScanner> checks) {
-        SoraldSonarComponents components = createSonarComponents(baseDir, checks, List.of());
-
-        components.registerCheckClasses(CheckList.REPOSITORY_KEY, CheckList.getJavaChecks());
-        components.registerTestCheckClasses(
-                CheckList.REPOSITORY_KEY, CheckList.getJavaTestChecks());
-
-        scanFiles(
-                filesToScan.stream().map(f -> toInputFile(baseDir, f)).collect(Collectors.toList()),
-                components);
-
-        return components.getMessages().stream()
-                .filter(message -> message.primaryLocation() != null)
-                .map(ScannedViolation::new)
-                .collect(Collectors.toSet());
+        return analyze(filesToScan, baseDir, checks, List.of());
     }
 
     /**
      * Analyze the files with all of the provided checks, using the provided source classpath both
      * as production and test classpath.
      *
+     * <p>Only the provided checks are registered with the analyzer, such that Sonar does not need
+     * to resolve the full list of checks that it knows about.
+     *
      * @param filesToScan A list of paths to files.
      * @param baseDir The base directory of the current project.
      * @param checks Sonar checks to use.
@@ -102,25 +107,184 @@ class RuleVerifier {
             File baseDir,
             List<? extends JavaFileScanner> checks,
             List<String> classpath) {
-        SoraldSonarComponents components = createSonarComponents(baseDir, checks, classpath);
+        return analyze(filesToScan, new AnalysisEnvironment(baseDir, classpath), checks);
+    }
 
-        components.registerCheckClasses(CheckList.REPOSITORY_KEY, CheckList.getJavaChecks());
-        components.registerTestCheckClasses(
-                CheckList.REPOSITORY_KEY, CheckList.getJavaTestChecks());
+    /**
+     * Analyze the files with all of the provided checks in an existing analysis environment. The
+     * environment is not modified by the analysis, and can be reused for further analyses.
+     *
+     * @param filesToScan A list of paths to files.
+     * @param environment The environment to analyze the files in.
+     * @param checks Sonar checks to use.
+     * @return All messages produced by the analyzer, for all files and all checks.
+     */
+    static Set<RuleViolation> analyze(
+            List<String> filesToScan,
+            AnalysisEnvironment environment,
+            List<? extends JavaFileScanner> checks) {
+        Set<RuleViolation> violations = new HashSet<>();
+        analyze(filesToScan, environment, checks, violations::add);
+        return violations;
+    }
 
-        scanFiles(
+    /**
+     * Analyze the files with all of the provided checks in an existing analysis environment, and
+     * pass the violations found in each file to the consumer as soon as the analysis of that file
+     * has finished.
+     *
+     * @param filesToScan A list of paths to files.
+     * @param environment The environment to analyze the files in.
+     * @param checks Sonar checks to use.
+     * @param violationConsumer Consumer of the violations found in the files.
+     */
+    static void analyze(
+            List<String> filesToScan,
+            AnalysisEnvironment environment,
+            List<? extends JavaFileScanner> checks,
+            Consumer<RuleViolation> violationConsumer) {
+        analyze(filesToScan, environment, checks, violationConsumer, null);
+    }
+
+    /**
+     * Analyze the files with all of the provided checks in an existing analysis environment, and
+     * pass the violations found in each file to the consumer as soon as the analysis of that file
+     * has finished. If a profiler is given, the time spent by each check is recorded in it.
+     *
+     * @param filesToScan A list of paths to files.
+     * @param environment The environment to analyze the files in.
+     * @param checks Sonar checks to use.
+     * @param violationConsumer Consumer of the violations found in the files.
+     * @param profiler Profiler to record the time spent by the checks in, or null to not profile
+     *     the checks.
+     */
+    static void analyze(
+            List<String> filesToScan,
+            AnalysisEnvironment environment,
+            List<? extends JavaFileScanner> checks,
+            Consumer<RuleViolation> violationConsumer,
+            CheckProfiler profiler) {
+        analyze(filesToScan, environment, checks, violationConsumer, profiler, () -> false);
+    }
+
+    /**
+     * Analyze the files with all of the provided checks in an existing analysis environment, and
+     * pass the violations found in each file to the consumer as soon as the analysis of that file
+     * has finished. The cancellation check is called right before the analysis of each file starts,
+     * and once more right after the last file, before the end of the analysis. The remaining files
+     * are skipped once it returns true.
+     *
+     * @param filesToScan A list of paths to files.
+     * @param environment The environment to analyze the files in.
+     * @param checks Sonar checks to use.
+     * @param violationConsumer Consumer of the violations found in the files.
+     * @param profiler Profiler to record the time spent by the checks in, or null to not profile
+     *     the checks.
+     * @param cancellationCheck Check for whether to cancel the analysis of the remaining files.
+     */
+    @SuppressWarnings("UnstableApiUsage")
+    static void analyze(
+            List<String> filesToScan,
+            AnalysisEnvironment environment,
+            List<? extends JavaFileScanner> checks,
+            Consumer<RuleViolation> violationConsumer,
+            CheckProfiler profiler,
+            BooleanSupplier cancellationCheck) {
+        File baseDir = environment.getBaseDir();
+        analyzeInputFiles(
                 filesToScan.stream().map(f -> toInputFile(baseDir, f)).collect(Collectors.toList()),
-                components);
+                environment,
+                checks,
+                violationConsumer,
+                profiler,
+                cancellationCheck);
+    }
+
+    /**
+     * Analyze in-memory source files with all of the provided checks in an existing analysis
+     * environment. The sources are analyzed as if they were located at their relative paths in the
+     * base directory of the environment, but nothing is read from or written to disk. Violations
+     * are passed to the consumer and the cancellation check is called just like when analyzing
+     * files on disk.
+     *
+     * @param sources Sources to analyze.
+     * @param environment The environment to analyze the sources in.
+     * @param checks Sonar checks to use.
+     * @param violationConsumer Consumer of the violations found in the sources.
+     * @param profiler Profiler to record the time spent by the checks in, or null to not profile
+     *     the checks.
+     * @param cancellationCheck Check for whether to cancel the analysis of the remaining sources.
+     */
+    static void analyzeSources(
+            List<InMemorySourceFile> sources,
+            AnalysisEnvironment environment,
+            List<? extends JavaFileScanner> checks,
+            Consumer<RuleViolation> violationConsumer,
+            CheckProfiler profiler,
+            BooleanSupplier cancellationCheck) {
+        File baseDir = environment.getBaseDir();
+        analyzeInputFiles(
+                sources.stream()
+                        .map(source -> toInputFile(baseDir, source))
+                        .collect(Collectors.toList()),
+                environment,
+                checks,
+                violationConsumer,
+                profiler,
+                cancellationCheck);
+    }
 
-        return components.getMessages().stream()
-                .filter(message -> message.primaryLocation() != null)
-                .map(ScannedViolation::new)
-                .collect(Collectors.toSet());
+    @SuppressWarnings("UnstableApiUsage")
+    private static void analyzeInputFiles(
+            List<InputFile> inputFiles,
+            AnalysisEnvironment environment,
+            List<? extends JavaFileScanner> checks,
+            Consumer<RuleViolation> violationConsumer,
+            CheckProfiler profiler,
+            BooleanSupplier cancellationCheck) {
+        ActiveChecks activeChecks = ActiveChecks.of(checks);
+        SoraldSonarComponents components =
+                createSonarComponents(
+                        environment,
+                        activeChecks.getCheckFactory(),
+                        violationConsumer,
+                        cancellationCheck);
+
+        components.registerCheckClasses(
+                CheckList.REPOSITORY_KEY, asCheckClasses(activeChecks.getMainChecks(checks)));
+        components.registerTestCheckClasses(
+                CheckList.REPOSITORY_KEY, asCheckClasses(activeChecks.getTestChecks(checks)));
+
+        scanFiles(inputFiles, components, profiler);
+        components.flushViolations();
+    }
+
+    /**
+     * Sonar accepts check instances in place of check classes, in which case it uses the instances
+     * as they are rather than instantiating the classes anew. This makes the analysis use the very
+     * checks that it was given, which callers may then reuse for later analyses.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Iterable<Class<? extends JavaCheck>> asCheckClasses(List<JavaCheck> checks) {
+        return (Iterable) checks;
     }
 
     @SuppressWarnings("UnstableApiUsage")
-    private static void scanFiles(List<InputFile> sourceFiles, SoraldSonarComponents components) {
+    private static void scanFiles(
+            List<InputFile> sourceFiles, SoraldSonarComponents components, CheckProfiler profiler) {
         Measurer measurer = new Measurer(components.getContext(), new NoSonarFilter());
+
+        List<JavaCheck> checks = Arrays.asList(components.checkClasses());
+        JavaFileScanner issueFilter = components.getPostFilter();
+        if (profiler != null) {
+            var profiled = profiler.profile(checks, issueFilter);
+            checks = profiled.getScanners();
+            issueFilter = profiled.getIssueFilter();
+        }
+        // the end of the analysis starts with the first end of analysis check
+        checks = new ArrayList<>(checks);
+        checks.add(0, new EndOfFilesCheck(components));
+
         JavaSquid squid =
                 new JavaSquid(
                         // TODO set the source version dynamically
@@ -128,8 +292,8 @@ class RuleVerifier {
                         components,
                         measurer,
                         new DefaultJavaResourceLocator(components.getClasspath()),
-                        new PostAnalysisIssueFilter(),
-                        components.checkClasses());
+                        issueFilter,
+                        checks.toArray(JavaCheck[]::new));
         squid.scan(
                 sourceFiles,
                 List.of(), // TODO provide test files
@@ -137,65 +301,208 @@ class RuleVerifier {
                 );
     }
 
+    /**
+     * Sonar only asks whether the analysis has been cancelled before each file, so this tells the
+     * components once more when all files have been analyzed, such that the violations of the last
+     * file are flushed and the cancellation check knows that the end of the analysis has started.
+     */
+    private static class EndOfFilesCheck implements JavaFileScanner, EndOfAnalysisCheck {
+        private final SoraldSonarComponents components;
+
+        EndOfFilesCheck(SoraldSonarComponents components) {
+            this.components = components;
+        }
+
+        @Override
+        public void scanFile(JavaFileScannerContext context) {}
+
+        @Override
+        public void endOfAnalysis() {
+            components.analysisCancelled();
+        }
+    }
+
+    /**
+     * Create an input file whose contents and metadata are only read from disk when the analyzer
+     * asks for them, such that the contents of all files to scan are not held in memory at once.
+     */
     private static InputFile toInputFile(File baseDir, String filename) {
+        var inputFile =
+                new DefaultInputFile(toIndexedFile(baseDir, filename), RuleVerifier::readMetadata);
+        inputFile.setCharset(UTF_8);
+        return inputFile;
+    }
+
+    /**
+     * Create an input file whose contents are loaded from the source when the analyzer asks for
+     * them, without ever touching the file system.
+     */
+    private static InputFile toInputFile(File baseDir, InMemorySourceFile source) {
+        var inputFile =
+                new InMemoryInputFile(toIndexedFile(baseDir, source.getRelativePath()), source);
+        inputFile.setCharset(UTF_8);
+        return inputFile;
+    }
+
+    private static DefaultIndexedFile toIndexedFile(File baseDir, String filename) {
         // must append a separator to the basedir string as Sonar appends the filenames directly to
         // it
         final String baseDirStr = baseDir.toString() + File.separator;
-        try {
-            return new TestInputFileBuilder(baseDirStr, filename)
-                    .setContents(new String(Files.readAllBytes(Paths.get(filename)), UTF_8))
-                    .setCharset(UTF_8)
-                    .setLanguage("java")
-                    .build();
+        Path moduleBaseDir = Paths.get(baseDirStr);
+        Path absolutePath = moduleBaseDir.resolve(filename);
+        String relativePath = moduleBaseDir.relativize(absolutePath).toString();
+
+        return new DefaultIndexedFile(
+                absolutePath,
+                baseDirStr,
+                relativePath,
+                relativePath,
+                InputFile.Type.MAIN,
+                "java",
+                TestInputFileBuilder.nextBatchId(),
+                new SensorStrategy());
+    }
+
+    private static void readMetadata(DefaultInputFile inputFile) {
+        try (InputStream inputStream = inputFile.inputStream()) {
+            inputFile.setMetadata(
+                    new FileMetadata().readMetadata(inputStream, UTF_8, inputFile.absolutePath()));
         } catch (IOException e) {
-            throw new RuntimeException("failed to read file " + filename);
+            throw new RuntimeException("failed to read file " + inputFile.absolutePath());
         }
     }
 
-    private static SoraldSonarComponents createSonarComponents(
-            File baseDir, List<? extends JavaFileScanner> checks, List<String> classpath) {
-        var activeRulesBuilder = new ActiveRulesBuilder();
-        checks.stream()
-                .map(check -> Checks.getRuleKey(check.getClass()))
-                .map(
-                        ruleKey ->
-                                new NewActiveRule.Builder()
-                                        .setRuleKey(RuleKey.of("java", ruleKey))
-                                        .setLanguage("java")
-                                        .build())
-                .forEach(activeRulesBuilder::addRule);
-
-        CheckFactory checkFactory = new CheckFactory(activeRulesBuilder.build());
-
-        // FIXME The SensorContextTester is an internal and unstable component in sonar,
-        //       we should implement our own SensorContext
-        SensorContextTester sensorContext = SensorContextTester.create(baseDir);
-
-        DefaultFileSystem fs = sensorContext.fileSystem();
-        // FIXME populate the classpaths
-        MapSettings settings =
-                new MapSettings()
-                        .setProperty(
-                                JavaClasspathProperties.SONAR_JAVA_BINARIES,
-                                String.join(",", classpath));
-        var cp = new JavaSonarLintClasspath(settings.asConfig(), fs);
-        var testCp = new JavaTestClasspath(settings.asConfig(), fs);
+    /**
+     * An input file backed by an in-memory source. Both the metadata and the contents of the file
+     * are read through its input stream, so that is all there is to override.
+     */
+    private static class InMemoryInputFile extends DefaultInputFile {
+        private final InMemorySourceFile source;
+
+        InMemoryInputFile(DefaultIndexedFile indexedFile, InMemorySourceFile source) {
+            super(indexedFile, RuleVerifier::readMetadata);
+            this.source = source;
+        }
+
+        @Override
+        public InputStream inputStream() throws IOException {
+            return new BOMInputStream(
+                    new ByteArrayInputStream(source.loadContents()),
+                    ByteOrderMark.UTF_8,
+                    ByteOrderMark.UTF_16LE,
+                    ByteOrderMark.UTF_16BE,
+                    ByteOrderMark.UTF_32LE,
+                    ByteOrderMark.UTF_32BE);
+        }
+    }
 
+    private static SoraldSonarComponents createSonarComponents(
+            AnalysisEnvironment environment,
+            CheckFactory checkFactory,
+            Consumer<RuleViolation> violationConsumer,
+            BooleanSupplier cancellationCheck) {
         SoraldSonarComponents sonarComponents =
-                new SoraldSonarComponents(sensorContext.fileSystem(), cp, testCp, checkFactory);
-        sonarComponents.setSensorContext(sensorContext);
+                new SoraldSonarComponents(
+                        environment.getFileSystem(),
+                        environment.getClasspath(),
+                        environment.getTestClasspath(),
+                        checkFactory,
+                        violationConsumer,
+                        cancellationCheck);
+        sonarComponents.setSensorContext(environment.getSensorContext());
         return sonarComponents;
     }
 
     /**
-     * A simple subclass of SonarComponents that stores all analyzer messages. These are by default
-     * stored in a storage container, but it seems easier for our use case to just intercept them.
+     * The checks that are active in an analysis, split into production and test checks as Sonar
+     * classifies them, along with the check factory that instantiates them. Resolving the active
+     * checks is comparatively expensive, so the result is cached for each distinct set of checks.
+     */
+    private static class ActiveChecks {
+        private static final Map<Set<Class<? extends JavaCheck>>, ActiveChecks> CACHE =
+                new ConcurrentHashMap<>();
+
+        private final CheckFactory checkFactory;
+        private final Set<Class<? extends JavaCheck>> mainChecks;
+        private final Set<Class<? extends JavaCheck>> testChecks;
+
+        private ActiveChecks(Set<Class<? extends JavaCheck>> checkClasses) {
+            var activeRulesBuilder = new ActiveRulesBuilder();
+            checkClasses.stream()
+                    .map(Checks::getRuleKey)
+                    .map(
+                            ruleKey ->
+                                    new NewActiveRule.Builder()
+                                            .setRuleKey(RuleKey.of("java", ruleKey))
+                                            .setLanguage("java")
+                                            .build())
+                    .forEach(activeRulesBuilder::addRule);
+
+            checkFactory = new CheckFactory(activeRulesBuilder.build());
+            mainChecks =
+                    checkClasses.stream()
+                            .filter(checkClass -> !Checks.isTestCheck(checkClass))
+                            .collect(Collectors.toUnmodifiableSet());
+            testChecks =
+                    checkClasses.stream()
+                            .filter(Checks::isTestCheck)
+                            .collect(Collectors.toUnmodifiableSet());
+        }
+
+        /**
+         * @param checks Checks to activate.
+         * @return The active checks corresponding to the classes of the given checks.
+         */
+        static ActiveChecks of(List<? extends JavaFileScanner> checks) {
+            Set<Class<? extends JavaCheck>> checkClasses =
+                    checks.stream().map(JavaCheck::getClass).collect(Collectors.toSet());
+            return CACHE.computeIfAbsent(checkClasses, ActiveChecks::new);
+        }
+
+        CheckFactory getCheckFactory() {
+            return checkFactory;
+        }
+
+        /**
+         * @param checks The checks that these active checks were created from.
+         * @return The checks that apply to main code.
+         */
+        List<JavaCheck> getMainChecks(List<? extends JavaFileScanner> checks) {
+            return checks.stream()
+                    .filter(check -> mainChecks.contains(check.getClass()))
+                    .collect(Collectors.toList());
+        }
+
+        /**
+         * @param checks The checks that these active checks were created from.
+         * @return The checks that apply to test code.
+         */
+        List<JavaCheck> getTestChecks(List<? extends JavaFileScanner> checks) {
+            return checks.stream()
+                    .filter(check -> testChecks.contains(check.getClass()))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * A simple subclass of SonarComponents that intercepts all analyzer messages. These are by
+     * default stored in a storage container, but it seems easier for our use case to just intercept
+     * them. The messages are never passed on to the sensor context, which has no issue storage.
+     *
+     * <p>The messages of a file are buffered until the analysis of that file has finished, and are
+     * then passed on to the violation consumer. The issue filter is however applied as soon as a
+     * message is reported, as the filter only knows about the file that is currently analyzed.
      *
      * <p>This IS a bit of a hack, so it wouldn't be unreasonable to try to do this the "proper
      * way".
      */
     private static class SoraldSonarComponents extends SonarComponents {
-        private final List<AnalyzerMessage> messages;
+        private final List<AnalyzerMessage> bufferedMessages;
+        /** Paths of analyzed files by component key, shared by all violations in a file. */
+        private final Map<String, Path> internedPaths;
+
+        private final Consumer<RuleViolation> violationConsumer;
+        private final BooleanSupplier cancellationCheck;
         private final PostAnalysisIssueFilter postFilter;
         private final JavaClasspath cp;
         private final JavaTestClasspath testCp;
@@ -205,8 +512,17 @@ class RuleVerifier {
                 DefaultFileSystem fs,
                 JavaClasspath cp,
                 JavaTestClasspath testCp,
-                CheckFactory checkFactory) {
-            this(fs, cp, testCp, checkFactory, new PostAnalysisIssueFilter());
+                CheckFactory checkFactory,
+                Consumer<RuleViolation> violationConsumer,
+                BooleanSupplier cancellationCheck) {
+            this(
+                    fs,
+                    cp,
+                    testCp,
+                    checkFactory,
+                    violationConsumer,
+                    cancellationCheck,
+                    new PostAnalysisIssueFilter());
         }
 
         public SoraldSonarComponents(
@@ -214,9 +530,14 @@ class RuleVerifier {
                 JavaClasspath cp,
                 JavaTestClasspath testCp,
                 CheckFactory checkFactory,
+                Consumer<RuleViolation> violationConsumer,
+                BooleanSupplier cancellationCheck,
                 PostAnalysisIssueFilter postFilter) {
             super(new SoraldFileLinesContextFactory(), fs, cp, testCp, checkFactory, postFilter);
-            messages = new ArrayList<>();
+            bufferedMessages = new ArrayList<>();
+            internedPaths = new HashMap<>();
+            this.violationConsumer = violationConsumer;
+            this.cancellationCheck = cancellationCheck;
             this.postFilter = postFilter;
             this.cp = cp;
             this.testCp = testCp;
@@ -224,8 +545,27 @@ class RuleVerifier {
 
         @Override
         public void reportIssue(AnalyzerMessage analyzerMessage) {
-            super.reportIssue(analyzerMessage);
-            messages.add(analyzerMessage);
+            if (postFilter.accept(getRuleKey(analyzerMessage), analyzerMessage)) {
+                bufferedMessages.add(analyzerMessage);
+            }
+        }
+
+        /**
+         * Sonar asks whether the analysis has been cancelled right before it starts analyzing each
+         * file, at which point the analysis of all previous files has finished and their violations
+         * can be flushed.
+         */
+        @Override
+        public boolean analysisCancelled() {
+            flushViolations();
+            return cancellationCheck.getAsBoolean();
+        }
+
+        @Override
+        public boolean reportAnalysisError(RecognitionException re, InputFile inputFile) {
+            // the sensor context does not store analysis errors, but returning true still tells
+            // sonar-java to skip the file, as it does in a SonarLint context
+            return true;
         }
 
         @Override
@@ -238,16 +578,32 @@ class RuleVerifier {
             return context;
         }
 
-        public List<AnalyzerMessage> getMessages() {
-            return messages.stream().filter(this::shouldBeReported).collect(Collectors.toList());
-        }
-
         public JavaClasspath getClasspath() {
             return cp;
         }
 
-        private boolean shouldBeReported(AnalyzerMessage message) {
-            return postFilter.accept(getRuleKey(message), message) && !fromNosonarLine(message);
+        public PostAnalysisIssueFilter getPostFilter() {
+            return postFilter;
+        }
+
+        /**
+         * Pass all buffered violations on to the consumer. NOSONAR comments are only known once a
+         * file has been fully analyzed, so they are not taken into account until a message is
+         * flushed.
+         */
+        public void flushViolations() {
+            var violations = new LinkedHashSet<RuleViolation>();
+            for (AnalyzerMessage message : bufferedMessages) {
+                if (message.primaryLocation() != null && !fromNosonarLine(message)) {
+                    Path absolutePath =
+                            internedPaths.computeIfAbsent(
+                                    message.getInputComponent().key(),
+                                    key -> ScannedViolation.toAbsolutePath(message));
+                    violations.add(new ScannedViolation(message, absolutePath));
+                }
+            }
+            bufferedMessages.clear();
+            violations.forEach(violationConsumer);
         }
 
         private static boolean fromNosonarLine(AnalyzerMessage message) {
@@ -6,57 +6,128 @@ import org.sonar.java.AnalyzerMessage;
 import org.sonar.plugins.java.api.JavaCheck;
 import sorald.rule.RuleViolation;
 
-/** Facade around {@link org.sonar.java.AnalyzerMessage} */
+/**
+ * A violation found by Sonar. All data is copied out of the {@link org.sonar.java.AnalyzerMessage}
+ * on construction, such that the violation does not keep the check, the input file or any syntax
+ * trees of the analysis reachable.
+ */
 class ScannedViolation extends RuleViolation {
-    private final AnalyzerMessage message;
-    private final AnalyzerMessage.TextSpan primaryLocation;
+    private final Path absolutePath;
+    private final String ruleKey;
+    private final String message;
+    private final int startLine;
+    private final int endLine;
+    private final int startCol;
+    private final int endCol;
+    private final int hashCode;
 
     ScannedViolation(AnalyzerMessage message) {
+        this(requirePrimaryLocation(message), toAbsolutePath(message));
+    }
+
+    /**
+     * @param message A message reported by Sonar.
+     * @param absolutePath Absolute and normalized path to the file that the message is reported on,
+     *     which can be shared by all violations in the same file.
+     */
+    ScannedViolation(AnalyzerMessage message, Path absolutePath) {
+        AnalyzerMessage.TextSpan primaryLocation =
+                requirePrimaryLocation(message).primaryLocation();
+        this.absolutePath = absolutePath;
+        this.ruleKey = Checks.getRuleKey(message.getCheck().getClass());
+        this.message = message.getMessage();
+        this.startLine = primaryLocation.startLine;
+        this.endLine = primaryLocation.endLine;
+        this.startCol = primaryLocation.startCharacter;
+        this.endCol = primaryLocation.endCharacter;
+        this.hashCode = super.hashCode();
+    }
+
+    private ScannedViolation(ScannedViolation violation, Path absolutePath) {
+        this.absolutePath = absolutePath;
+        this.ruleKey = violation.ruleKey;
+        this.message = violation.message;
+        this.startLine = violation.startLine;
+        this.endLine = violation.endLine;
+        this.startCol = violation.startCol;
+        this.endCol = violation.endCol;
+        this.hashCode = super.hashCode();
+    }
+
+    /**
+     * @param absolutePath Absolute and normalized path to another file with the same contents.
+     * @return The same violation in the other file.
+     */
+    ScannedViolation relocate(Path absolutePath) {
+        return new ScannedViolation(this, absolutePath);
+    }
+
+    private static AnalyzerMessage requirePrimaryLocation(AnalyzerMessage message) {
         if (message.primaryLocation() == null) {
             throw new IllegalArgumentException(
                     "message for '"
                             + getCheckName(message.getCheck())
                             + "' lacks primary location");
         }
-        this.message = message;
-        this.primaryLocation = message.primaryLocation();
+        return message;
+    }
+
+    /**
+     * @param message A message reported by Sonar.
+     * @return Absolute and normalized path to the file that the message is reported on.
+     */
+    static Path toAbsolutePath(AnalyzerMessage message) {
+        return Paths.get(message.getInputComponent().key().replace(":", ""))
+                .toAbsolutePath()
+                .normalize();
     }
 
     @Override
     public int getStartLine() {
-        return primaryLocation.startLine;
+        return startLine;
     }
 
     @Override
     public int getEndLine() {
-        return primaryLocation.endLine;
+        return endLine;
     }
 
     @Override
     public int getStartCol() {
-        return primaryLocation.startCharacter;
+        return startCol;
     }
 
     @Override
     public int getEndCol() {
-        return primaryLocation.endCharacter;
+        return endCol;
     }
 
     @Override
     public Path getAbsolutePath() {
-        return Paths.get(message.getInputComponent().key().replace(":", ""))
-                .toAbsolutePath()
-                .normalize();
+        return absolutePath;
     }
 
     @Override
     public String getRuleKey() {
-        return Checks.getRuleKey(message.getCheck().getClass());
+        return ruleKey;
     }
 
     @Override
     public String getMessage() {
-        return message.getMessage();
+        return message;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof ScannedViolation && ((ScannedViolation) obj).hashCode != hashCode) {
+            return false;
+        }
+        return super.equals(obj);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
     }
 
     private static String getCheckName(JavaCheck check) {
@@ -5,15 +5,28 @@ import sorald.rule.Rule;
 import sorald.rule.RuleType;
 
 public class SonarRule implements Rule {
+    private static final String CHECK_SUFFIX = "Check";
+
     private final String key;
     private final String name;
     private final RuleType type;
 
     public SonarRule(String key) {
+        String checkClassName = Checks.getCheckClassName(key);
+        if (checkClassName == null) {
+            throw new IllegalArgumentException("no rule with key " + key);
+        }
         this.key = key;
-        var check = Checks.getCheck(key);
-        this.name = check.getSimpleName().replaceFirst("Check$", "");
-        this.type = Checks.getRuleType(check);
+        this.name = toRuleName(checkClassName);
+        this.type = Checks.getRuleType(key);
+    }
+
+    /** The rule name is the simple name of the check class, without the "Check" suffix. */
+    private static String toRuleName(String checkClassName) {
+        String simpleName = checkClassName.substring(checkClassName.lastIndexOf('.') + 1);
+        return simpleName.endsWith(CHECK_SUFFIX)
+                ? simpleName.substring(0, simpleName.length() - CHECK_SUFFIX.length())
+                : simpleName;
     }
 
     @Override
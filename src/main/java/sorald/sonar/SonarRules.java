@@ -1,22 +1,40 @@
 package sorald.sonar;
 
 import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import sorald.rule.Rule;
 
-/** Class that knows about all Sonar rules. Should ONLY be used by {@link sorald.rule.Rules}. */
+/**
+ * Class that knows about all Sonar rules. Should ONLY be used by {@link sorald.rule.Rule} and
+ * {@link sorald.rule.Rules}.
+ */
 public class SonarRules {
     private SonarRules() {}
 
+    /** Canonical rule instances by key, as rules are looked up for each and every violation. */
+    private static final Map<String, Rule> RULES = new ConcurrentHashMap<>();
+
     /**
      * Get all SonarJava rules.
      *
      * @return All SonarJava rules.
      */
     public static Collection<Rule> getAllRules() {
-        return Checks.getAllChecks().stream()
-                .map(Checks::getRuleKey)
-                .map(Rule::of)
+        return Checks.getAllRuleKeys().stream()
+                .map(SonarRules::getRule)
                 .collect(Collectors.toList());
     }
+
+    /**
+     * Get the canonical instance of a SonarJava rule.
+     *
+     * @param key The key of the rule.
+     * @return The rule with the given key.
+     */
+    public static Rule getRule(String key) {
+        Rule rule = RULES.get(key);
+        return rule != null ? rule : RULES.computeIfAbsent(key, SonarRule::new);
+    }
 }
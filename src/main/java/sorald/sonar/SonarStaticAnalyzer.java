@@ -1,29 +1,339 @@
 package sorald.sonar;
 
 import java.io.File;
-import java.util.Collection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import org.sonar.plugins.java.api.JavaFileScanner;
+import sorald.event.EventHelper;
+import sorald.event.SoraldEventHandler;
+import sorald.event.models.CrashEvent;
 import sorald.rule.Rule;
 import sorald.rule.RuleViolation;
 import sorald.rule.StaticAnalyzer;
 
+/**
+ * A static analyzer that uses Sonar to find rule violations.
+ *
+ * <p>An instance is a long-lived analysis session for a single project: the analysis environment of
+ * each distinct classpath is created on first use and reused for all later scans with the same
+ * instance. Scans that should share that work, such as scanning a project both before and after
+ * repairing it, should therefore use the same instance.
+ *
+ * <p>An instance can also be given an {@link AnalysisResultCache}, which may be shared with other
+ * instances, to analyze each distinct file content only once. Files whose content has already been
+ * analyzed with the same rules and classpath get the cached violations instead, and are only
+ * analyzed again with the few rules whose violations depend on the path of the file.
+ */
 public class SonarStaticAnalyzer implements StaticAnalyzer {
     private final File projectRoot;
+    private final Map<List<String>, AnalysisEnvironment> environments;
+    private final CheckProfiler profiler;
+    private final AnalysisWatchdog watchdog;
+    private final AnalysisResultCache resultCache;
+    private final Set<String> abandonedFiles;
+    private final List<? extends SoraldEventHandler> eventHandlers;
+    private volatile boolean projectAbandoned;
 
     public SonarStaticAnalyzer(File projectRoot) {
+        this(projectRoot, null);
+    }
+
+    /**
+     * @param projectRoot The root directory of the project to analyze.
+     * @param profiler Profiler to record the time spent by each check in, or null to not profile
+     *     the checks.
+     */
+    public SonarStaticAnalyzer(File projectRoot, CheckProfiler profiler) {
+        this(projectRoot, profiler, null, List.of());
+    }
+
+    /**
+     * @param projectRoot The root directory of the project to analyze.
+     * @param profiler Profiler to record the time spent by each check in, or null to not profile
+     *     the checks.
+     * @param fileTimeout The maximum amount of time to spend analyzing a single file, or null for
+     *     no limit. Files that exceed it are skipped, and reported as crashes to the event
+     *     handlers. Once too many skipped files are still being analyzed in the background, the
+     *     rest of the project is skipped and reported as a crash as well.
+     * @param eventHandlers Event handlers to report skipped files to.
+     */
+    public SonarStaticAnalyzer(
+            File projectRoot,
+            CheckProfiler profiler,
+            Duration fileTimeout,
+            List<? extends SoraldEventHandler> eventHandlers) {
+        this(projectRoot, profiler, fileTimeout, eventHandlers, null);
+    }
+
+    /**
+     * @param projectRoot The root directory of the project to analyze.
+     * @param profiler Profiler to record the time spent by each check in, or null to not profile
+     *     the checks.
+     * @param fileTimeout The maximum amount of time to spend analyzing a single file, or null for
+     *     no limit. Files that exceed it are skipped, and reported as crashes to the event
+     *     handlers. Once too many skipped files are still being analyzed in the background, the
+     *     rest of the project is skipped and reported as a crash as well.
+     * @param eventHandlers Event handlers to report skipped files to.
+     * @param resultCache Cache of the violations in files with the same contents, or null to
+     *     analyze every file.
+     */
+    public SonarStaticAnalyzer(
+            File projectRoot,
+            CheckProfiler profiler,
+            Duration fileTimeout,
+            List<? extends SoraldEventHandler> eventHandlers,
+            AnalysisResultCache resultCache) {
         this.projectRoot = projectRoot;
+        this.profiler = profiler;
+        this.resultCache = resultCache;
+        this.eventHandlers = eventHandlers;
+        environments = new ConcurrentHashMap<>();
+        abandonedFiles = ConcurrentHashMap.newKeySet();
+        watchdog =
+                fileTimeout == null
+                        ? null
+                        : new AnalysisWatchdog(
+                                fileTimeout,
+                                (file, e) -> {
+                                    abandonedFiles.add(file);
+                                    EventHelper.fireEvent(
+                                            new CrashEvent(
+                                                    "Abandoned analysis of file: " + file, e),
+                                            eventHandlers);
+                                });
     }
 
     @Override
-    public Collection<RuleViolation> findViolations(
-            List<File> files, List<Rule> rules, List<String> classpath) {
-        var checks =
+    public void findViolations(
+            List<File> files,
+            List<Rule> rules,
+            List<String> classpath,
+            Consumer<RuleViolation> violationConsumer) {
+        // files that cannot violate any of the rules need not be parsed at all
+        List<File> candidateFiles =
+                TokenPrefilter.forRules(rules).map(filter -> filter.filter(files)).orElse(files);
+        var filepaths = candidateFiles.stream().map(File::toString).collect(Collectors.toList());
+        analyze(
+                filepaths,
+                file -> () -> Files.readAllBytes(Paths.get(file)),
+                rules,
+                classpath,
+                violationConsumer,
+                (filesToScan, environment, checks, consumer, cancellationCheck) ->
+                        RuleVerifier.analyze(
+                                filesToScan,
+                                environment,
+                                checks,
+                                consumer,
+                                profiler,
+                                cancellationCheck));
+    }
+
+    /**
+     * Find violations in sources that are not on disk, such as the files of a commit in a git
+     * object database. The sources are analyzed as if they were located at their relative paths in
+     * the project root, so the violations have paths in the project root even though there are no
+     * such files.
+     *
+     * @param sources Sources to analyze.
+     * @param rules Rules to find violations of.
+     * @param classpath Classpath to analyze the sources with.
+     * @param violationConsumer Consumer of the violations found in the sources.
+     */
+    public void findViolationsInSources(
+            List<InMemorySourceFile> sources,
+            List<Rule> rules,
+            List<String> classpath,
+            Consumer<RuleViolation> violationConsumer) {
+        List<InMemorySourceFile> candidateSources =
+                TokenPrefilter.forRules(rules)
+                        .map(filter -> filter.filterSources(sources))
+                        .orElse(sources);
+        // the relative paths identify the sources towards the watchdog, which only deals in
+        // strings
+        Map<String, InMemorySourceFile> sourcesByPath = new LinkedHashMap<>();
+        candidateSources.forEach(source -> sourcesByPath.put(source.getRelativePath(), source));
+        analyze(
+                new ArrayList<>(sourcesByPath.keySet()),
+                path -> sourcesByPath.get(path)::loadContents,
+                rules,
+                classpath,
+                violationConsumer,
+                (paths, environment, checks, consumer, cancellationCheck) ->
+                        RuleVerifier.analyzeSources(
+                                paths.stream().map(sourcesByPath::get).collect(Collectors.toList()),
+                                environment,
+                                checks,
+                                consumer,
+                                profiler,
+                                cancellationCheck));
+    }
+
+    private void analyze(
+            List<String> filesToScan,
+            Function<String, InMemorySourceFile.ContentLoader> contentLoaders,
+            List<Rule> rules,
+            List<String> classpath,
+            Consumer<RuleViolation> violationConsumer,
+            Analysis analysis) {
+        if (resultCache == null || !AnalysisResultCache.canDeduplicate(rules)) {
+            analyzeWithPooledChecks(filesToScan, rules, classpath, violationConsumer, analysis);
+            return;
+        }
+
+        String fingerprint = AnalysisResultCache.fingerprint(rules, classpath);
+        Map<String, String> keysByFile = new HashMap<>();
+        Set<String> keysToAnalyze = new HashSet<>();
+        List<String> filesToAnalyze = new ArrayList<>();
+        List<String> duplicateFiles = new ArrayList<>();
+        for (String file : filesToScan) {
+            String key = AnalysisResultCache.key(contentLoaders.apply(file), fingerprint);
+            if (key == null) {
+                filesToAnalyze.add(file);
+            } else if (!resultCache.contains(key) && keysToAnalyze.add(key)) {
+                keysByFile.put(file, key);
+                filesToAnalyze.add(file);
+            } else {
+                keysByFile.put(file, key);
+                duplicateFiles.add(file);
+            }
+        }
+
+        // the first file with each content is analyzed with all rules, and its violations cached.
+        // Only the violations of files that can be cached are kept, and those of a file are
+        // dropped as soon as they no longer fit in the cache.
+        Map<Path, List<ScannedViolation>> violationsByPath = new HashMap<>();
+        for (String file : filesToAnalyze) {
+            if (keysByFile.containsKey(file)) {
+                violationsByPath.put(toAbsolutePath(file), new ArrayList<>());
+            }
+        }
+        analyzeWithPooledChecks(
+                filesToAnalyze,
+                rules,
+                classpath,
+                violation -> {
+                    List<ScannedViolation> violations =
+                            violationsByPath.get(violation.getAbsolutePath());
+                    if (violations != null) {
+                        if (resultCache.fits(violations.size() + 1)) {
+                            violations.add((ScannedViolation) violation);
+                        } else {
+                            violationsByPath.remove(violation.getAbsolutePath());
+                        }
+                    }
+                    violationConsumer.accept(violation);
+                },
+                analysis);
+        for (String file : filesToAnalyze) {
+            String key = keysByFile.get(file);
+            List<ScannedViolation> violations = violationsByPath.get(toAbsolutePath(file));
+            if (key != null && violations != null && !abandonedFiles.contains(file)) {
+                resultCache.put(key, violations);
+            }
+        }
+
+        // the others get the cached violations, unless those have since been evicted or were
+        // never cached because the analysis was abandoned
+        List<String> cachedFiles = new ArrayList<>();
+        List<String> uncachedFiles = new ArrayList<>();
+        for (String file : duplicateFiles) {
+            List<ScannedViolation> cachedViolations = resultCache.get(keysByFile.get(file));
+            if (cachedViolations == null) {
+                uncachedFiles.add(file);
+            } else {
+                Path absolutePath = toAbsolutePath(file);
+                cachedViolations.forEach(
+                        violation -> violationConsumer.accept(violation.relocate(absolutePath)));
+                cachedFiles.add(file);
+            }
+        }
+        analyzeWithPooledChecks(uncachedFiles, rules, classpath, violationConsumer, analysis);
+
+        List<Rule> pathDependentRules =
                 rules.stream()
-                        .map(Rule::getKey)
-                        .map(Checks::getCheckInstance)
+                        .filter(
+                                rule ->
+                                        AnalysisResultCache.PATH_DEPENDENT_RULES.contains(
+                                                rule.getKey()))
                         .collect(Collectors.toList());
-        var filepaths = files.stream().map(File::toString).collect(Collectors.toList());
-        return RuleVerifier.analyze(filepaths, projectRoot, checks, classpath);
+        if (!pathDependentRules.isEmpty()) {
+            analyzeWithPooledChecks(
+                    cachedFiles, pathDependentRules, classpath, violationConsumer, analysis);
+        }
+    }
+
+    /** The path that Sonar reports violations in a file at, see {@link ScannedViolation}. */
+    private Path toAbsolutePath(String file) {
+        return Paths.get(projectRoot.toString() + File.separator)
+                .resolve(file)
+                .toAbsolutePath()
+                .normalize();
+    }
+
+    private void analyzeWithPooledChecks(
+            List<String> filesToScan,
+            List<Rule> rules,
+            List<String> classpath,
+            Consumer<RuleViolation> violationConsumer,
+            Analysis analysis) {
+        var ruleKeys = rules.stream().map(Rule::getKey).collect(Collectors.toList());
+        AnalysisEnvironment environment =
+                environments.computeIfAbsent(
+                        List.copyOf(classpath), cp -> new AnalysisEnvironment(projectRoot, cp));
+        // checks are only put back into the pool if the analysis completes, as a check may be in
+        // any state after a crash
+        if (watchdog == null) {
+            var checks = CheckPool.acquire(ruleKeys);
+            analysis.analyze(filesToScan, environment, checks, violationConsumer, () -> false);
+            CheckPool.release(checks);
+        } else if (projectAbandoned) {
+            abandonedFiles.addAll(filesToScan);
+        } else {
+            try {
+                // each attempt gets its own checks, as an abandoned attempt may still be running
+                watchdog.analyze(
+                        filesToScan,
+                        violationConsumer,
+                        (files, consumer, cancellationCheck) -> {
+                            var checks = CheckPool.acquire(ruleKeys);
+                            analysis.analyze(
+                                    files, environment, checks, consumer, cancellationCheck);
+                            CheckPool.release(checks);
+                        });
+            } catch (AnalysisWatchdog.AbandonedAnalysisException e) {
+                // the project is given up on, so no later scan starts any more workers either
+                projectAbandoned = true;
+                abandonedFiles.addAll(e.getRemainingFiles());
+                EventHelper.fireEvent(
+                        new CrashEvent("Abandoned analysis of project: " + projectRoot, e),
+                        eventHandlers);
+            }
+        }
+    }
+
+    /** An analysis of files, identified by strings, with a given set of checks. */
+    @FunctionalInterface
+    private interface Analysis {
+        void analyze(
+                List<String> filesToScan,
+                AnalysisEnvironment environment,
+                List<JavaFileScanner> checks,
+                Consumer<RuleViolation> violationConsumer,
+                BooleanSupplier cancellationCheck);
     }
 }
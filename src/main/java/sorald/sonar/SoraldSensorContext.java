@@ -0,0 +1,224 @@
+package sorald.sonar;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.File;
+import java.io.Serializable;
+import org.sonar.api.SonarRuntime;
+import org.sonar.api.batch.bootstrap.ProjectDefinition;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.api.batch.fs.InputModule;
+import org.sonar.api.batch.fs.internal.DefaultFileSystem;
+import org.sonar.api.batch.fs.internal.DefaultInputModule;
+import org.sonar.api.batch.fs.internal.DefaultInputProject;
+import org.sonar.api.batch.rule.ActiveRules;
+import org.sonar.api.batch.rule.internal.ActiveRulesBuilder;
+import org.sonar.api.batch.sensor.SensorContext;
+import org.sonar.api.batch.sensor.code.NewSignificantCode;
+import org.sonar.api.batch.sensor.code.internal.DefaultSignificantCode;
+import org.sonar.api.batch.sensor.coverage.NewCoverage;
+import org.sonar.api.batch.sensor.coverage.internal.DefaultCoverage;
+import org.sonar.api.batch.sensor.cpd.NewCpdTokens;
+import org.sonar.api.batch.sensor.cpd.internal.DefaultCpdTokens;
+import org.sonar.api.batch.sensor.error.AnalysisError;
+import org.sonar.api.batch.sensor.error.NewAnalysisError;
+import org.sonar.api.batch.sensor.error.internal.DefaultAnalysisError;
+import org.sonar.api.batch.sensor.highlighting.NewHighlighting;
+import org.sonar.api.batch.sensor.highlighting.internal.DefaultHighlighting;
+import org.sonar.api.batch.sensor.internal.SensorStorage;
+import org.sonar.api.batch.sensor.issue.Issue;
+import org.sonar.api.batch.sensor.issue.NewExternalIssue;
+import org.sonar.api.batch.sensor.issue.NewIssue;
+import org.sonar.api.batch.sensor.issue.internal.DefaultExternalIssue;
+import org.sonar.api.batch.sensor.issue.internal.DefaultIssue;
+import org.sonar.api.batch.sensor.measure.Measure;
+import org.sonar.api.batch.sensor.measure.NewMeasure;
+import org.sonar.api.batch.sensor.measure.internal.DefaultMeasure;
+import org.sonar.api.batch.sensor.rule.NewAdHocRule;
+import org.sonar.api.batch.sensor.rule.internal.DefaultAdHocRule;
+import org.sonar.api.batch.sensor.symbol.NewSymbolTable;
+import org.sonar.api.batch.sensor.symbol.internal.DefaultSymbolTable;
+import org.sonar.api.config.Configuration;
+import org.sonar.api.config.Settings;
+import org.sonar.api.config.internal.MapSettings;
+import org.sonar.api.internal.SonarRuntimeImpl;
+import org.sonar.api.scanner.fs.InputProject;
+import org.sonar.api.utils.Version;
+
+/**
+ * A minimal sensor context for running sonar-java checks in Sorald.
+ *
+ * <p>The context presents itself as a SonarLint runtime, which makes sonar-java skip computing
+ * metrics, syntax highlighting and symbol tables for reporting. Sorald only needs the issues, and
+ * those are intercepted directly by {@link RuleVerifier}. Whatever else is stored through the
+ * context, should a sonar-java version do so, is silently discarded, and there are no active rules
+ * as the checks are instantiated by Sorald itself.
+ */
+@SuppressWarnings("deprecation")
+class SoraldSensorContext implements SensorContext {
+    private static final SonarRuntime RUNTIME = SonarRuntimeImpl.forSonarLint(Version.create(7, 9));
+    private static final ActiveRules ACTIVE_RULES = new ActiveRulesBuilder().build();
+    private static final SensorStorage DISCARDING_STORAGE = new DiscardingSensorStorage();
+
+    private final MapSettings settings;
+    private final DefaultFileSystem fs;
+    private final DefaultInputModule module;
+    private final DefaultInputProject project;
+
+    /**
+     * @param baseDir The base directory of the analyzed project.
+     * @param settings Settings for the analysis.
+     */
+    SoraldSensorContext(File baseDir, MapSettings settings) {
+        this.settings = settings;
+        fs = new DefaultFileSystem(baseDir).setEncoding(UTF_8);
+        ProjectDefinition projectDefinition =
+                ProjectDefinition.create()
+                        .setKey("sorald")
+                        .setBaseDir(baseDir)
+                        .setWorkDir(new File(baseDir, ".sonar"));
+        module = new DefaultInputModule(projectDefinition);
+        project = new DefaultInputProject(projectDefinition);
+    }
+
+    @Override
+    public Settings settings() {
+        return settings;
+    }
+
+    @Override
+    public Configuration config() {
+        return settings.asConfig();
+    }
+
+    @Override
+    public DefaultFileSystem fileSystem() {
+        return fs;
+    }
+
+    @Override
+    public ActiveRules activeRules() {
+        return ACTIVE_RULES;
+    }
+
+    @Override
+    public InputModule module() {
+        return module;
+    }
+
+    @Override
+    public InputProject project() {
+        return project;
+    }
+
+    @Override
+    public Version getSonarQubeVersion() {
+        return RUNTIME.getApiVersion();
+    }
+
+    @Override
+    public SonarRuntime runtime() {
+        return RUNTIME;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return false;
+    }
+
+    @Override
+    public <G extends Serializable> NewMeasure<G> newMeasure() {
+        return new DefaultMeasure<>(DISCARDING_STORAGE);
+    }
+
+    @Override
+    public NewIssue newIssue() {
+        return new DefaultIssue(project, DISCARDING_STORAGE);
+    }
+
+    @Override
+    public NewExternalIssue newExternalIssue() {
+        return new DefaultExternalIssue(project, DISCARDING_STORAGE);
+    }
+
+    @Override
+    public NewAdHocRule newAdHocRule() {
+        return new DefaultAdHocRule(DISCARDING_STORAGE);
+    }
+
+    @Override
+    public NewHighlighting newHighlighting() {
+        return new DefaultHighlighting(DISCARDING_STORAGE);
+    }
+
+    @Override
+    public NewSymbolTable newSymbolTable() {
+        return new DefaultSymbolTable(DISCARDING_STORAGE);
+    }
+
+    @Override
+    public NewCoverage newCoverage() {
+        return new DefaultCoverage(DISCARDING_STORAGE);
+    }
+
+    @Override
+    public NewCpdTokens newCpdTokens() {
+        return new DefaultCpdTokens(DISCARDING_STORAGE);
+    }
+
+    @Override
+    public NewAnalysisError newAnalysisError() {
+        return new DefaultAnalysisError(DISCARDING_STORAGE);
+    }
+
+    @Override
+    public NewSignificantCode newSignificantCode() {
+        return new DefaultSignificantCode(DISCARDING_STORAGE);
+    }
+
+    @Override
+    public void addContextProperty(String key, String value) {
+        // context properties are only reported to a SonarQube server
+    }
+
+    @Override
+    public void markForPublishing(InputFile inputFile) {
+        // there is no SonarQube server to publish to
+    }
+
+    /** Storage that discards everything, as Sorald only needs the issues that checks report. */
+    private static class DiscardingSensorStorage implements SensorStorage {
+        @Override
+        public void store(Measure measure) {}
+
+        @Override
+        public void store(Issue issue) {}
+
+        @Override
+        public void store(DefaultExternalIssue issue) {}
+
+        @Override
+        public void store(DefaultAdHocRule adHocRule) {}
+
+        @Override
+        public void store(DefaultHighlighting highlighting) {}
+
+        @Override
+        public void store(DefaultCoverage coverage) {}
+
+        @Override
+        public void store(DefaultCpdTokens cpdTokens) {}
+
+        @Override
+        public void store(DefaultSymbolTable symbolTable) {}
+
+        @Override
+        public void store(AnalysisError analysisError) {}
+
+        @Override
+        public void storeProperty(String key, String value) {}
+
+        @Override
+        public void store(DefaultSignificantCode significantCode) {}
+    }
+}
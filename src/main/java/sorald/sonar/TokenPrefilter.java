@@ -0,0 +1,110 @@
+package sorald.sonar;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import sorald.rule.Rule;
+
+/**
+ * A cheap lexical filter that rules out files that cannot possibly violate any of a set of rules,
+ * such that they need not be parsed and analyzed by Sonar.
+ *
+ * <p>A rule can only take part in the filtering if the Sonar check for it can only report an issue
+ * when at least one of a few tokens occurs in the source text of the file itself. For example,
+ * S2111 only reports constructor calls of {@code BigDecimal}, so a file without the text {@code
+ * BigDecimal} cannot violate it. Note that tokens must not rely on type information, as types may
+ * be declared in other files. Rules for which no tokens are known can violate any file.
+ */
+class TokenPrefilter {
+    private static final Map<String, List<String>> REQUIRED_TOKENS =
+            Map.of(
+                    // new BigDecimal(double)
+                    "S2111",
+                    List.of("BigDecimal"),
+                    // the atomic may be declared in another file, but equals must be called on it
+                    "S2204",
+                    List.of("equals"),
+                    // the issue is reported on the creation of the XML parser or its factory
+                    "S2755",
+                    List.of(
+                            "newInstance",
+                            "newFactory",
+                            "createXMLReader",
+                            "SAXBuilder",
+                            "SAXReader"),
+                    // Class.getClassLoader()
+                    "S3032",
+                    List.of("getClassLoader"));
+
+    /** Unicode escapes can spell out any token, so files with them can never be ruled out. */
+    private static final String UNICODE_ESCAPE = "\\u";
+
+    private final Set<String> tokens;
+
+    private TokenPrefilter(Set<String> tokens) {
+        this.tokens = tokens;
+    }
+
+    /**
+     * @param rules Rules to filter files for.
+     * @return A filter for the rules, or an empty optional if there is some rule that no tokens are
+     *     known for.
+     */
+    static Optional<TokenPrefilter> forRules(Collection<Rule> rules) {
+        if (rules.isEmpty()
+                || !rules.stream().map(Rule::getKey).allMatch(REQUIRED_TOKENS::containsKey)) {
+            return Optional.empty();
+        }
+        Set<String> tokens =
+                rules.stream()
+                        .map(Rule::getKey)
+                        .map(REQUIRED_TOKENS::get)
+                        .flatMap(List::stream)
+                        .collect(Collectors.toUnmodifiableSet());
+        return Optional.of(new TokenPrefilter(tokens));
+    }
+
+    /**
+     * @param files Files to filter.
+     * @return The files that may violate any of the rules, in the same order as given.
+     */
+    List<File> filter(List<File> files) {
+        return files.stream()
+                .filter(file -> mayViolate(() -> Files.readAllBytes(file.toPath())))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @param sources In-memory sources to filter.
+     * @return The sources that may violate any of the rules, in the same order as given.
+     */
+    List<InMemorySourceFile> filterSources(List<InMemorySourceFile> sources) {
+        return sources.stream()
+                .filter(source -> mayViolate(source::loadContents))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Scan the bytes of the file for any of the tokens. The tokens are plain ASCII, so decoding the
+     * file as ISO-8859-1, which maps each byte to a single character, finds them in any ASCII
+     * compatible encoding without the cost of actually decoding the file.
+     */
+    private boolean mayViolate(InMemorySourceFile.ContentLoader contentLoader) {
+        String content;
+        try {
+            content = new String(contentLoader.load(), ISO_8859_1);
+        } catch (IOException e) {
+            // leave it to Sonar to deal with unreadable files
+            return true;
+        }
+        return content.contains(UNICODE_ESCAPE) || tokens.stream().anyMatch(content::contains);
+    }
+}
@@ -0,0 +1,326 @@
+package sorald.util;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+import sorald.FileUtils;
+
+/**
+ * A persistent cache of resolved project classpaths. Resolving the classpath of a Maven project
+ * means running Maven, which typically takes far longer than anything else that Sorald does at
+ * startup, while the result only changes when the build files do.
+ *
+ * <p>A cached classpath is keyed by the path, size and modification time of each file that goes
+ * into the effective poms of the project: all of the project's pom files, parent poms outside of
+ * the project, whether found by relative path or in the local repository, the user and global Maven
+ * settings and the Maven configuration of the project. It is only used if each jar on it still has
+ * the size and modification time that it had when the classpath was resolved.
+ *
+ * <p>Anything else that Maven resolves the classpath from is not part of the key. Most notably, a
+ * changed parent pom or dependency in a remote repository, or a profile that is activated by the
+ * environment, goes unnoticed until the cached classpath is removed from the cache directory.
+ */
+class ClasspathCache {
+    private static final String POM_FILE_NAME = "pom.xml";
+    private static final String DEFAULT_PARENT_PATH = "../" + POM_FILE_NAME;
+    private static final String BUILD_FILES_KEY = "buildFiles";
+    private static final String CLASSPATH_KEY = "classpath";
+
+    private final Path cacheDir;
+
+    /** @param cacheDir Directory to store cached classpaths in. */
+    ClasspathCache(Path cacheDir) {
+        this.cacheDir = cacheDir;
+    }
+
+    /**
+     * Get the cached classpath of the project, or resolve and cache it if there is no valid cached
+     * classpath.
+     *
+     * @param projectRoot Root directory of the project.
+     * @param resolver Resolver of the classpath of the project.
+     * @return The classpath of the project.
+     */
+    List<String> get(Path projectRoot, Supplier<List<String>> resolver) {
+        Path root = projectRoot.toAbsolutePath().normalize();
+        Path cacheFile = cacheDir.resolve(cacheFileName(root));
+        List<FileStamp> buildFiles = stampBuildFiles(root);
+
+        Optional<List<String>> cached = readCachedClasspath(cacheFile, buildFiles);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        List<String> classpath = resolver.get();
+        writeCachedClasspath(cacheFile, buildFiles, classpath);
+        return classpath;
+    }
+
+    private static Optional<List<String>> readCachedClasspath(
+            Path cacheFile, List<FileStamp> buildFiles) {
+        if (!Files.isRegularFile(cacheFile)) {
+            return Optional.empty();
+        }
+
+        try {
+            JSONObject cached = FileUtils.readJSON(cacheFile);
+            if (!fromJSON(cached.getJSONArray(BUILD_FILES_KEY)).equals(buildFiles)) {
+                return Optional.empty();
+            }
+            List<FileStamp> classpath = fromJSON(cached.getJSONArray(CLASSPATH_KEY));
+            boolean upToDate =
+                    classpath.stream()
+                            .allMatch(entry -> entry.equals(FileStamp.of(Path.of(entry.path))));
+            return upToDate
+                    ? Optional.of(
+                            classpath.stream()
+                                    .map(entry -> entry.path)
+                                    .collect(Collectors.toList()))
+                    : Optional.empty();
+        } catch (IOException | JSONException e) {
+            // a corrupt cache file is no worse than a missing one
+            return Optional.empty();
+        }
+    }
+
+    private void writeCachedClasspath(
+            Path cacheFile, List<FileStamp> buildFiles, List<String> classpath) {
+        JSONObject cached = new JSONObject();
+        cached.put(BUILD_FILES_KEY, toJSON(buildFiles));
+        cached.put(
+                CLASSPATH_KEY,
+                toJSON(
+                        classpath.stream()
+                                .map(entry -> FileStamp.of(Path.of(entry)))
+                                .collect(Collectors.toList())));
+        try {
+            Files.createDirectories(cacheDir);
+            Files.writeString(cacheFile, cached.toString(), UTF_8);
+        } catch (IOException e) {
+            // caching is only an optimization, the classpath itself has still been resolved
+            e.printStackTrace();
+        }
+    }
+
+    /** Stamp all files that go into the effective poms of the project. */
+    private static List<FileStamp> stampBuildFiles(Path projectRoot) {
+        List<Path> poms = findPoms(projectRoot);
+        Set<Path> buildFiles = new TreeSet<>(poms);
+        for (Path pom : poms) {
+            addParentPoms(pom, buildFiles);
+        }
+        buildFiles.add(projectRoot.resolve(".mvn").resolve("maven.config"));
+        buildFiles.add(projectRoot.resolve(".mvn").resolve("extensions.xml"));
+        buildFiles.add(userMavenDir().resolve("settings.xml"));
+        mavenHome().ifPresent(home -> buildFiles.add(home.resolve("conf").resolve("settings.xml")));
+        return buildFiles.stream().map(FileStamp::of).collect(Collectors.toList());
+    }
+
+    /**
+     * Add the chain of parent poms of a pom, as Maven finds them: by relative path if the pom there
+     * is a file, and in the local repository otherwise.
+     */
+    private static void addParentPoms(Path pom, Set<Path> buildFiles) {
+        Optional<Element> parent = readParent(pom);
+        if (parent.isEmpty()) {
+            return;
+        }
+        String relativePath = childText(parent.get(), "relativePath").orElse(DEFAULT_PARENT_PATH);
+        Path parentPom = relativePath.isBlank() ? null : pom.resolveSibling(relativePath);
+        if (parentPom != null && Files.isDirectory(parentPom)) {
+            parentPom = parentPom.resolve(POM_FILE_NAME);
+        }
+        if (parentPom == null || !Files.isRegularFile(parentPom)) {
+            Optional<String> groupId = childText(parent.get(), "groupId");
+            Optional<String> artifactId = childText(parent.get(), "artifactId");
+            Optional<String> version = childText(parent.get(), "version");
+            if (groupId.isEmpty() || artifactId.isEmpty() || version.isEmpty()) {
+                return;
+            }
+            parentPom =
+                    localRepository()
+                            .resolve(groupId.get().replace('.', '/'))
+                            .resolve(artifactId.get())
+                            .resolve(version.get())
+                            .resolve(artifactId.get() + "-" + version.get() + ".pom");
+        }
+        parentPom = parentPom.toAbsolutePath().normalize();
+        if (buildFiles.add(parentPom) && Files.isRegularFile(parentPom)) {
+            addParentPoms(parentPom, buildFiles);
+        }
+    }
+
+    private static Optional<Element> readParent(Path pom) {
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            Element project = factory.newDocumentBuilder().parse(pom.toFile()).getDocumentElement();
+            return childElement(project, "parent");
+        } catch (IOException | ParserConfigurationException | SAXException e) {
+            // Maven fails on a pom it can't parse, so there is no classpath to keep fresh anyway
+            return Optional.empty();
+        }
+    }
+
+    private static Optional<Element> childElement(Element element, String name) {
+        NodeList children = element.getChildNodes();
+        for (int i = 0; i < children.getLength(); i++) {
+            Node child = children.item(i);
+            if (child instanceof Element && name.equals(child.getNodeName())) {
+                return Optional.of((Element) child);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static Optional<String> childText(Element element, String name) {
+        return childElement(element, name).map(child -> child.getTextContent().trim());
+    }
+
+    private static Path userMavenDir() {
+        return Path.of(System.getProperty("user.home"), ".m2");
+    }
+
+    private static Path localRepository() {
+        String localRepository = System.getProperty("maven.repo.local");
+        return localRepository != null
+                ? Path.of(localRepository)
+                : userMavenDir().resolve("repository");
+    }
+
+    private static Optional<Path> mavenHome() {
+        return Stream.of(System.getenv("MAVEN_HOME"), System.getenv("M2_HOME"))
+                .filter(Objects::nonNull)
+                .map(Path::of)
+                .findFirst();
+    }
+
+    /** Find all pom files of the project, skipping build output and hidden directories. */
+    private static List<Path> findPoms(Path projectRoot) {
+        List<Path> poms = new ArrayList<>();
+        try {
+            Files.walkFileTree(
+                    projectRoot,
+                    new SimpleFileVisitor<>() {
+                        @Override
+                        public FileVisitResult preVisitDirectory(
+                                Path dir, BasicFileAttributes attrs) {
+                            String name = dir.getFileName().toString();
+                            return !dir.equals(projectRoot)
+                                            && (name.startsWith(".") || name.equals("target"))
+                                    ? FileVisitResult.SKIP_SUBTREE
+                                    : FileVisitResult.CONTINUE;
+                        }
+
+                        @Override
+                        public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                            if (file.getFileName().toString().equals(POM_FILE_NAME)) {
+                                poms.add(file);
+                            }
+                            return FileVisitResult.CONTINUE;
+                        }
+                    });
+        } catch (IOException e) {
+            throw new RuntimeException("failed to find pom files in " + projectRoot, e);
+        }
+        return poms;
+    }
+
+    private static String cacheFileName(Path projectRoot) {
+        return HashUtils.sha256Hex(projectRoot.toString()) + ".json";
+    }
+
+    private static JSONArray toJSON(List<FileStamp> stamps) {
+        JSONArray array = new JSONArray();
+        for (FileStamp stamp : stamps) {
+            array.put(
+                    new JSONObject()
+                            .put("path", stamp.path)
+                            .put("size", stamp.size)
+                            .put("lastModified", stamp.lastModified));
+        }
+        return array;
+    }
+
+    private static List<FileStamp> fromJSON(JSONArray array) {
+        List<FileStamp> stamps = new ArrayList<>();
+        for (int i = 0; i < array.length(); i++) {
+            JSONObject stamp = array.getJSONObject(i);
+            stamps.add(
+                    new FileStamp(
+                            stamp.getString("path"),
+                            stamp.getLong("size"),
+                            stamp.getLong("lastModified")));
+        }
+        return stamps;
+    }
+
+    /**
+     * The path, size and modification time of a file. The size and modification time of a missing
+     * file are -1, and directories are only stamped with their path, as their contents do not
+     * affect the classpath.
+     */
+    private static class FileStamp {
+        private final String path;
+        private final long size;
+        private final long lastModified;
+
+        FileStamp(String path, long size, long lastModified) {
+            this.path = path;
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+
+        static FileStamp of(Path file) {
+            try {
+                BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+                return attrs.isDirectory()
+                        ? new FileStamp(file.toString(), 0, 0)
+                        : new FileStamp(
+                                file.toString(), attrs.size(), attrs.lastModifiedTime().toMillis());
+            } catch (IOException e) {
+                return new FileStamp(file.toString(), -1, -1);
+            }
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof FileStamp)) {
+                return false;
+            }
+            var other = (FileStamp) obj;
+            return path.equals(other.path)
+                    && size == other.size
+                    && lastModified == other.lastModified;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(path, size, lastModified);
+        }
+    }
+}
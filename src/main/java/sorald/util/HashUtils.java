@@ -0,0 +1,37 @@
+package sorald.util;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/** Utility methods for hashing, such as for naming cache entries after their keys */
+public class HashUtils {
+    private HashUtils() {}
+
+    /**
+     * @param bytes Bytes to hash.
+     * @return The SHA-256 digest of the bytes as a lower case hex string.
+     */
+    public static String sha256Hex(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            StringBuilder hex = new StringBuilder(2 * digest.length);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xf, 16))
+                        .append(Character.forDigit(b & 0xf, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * @param string A string to hash.
+     * @return The SHA-256 digest of the UTF-8 encoding of the string as a lower case hex string.
+     */
+    public static String sha256Hex(String string) {
+        return sha256Hex(string.getBytes(UTF_8));
+    }
+}
@@ -20,6 +20,29 @@ public class MavenUtils {
         return List.of(launcher.getEnvironment().getSourceClasspath());
     }
 
+    /**
+     * Resolve the full classpath for a Maven project, caching it on disk. The cached classpath is
+     * only resolved anew if a file that goes into the effective poms of the project, or a jar on
+     * the cached classpath, has changed. See {@link ClasspathCache} for what goes unnoticed.
+     *
+     * @param source Path to the root of a Maven project
+     * @param cacheDir Directory to cache the classpath in, or null to not cache it
+     * @return The full source classpath
+     */
+    public static List<String> resolveClasspath(Path source, Path cacheDir) {
+        return cacheDir == null
+                ? resolveClasspath(source)
+                : new ClasspathCache(cacheDir).get(source, () -> resolveAnew(source));
+    }
+
+    private static List<String> resolveAnew(Path source) {
+        // on a cache miss, Spoon's own classpath file may be stale as it is not invalidated by
+        // changes to the poms
+        MavenLauncher launcher =
+                new MavenLauncher(source.toString(), MavenLauncher.SOURCE_TYPE.ALL_SOURCE, true);
+        return List.of(launcher.getEnvironment().getSourceClasspath());
+    }
+
     /**
      * Test whether or not the given source path points to the root of a Maven project.
      *
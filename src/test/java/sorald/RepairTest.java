@@ -2,6 +2,7 @@ package sorald;
 
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
 
 import java.io.File;
 import java.io.IOException;
@@ -43,4 +44,35 @@ public class RepairTest {
             assertThat(msg, containsString("expected rule violations for precisely 1 rule key"));
         }
     }
+
+    @Test
+    public void getModifiedFiles_containsOnlyRepairedFiles(@TempDir File workdir)
+            throws IOException {
+        // arrange
+        File violatingFile = workdir.toPath().resolve("MultipleProcessors.java").toFile();
+        File otherFile = workdir.toPath().resolve("ArrayHashCodeAndToString.java").toFile();
+        org.apache.commons.io.FileUtils.copyFile(
+                TestHelper.PATH_TO_RESOURCES_FOLDER.resolve(violatingFile.getName()).toFile(),
+                violatingFile);
+        org.apache.commons.io.FileUtils.copyFile(
+                TestHelper.PATH_TO_RESOURCES_FOLDER.resolve(otherFile.getName()).toFile(),
+                otherFile);
+        SoraldConfig config = new SoraldConfig();
+        config.setSource(workdir.getAbsolutePath());
+        config.setRepairStrategy(RepairStrategy.DEFAULT);
+        config.setPrettyPrintingStrategy(PrettyPrintingStrategy.SNIPER);
+        config.setMaxFixesPerRule(Integer.MAX_VALUE);
+
+        Set<RuleViolation> violations =
+                ProjectScanner.scanProject(workdir, workdir, new SonarRule("S2111"));
+
+        // act
+        var repair = new Repair(config, List.of(), List.of());
+        repair.repair(violations);
+
+        // assert
+        assertThat(
+                repair.getModifiedFiles(),
+                equalTo(Set.of(violatingFile.toPath().toAbsolutePath().normalize())));
+    }
 }
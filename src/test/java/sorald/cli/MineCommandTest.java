@@ -0,0 +1,100 @@
+package sorald.cli;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.stream.Stream;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import sorald.Constants;
+import sorald.TestHelper;
+
+/** Tests of the validation of the arguments of the mine command. */
+class MineCommandTest {
+    private static final String SOURCE = TestHelper.PATH_TO_RESOURCES_FOLDER.toString();
+
+    /**
+     * Test that each invalid combination of options is rejected with an error naming the option.
+     */
+    @ParameterizedTest
+    @MethodSource("invalidArguments")
+    void mineCommand_rejectsInvalidOptions_namingTheOffendingOption(
+            String offendingOption, String[] args) {
+        var err = new StringWriter();
+
+        int exitStatus = Cli.createCli().setErr(new PrintWriter(err)).execute(args);
+
+        assertThat(exitStatus, not(equalTo(0)));
+        assertThat(err.toString(), startsWith(offendingOption + " "));
+    }
+
+    private static Stream<Arguments> invalidArguments() {
+        return Stream.of(
+                invalid(
+                        Constants.ARG_COMMIT_RANGE,
+                        Constants.ARG_SOURCE,
+                        SOURCE,
+                        Constants.ARG_COMMIT_RANGE,
+                        "HEAD"),
+                invalid(Constants.ARG_COMMIT_RANGE, Constants.ARG_COMMIT_RANGE, "HEAD~1..HEAD"),
+                invalid(
+                        Constants.ARG_NO_CHECKOUT,
+                        Constants.ARG_SOURCE,
+                        SOURCE,
+                        Constants.ARG_COMMIT_RANGE,
+                        "HEAD~1..HEAD",
+                        Constants.ARG_NO_CHECKOUT),
+                invalid(
+                        Constants.ARG_NO_CHECKOUT,
+                        Constants.ARG_SOURCE,
+                        SOURCE,
+                        Constants.ARG_NO_CHECKOUT),
+                invalid(Constants.ARG_RESUME, Constants.ARG_SOURCE, SOURCE, Constants.ARG_RESUME),
+                invalid(
+                        Constants.ARG_MIRROR_CACHE_DIR,
+                        Constants.ARG_SOURCE,
+                        SOURCE,
+                        Constants.ARG_MIRROR_CACHE_DIR,
+                        "mirrors"),
+                invalid(
+                        Constants.ARG_WORKER_PROCESSES,
+                        Constants.ARG_STATS_ON_GIT_REPOS,
+                        Constants.ARG_GIT_REPOS_LIST,
+                        "repos.txt",
+                        Constants.ARG_MINER_OUTPUT_FILE,
+                        "output.txt",
+                        Constants.ARG_WORKER_PROCESSES,
+                        "2"),
+                invalid(
+                        Constants.ARG_RESUME,
+                        Constants.ARG_STATS_ON_GIT_REPOS,
+                        Constants.ARG_GIT_REPOS_LIST,
+                        "repos.txt",
+                        Constants.ARG_MINER_OUTPUT_FILE,
+                        "output.txt",
+                        Constants.ARG_TEMP_DIR,
+                        "clones",
+                        Constants.ARG_WORKER_PROCESSES,
+                        "2",
+                        Constants.ARG_RESUME),
+                invalid(Constants.ARG_WORKER, Constants.ARG_WORKER, Constants.ARG_WORK_DIR, "work"),
+                invalid(
+                        Constants.ARG_WORK_DIR,
+                        Constants.ARG_SOURCE,
+                        SOURCE,
+                        Constants.ARG_WORK_DIR,
+                        "work"));
+    }
+
+    private static Arguments invalid(String offendingOption, String... args) {
+        return Arguments.of(
+                offendingOption,
+                Stream.concat(Stream.of(Constants.MINE_COMMAND_NAME), Stream.of(args))
+                        .toArray(String[]::new));
+    }
+}
@@ -0,0 +1,99 @@
+package sorald.event.collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sorald.FileUtils;
+import sorald.TestHelper;
+import sorald.event.models.WarningLocation;
+import sorald.event.models.miner.MinedRule;
+import sorald.event.models.miner.MinedViolationEvent;
+import sorald.miner.MineSonarWarnings;
+import sorald.rule.Rules;
+
+class MinerStatisticsCollectorTest {
+
+    /**
+     * Test that streaming the spilled warning locations into the statistics file gives the same
+     * JSON as serializing the collector through its getters does.
+     */
+    @Test
+    void writeJSON_givesSameJSON_asSerializingGetters(@TempDir Path workdir) throws Exception {
+        Path streamed = workdir.resolve("streamed.json");
+        Path serialized = workdir.resolve("serialized.json");
+        Map<String, Object> additionalData = Map.of("extra", List.of(1, 2));
+
+        try (var collector = new MinerStatisticsCollector()) {
+            new MineSonarWarnings(List.of(collector), List.of())
+                    .mineLocalProject(
+                            List.copyOf(Rules.getAllRules()),
+                            TestHelper.PATH_TO_RESOURCES_FOLDER
+                                    .resolve("processor_test_files")
+                                    .resolve("S2111_BigDecimalDoubleConstructor")
+                                    .toString());
+            collector.writeJSON(streamed.toFile(), additionalData);
+            FileUtils.writeJSON(serialized.toFile(), collector, additionalData);
+        }
+
+        JSONObject streamedJSON = FileUtils.readJSON(streamed);
+        assertThat(streamedJSON.getJSONArray("minedRules").length(), greaterThan(0));
+        assertThat(streamedJSON.similar(FileUtils.readJSON(serialized)), equalTo(true));
+    }
+
+    /**
+     * Test that no locations are lost when more rules are mined than there are spill files open for
+     * writing at a time, such that the spill files are closed and reopened along the way.
+     */
+    @Test
+    void getMinedRules_keepsAllLocations_whenMoreRulesAreMinedThanSpillsAreOpen() throws Exception {
+        int rules = MinerStatisticsCollector.MAX_OPEN_SPILLS * 2;
+        int locationsPerRule = 3;
+
+        try (var collector = new MinerStatisticsCollector()) {
+            for (int i = 0; i < locationsPerRule; i++) {
+                for (int rule = 0; rule < rules; rule++) {
+                    collector.registerEvent(minedViolation("S" + rule, i));
+                }
+            }
+
+            List<MinedRule> minedRules = collector.getMinedRules();
+            assertThat(minedRules, hasSize(rules));
+            for (MinedRule minedRule : minedRules) {
+                assertThat(
+                        minedRule.getWarningLocations().stream()
+                                .map(WarningLocation::getStartLine)
+                                .collect(Collectors.toList()),
+                        contains(1, 2, 3));
+            }
+        }
+    }
+
+    private static MinedViolationEvent minedViolation(String ruleKey, int index) {
+        int line = index + 1;
+        JSONObject location =
+                new JSONObject()
+                        .put("filePath", "Main.java")
+                        .put("startLine", line)
+                        .put("endLine", line)
+                        .put("startColumn", 0)
+                        .put("endColumn", 1)
+                        .put(
+                                "violationSpecifier",
+                                ruleKey + ":Main.java:" + line + ":0:" + line + ":1");
+        return MinedViolationEvent.fromJSON(
+                new JSONObject()
+                        .put("ruleKey", ruleKey)
+                        .put("ruleName", "Check" + ruleKey)
+                        .put("warningLocation", location));
+    }
+}
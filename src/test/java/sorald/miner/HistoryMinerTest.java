@@ -0,0 +1,132 @@
+package sorald.miner;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sorald.TestHelper;
+import sorald.rule.Rule;
+import sorald.rule.RuleType;
+import sorald.rule.Rules;
+
+class HistoryMinerTest {
+    private static final Path PROCESSOR_TEST_FILES =
+            TestHelper.PATH_TO_RESOURCES_FOLDER.resolve("processor_test_files");
+    private static final Path BIG_DECIMAL =
+            PROCESSOR_TEST_FILES
+                    .resolve("S2111_BigDecimalDoubleConstructor")
+                    .resolve("BigDecimalDoubleConstructor.java");
+    private static final Path MATH_ON_FLOAT =
+            PROCESSOR_TEST_FILES.resolve("S2164_MathOnFloat").resolve("MathOnFloat.java");
+
+    @TempDir File repoDir;
+
+    /**
+     * Test that adding up the deltas of the commits in a range gives the same violations in each
+     * commit as a full scan of that commit does.
+     */
+    @Test
+    void mine_givesDeltasThatAddUpToFullScans() throws Exception {
+        List<String> commits = new ArrayList<>();
+        try (Git git = Git.init().setDirectory(repoDir).call()) {
+            Path bigDecimal = repoDir.toPath().resolve("BigDecimalDoubleConstructor.java");
+            Path mathOnFloat = repoDir.toPath().resolve("src").resolve("MathOnFloat.java");
+
+            Files.copy(BIG_DECIMAL, bigDecimal);
+            commits.add(commit(git, "Add BigDecimal violations"));
+            Files.createDirectories(mathOnFloat.getParent());
+            Files.copy(MATH_ON_FLOAT, mathOnFloat);
+            Files.writeString(repoDir.toPath().resolve("README.md"), "not Java");
+            commits.add(commit(git, "Add math on float violations"));
+            Files.copy(
+                    Path.of(BIG_DECIMAL + ".expected"),
+                    bigDecimal,
+                    StandardCopyOption.REPLACE_EXISTING);
+            commits.add(commit(git, "Fix BigDecimal violations"));
+            Files.delete(mathOnFloat);
+            commits.add(commit(git, "Remove math on float violations"));
+        }
+        List<Rule> rules = List.copyOf(Rules.getRulesByType(RuleType.BUG));
+
+        List<HistoryMiner.CommitDelta> deltas = new ArrayList<>();
+        newHistoryMiner().mine(repoDir, commits.get(0) + ".." + commits.get(3), rules, deltas::add);
+
+        assertThat(
+                deltas.stream()
+                        .map(HistoryMiner.CommitDelta::getCommit)
+                        .collect(Collectors.toList()),
+                equalTo(commits));
+        assertThat(deltas.get(0).getDeltas(), hasEntry("S2111", 8));
+        assertThat(deltas.get(2).getDeltas(), hasEntry("S2111", -8));
+
+        var miner = new MineSonarWarnings(List.of(), List.of());
+        Map<String, Integer> accumulated = new HashMap<>();
+        for (int i = 0; i < commits.size(); i++) {
+            deltas.get(i)
+                    .getDeltas()
+                    .forEach((key, count) -> accumulated.merge(key, count, Integer::sum));
+            accumulated.values().removeIf(count -> count == 0);
+
+            Map<String, Integer> warnings =
+                    miner.extractWarningsFromCommit(repoDir, commits.get(i), rules);
+            Map<String, Integer> fullScan = new HashMap<>();
+            for (Rule rule : rules) {
+                int count = warnings.get(rule.getName() + "Check<" + rule.getKey() + ">");
+                if (count != 0) {
+                    fullScan.put(rule.getKey(), count);
+                }
+            }
+            assertThat("commit " + i, accumulated, equalTo(fullScan));
+        }
+    }
+
+    @Test
+    void mine_throwsOnRange_whereStartIsNotAnAncestorOfEnd() throws Exception {
+        String first;
+        String second;
+        try (Git git = Git.init().setDirectory(repoDir).call()) {
+            Files.copy(BIG_DECIMAL, repoDir.toPath().resolve("BigDecimalDoubleConstructor.java"));
+            first = commit(git, "First");
+            Files.copy(MATH_ON_FLOAT, repoDir.toPath().resolve("MathOnFloat.java"));
+            second = commit(git, "Second");
+        }
+
+        List<String> mined = new ArrayList<>();
+        newHistoryMiner()
+                .mine(repoDir, first + ".." + second, List.of(), d -> mined.add(d.getCommit()));
+
+        assertThat(mined, contains(first, second));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> newHistoryMiner().mine(repoDir, second + ".." + first, List.of(), d -> {}));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> newHistoryMiner().mine(repoDir, first, List.of(), d -> {}));
+    }
+
+    private static HistoryMiner newHistoryMiner() {
+        return new HistoryMiner(List.of(), List.of(), null, null);
+    }
+
+    private static String commit(Git git, String message) throws Exception {
+        git.add().addFilepattern(".").call();
+        git.add().setUpdate(true).addFilepattern(".").call();
+        RevCommit commit = git.commit().setMessage(message).call();
+        return commit.name();
+    }
+}
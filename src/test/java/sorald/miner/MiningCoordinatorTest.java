@@ -0,0 +1,186 @@
+package sorald.miner;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sorald.event.collectors.MinerStatisticsCollector;
+import sorald.event.models.WarningLocation;
+
+class MiningCoordinatorTest {
+    @TempDir Path workDir;
+
+    /**
+     * Test that a worker that dies in the middle of a shard is replaced, and that the shard is
+     * given up on once its workers have died too many times.
+     */
+    @Test
+    void run_restartsCrashedWorkers_andGivesUpOnShardAfterMaxAttempts() throws Exception {
+        MiningQueue queue = MiningQueue.create(workDir, List.of("repo"), 1);
+        Path logDir = workDir.resolve("logs");
+        try (var statsCollector = new MinerStatisticsCollector()) {
+            // a worker that claims the shard and dies
+            var coordinator =
+                    new MiningCoordinator(
+                            queue,
+                            1,
+                            workerId ->
+                                    List.of(
+                                            "sh",
+                                            "-c",
+                                            "mv \"$0/pending/shard-00000\" \"$0/claimed/shard-00000@$1\" && exit 1",
+                                            workDir.toString(),
+                                            workerId),
+                            logDir,
+                            List.of(statsCollector));
+
+            coordinator.run();
+
+            assertThat(queue.failedShards(), contains("shard-00000"));
+            try (Stream<Path> logs = Files.list(logDir)) {
+                assertThat(
+                        logs.collect(Collectors.toList()),
+                        hasSize(MiningCoordinator.MAX_SHARD_ATTEMPTS));
+            }
+            assertThat(statsCollector.getCrashes(), hasSize(1));
+            assertThat(statsCollector.getMinedRules(), hasSize(0));
+        }
+    }
+
+    /**
+     * Test that the workers that are still alive are destroyed when the run gives up on workers
+     * that keep dying before they have claimed a shard.
+     */
+    @Test
+    void run_destroysLiveWorkers_whenGivingUpOnIdleCrashes() throws Exception {
+        MiningQueue queue = MiningQueue.create(workDir, List.of("a", "b"), 1);
+        Path pidFile = workDir.resolve("sleeper.pid");
+        // the worker that claims the first shard keeps mining it, and all others die idle
+        var coordinator =
+                new MiningCoordinator(
+                        queue,
+                        2,
+                        workerId ->
+                                List.of(
+                                        "sh",
+                                        "-c",
+                                        "mv \"$0/pending/shard-00000\" \"$0/claimed/shard-00000@$1\""
+                                                + " || exit 1; echo $$ > \"$0/sleeper.pid\"; exec sleep 60",
+                                        workDir.toString(),
+                                        workerId),
+                        workDir.resolve("logs"),
+                        List.of());
+
+        assertThrows(IOException.class, coordinator::run);
+
+        long pid = Long.parseLong(Files.readString(pidFile).trim());
+        assertThat(ProcessHandle.of(pid).map(ProcessHandle::isAlive).orElse(false), is(false));
+    }
+
+    /**
+     * Test that the merged output and statistics cover the same repositories when a worker dies in
+     * the middle of a repository, after its events have reached the statistics journal but before
+     * it was recorded as completed.
+     */
+    @Test
+    void run_givesStatsOfMergedOutput_whenWorkerDiesMidShard() throws Exception {
+        MiningQueue queue = MiningQueue.create(workDir, List.of("a", "b", "c", "d"), 2);
+        Path fixtureDir = Files.createDirectory(workDir.resolve("fixtures"));
+        writeShard(fixtureDir.resolve("shard-00000.out"), List.of("a", "b"), null);
+        writeShard(fixtureDir.resolve("shard-00001.out"), List.of("c"), "d");
+        Path mergedOutput = workDir.resolve("merged.txt");
+        // a worker that copies the output of each shard it claims into place, and dies on the
+        // partial repository of the second shard
+        String worker =
+                "for claim in \"$0\"/pending/shard-*; do"
+                        + " shard=$(basename \"$claim\");"
+                        + " mv \"$claim\" \"$0/claimed/$shard@$1\" || continue;"
+                        + " cp \"$0\"/fixtures/$shard.* \"$0/output/\";"
+                        + " [ \"$shard\" = shard-00001 ] && exit 1;"
+                        + " mv \"$0/claimed/$shard@$1\" \"$0/done/$shard\";"
+                        + " done";
+
+        try (var statsCollector = new MinerStatisticsCollector()) {
+            var coordinator =
+                    new MiningCoordinator(
+                            queue,
+                            1,
+                            workerId -> List.of("sh", "-c", worker, workDir.toString(), workerId),
+                            workDir.resolve("logs"),
+                            List.of(statsCollector));
+
+            coordinator.run();
+            coordinator.mergeOutputs(mergedOutput);
+
+            assertThat(
+                    Files.readAllLines(mergedOutput),
+                    contains("RepoName: a", "RepoName: b", "RepoName: c"));
+            assertThat(statsCollector.getMinedRules(), hasSize(1));
+            assertThat(
+                    statsCollector.getMinedRules().get(0).getWarningLocations().stream()
+                            .map(WarningLocation::getFilePath)
+                            .collect(Collectors.toList()),
+                    contains("a/Main.java", "b/Main.java", "c/Main.java"));
+            assertThat(statsCollector.getCrashes(), hasSize(1));
+            assertThat(queue.failedShards(), equalTo(List.of("shard-00001")));
+        }
+    }
+
+    /**
+     * Write the output and journals of a shard as a worker would, with a report and a mined
+     * violation for each completed repository, and a partial repository whose events are in the
+     * statistics journal but which was not recorded as completed.
+     */
+    private static void writeShard(Path output, List<String> completedRepos, String partialRepo)
+            throws IOException {
+        Path statsJournal = Path.of(output + MineSonarWarnings.STATS_JOURNAL_SUFFIX);
+        try (MiningJournal journal =
+                MiningJournal.start(
+                        Path.of(output + MineSonarWarnings.JOURNAL_SUFFIX), output, statsJournal)) {
+            for (String repo : completedRepos) {
+                appendReport(output, statsJournal, repo);
+                journal.recordCompleted(repo, null, Files.size(output), Files.size(statsJournal));
+            }
+        }
+        if (partialRepo != null) {
+            appendReport(output, statsJournal, partialRepo);
+        }
+    }
+
+    private static void appendReport(Path output, Path statsJournal, String repo)
+            throws IOException {
+        Files.writeString(
+                output,
+                "RepoName: " + repo + "\n",
+                StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND);
+        JSONObject location =
+                new JSONObject()
+                        .put("filePath", repo + "/Main.java")
+                        .put("startLine", 1)
+                        .put("endLine", 1)
+                        .put("startColumn", 0)
+                        .put("endColumn", 1)
+                        .put("violationSpecifier", "S1854:" + repo + "/Main.java:1:0:1:1");
+        JSONObject event =
+                new JSONObject()
+                        .put("type", "MINED")
+                        .put("ruleKey", "S1854")
+                        .put("ruleName", "DeadStoreCheck")
+                        .put("warningLocation", location);
+        Files.writeString(statsJournal, event + "\n", StandardOpenOption.APPEND);
+    }
+}
@@ -0,0 +1,110 @@
+package sorald.miner;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MiningJournalTest {
+    @TempDir Path workdir;
+
+    private Path output;
+    private Path journalFile;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        output = Files.writeString(workdir.resolve("output.txt"), "earlier run\n");
+        journalFile = workdir.resolve("output.txt.journal");
+    }
+
+    @Test
+    public void resume_skipsCompletedRepos_andTruncatesPartialReports() throws IOException {
+        try (MiningJournal journal = MiningJournal.start(journalFile, output)) {
+            appendOutput("first\n");
+            journal.recordCompleted("first.git", "abc", Files.size(output));
+        }
+        // a run that dies while writing a report and its record
+        appendOutput("partial");
+        Files.writeString(journalFile, "{\"repo\":\"second.git\"", StandardOpenOption.APPEND);
+
+        try (MiningJournal journal = MiningJournal.resume(journalFile, output)) {
+            assertThat(journal.isCompleted("first.git"), equalTo(true));
+            assertThat(journal.isCompleted("second.git"), equalTo(false));
+            assertThat(Files.readString(output), equalTo("earlier run\nfirst\n"));
+
+            appendOutput("second\n");
+            journal.recordCompleted("second.git", null, Files.size(output));
+        }
+
+        try (MiningJournal journal = MiningJournal.resume(journalFile, output)) {
+            assertThat(journal.isCompleted("second.git"), equalTo(true));
+            assertThat(Files.readString(output), equalTo("earlier run\nfirst\nsecond\n"));
+        }
+    }
+
+    @Test
+    public void resume_keepsOutputOfEarlierRuns_whenNoRepoWasCompleted() throws IOException {
+        MiningJournal.start(journalFile, output).close();
+        appendOutput("partial");
+
+        try (MiningJournal journal = MiningJournal.resume(journalFile, output)) {
+            assertThat(journal.isCompleted("first.git"), equalTo(false));
+            assertThat(Files.readString(output), equalTo("earlier run\n"));
+        }
+    }
+
+    @Test
+    public void start_forgetsCompletedRepos_ofEarlierRuns() throws IOException {
+        try (MiningJournal journal = MiningJournal.start(journalFile, output)) {
+            journal.recordCompleted("first.git", "abc", Files.size(output));
+        }
+
+        MiningJournal.start(journalFile, output).close();
+
+        try (MiningJournal journal = MiningJournal.resume(journalFile, output)) {
+            assertThat(journal.isCompleted("first.git"), equalTo(false));
+        }
+    }
+
+    @Test
+    public void resume_truncatesStatsJournal_toEventsOfCompletedRepos() throws IOException {
+        Path statsJournal = workdir.resolve("output.txt.stats.journal");
+        Files.writeString(statsJournal, "events of an earlier run\n");
+        try (MiningJournal journal = MiningJournal.start(journalFile, output, statsJournal)) {
+            assertThat(Files.readString(statsJournal), equalTo(""));
+            appendOutput("first\n");
+            Files.writeString(statsJournal, "first events\n", StandardOpenOption.APPEND);
+            journal.recordCompleted(
+                    "first.git", "abc", Files.size(output), Files.size(statsJournal));
+        }
+        Files.writeString(statsJournal, "partial events", StandardOpenOption.APPEND);
+
+        MiningJournal.resume(journalFile, output, statsJournal).close();
+
+        assertThat(Files.readString(statsJournal), equalTo("first events\n"));
+    }
+
+    @Test
+    public void resume_throws_whenResumingRunWithoutStatsJournal_withStats() throws IOException {
+        try (MiningJournal journal = MiningJournal.start(journalFile, output)) {
+            journal.recordCompleted("first.git", "abc", Files.size(output));
+        }
+
+        assertThrows(
+                IllegalStateException.class,
+                () ->
+                        MiningJournal.resume(
+                                journalFile, output, workdir.resolve("output.txt.stats.journal")));
+    }
+
+    private void appendOutput(String text) throws IOException {
+        Files.writeString(output, text, StandardOpenOption.APPEND);
+    }
+}
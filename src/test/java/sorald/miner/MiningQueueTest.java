@@ -0,0 +1,52 @@
+package sorald.miner;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MiningQueueTest {
+    @TempDir Path workDir;
+
+    @Test
+    public void claim_givesEachShardToOneWorker_untilReleased() throws IOException {
+        MiningQueue queue = MiningQueue.create(workDir, List.of("a", "b", "c"), 2);
+
+        assertThat(queue.shards(), contains("shard-00000", "shard-00001"));
+        assertThat(queue.reposOf("shard-00001"), equalTo(List.of("c")));
+        assertThat(queue.claim("first"), equalTo(Optional.of("shard-00000")));
+        assertThat(queue.claim("second"), equalTo(Optional.of("shard-00001")));
+        assertThat(queue.claim("third"), equalTo(Optional.empty()));
+        assertThat(queue.claimingWorkers(), contains("first", "second"));
+
+        queue.release("shard-00000", "first");
+        queue.complete("shard-00001", "second");
+
+        assertThat(queue.claimsOf("first"), empty());
+        assertThat(queue.claim("third"), equalTo(Optional.of("shard-00000")));
+        assertThat(queue.isFinished(), equalTo(false));
+        queue.fail("shard-00000", "third");
+        assertThat(queue.isFinished(), equalTo(true));
+        assertThat(queue.failedShards(), contains("shard-00000"));
+    }
+
+    @Test
+    public void create_continuesExistingQueue() throws IOException {
+        MiningQueue queue = MiningQueue.create(workDir, List.of("a", "b"), 1);
+        String shard = queue.claim("worker").orElseThrow();
+        queue.complete(shard, "worker");
+
+        MiningQueue continued = MiningQueue.create(workDir, List.of("x", "y", "z"), 1);
+
+        assertThat(continued.shards(), contains("shard-00000", "shard-00001"));
+        assertThat(continued.claim("worker"), equalTo(Optional.of("shard-00001")));
+        assertThat(MiningQueue.open(workDir).reposOf("shard-00001"), equalTo(List.of("b")));
+    }
+}
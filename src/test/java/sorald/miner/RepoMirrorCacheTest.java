@@ -0,0 +1,80 @@
+package sorald.miner;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayWithSize;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.stream.Stream;
+import org.eclipse.jgit.api.Git;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class RepoMirrorCacheTest {
+
+    @Test
+    void cloneInto_fetchesNewCommits_whenRepoIsAlreadyMirrored(@TempDir Path workdir)
+            throws Exception {
+        Path origin = createRepo(workdir.resolve("origin.git"), "First.java");
+        var cache = new RepoMirrorCache(workdir.resolve("cache"), Long.MAX_VALUE);
+        cache.cloneInto(origin.toUri().toString(), workdir.resolve("first-clone").toFile());
+
+        commitFile(origin, "Second.java");
+        File secondClone = workdir.resolve("second-clone").toFile();
+        cache.cloneInto(origin.toUri().toString(), secondClone);
+
+        assertThat(new File(secondClone, "First.java").isFile(), is(true));
+        assertThat(new File(secondClone, "Second.java").isFile(), is(true));
+        assertThat(workdir.resolve("cache").toFile().list(), arrayWithSize(1));
+    }
+
+    @Test
+    void cloneInto_evictsLeastRecentlyUsedMirror_whenCacheExceedsBudget(@TempDir Path workdir)
+            throws Exception {
+        Path cacheDir = workdir.resolve("cache");
+        Path first = createRepo(workdir.resolve("first.git"), "First.java");
+        Path second = createRepo(workdir.resolve("second.git"), "Second.java");
+        new RepoMirrorCache(cacheDir, Long.MAX_VALUE)
+                .cloneInto(first.toUri().toString(), workdir.resolve("first-clone").toFile());
+        Path firstMirror = cacheDir.toFile().listFiles()[0].toPath();
+        Files.setLastModifiedTime(firstMirror, FileTime.fromMillis(0));
+        // room for one mirror, but not two
+        long budget = sizeOf(firstMirror) * 3 / 2;
+
+        new RepoMirrorCache(cacheDir, budget)
+                .cloneInto(second.toUri().toString(), workdir.resolve("second-clone").toFile());
+
+        assertThat(cacheDir.toFile().list(), arrayWithSize(1));
+        assertThat(Files.exists(firstMirror), is(false));
+        assertThat(
+                new File(workdir.resolve("second-clone").toFile(), "Second.java").isFile(),
+                equalTo(true));
+    }
+
+    private static Path createRepo(Path dir, String filename) throws Exception {
+        Git.init().setDirectory(dir.toFile()).call().close();
+        commitFile(dir, filename);
+        return dir;
+    }
+
+    private static void commitFile(Path repo, String filename) throws Exception {
+        Files.writeString(repo.resolve(filename), "class " + filename.replace(".java", "") + " {}");
+        try (Git git = Git.open(repo.toFile())) {
+            git.add().addFilepattern(filename).call();
+            git.commit().setMessage("Add " + filename).call();
+        }
+    }
+
+    private static long sizeOf(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            return files.filter(Files::isRegularFile)
+                    .mapToLong(file -> file.toFile().length())
+                    .sum();
+        }
+    }
+}
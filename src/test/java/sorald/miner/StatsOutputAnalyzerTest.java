@@ -0,0 +1,137 @@
+package sorald.miner;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sorald.Constants;
+import sorald.cli.Cli;
+
+class StatsOutputAnalyzerTest {
+    private static final String BIG_DECIMAL = "BigDecimalDoubleConstructorCheck<S2111>";
+    private static final String MATH_ON_FLOAT = "MathOnFloatCheck<S2164>";
+
+    @TempDir Path workdir;
+
+    /** Test that text and JSON Lines outputs are aggregated together into the same statistics. */
+    @Test
+    void analyze_aggregatesOutputsOfBothFormats() throws Exception {
+        Path textOutput =
+                Files.write(
+                        workdir.resolve("output.txt"),
+                        List.of(
+                                "RepoName: first",
+                                BIG_DECIMAL + "=3",
+                                MATH_ON_FLOAT + "=1",
+                                "RepoName: broken not_cloned",
+                                "RepoName: empty analysis_crashed",
+                                "RepoName: second",
+                                BIG_DECIMAL + "=0",
+                                MATH_ON_FLOAT + "=2"));
+        Path jsonOutput =
+                Files.write(
+                        workdir.resolve("output.jsonl"),
+                        List.of(
+                                jsonReport("third", Map.of("S2111", 3, "S2164", 4), "A.java"),
+                                new JSONObject()
+                                        .put("repoName", "unreachable")
+                                        .put("cloned", false)
+                                        .toString(),
+                                new JSONObject()
+                                        .put("repoName", "empty")
+                                        .put("cloned", true)
+                                        .put("crashed", true)
+                                        .toString()));
+
+        var stats = StatsOutputAnalyzer.analyze(List.of(textOutput, jsonOutput), 1);
+
+        assertThat(stats.getTotalRepos(), equalTo(3));
+        assertThat(stats.getTotalWarnings(), equalTo(13L));
+        assertThat(
+                stats.getWarningsPerCheck(), equalTo(Map.of(BIG_DECIMAL, 6L, MATH_ON_FLOAT, 7L)));
+        assertThat(stats.getWarningsPerRepoPercentile(50), equalTo(4L));
+        assertThat(stats.getWarningsPerRepoPercentile(99), equalTo(7L));
+        assertThat(
+                stats.getFilesWithMostWarnings(), equalTo(List.of(Map.entry("third:A.java", 7L))));
+
+        var out = new StringWriter();
+        stats.print(new PrintWriter(out));
+        assertThat(out.toString(), containsString("RepoWithMaxWarnings: third"));
+        // the first repo with the most warnings of a check wins ties
+        assertThat(out.toString(), containsString(BIG_DECIMAL + "=3 first"));
+        assertThat(out.toString(), containsString(MATH_ON_FLOAT + "=4 third"));
+    }
+
+    /**
+     * Test that repos split over many chunks add up to the same statistics as they would one by
+     * one.
+     */
+    @Test
+    void analyzeStatsCommand_printsStatistics_ofOutputsLargerThanAChunk() throws Exception {
+        List<String> lines = new ArrayList<>();
+        for (int i = 1; i <= 1000; i++) {
+            lines.add(jsonReport("repo" + i, Map.of("S2111", i), "File" + i + ".java"));
+        }
+        Path output = Files.write(workdir.resolve("output.jsonl"), lines);
+        var out = new StringWriter();
+
+        int exitStatus =
+                Cli.createCli()
+                        .setOut(new PrintWriter(out))
+                        .execute(
+                                Constants.ANALYZE_STATS_COMMAND_NAME,
+                                Constants.ARG_TOP_FILES,
+                                "2",
+                                output.toString());
+
+        assertThat(exitStatus, equalTo(0));
+        assertThat(
+                out.toString(),
+                containsString(
+                        String.join(
+                                System.lineSeparator(),
+                                "TotalRepos: 1000",
+                                "TotalWarnings: 500500",
+                                "AVGWarnings: 500",
+                                "RepoWithMaxWarnings: repo1000",
+                                "MaxRepoWarnings: 1000",
+                                "P50RepoWarnings: 500",
+                                "P90RepoWarnings: 900",
+                                "P99RepoWarnings: 990",
+                                BIG_DECIMAL + "=500500",
+                                "MaxRepoWarningsPerCheck:",
+                                BIG_DECIMAL + "=1000 repo1000",
+                                "FilesWithMostWarnings:",
+                                "repo1000:File1000.java=1000",
+                                "repo999:File999.java=999")));
+    }
+
+    /** A JSON Lines report of a repo, in which all violations are in the same file. */
+    private static String jsonReport(String repoName, Map<String, Integer> counts, String file) {
+        var violations = new JSONArray();
+        counts.forEach(
+                (ruleKey, count) -> {
+                    for (int i = 0; i < count; i++) {
+                        violations.put(
+                                new JSONObject().put("ruleKey", ruleKey).put("filePath", file));
+                    }
+                });
+        return new JSONObject()
+                .put("repoName", repoName)
+                .put("cloned", true)
+                .put("counts", new JSONObject(counts))
+                .put("violations", violations)
+                .toString();
+    }
+}
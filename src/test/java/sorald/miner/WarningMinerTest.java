@@ -10,15 +10,21 @@ import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.PrintStream;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import org.eclipse.jgit.api.Git;
 import org.json.JSONArray;
 import org.json.JSONObject;
 import org.junit.jupiter.api.Test;
@@ -30,7 +36,9 @@ import sorald.SystemExitHandler;
 import sorald.TestHelper;
 import sorald.cli.SoraldVersionProvider;
 import sorald.event.StatsMetadataKeys;
+import sorald.processor.BigDecimalDoubleConstructorProcessor;
 import sorald.processor.CastArithmeticOperandProcessor;
+import sorald.rule.Rule;
 import sorald.rule.RuleType;
 import sorald.rule.Rules;
 
@@ -222,6 +230,454 @@ public class WarningMinerTest {
                 equalTo(new CastArithmeticOperandProcessor().getRuleKey()));
     }
 
+    @Test
+    void statsOutput_containsCheckProfiles_whenProfilingChecks(@TempDir File tempdir)
+            throws Exception {
+        Path statsFile = tempdir.toPath().resolve("stats.json");
+        Path source = tempdir.toPath().resolve("src");
+        Files.createDirectories(source);
+        Files.copy(
+                TestHelper.PATH_TO_RESOURCES_FOLDER.resolve("MultipleProcessors.java"),
+                source.resolve("MultipleProcessors.java"));
+
+        String[] args = {
+            Constants.MINE_COMMAND_NAME,
+            Constants.ARG_STATS_OUTPUT_FILE,
+            statsFile.toString(),
+            Constants.ARG_SOURCE,
+            source.toString(),
+            Constants.ARG_HANDLED_RULES,
+            Constants.ARG_PROFILE_CHECKS
+        };
+        Main.main(args);
+
+        JSONObject stats = FileUtils.readJSON(statsFile);
+        JSONArray profiles = stats.getJSONArray(StatsMetadataKeys.CHECK_PROFILES);
+        List<String> profiledRuleKeys =
+                profiles.toList().stream()
+                        .map(profile -> ((Map<?, ?>) profile).get("ruleKey").toString())
+                        .collect(Collectors.toList());
+        assertThat(
+                profiledRuleKeys, hasItem(new BigDecimalDoubleConstructorProcessor().getRuleKey()));
+        for (int i = 0; i < profiles.length(); i++) {
+            JSONObject profile = profiles.getJSONObject(i);
+            assertThat(profile.getInt("invocations"), equalTo(1));
+            assertThat(profile.getJSONArray("slowestFiles").length(), equalTo(1));
+        }
+    }
+
+    @Test
+    void exitsNonZero_whenProfilingChecksWithoutStatsOutputFile() {
+        String[] args = {
+            Constants.MINE_COMMAND_NAME,
+            Constants.ARG_SOURCE,
+            TestHelper.PATH_TO_RESOURCES_FOLDER.toString(),
+            Constants.ARG_PROFILE_CHECKS
+        };
+
+        assertThrows(SystemExitHandler.NonZeroExit.class, () -> Main.main(args));
+    }
+
+    @Test
+    void exitsNonZero_whenFileAnalysisTimeoutIsNotPositive() {
+        String[] args = {
+            Constants.MINE_COMMAND_NAME,
+            Constants.ARG_SOURCE,
+            TestHelper.PATH_TO_RESOURCES_FOLDER.toString(),
+            Constants.ARG_FILE_ANALYSIS_TIMEOUT,
+            "0"
+        };
+
+        assertThrows(SystemExitHandler.NonZeroExit.class, () -> Main.main(args));
+    }
+
+    /** Test that mining a commit range prints the violation delta of each commit. */
+    @Test
+    void mineCommitRange_printsDeltaOfEachCommit(@TempDir File workdir) throws Exception {
+        Path file = workdir.toPath().resolve("Main.java");
+        String first;
+        String second;
+        try (Git git = Git.init().setDirectory(workdir).call()) {
+            Files.writeString(file, "public class Main { double a = 1f / 2f; }");
+            git.add().addFilepattern(".").call();
+            first = git.commit().setMessage("Add violation").call().name();
+            Files.writeString(file, "public class Main { double a = 1d / 2d; }");
+            second = git.commit().setAll(true).setMessage("Fix violation").call().name();
+        }
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(out));
+
+        Main.main(
+                new String[] {
+                    Constants.MINE_COMMAND_NAME,
+                    Constants.ARG_SOURCE,
+                    workdir.toString(),
+                    Constants.ARG_COMMIT_RANGE,
+                    first + ".." + second,
+                    Constants.ARG_RULE_TYPES,
+                    RuleType.BUG.name()
+                });
+
+        assertThat(
+                out.toString().lines().collect(Collectors.toList()),
+                contains(
+                        "Commit: " + first,
+                        "MathOnFloatCheck<S2164>=+1",
+                        "Commit: " + second,
+                        "MathOnFloatCheck<S2164>=-1"));
+    }
+
+    @Test
+    void exitsNonZero_whenCommitRangeIsGivenWithoutSource() {
+        String[] args = {Constants.MINE_COMMAND_NAME, Constants.ARG_COMMIT_RANGE, "HEAD~1..HEAD"};
+
+        assertThrows(SystemExitHandler.NonZeroExit.class, () -> Main.main(args));
+    }
+
+    /**
+     * Test that mining git repos with several clone and analysis workers, through a mirror cache,
+     * gives the same results, in the same order, as mining them one by one, and that the clones are
+     * cleaned up.
+     */
+    @Test
+    void mineGitRepos_givesSameResultsInOrder_withParallelWorkers(@TempDir File workdir)
+            throws Exception {
+        Path reposList = createLocalRepos(workdir.toPath());
+        Path sequentialOutput = workdir.toPath().resolve("sequential.txt");
+        Path parallelOutput = workdir.toPath().resolve("parallel.txt");
+        Path cloneDir = Files.createDirectory(workdir.toPath().resolve("clones"));
+        String[] ruleTypes = {Constants.ARG_RULE_TYPES, RuleType.BUG.name()};
+
+        runMiner(reposList, sequentialOutput.toString(), cloneDir.toString(), ruleTypes);
+        runMiner(
+                reposList,
+                parallelOutput.toString(),
+                cloneDir.toString(),
+                Stream.concat(
+                                Arrays.stream(ruleTypes),
+                                Stream.of(
+                                        Constants.ARG_CLONE_WORKERS,
+                                        "2",
+                                        Constants.ARG_ANALYSIS_WORKERS,
+                                        "3",
+                                        Constants.ARG_MIRROR_CACHE_DIR,
+                                        workdir.toPath().resolve("mirrors").toString()))
+                        .toArray(String[]::new));
+
+        List<String> sequentialLines = Files.readAllLines(sequentialOutput);
+        assertThat(
+                sequentialLines.stream()
+                        .filter(line -> line.startsWith("RepoName: "))
+                        .collect(Collectors.toList()),
+                contains(
+                        "RepoName: S2111_BigDecimalDoubleConstructor",
+                        "RepoName: S2164_MathOnFloat",
+                        "RepoName: S1854_DeadStore",
+                        "RepoName: S2184_CastArithmeticOperand"));
+        assertThat(extractSortedNonZeroChecks(sequentialOutput), hasItem(startsWith("BigDecimal")));
+        assertThat(Files.readAllLines(parallelOutput), equalTo(sequentialLines));
+        assertThat(cloneDir.toFile().list(), emptyArray());
+    }
+
+    /**
+     * Test that mining git repos without checking them out gives the same results as mining their
+     * working trees, and that nothing is left behind in the temp dir.
+     */
+    @Test
+    void mineGitRepos_givesSameResults_withoutCheckout(@TempDir File workdir) throws Exception {
+        Path reposList = createLocalRepos(workdir.toPath());
+        Path checkoutOutput = workdir.toPath().resolve("checkout.txt");
+        Path noCheckoutOutput = workdir.toPath().resolve("no-checkout.txt");
+        Path cloneDir = Files.createDirectory(workdir.toPath().resolve("clones"));
+        String[] ruleTypes = {Constants.ARG_RULE_TYPES, RuleType.BUG.name()};
+
+        runMiner(reposList, checkoutOutput.toString(), cloneDir.toString(), ruleTypes);
+        runMiner(
+                reposList,
+                noCheckoutOutput.toString(),
+                cloneDir.toString(),
+                Stream.concat(Arrays.stream(ruleTypes), Stream.of(Constants.ARG_NO_CHECKOUT))
+                        .toArray(String[]::new));
+
+        assertThat(extractSortedNonZeroChecks(noCheckoutOutput), not(empty()));
+        assertThat(
+                Files.readAllLines(noCheckoutOutput), equalTo(Files.readAllLines(checkoutOutput)));
+        assertThat(cloneDir.toFile().list(), emptyArray());
+    }
+
+    /**
+     * Test that a repository whose analysis crashes is reported as crashed and recorded as a crash,
+     * and that the run carries on with the other repositories.
+     */
+    @Test
+    void mineGitRepos_carriesOn_whenAnalysisOfRepoCrashes(@TempDir File workdir) throws Exception {
+        Path reposList = createLocalRepos(workdir.toPath());
+        // a repository without commits has no HEAD to analyze without a checkout
+        Path emptyRepo = workdir.toPath().resolve("repos").resolve("empty.git");
+        Git.init().setDirectory(emptyRepo.toFile()).call().close();
+        List<String> repoUrls = new ArrayList<>(Files.readAllLines(reposList));
+        repoUrls.add(0, "file://" + emptyRepo.toAbsolutePath());
+        Files.write(reposList, repoUrls);
+        Path output = workdir.toPath().resolve("output.txt");
+        Path statsOutput = workdir.toPath().resolve("stats.json");
+        Path cloneDir = Files.createDirectory(workdir.toPath().resolve("clones"));
+
+        runMiner(
+                reposList,
+                output.toString(),
+                cloneDir.toString(),
+                Constants.ARG_RULE_TYPES,
+                RuleType.BUG.name(),
+                Constants.ARG_NO_CHECKOUT,
+                Constants.ARG_STATS_OUTPUT_FILE,
+                statsOutput.toString());
+
+        List<String> repoNames =
+                Files.readAllLines(output).stream()
+                        .filter(line -> line.startsWith("RepoName: "))
+                        .collect(Collectors.toList());
+        assertThat(
+                repoNames,
+                contains(
+                        "RepoName: empty analysis_crashed",
+                        "RepoName: S2111_BigDecimalDoubleConstructor",
+                        "RepoName: S2164_MathOnFloat",
+                        "RepoName: S1854_DeadStore",
+                        "RepoName: S2184_CastArithmeticOperand"));
+        JSONArray crashes = FileUtils.readJSON(statsOutput).getJSONArray("crashes");
+        assertThat(crashes.length(), equalTo(1));
+        assertThat(
+                crashes.getJSONObject(0).getString("description"),
+                endsWith(emptyRepo.getFileName().toString()));
+    }
+
+    /**
+     * Test that extracting warnings from a commit, checked out or not, gives the same results as
+     * extracting them from the files of that commit on disk.
+     */
+    @Test
+    void extractWarningsFromCommit_givesSameResultsAsOnDisk_forOlderCommit(@TempDir File workdir)
+            throws Exception {
+        Path original =
+                TestHelper.PATH_TO_RESOURCES_FOLDER
+                        .resolve("processor_test_files")
+                        .resolve("S2111_BigDecimalDoubleConstructor");
+        Path repo = workdir.toPath().resolve("repo");
+        org.apache.commons.io.FileUtils.copyDirectory(original.toFile(), repo.toFile());
+        try (Git git = Git.init().setDirectory(repo.toFile()).call()) {
+            git.add().addFilepattern(".").call();
+            git.commit().setMessage("Initial commit").call();
+            // the violations are only in the first commit
+            try (Stream<Path> files = Files.walk(repo)) {
+                for (Path file :
+                        files.filter(f -> f.toString().endsWith(Constants.JAVA_EXT))
+                                .collect(Collectors.toList())) {
+                    Files.writeString(file, "class Empty {}");
+                }
+            }
+            git.commit().setAll(true).setMessage("Remove all code").call();
+        }
+        List<Rule> rules = Rules.getAllRules().stream().collect(Collectors.toList());
+        var miner = new MineSonarWarnings(List.of(), List.of());
+
+        Map<String, Integer> onDisk = miner.extractWarnings(original.toString(), rules);
+        Map<String, Integer> fromOlderCommit =
+                miner.extractWarningsFromCommit(repo.toFile(), "HEAD~1", rules);
+        Map<String, Integer> fromHead =
+                miner.extractWarningsFromCommit(repo.toFile(), "HEAD", rules);
+
+        assertThat(fromOlderCommit, equalTo(onDisk));
+        assertThat(fromHead, equalTo(miner.extractWarnings(repo.toString(), rules)));
+        assertThat(fromHead, not(equalTo(fromOlderCommit)));
+    }
+
+    /**
+     * Test that resuming a run that died half way through gives the same output as a run that never
+     * died, without mining the completed repos again.
+     */
+    @Test
+    void mineGitRepos_givesSameResults_whenResumingDeadRun(@TempDir File workdir) throws Exception {
+        Path reposList = createLocalRepos(workdir.toPath());
+        Path completeOutput = workdir.toPath().resolve("complete.txt");
+        Path resumedOutput = workdir.toPath().resolve("resumed.txt");
+        Path journal = Path.of(resumedOutput + MineSonarWarnings.JOURNAL_SUFFIX);
+        Path cloneDir = Files.createDirectory(workdir.toPath().resolve("clones"));
+        String[] ruleTypes = {Constants.ARG_RULE_TYPES, RuleType.BUG.name()};
+
+        runMiner(reposList, completeOutput.toString(), cloneDir.toString(), ruleTypes);
+        runMiner(reposList, resumedOutput.toString(), cloneDir.toString(), ruleTypes);
+        // make it look like the run died while writing the report of the third repo, and make the
+        // first repo unavailable to show that it is not mined again
+        List<String> records = Files.readAllLines(journal);
+        Files.write(journal, records.subList(0, 3));
+        Files.writeString(journal, "{\"repo\"", StandardOpenOption.APPEND);
+        long offset = new JSONObject(records.get(2)).getLong("outputOffset");
+        try (FileChannel channel = FileChannel.open(resumedOutput, StandardOpenOption.WRITE)) {
+            channel.truncate(offset);
+        }
+        Files.writeString(resumedOutput, "RepoName: partial", StandardOpenOption.APPEND);
+        org.apache.commons.io.FileUtils.deleteDirectory(
+                workdir.toPath()
+                        .resolve("repos")
+                        .resolve("S2111_BigDecimalDoubleConstructor.git")
+                        .toFile());
+
+        runMiner(
+                reposList,
+                resumedOutput.toString(),
+                cloneDir.toString(),
+                Stream.concat(Arrays.stream(ruleTypes), Stream.of(Constants.ARG_RESUME))
+                        .toArray(String[]::new));
+
+        assertThat(Files.readAllLines(resumedOutput), equalTo(Files.readAllLines(completeOutput)));
+        assertThat(Files.readAllLines(journal), hasSize(records.size()));
+    }
+
+    /**
+     * Test that the statistics of a resumed run also cover the repos that were completed before the
+     * run died, and not the repo whose report was partially written.
+     */
+    @Test
+    void mineGitRepos_givesSameStats_whenResumingDeadRun(@TempDir File workdir) throws Exception {
+        Path reposList = createLocalRepos(workdir.toPath());
+        Path completeOutput = workdir.toPath().resolve("complete.txt");
+        Path resumedOutput = workdir.toPath().resolve("resumed.txt");
+        Path completeStats = workdir.toPath().resolve("complete.json");
+        Path resumedStats = workdir.toPath().resolve("resumed.json");
+        Path journal = Path.of(resumedOutput + MineSonarWarnings.JOURNAL_SUFFIX);
+        Path cloneDir = Files.createDirectory(workdir.toPath().resolve("clones"));
+
+        runMiner(
+                reposList,
+                completeOutput.toString(),
+                cloneDir.toString(),
+                Constants.ARG_RULE_TYPES,
+                RuleType.BUG.name(),
+                Constants.ARG_STATS_OUTPUT_FILE,
+                completeStats.toString());
+        runMiner(
+                reposList,
+                resumedOutput.toString(),
+                cloneDir.toString(),
+                Constants.ARG_RULE_TYPES,
+                RuleType.BUG.name(),
+                Constants.ARG_STATS_OUTPUT_FILE,
+                resumedStats.toString());
+        // make it look like the run died after writing the events of the third repo, but before
+        // recording it as completed
+        List<String> records = Files.readAllLines(journal);
+        Files.write(journal, records.subList(0, 3));
+        Files.delete(resumedStats);
+
+        runMiner(
+                reposList,
+                resumedOutput.toString(),
+                cloneDir.toString(),
+                Constants.ARG_RULE_TYPES,
+                RuleType.BUG.name(),
+                Constants.ARG_STATS_OUTPUT_FILE,
+                resumedStats.toString(),
+                Constants.ARG_RESUME);
+
+        assertThat(
+                countMinedViolations(resumedStats), equalTo(countMinedViolations(completeStats)));
+        assertThat(countMinedViolations(completeStats).values(), everyItem(greaterThan(0)));
+    }
+
+    /**
+     * Test that the JSON Lines output has an object per repo, with the same counts as the text
+     * output, along with the location of each violation and the mined commit.
+     */
+    @Test
+    void mineGitRepos_writesJSONLines_withSameCountsAsText(@TempDir File workdir) throws Exception {
+        Path reposList = createLocalRepos(workdir.toPath());
+        Path textOutput = workdir.toPath().resolve("output.txt");
+        Path jsonOutput = workdir.toPath().resolve("output.jsonl");
+        Path cloneDir = Files.createDirectory(workdir.toPath().resolve("clones"));
+        String[] ruleTypes = {Constants.ARG_RULE_TYPES, RuleType.BUG.name()};
+
+        runMiner(reposList, textOutput.toString(), cloneDir.toString(), ruleTypes);
+        runMiner(
+                reposList,
+                jsonOutput.toString(),
+                cloneDir.toString(),
+                Stream.concat(
+                                Arrays.stream(ruleTypes),
+                                Stream.of(
+                                        Constants.ARG_MINER_OUTPUT_FORMAT,
+                                        MinerOutputFormat.JSONL.name()))
+                        .toArray(String[]::new));
+
+        List<JSONObject> repos =
+                Files.readAllLines(jsonOutput).stream()
+                        .map(JSONObject::new)
+                        .collect(Collectors.toList());
+        assertThat(
+                repos.stream().map(repo -> repo.getString("repoName")).collect(Collectors.toList()),
+                contains(
+                        "S2111_BigDecimalDoubleConstructor",
+                        "S2164_MathOnFloat",
+                        "S1854_DeadStore",
+                        "S2184_CastArithmeticOperand"));
+        List<String> jsonChecks = new ArrayList<>();
+        for (JSONObject repo : repos) {
+            assertThat(repo.getString("commit"), matchesPattern("[0-9a-f]{40}"));
+            assertThat(repo.getLong("analysisMillis"), greaterThanOrEqualTo(0L));
+            JSONObject counts = repo.getJSONObject("counts");
+            JSONArray violations = repo.getJSONArray("violations");
+            int totalCount = 0;
+            for (String ruleKey : counts.keySet()) {
+                totalCount += counts.getInt(ruleKey);
+                if (counts.getInt(ruleKey) > 0) {
+                    jsonChecks.add(
+                            Rule.of(ruleKey).getName()
+                                    + "Check<"
+                                    + ruleKey
+                                    + ">="
+                                    + counts.getInt(ruleKey));
+                }
+            }
+            assertThat(violations.length(), equalTo(totalCount));
+            for (int i = 0; i < violations.length(); i++) {
+                JSONObject violation = violations.getJSONObject(i);
+                assertThat(violation.getString("filePath"), endsWith(Constants.JAVA_EXT));
+                assertThat(violation.getInt("startLine"), greaterThan(0));
+                assertThat(counts.getInt(violation.getString("ruleKey")), greaterThan(0));
+            }
+        }
+        assertThat(
+                jsonChecks.stream().sorted().collect(Collectors.toList()),
+                equalTo(extractSortedNonZeroChecks(textOutput)));
+    }
+
+    /**
+     * Create a local git repo for each of a few processor test file directories.
+     *
+     * @return Path to a file listing the urls of the repos.
+     */
+    private static Path createLocalRepos(Path workdir) throws Exception {
+        Path processorTestFiles =
+                TestHelper.PATH_TO_RESOURCES_FOLDER.resolve("processor_test_files");
+        List<String> repoUrls = new ArrayList<>();
+        for (String ruleDir :
+                List.of(
+                        "S2111_BigDecimalDoubleConstructor",
+                        "S2164_MathOnFloat",
+                        "S1854_DeadStore",
+                        "S2184_CastArithmeticOperand")) {
+            Path repo = workdir.resolve("repos").resolve(ruleDir + ".git");
+            org.apache.commons.io.FileUtils.copyDirectory(
+                    processorTestFiles.resolve(ruleDir).toFile(), repo.toFile());
+            try (Git git = Git.init().setDirectory(repo.toFile()).call()) {
+                git.add().addFilepattern(".").call();
+                git.commit().setMessage("Initial commit").call();
+            }
+            repoUrls.add("file://" + repo.toAbsolutePath());
+        }
+        return Files.write(workdir.resolve("repos.txt"), repoUrls);
+    }
+
     /** We currently only support resolving the classpath on Maven projects. */
     @Test
     void exitsNonZero_whenResolvingClasspathOnNonMavenProject() {
@@ -236,6 +692,52 @@ public class WarningMinerTest {
         assertThrows(SystemExitHandler.NonZeroExit.class, () -> Main.main(args));
     }
 
+    /**
+     * Test that mining with worker processes gives the same output, in the same order, as mining in
+     * a single process, and merges the statistics of the workers.
+     */
+    @Test
+    void mineGitRepos_givesSameResults_withWorkerProcesses(@TempDir File workdir) throws Exception {
+        Path reposList = createLocalRepos(workdir.toPath());
+        Path expectedOutput = workdir.toPath().resolve("expected.txt");
+        Path output = workdir.toPath().resolve("output.txt");
+        Path statsOutput = workdir.toPath().resolve("stats.json");
+        Path cloneDir = Files.createDirectory(workdir.toPath().resolve("clones"));
+
+        runMiner(
+                reposList,
+                expectedOutput.toString(),
+                cloneDir.toString(),
+                Constants.ARG_RULE_TYPES,
+                RuleType.BUG.name());
+        runMiner(
+                reposList,
+                output.toString(),
+                cloneDir.toString(),
+                Constants.ARG_RULE_TYPES,
+                RuleType.BUG.name(),
+                Constants.ARG_WORKER_PROCESSES,
+                "2",
+                Constants.ARG_SHARD_SIZE,
+                "1",
+                Constants.ARG_STATS_OUTPUT_FILE,
+                statsOutput.toString());
+
+        assertThat(Files.readString(output), equalTo(Files.readString(expectedOutput)));
+        JSONObject stats = FileUtils.readJSON(statsOutput);
+        assertThat(stats.getJSONArray("crashes").length(), equalTo(0));
+        int minedViolations = 0;
+        for (Object minedRule : stats.getJSONArray("minedRules")) {
+            minedViolations += ((JSONObject) minedRule).getJSONArray("warningLocations").length();
+        }
+        assertThat(
+                minedViolations,
+                equalTo(
+                        extractSortedNonZeroChecks(expectedOutput).stream()
+                                .mapToInt(line -> Integer.parseInt(line.split("=")[1]))
+                                .sum()));
+    }
+
     private static void runMiner(
             Path pathToRepos, String pathToOutput, String pathToTempDir, String... extraArgs)
             throws Exception {
@@ -255,6 +757,18 @@ public class WarningMinerTest {
         Main.main(fullArgs);
     }
 
+    /** @return The amount of mined violations of each rule in a statistics file. */
+    private static Map<String, Integer> countMinedViolations(Path statsFile) throws IOException {
+        JSONArray minedRules =
+                new JSONObject(Files.readString(statsFile)).getJSONArray("minedRules");
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < minedRules.length(); i++) {
+            JSONObject rule = minedRules.getJSONObject(i);
+            counts.put(rule.getString("ruleKey"), rule.getJSONArray("warningLocations").length());
+        }
+        return counts;
+    }
+
     /** Extract check names from the warnings miner output file, sorted lexicographically. */
     private static List<String> extractSortedCheckNames(Path outputFile) throws IOException {
         Pattern checkNamePattern = Pattern.compile("^(.*)=\\d+$");
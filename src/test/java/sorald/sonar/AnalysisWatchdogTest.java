@@ -0,0 +1,205 @@
+package sorald.sonar;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sorald.TestHelper;
+import sorald.processor.BigDecimalDoubleConstructorProcessor;
+import sorald.rule.RuleViolation;
+import sorald.sonar.AnalysisWatchdog.AbandonedAnalysisException;
+
+class AnalysisWatchdogTest {
+
+    @Test
+    public void analyze_abandonsFile_thatExceedsTimeout(@TempDir Path tempDir) throws IOException {
+        Path violatingFile =
+                TestHelper.PATH_TO_RESOURCES_FOLDER
+                        .resolve("processor_test_files")
+                        .resolve("S2111_BigDecimalDoubleConstructor")
+                        .resolve("BigDecimalDoubleConstructor.java");
+        List<String> files = new ArrayList<>();
+        for (String name : List.of("First.java", "Hanging.java", "Last.java")) {
+            files.add(Files.copy(violatingFile, tempDir.resolve(name)).toString());
+        }
+        String hangingFile = files.get(1);
+        var checks =
+                List.of(
+                        Checks.getCheckInstance(
+                                new BigDecimalDoubleConstructorProcessor().getRuleKey()));
+        var environment = new AnalysisEnvironment(tempDir.toFile(), List.of());
+        // analyze once up front such that class loading does not count towards the time budget
+        RuleVerifier.analyze(files.subList(0, 1), environment, checks);
+        var hangingFileReleased = new CountDownLatch(1);
+
+        List<String> abandonedFiles = new ArrayList<>();
+        List<Exception> reasons = new ArrayList<>();
+        var watchdog =
+                new AnalysisWatchdog(
+                        Duration.ofSeconds(2),
+                        (file, reason) -> {
+                            abandonedFiles.add(file);
+                            reasons.add(reason);
+                        });
+        List<RuleViolation> violations = new ArrayList<>();
+
+        try {
+            watchdog.analyze(
+                    files,
+                    violations::add,
+                    (filesToScan, consumer, cancellationCheck) -> {
+                        var filesStarted = new AtomicInteger();
+                        RuleVerifier.analyze(
+                                filesToScan,
+                                environment,
+                                checks,
+                                consumer,
+                                null,
+                                () -> {
+                                    boolean cancelled = cancellationCheck.getAsBoolean();
+                                    int index = filesStarted.getAndIncrement();
+                                    if (!cancelled
+                                            && index < filesToScan.size()
+                                            && filesToScan.get(index).equals(hangingFile)) {
+                                        await(hangingFileReleased);
+                                    }
+                                    return cancelled;
+                                });
+                    });
+        } finally {
+            hangingFileReleased.countDown();
+        }
+
+        assertThat(abandonedFiles, contains(hangingFile));
+        assertThat(reasons.get(0), instanceOf(TimeoutException.class));
+        List<String> violatedFiles =
+                violations.stream()
+                        .map(violation -> violation.getAbsolutePath().toString())
+                        .distinct()
+                        .collect(Collectors.toList());
+        assertThat(
+                violatedFiles,
+                containsInAnyOrder(
+                        Stream.of(files.get(0), files.get(2))
+                                .map(file -> Path.of(file).toAbsolutePath().normalize().toString())
+                                .toArray()));
+    }
+
+    @Test
+    public void analyze_givesUpOnRemainingFiles_whenTooManyAbandonedWorkersAreRunning() {
+        List<String> files = List.of("First.java", "Second.java", "Third.java");
+        var hangingFilesReleased = new CountDownLatch(1);
+        List<String> abandonedFiles = new ArrayList<>();
+        var watchdog =
+                new AnalysisWatchdog(
+                        Duration.ofMillis(200), (file, reason) -> abandonedFiles.add(file), 1);
+
+        AbandonedAnalysisException exception;
+        try {
+            exception =
+                    assertThrows(
+                            AbandonedAnalysisException.class,
+                            () ->
+                                    watchdog.analyze(
+                                            files,
+                                            violation -> {},
+                                            (filesToScan, consumer, cancellationCheck) -> {
+                                                // every file hangs until the test is over
+                                                cancellationCheck.getAsBoolean();
+                                                await(hangingFilesReleased);
+                                            }));
+        } finally {
+            hangingFilesReleased.countDown();
+        }
+
+        assertThat(abandonedFiles, contains("First.java"));
+        assertThat(exception.getRemainingFiles(), contains("Second.java", "Third.java"));
+    }
+
+    @Test
+    public void analyze_givesUpOnAllFiles_whenSetupExceedsTimeout() {
+        List<String> files = List.of("First.java", "Second.java");
+        var setupReleased = new CountDownLatch(1);
+        List<String> abandonedFiles = new ArrayList<>();
+        var watchdog =
+                new AnalysisWatchdog(
+                        Duration.ofMillis(200), (file, reason) -> abandonedFiles.add(file));
+
+        AbandonedAnalysisException exception;
+        try {
+            exception =
+                    assertThrows(
+                            AbandonedAnalysisException.class,
+                            () ->
+                                    watchdog.analyze(
+                                            files,
+                                            violation -> {},
+                                            (filesToScan, consumer, cancellationCheck) ->
+                                                    // hangs before reaching the first file
+                                                    await(setupReleased)));
+        } finally {
+            setupReleased.countDown();
+        }
+
+        assertThat(abandonedFiles, empty());
+        assertThat(exception.getRemainingFiles(), contains("First.java", "Second.java"));
+        assertThat(exception.getCause(), instanceOf(TimeoutException.class));
+    }
+
+    @Test
+    public void analyze_doesNotAbandonLastFile_whenEndOfAnalysisExceedsTimeout() {
+        List<String> files = List.of("First.java", "Last.java");
+        var endReleased = new CountDownLatch(1);
+        List<String> abandonedFiles = new ArrayList<>();
+        var watchdog =
+                new AnalysisWatchdog(
+                        Duration.ofMillis(200), (file, reason) -> abandonedFiles.add(file));
+
+        AbandonedAnalysisException exception;
+        try {
+            exception =
+                    assertThrows(
+                            AbandonedAnalysisException.class,
+                            () ->
+                                    watchdog.analyze(
+                                            files,
+                                            violation -> {},
+                                            (filesToScan, consumer, cancellationCheck) -> {
+                                                filesToScan.forEach(
+                                                        file -> cancellationCheck.getAsBoolean());
+                                                // the end of the analysis hangs
+                                                cancellationCheck.getAsBoolean();
+                                                await(endReleased);
+                                            }));
+        } finally {
+            endReleased.countDown();
+        }
+
+        assertThat(abandonedFiles, empty());
+        assertThat(exception.getRemainingFiles(), empty());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
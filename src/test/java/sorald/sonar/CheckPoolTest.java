@@ -0,0 +1,64 @@
+package sorald.sonar;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import sorald.Constants;
+import sorald.FileUtils;
+import sorald.TestHelper;
+import sorald.processor.BigDecimalDoubleConstructorProcessor;
+import sorald.rule.Rule;
+import sorald.rule.Rules;
+
+class CheckPoolTest {
+
+    @Test
+    void acquire_reusesReleasedCheck_andNeverHandsOutCheckInUse() {
+        String key = new BigDecimalDoubleConstructorProcessor().getRuleKey();
+        var first = CheckPool.acquire(List.of(key)).get(0);
+        var second = CheckPool.acquire(List.of(key)).get(0);
+
+        CheckPool.release(List.of(first));
+
+        assertThat(second, not(sameInstance(first)));
+        assertThat(CheckPool.acquire(List.of(key)).get(0), sameInstance(first));
+    }
+
+    @Test
+    void release_doesNotPoolChecks_thatReportAtEndOfAnalysis() {
+        // PackageInfoCheck collects packages across all files to report on at the end
+        String key = "S1228";
+        var check = CheckPool.acquire(List.of(key)).get(0);
+
+        CheckPool.release(List.of(check));
+
+        assertThat(CheckPool.acquire(List.of(key)).get(0), not(sameInstance(check)));
+    }
+
+    @Test
+    void findViolations_findsSameViolations_whenAllChecksAreReused() throws Exception {
+        File baseDir =
+                TestHelper.PATH_TO_RESOURCES_FOLDER
+                        .resolve("processor_test_files")
+                        .resolve("S2111_BigDecimalDoubleConstructor")
+                        .toFile();
+        List<File> files = FileUtils.findFilesByExtension(baseDir, Constants.JAVA_EXT);
+        List<Rule> rules = new ArrayList<>(Rules.getAllRules());
+        var analyzer = new SonarStaticAnalyzer(baseDir);
+
+        var firstScan = new HashSet<>(analyzer.findViolations(files, rules, List.of()));
+        var secondScan = new HashSet<>(analyzer.findViolations(files, rules, List.of()));
+
+        assertThat(firstScan, is(not(empty())));
+        assertThat(secondScan, equalTo(firstScan));
+    }
+}
@@ -8,11 +8,13 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 import org.junit.jupiter.api.Test;
+import org.sonar.java.checks.CheckList;
 import org.sonar.java.checks.CompareStringsBoxedTypesWithEqualsCheck;
 import org.sonar.java.checks.DeadStoreCheck;
 import org.sonar.java.checks.InputStreamReadCheck;
 import org.sonar.java.checks.NullShouldNotBeUsedWithOptionalCheck;
 import org.sonar.java.checks.serialization.SerializableFieldInSerializableClassCheck;
+import org.sonar.plugins.java.api.JavaCheck;
 import org.sonar.plugins.java.api.JavaFileScanner;
 import org.sonarsource.analyzer.commons.annotations.DeprecatedRuleKey;
 import sorald.rule.RuleType;
@@ -48,6 +50,23 @@ class ChecksTest {
         assertThrows(IllegalArgumentException.class, () -> Checks.getCheck("12345678"));
     }
 
+    @Test
+    void getCheck_returnsCheckClass_withRegisteredKeyAndType() {
+        List<String> mismatchedChecks =
+                Checks.getAllChecks().stream()
+                        .filter(
+                                check -> {
+                                    String key = Checks.getRuleKey(check);
+                                    return Checks.getCheck(key) != check
+                                            || !Checks.getChecksByType(Checks.getRuleType(key))
+                                                    .contains(check);
+                                })
+                        .map(Class::getName)
+                        .collect(Collectors.toList());
+
+        assertThat(mismatchedChecks, empty());
+    }
+
     @Test
     @SuppressWarnings("UnstableApiUsage")
     void test_getRuleKey_whenCheckHasNoKey_throws() {
@@ -61,6 +80,24 @@ class ChecksTest {
                 () -> Checks.getRuleKey(scannerWithoutKey.getClass()));
     }
 
+    /** Test that the test checks are told apart from main checks as Sonar's CheckList does. */
+    @Test
+    @SuppressWarnings("unchecked")
+    void isTestCheck_agreesWithSonarCheckList() {
+        List<String> misclassifiedChecks =
+                CheckList.getChecks().stream()
+                        .filter(JavaCheck.class::isAssignableFrom)
+                        .map(check -> (Class<? extends JavaCheck>) check)
+                        .filter(
+                                check ->
+                                        Checks.isTestCheck(check)
+                                                != CheckList.getJavaTestChecks().contains(check))
+                        .map(Class::getName)
+                        .collect(Collectors.toList());
+
+        assertThat(misclassifiedChecks, empty());
+    }
+
     @Test
     void getAllChecks_containsNoDeprecatedChecks() {
         List<Class<? extends JavaFileScanner>> deprecatedChecks =
@@ -11,13 +11,17 @@ import static org.hamcrest.Matchers.not;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.sonar.java.checks.DefaultPackageCheck;
 import sorald.TestHelper;
 import sorald.processor.ArrayHashCodeAndToStringProcessor;
+import sorald.processor.BigDecimalDoubleConstructorProcessor;
 import sorald.processor.MathOnFloatProcessor;
 import sorald.rule.RuleViolation;
 
@@ -48,6 +52,60 @@ class RuleVerifierTest {
         assertThat(suppressedRuleKey, not(in(violatedRuleKeys)));
     }
 
+    /**
+     * Test that the cancellation check is called before each file and once more after the last one,
+     * by which time the violations of all files have been passed on.
+     */
+    @Test
+    public void analyze_callsCancellationCheck_onceMoreAfterLastFile() {
+        String ruleKey = new BigDecimalDoubleConstructorProcessor().getRuleKey();
+        List<String> files =
+                List.of(
+                        TestHelper.PATH_TO_RESOURCES_FOLDER
+                                .resolve("MultipleProcessors.java")
+                                .toString(),
+                        TestHelper.PATH_TO_RESOURCES_FOLDER
+                                .resolve("processor_test_files")
+                                .resolve("S2111_BigDecimalDoubleConstructor")
+                                .resolve("BigDecimalDoubleConstructor.java")
+                                .toString());
+        List<RuleViolation> violations = new ArrayList<>();
+        List<Integer> violationsAtChecks = new ArrayList<>();
+
+        RuleVerifier.analyze(
+                files,
+                new AnalysisEnvironment(TestHelper.PATH_TO_RESOURCES_FOLDER.toFile(), List.of()),
+                List.of(Checks.getCheckInstance(ruleKey)),
+                violations::add,
+                null,
+                () -> {
+                    violationsAtChecks.add(violations.size());
+                    return false;
+                });
+
+        assertThat(violationsAtChecks.size(), equalTo(files.size() + 1));
+        assertThat(violationsAtChecks.get(files.size()), equalTo(violations.size()));
+        assertThat(violations, is(not(empty())));
+    }
+
+    @Test
+    public void analyze_onlyReportsViolationsOfGivenChecks_whenFileViolatesOtherRules() {
+        String ruleKey = new BigDecimalDoubleConstructorProcessor().getRuleKey();
+        String testFile =
+                TestHelper.PATH_TO_RESOURCES_FOLDER.resolve("MultipleProcessors.java").toString();
+
+        var violations =
+                RuleVerifier.analyze(
+                        List.of(testFile),
+                        TestHelper.PATH_TO_RESOURCES_FOLDER.toFile(),
+                        List.of(Checks.getCheckInstance(ruleKey)));
+
+        assertThat(violations, is(not(empty())));
+        Set<String> violatedRuleKeys =
+                violations.stream().map(RuleViolation::getRuleKey).collect(Collectors.toSet());
+        assertThat(violatedRuleKeys, equalTo(Set.of(ruleKey)));
+    }
+
     @Test
     public void analyze_filtersOutMessages_thatLackPrimaryLocation() {
         var checkWithNoLocation = new DefaultPackageCheck();
@@ -86,4 +144,75 @@ class RuleVerifierTest {
         assertThat(violations.size(), equalTo(1));
         assertThat(violations.stream().findFirst().get().getStartLine(), equalTo(violationLine));
     }
+
+    @Test
+    public void analyze_skipsFile_thatDoesNotParse(@TempDir Path tempDir) throws IOException {
+        Path brokenFile = tempDir.resolve("Broken.java");
+        Files.writeString(brokenFile, "public class Broken { void m( }");
+        String ruleKey = new MathOnFloatProcessor().getRuleKey();
+
+        var violations =
+                RuleVerifier.analyze(
+                        List.of(brokenFile.toString()),
+                        tempDir.toFile(),
+                        List.of(Checks.getCheckInstance(ruleKey)));
+
+        assertThat(violations, is(empty()));
+    }
+
+    @Test
+    public void analyze_filtersOutMessages_fromGeneratedCodeInAnyAnalyzedFile(@TempDir Path tempDir)
+            throws IOException {
+        String ruleKey = new BigDecimalDoubleConstructorProcessor().getRuleKey();
+        String violatingMethod =
+                "java.math.BigDecimal m() { return new java.math.BigDecimal(0.1); }";
+        Path generatedFile = tempDir.resolve("Generated.java");
+        Files.writeString(
+                generatedFile,
+                "@javax.annotation.processing.Generated(\"gen\") public class Generated { "
+                        + violatingMethod
+                        + " }");
+        Path handWrittenFile = tempDir.resolve("HandWritten.java");
+        Files.writeString(handWrittenFile, "public class HandWritten { " + violatingMethod + " }");
+
+        var violations =
+                RuleVerifier.analyze(
+                        List.of(generatedFile.toString(), handWrittenFile.toString()),
+                        tempDir.toFile(),
+                        List.of(Checks.getCheckInstance(ruleKey)));
+
+        Set<Path> violatedFiles =
+                violations.stream().map(RuleViolation::getAbsolutePath).collect(Collectors.toSet());
+        assertThat(violatedFiles, equalTo(Set.of(handWrittenFile.toAbsolutePath().normalize())));
+    }
+
+    @Test
+    public void analyze_passesViolationsToConsumer_inOrderOfAnalyzedFiles(@TempDir Path tempDir)
+            throws IOException {
+        String ruleKey = new BigDecimalDoubleConstructorProcessor().getRuleKey();
+        String violatingMethod =
+                "java.math.BigDecimal m() { return new java.math.BigDecimal(0.1); }";
+        List<String> files = new ArrayList<>();
+        for (String className : List.of("First", "Second", "Third")) {
+            Path file = tempDir.resolve(className + ".java");
+            Files.writeString(
+                    file,
+                    "public class " + className + " { " + violatingMethod + violatingMethod + " }");
+            files.add(file.toString());
+        }
+        List<Path> consumedFiles = new ArrayList<>();
+
+        RuleVerifier.analyze(
+                files,
+                new AnalysisEnvironment(tempDir.toFile(), List.of()),
+                List.of(Checks.getCheckInstance(ruleKey)),
+                violation -> consumedFiles.add(violation.getAbsolutePath()));
+
+        List<Path> expectedFiles =
+                files.stream()
+                        .map(Path::of)
+                        .flatMap(file -> Stream.of(file, file))
+                        .collect(Collectors.toList());
+        assertThat(consumedFiles, equalTo(expectedFiles));
+    }
 }
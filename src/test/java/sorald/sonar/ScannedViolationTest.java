@@ -1,10 +1,15 @@
 package sorald.sonar;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.nio.file.Path;
 import org.junit.jupiter.api.Test;
+import org.sonar.api.batch.fs.internal.TestInputFileBuilder;
 import org.sonar.java.AnalyzerMessage;
 import org.sonar.java.checks.ArrayHashCodeAndToStringCheck;
+import sorald.rule.RuleViolation;
 
 class ScannedViolationTest {
 
@@ -16,4 +21,55 @@ class ScannedViolationTest {
 
         assertThrows(IllegalArgumentException.class, () -> new ScannedViolation(message));
     }
+
+    @Test
+    public void violation_equalsAndHashesLikeOtherRuleViolation_withSameLocationAndRule() {
+        var inputFile = new TestInputFileBuilder("", "Example.java").build();
+        var message =
+                new AnalyzerMessage(
+                        new ArrayHashCodeAndToStringCheck(),
+                        inputFile,
+                        new AnalyzerMessage.TextSpan(3, 4, 5, 6),
+                        "bogus message",
+                        0);
+        RuleViolation other =
+                new RuleViolation() {
+                    @Override
+                    public int getStartLine() {
+                        return 3;
+                    }
+
+                    @Override
+                    public int getEndLine() {
+                        return 5;
+                    }
+
+                    @Override
+                    public int getStartCol() {
+                        return 4;
+                    }
+
+                    @Override
+                    public int getEndCol() {
+                        return 6;
+                    }
+
+                    @Override
+                    public Path getAbsolutePath() {
+                        return Path.of("Example.java").toAbsolutePath().normalize();
+                    }
+
+                    @Override
+                    public String getRuleKey() {
+                        return Checks.getRuleKey(ArrayHashCodeAndToStringCheck.class);
+                    }
+                };
+
+        var violation = new ScannedViolation(message);
+
+        assertThat(violation, equalTo(other));
+        assertThat(other, equalTo(violation));
+        assertThat(violation.hashCode(), equalTo(other.hashCode()));
+        assertThat(violation.getMessage(), equalTo("bogus message"));
+    }
 }
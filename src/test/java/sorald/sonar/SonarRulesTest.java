@@ -0,0 +1,36 @@
+package sorald.sonar;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import sorald.processor.BigDecimalDoubleConstructorProcessor;
+import sorald.rule.Rule;
+import sorald.rule.RuleType;
+
+class SonarRulesTest {
+
+    @Test
+    void getRule_returnsSameInstance_forSameKey() {
+        String key = new BigDecimalDoubleConstructorProcessor().getRuleKey();
+
+        Rule rule = SonarRules.getRule(key);
+
+        assertThat(Rule.of(key), sameInstance(rule));
+        assertThat(
+                SonarRules.getAllRules().stream()
+                        .filter(other -> other.getKey().equals(key))
+                        .findFirst()
+                        .orElseThrow(),
+                sameInstance(rule));
+        assertThat(rule.getName(), equalTo("BigDecimalDoubleConstructor"));
+        assertThat(rule.getType(), equalTo(RuleType.BUG));
+    }
+
+    @Test
+    void getRule_throws_whenKeyDoesNotExist() {
+        assertThrows(IllegalArgumentException.class, () -> SonarRules.getRule("12345678"));
+    }
+}
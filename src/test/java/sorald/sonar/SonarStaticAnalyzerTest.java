@@ -0,0 +1,226 @@
+package sorald.sonar;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.tools.ToolProvider;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sorald.TestHelper;
+import sorald.processor.BigDecimalDoubleConstructorProcessor;
+import sorald.rule.Rule;
+import sorald.rule.RuleViolation;
+
+class SonarStaticAnalyzerTest {
+
+    @Test
+    public void findViolations_findsSameViolations_whenAnalyzerIsReused() {
+        File baseDir = TestHelper.PATH_TO_RESOURCES_FOLDER.toFile();
+        List<File> files =
+                List.of(
+                        TestHelper.PATH_TO_RESOURCES_FOLDER
+                                .resolve("MultipleProcessors.java")
+                                .toFile());
+        List<Rule> rules =
+                List.of(Rule.of(new BigDecimalDoubleConstructorProcessor().getRuleKey()));
+        var analyzer = new SonarStaticAnalyzer(baseDir);
+
+        var firstScan = new HashSet<>(analyzer.findViolations(files, rules, List.of()));
+        var secondScan = new HashSet<>(analyzer.findViolations(files, rules, List.of()));
+
+        assertThat(firstScan, is(not(empty())));
+        assertThat(secondScan, equalTo(firstScan));
+        assertThat(
+                new HashSet<>(
+                        new SonarStaticAnalyzer(baseDir).findViolations(files, rules, List.of())),
+                equalTo(firstScan));
+    }
+
+    /**
+     * Test that files with the same contents in different projects are given the same violations as
+     * an analysis without a cache gives them, including the violations of rules that depend on the
+     * path of the file.
+     */
+    @Test
+    public void findViolations_withResultCache_givesSameViolationsAsWithout(@TempDir Path workdir)
+            throws IOException {
+        String contents =
+                "package pkg;\n"
+                        + Files.readString(
+                                TestHelper.PATH_TO_RESOURCES_FOLDER
+                                        .resolve("processor_test_files")
+                                        .resolve("S2111_BigDecimalDoubleConstructor")
+                                        .resolve("BigDecimalDoubleConstructor.java"));
+        // S1598 only reports the files that are not in a directory matching their package
+        Path first = workdir.resolve("first");
+        Path second = workdir.resolve("second");
+        List<File> firstFiles =
+                List.of(
+                        write(
+                                first.resolve("pkg").resolve("BigDecimalDoubleConstructor.java"),
+                                contents),
+                        write(first.resolve("BigDecimalDoubleConstructor.java"), contents));
+        List<File> secondFiles =
+                List.of(
+                        write(
+                                second.resolve("other").resolve("BigDecimalDoubleConstructor.java"),
+                                contents));
+        List<Rule> rules = List.of(Rule.of("S2111"), Rule.of("S1598"));
+        var cache = new AnalysisResultCache(100);
+
+        for (var project : List.of(Map.entry(first, firstFiles), Map.entry(second, secondFiles))) {
+            File projectRoot = project.getKey().toFile();
+            List<File> files = project.getValue();
+            var cached =
+                    new HashSet<>(
+                            new SonarStaticAnalyzer(projectRoot, null, null, List.of(), cache)
+                                    .findViolations(files, rules, List.of()));
+            var uncached =
+                    new HashSet<>(
+                            new SonarStaticAnalyzer(projectRoot)
+                                    .findViolations(files, rules, List.of()));
+
+            assertThat(cached, equalTo(uncached));
+            assertThat(
+                    cached.stream().map(RuleViolation::getRuleKey).collect(Collectors.toSet()),
+                    equalTo(Set.of("S2111", "S1598")));
+        }
+        assertThat(
+                cache.contains(
+                        AnalysisResultCache.key(
+                                () -> contents.getBytes(UTF_8),
+                                AnalysisResultCache.fingerprint(rules, List.of()))),
+                is(true));
+    }
+
+    @Test
+    public void findViolations_withResultCache_doesNotCacheFiles_thatDoNotFit(@TempDir Path workdir)
+            throws IOException {
+        String contents =
+                Files.readString(
+                        TestHelper.PATH_TO_RESOURCES_FOLDER
+                                .resolve("processor_test_files")
+                                .resolve("S2111_BigDecimalDoubleConstructor")
+                                .resolve("BigDecimalDoubleConstructor.java"));
+        List<File> files =
+                List.of(
+                        write(workdir.resolve("First.java"), contents),
+                        write(workdir.resolve("Second.java"), contents));
+        List<Rule> rules = List.of(Rule.of("S2111"));
+        // room for the file, but not for its violations
+        var cache = new AnalysisResultCache(1);
+
+        var cached =
+                new HashSet<>(
+                        new SonarStaticAnalyzer(workdir.toFile(), null, null, List.of(), cache)
+                                .findViolations(files, rules, List.of()));
+
+        assertThat(
+                cached,
+                equalTo(
+                        new HashSet<>(
+                                new SonarStaticAnalyzer(workdir.toFile())
+                                        .findViolations(files, rules, List.of()))));
+        assertThat(
+                cache.contains(
+                        AnalysisResultCache.key(
+                                () -> contents.getBytes(UTF_8),
+                                AnalysisResultCache.fingerprint(rules, List.of()))),
+                is(false));
+    }
+
+    /**
+     * Test that rules that report on the project as a whole see all of its files, even when files
+     * with the same contents would otherwise be taken from the cache. S4605 must see the Spring
+     * application to tell that the copies of a bean in its package are reachable.
+     */
+    @Test
+    public void findViolations_withResultCache_givesSameViolationsAsWithout_forProjectRules(
+            @TempDir Path workdir) throws IOException {
+        List<String> classpath = List.of(compileSpringAnnotations(workdir.resolve("classes")));
+        Path project = workdir.resolve("project");
+        String bean =
+                "package app.beans;\n@org.springframework.stereotype.Component\nclass Bean {}\n";
+        List<File> files =
+                List.of(
+                        write(
+                                project.resolve("App.java"),
+                                "package app;\n"
+                                        + "@org.springframework.boot.autoconfigure.SpringBootApplication\n"
+                                        + "class App {}\n"),
+                        write(project.resolve("beans").resolve("Bean.java"), bean),
+                        write(project.resolve("copy").resolve("Bean.java"), bean),
+                        write(
+                                project.resolve("Unreachable.java"),
+                                "package other;\n"
+                                        + "@org.springframework.stereotype.Service\n"
+                                        + "class Unreachable {}\n"));
+        List<Rule> rules = List.of(Rule.of("S2111"), Rule.of("S4605"));
+        var cache = new AnalysisResultCache(100);
+
+        var cached =
+                new HashSet<>(
+                        new SonarStaticAnalyzer(project.toFile(), null, null, List.of(), cache)
+                                .findViolations(files, rules, classpath));
+
+        assertThat(
+                cached,
+                equalTo(
+                        new HashSet<>(
+                                new SonarStaticAnalyzer(project.toFile())
+                                        .findViolations(files, rules, classpath))));
+        assertThat(
+                cached.stream()
+                        .map(violation -> violation.getAbsolutePath().getFileName().toString())
+                        .collect(Collectors.toList()),
+                equalTo(List.of("Unreachable.java")));
+    }
+
+    /** Compile the Spring annotations that S4605 looks for, and return the directory of them. */
+    private static String compileSpringAnnotations(Path classesDir) throws IOException {
+        Path sourceDir = classesDir.resolveSibling("spring");
+        List<String> sources = new ArrayList<>();
+        for (String annotation :
+                List.of(
+                        "org.springframework.boot.autoconfigure.SpringBootApplication",
+                        "org.springframework.stereotype.Component",
+                        "org.springframework.stereotype.Service")) {
+            int lastDot = annotation.lastIndexOf('.');
+            Path source = sourceDir.resolve(annotation.replace('.', File.separatorChar) + ".java");
+            write(
+                    source,
+                    String.format(
+                            "package %s;%n"
+                                    + "@java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME)%n"
+                                    + "public @interface %s {}%n",
+                            annotation.substring(0, lastDot), annotation.substring(lastDot + 1)));
+            sources.add(source.toString());
+        }
+        List<String> args = new ArrayList<>(List.of("-d", classesDir.toString()));
+        args.addAll(sources);
+        int exitStatus =
+                ToolProvider.getSystemJavaCompiler()
+                        .run(null, null, null, args.toArray(String[]::new));
+        assertThat(exitStatus, equalTo(0));
+        return classesDir.toString();
+    }
+
+    private static File write(Path file, String contents) throws IOException {
+        Files.createDirectories(file.getParent());
+        return Files.writeString(file, contents).toFile();
+    }
+}
@@ -0,0 +1,36 @@
+package sorald.sonar;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.api.batch.fs.internal.TestInputFileBuilder;
+import org.sonar.api.batch.sensor.highlighting.TypeOfText;
+import org.sonar.api.config.internal.MapSettings;
+
+class SoraldSensorContextTest {
+
+    @Test
+    public void storageFacilities_discardWhatIsStored(@TempDir Path tempDir) {
+        var context = new SoraldSensorContext(tempDir.toFile(), new MapSettings());
+        InputFile inputFile =
+                TestInputFileBuilder.create("sorald", "Main.java")
+                        .setContents("class Main {}\n")
+                        .build();
+
+        context.newHighlighting()
+                .onFile(inputFile)
+                .highlight(1, 0, 1, 5, TypeOfText.KEYWORD)
+                .save();
+        context.newSymbolTable().onFile(inputFile).save();
+        context.newCpdTokens().onFile(inputFile).addToken(1, 0, 1, 5, "class").save();
+        context.newAnalysisError().onFile(inputFile).message("error").save();
+        context.addContextProperty("key", "value");
+        context.markForPublishing(inputFile);
+
+        assertThat(context.activeRules().findAll(), empty());
+    }
+}
@@ -0,0 +1,102 @@
+package sorald.sonar;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.not;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import sorald.Constants;
+import sorald.FileUtils;
+import sorald.TestHelper;
+import sorald.processor.BigDecimalDoubleConstructorProcessor;
+import sorald.processor.MathOnFloatProcessor;
+import sorald.rule.Rule;
+import sorald.rule.RuleViolation;
+
+class TokenPrefilterTest {
+
+    @Test
+    public void filter_onlyKeepsFiles_thatContainRequiredTokenOrUnicodeEscape(@TempDir Path tempDir)
+            throws IOException {
+        File withToken =
+                Files.writeString(
+                                tempDir.resolve("WithToken.java"),
+                                "class WithToken { Object o = new java.math.BigDecimal(1.0); }")
+                        .toFile();
+        File withoutToken =
+                Files.writeString(tempDir.resolve("WithoutToken.java"), "class WithoutToken {}")
+                        .toFile();
+        File withUnicodeEscape =
+                Files.writeString(
+                                tempDir.resolve("WithUnicodeEscape.java"),
+                                "class WithUnicodeEscape { char c = '\\u0042'; }")
+                        .toFile();
+        var filter =
+                TokenPrefilter.forRules(
+                                List.of(
+                                        Rule.of(
+                                                new BigDecimalDoubleConstructorProcessor()
+                                                        .getRuleKey())))
+                        .orElseThrow();
+
+        List<File> filtered = filter.filter(List.of(withToken, withoutToken, withUnicodeEscape));
+
+        assertThat(filtered, contains(withToken, withUnicodeEscape));
+    }
+
+    @Test
+    public void forRules_returnsEmpty_whenSomeRuleHasNoRequiredTokens() {
+        List<Rule> rules =
+                List.of(
+                        Rule.of(new BigDecimalDoubleConstructorProcessor().getRuleKey()),
+                        Rule.of(new MathOnFloatProcessor().getRuleKey()));
+
+        assertThat(TokenPrefilter.forRules(rules), equalTo(Optional.empty()));
+    }
+
+    /** The filter must never exclude a file that actually violates the rule. */
+    @ParameterizedTest
+    @ValueSource(strings = {"S2111", "S2204", "S2755", "S3032"})
+    public void filter_keepsAllViolatingFiles_inProcessorTestFiles(String ruleKey)
+            throws IOException {
+        File testFilesDir =
+                TestHelper.PATH_TO_RESOURCES_FOLDER.resolve("processor_test_files").toFile();
+        List<File> files = FileUtils.findFilesByExtension(testFilesDir, Constants.JAVA_EXT);
+        Set<String> violatingFiles =
+                RuleVerifier.analyze(
+                                files.stream().map(File::toString).collect(Collectors.toList()),
+                                testFilesDir,
+                                Checks.getCheckInstance(ruleKey))
+                        .stream()
+                        .map(RuleViolation::getAbsolutePath)
+                        .map(Path::toString)
+                        .collect(Collectors.toSet());
+
+        Set<String> keptFiles =
+                TokenPrefilter.forRules(List.of(Rule.of(ruleKey)))
+                        .orElseThrow()
+                        .filter(files)
+                        .stream()
+                        .map(file -> file.toPath().toAbsolutePath().normalize().toString())
+                        .collect(Collectors.toSet());
+
+        assertThat(violatingFiles, is(not(empty())));
+        assertThat(keptFiles.containsAll(violatingFiles), is(true));
+        assertThat(keptFiles.size(), is(lessThan(files.size())));
+    }
+}
@@ -0,0 +1,106 @@
+package sorald.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ClasspathCacheTest {
+    @TempDir Path projectRoot;
+    @TempDir Path cacheDir;
+
+    private Path pom;
+    private Path jar;
+    private AtomicInteger resolutions;
+    private Supplier<List<String>> resolver;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        pom = Files.writeString(projectRoot.resolve("pom.xml"), "<project/>");
+        jar = Files.writeString(cacheDir.resolve("dependency.jar"), "not really a jar");
+        resolutions = new AtomicInteger();
+        resolver =
+                () -> {
+                    resolutions.incrementAndGet();
+                    return List.of(jar.toString());
+                };
+    }
+
+    @Test
+    public void get_returnsCachedClasspath_whenNothingHasChanged() {
+        List<String> first = new ClasspathCache(cacheDir).get(projectRoot, resolver);
+        List<String> second = new ClasspathCache(cacheDir).get(projectRoot, resolver);
+
+        assertThat(second, equalTo(first));
+        assertThat(resolutions.get(), equalTo(1));
+    }
+
+    @Test
+    public void get_resolvesClasspath_whenPomHasChanged() throws IOException {
+        var cache = new ClasspathCache(cacheDir);
+        cache.get(projectRoot, resolver);
+
+        touch(pom);
+        cache.get(projectRoot, resolver);
+
+        assertThat(resolutions.get(), equalTo(2));
+    }
+
+    @Test
+    public void get_resolvesClasspath_whenModuleIsAdded() throws IOException {
+        var cache = new ClasspathCache(cacheDir);
+        cache.get(projectRoot, resolver);
+
+        Path module = Files.createDirectory(projectRoot.resolve("module"));
+        Files.writeString(module.resolve("pom.xml"), "<project/>");
+        cache.get(projectRoot, resolver);
+
+        assertThat(resolutions.get(), equalTo(2));
+    }
+
+    @Test
+    public void get_resolvesClasspath_whenJarHasChangedOrIsMissing() throws IOException {
+        var cache = new ClasspathCache(cacheDir);
+        cache.get(projectRoot, resolver);
+
+        touch(jar);
+        cache.get(projectRoot, resolver);
+        Files.delete(jar);
+        cache.get(projectRoot, resolver);
+
+        assertThat(resolutions.get(), equalTo(3));
+    }
+
+    @Test
+    public void get_resolvesClasspath_whenParentPomOutsideOfProjectHasChanged() throws IOException {
+        Path parentPom =
+                Files.writeString(
+                        projectRoot.resolve("pom.xml"),
+                        "<project><artifactId>parent</artifactId></project>");
+        Path child = Files.createDirectory(projectRoot.resolve("child"));
+        Files.writeString(
+                child.resolve("pom.xml"),
+                "<project><parent><artifactId>parent</artifactId></parent></project>");
+        var cache = new ClasspathCache(cacheDir);
+        cache.get(child, resolver);
+
+        touch(parentPom);
+        cache.get(child, resolver);
+
+        assertThat(resolutions.get(), equalTo(2));
+    }
+
+    private static void touch(Path file) throws IOException {
+        FileTime lastModified = Files.getLastModifiedTime(file);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(lastModified.toMillis() + 1000));
+    }
+}
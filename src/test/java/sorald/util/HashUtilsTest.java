@@ -0,0 +1,16 @@
+package sorald.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import org.junit.jupiter.api.Test;
+
+class HashUtilsTest {
+
+    @Test
+    public void sha256Hex_givesLowerCaseHexDigest() {
+        assertThat(
+                HashUtils.sha256Hex("abc"),
+                equalTo("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad"));
+    }
+}